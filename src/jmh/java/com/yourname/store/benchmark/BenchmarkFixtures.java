@@ -0,0 +1,82 @@
+package com.yourname.store.benchmark;
+
+import com.yourname.store.entity.Category;
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.OrderItem;
+import com.yourname.store.entity.OrderStatus;
+import com.yourname.store.entity.Payment;
+import com.yourname.store.entity.PaymentProvider;
+import com.yourname.store.entity.PaymentStatus;
+import com.yourname.store.entity.Product;
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.entity.User;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like the seed data, shared by the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static List<Product> products(int count) {
+        Category category = Category.builder().id(1L).name("Đồ uống").build();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(Product.builder()
+                    .id((long) i)
+                    .code(String.format("SP%04d", i))
+                    .name("Sản phẩm " + i)
+                    .category(category)
+                    .price(BigDecimal.valueOf(5_000L + i * 500L))
+                    .stockQty(1_000)
+                    .status(ProductStatus.ACTIVE)
+                    .build());
+        }
+        return products;
+    }
+
+    public static Order order(int itemCount) {
+        Order order = Order.builder()
+                .id(42L)
+                .code("ORD-20250101120000-0000001")
+                .orderDate(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .status(OrderStatus.PAID)
+                .note("ban tai quay")
+                .user(User.builder().id(7L).name("Nguyen Van A").phone("0900000000").address("HCM").build())
+                .build();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Product product : products(itemCount)) {
+            BigDecimal lineTotal = product.getPrice().multiply(BigDecimal.valueOf(2));
+            order.addItem(OrderItem.builder()
+                    .id(product.getId())
+                    .product(product)
+                    .unitPrice(product.getPrice())
+                    .quantity(2)
+                    .lineTotal(lineTotal)
+                    .build());
+            total = total.add(lineTotal);
+        }
+        order.setTotalAmount(total);
+        order.addPayment(payment(order));
+        return order;
+    }
+
+    public static Payment payment(Order order) {
+        return Payment.builder()
+                .id(1L)
+                .order(order)
+                .provider(PaymentProvider.VNPAY)
+                .txnRef("PAY202501011200000000001")
+                .amount(order.getTotalAmount())
+                .currency("VND")
+                .status(PaymentStatus.PAID)
+                .bankCode("NCB")
+                .payDate(LocalDateTime.of(2025, 1, 1, 12, 1))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.yourname.store.benchmark;
+
+import com.yourname.store.util.CodeGenerator;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodeGeneratorBenchmark {
+
+    private final CodeGenerator codeGenerator = new CodeGenerator(1, ZoneId.systemDefault(), System::currentTimeMillis);
+
+    @Benchmark
+    public String orderCode() {
+        return codeGenerator.generateOrderCode();
+    }
+
+    @Benchmark
+    public String txnRef() {
+        return codeGenerator.generateTxnRef();
+    }
+
+    // Nhiều luồng cùng CAS trên một state
+    @Benchmark
+    @Threads(4)
+    public String orderCodeContended() {
+        return codeGenerator.generateOrderCode();
+    }
+}
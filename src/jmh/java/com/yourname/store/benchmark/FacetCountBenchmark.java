@@ -0,0 +1,70 @@
+package com.yourname.store.benchmark;
+
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.facet.FacetCounts;
+import com.yourname.store.facet.FacetFilter;
+import com.yourname.store.facet.FacetRow;
+import com.yourname.store.facet.PriceBands;
+import com.yourname.store.facet.StoreFacets;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Facet counts of one store from its bitmaps: no filter, a category + in-stock selection (one count per
+ * category, status, price band and stock value in both cases), and a keyword matched in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FacetCountBenchmark {
+
+    private static final int CATEGORIES = 40;
+
+    @Param({ "5000", "50000" })
+    private int products;
+
+    private StoreFacets facets;
+    private FacetFilter selection;
+
+    @Setup
+    public void setUp() {
+        PriceBands priceBands = new PriceBands(List.of(new BigDecimal("10000"), new BigDecimal("20000"),
+                new BigDecimal("50000"), new BigDecimal("100000")));
+        facets = new StoreFacets(priceBands);
+        Random random = new Random(42);
+        ProductStatus[] statuses = ProductStatus.values();
+        for (int id = 1; id <= products; id++) {
+            long categoryId = 1 + random.nextInt(CATEGORIES);
+            facets.put(new FacetRow(id, 1, "Product " + id, "P%06d".formatted(id), categoryId,
+                    "Category " + categoryId, BigDecimal.valueOf(1_000 + random.nextInt(150_000)),
+                    random.nextInt(10) == 0 ? 0 : 50, statuses[random.nextInt(statuses.length)]));
+        }
+        selection = new FacetFilter(Set.of(3L, 7L), null, null, true);
+    }
+
+    @Benchmark
+    public FacetCounts noFilter() {
+        return facets.count(FacetFilter.NONE, null);
+    }
+
+    @Benchmark
+    public FacetCounts categoriesInStock() {
+        return facets.count(selection, null);
+    }
+
+    @Benchmark
+    public FacetCounts keyword() {
+        return facets.count(FacetFilter.NONE, "product 12");
+    }
+}
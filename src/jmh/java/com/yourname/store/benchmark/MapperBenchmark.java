@@ -0,0 +1,55 @@
+package com.yourname.store.benchmark;
+
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.dto.response.OrderSummaryResponse;
+import com.yourname.store.dto.response.ProductResponse;
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.Product;
+import com.yourname.store.mapper.OrderMapper;
+import com.yourname.store.mapper.OrderMapperImpl;
+import com.yourname.store.mapper.ProductMapper;
+import com.yourname.store.mapper.ProductMapperImpl;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    @Param({ "1", "10", "50" })
+    private int items;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private final ProductMapper productMapper = new ProductMapperImpl();
+    private Order order;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkFixtures.order(items);
+        product = order.getItems().get(0).getProduct();
+    }
+
+    @Benchmark
+    public OrderResponse orderToResponse() {
+        return orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public OrderSummaryResponse orderToSummary() {
+        return orderMapper.toSummary(order);
+    }
+
+    @Benchmark
+    public ProductResponse productToResponse() {
+        return productMapper.toResponse(product);
+    }
+}
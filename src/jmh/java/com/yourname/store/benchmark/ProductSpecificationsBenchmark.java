@@ -0,0 +1,75 @@
+package com.yourname.store.benchmark;
+
+import com.yourname.store.entity.BaseEntity;
+import com.yourname.store.entity.Category;
+import com.yourname.store.entity.Product;
+import com.yourname.store.util.ProductSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.MySQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Criteria predicate building for the product search. The session factory is bootstrapped from the entity
+ * metadata only ({@code allow_jdbc_metadata_access=false}), so no database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductSpecificationsBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder builder;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(BaseEntity.class)
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Product.class)
+                .setProperty(AvailableSettings.DIALECT, MySQLDialect.class.getName())
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .buildSessionFactory();
+        builder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate noFilter() {
+        return toPredicate(null, null);
+    }
+
+    @Benchmark
+    public Predicate keyword() {
+        return toPredicate("  Sữa Tươi ", null);
+    }
+
+    @Benchmark
+    public Predicate keywordAndCategory() {
+        return toPredicate("milk", 3L);
+    }
+
+    private Predicate toPredicate(String keyword, Long categoryId) {
+        CriteriaQuery<Product> query = builder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        return ProductSpecifications.filter(1L, keyword, categoryId).toPredicate(root, query, builder);
+    }
+}
@@ -0,0 +1,76 @@
+package com.yourname.store.benchmark;
+
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.Payment;
+import com.yourname.store.payment.VnpayProperties;
+import com.yourname.store.payment.VnpayService;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VnpaySigningBenchmark {
+
+    private VnpayService vnpayService;
+    private Order order;
+    private Payment payment;
+    private Map<String, String> callbackParams;
+
+    @Setup
+    public void setUp() {
+        VnpayProperties properties = new VnpayProperties();
+        properties.setTmnCode("DEMO0001");
+        properties.setHashSecret("SECRETKEYSECRETKEYSECRETKEY12345");
+        properties.setPayUrl("https://sandbox.vnpayment.vn/paymentv2/vpcpay.html");
+        properties.setReturnUrl("http://localhost:8080/api/payments/vnpay/return");
+        properties.setIpnUrl("http://localhost:8080/api/payments/vnpay/ipn");
+        properties.setVersion("2.1.0");
+        properties.setCommand("pay");
+        properties.setCurrCode("VND");
+        properties.setLocale("vn");
+        vnpayService = new VnpayService(properties);
+
+        order = BenchmarkFixtures.order(3);
+        payment = order.getPayments().get(0);
+        // Callback hợp lệ: chính các tham số đã ký của URL thanh toán
+        callbackParams = parseQuery(vnpayService.buildPaymentUrl(order, payment, "127.0.0.1"));
+        if (!vnpayService.verifySignature(callbackParams)) {
+            throw new IllegalStateException("Signed callback does not verify");
+        }
+    }
+
+    @Benchmark
+    public String buildPaymentUrl() {
+        return vnpayService.buildPaymentUrl(order, payment, "127.0.0.1");
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        return vnpayService.verifySignature(callbackParams);
+    }
+
+    private static Map<String, String> parseQuery(String url) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : URI.create(url).getRawQuery().split("&")) {
+            int eq = pair.indexOf('=');
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        if (!params.containsKey("vnp_SecureHash")) {
+            throw new IllegalStateException("Payment URL is not signed");
+        }
+        return params;
+    }
+}
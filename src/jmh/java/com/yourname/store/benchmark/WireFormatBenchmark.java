@@ -0,0 +1,81 @@
+package com.yourname.store.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.dto.response.PageResponse;
+import com.yourname.store.dto.response.ProductResponse;
+import com.yourname.store.mapper.OrderMapperImpl;
+import com.yourname.store.mapper.ProductMapperImpl;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JSON vs CBOR for the bodies POS terminals download most: a 50-product search page and a 20-line order.
+ * The encoded size of each body is printed when its trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({ "json", "cbor" })
+    private String format;
+
+    @Param({ "productPage", "order" })
+    private String payload;
+
+    private ObjectMapper mapper;
+    private Object body;
+    private JavaType bodyType;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Giống ứng dụng: Jackson2ObjectMapperBuilder + spring.jackson.serialization.write-dates-as-timestamps=false
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        }
+        mapper = builder.build();
+
+        if ("order".equals(payload)) {
+            body = new OrderMapperImpl().toResponse(BenchmarkFixtures.order(20));
+            bodyType = mapper.constructType(OrderResponse.class);
+        } else {
+            ProductMapperImpl productMapper = new ProductMapperImpl();
+            List<ProductResponse> content = BenchmarkFixtures.products(50).stream()
+                    .map(productMapper::toResponse)
+                    .toList();
+            body = new PageResponse<>(content, 0, 50, 5_000, 100, false);
+            bodyType = mapper.getTypeFactory().constructType(new TypeReference<PageResponse<ProductResponse>>() {
+            });
+        }
+        encoded = mapper.writeValueAsBytes(body);
+        System.out.printf("%n%s %s: %d bytes%n", payload, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return mapper.readValue(encoded, bodyType);
+    }
+}
@@ -0,0 +1,54 @@
+package com.yourname.store.service.impl;
+
+import com.yourname.store.benchmark.BenchmarkFixtures;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.OrderStatus;
+import com.yourname.store.entity.Product;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The validation and line-total loop of {@code OrderServiceImpl.createOrder}, without the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderPricingBenchmark {
+
+    @Param({ "1", "10", "50" })
+    private int items;
+
+    private List<OrderItemRequest> requests;
+    private Map<Long, Product> products;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = BenchmarkFixtures.products(items);
+        products = catalog.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        requests = catalog.stream().map(product -> {
+            OrderItemRequest request = new OrderItemRequest();
+            request.setProductId(product.getId());
+            request.setQuantity(3);
+            return request;
+        }).toList();
+    }
+
+    @Benchmark
+    public BigDecimal addItems() {
+        Order order = Order.builder().status(OrderStatus.PAID).build();
+        return OrderServiceImpl.addItems(order, requests, products, Map.of());
+    }
+}
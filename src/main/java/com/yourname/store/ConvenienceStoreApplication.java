@@ -1,12 +1,33 @@
 package com.yourname.store;
 
+import com.yourname.store.cache.CustomerCacheProperties;
+import com.yourname.store.catalog.CatalogSyncProperties;
+import com.yourname.store.catalog.ProductImportProperties;
+import com.yourname.store.config.HttpCacheProperties;
+import com.yourname.store.datasource.ReplicaRoutingProperties;
+import com.yourname.store.event.OutboxProperties;
+import com.yourname.store.facet.FacetProperties;
+import com.yourname.store.idempotency.IdempotencyProperties;
+import com.yourname.store.inventory.InventoryProperties;
+import com.yourname.store.metrics.SqlMonitorProperties;
+import com.yourname.store.paging.PagingProperties;
+import com.yourname.store.partition.PartitionProperties;
+import com.yourname.store.payment.PaymentCallbackProperties;
 import com.yourname.store.payment.VnpayProperties;
+import com.yourname.store.shard.ShardingProperties;
+import com.yourname.store.warmup.WarmupProperties;
+import com.yourname.store.workload.WorkloadProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(VnpayProperties.class)
+@EnableConfigurationProperties({ VnpayProperties.class, CustomerCacheProperties.class,
+        SqlMonitorProperties.class, ReplicaRoutingProperties.class, PartitionProperties.class,
+        ProductImportProperties.class, CatalogSyncProperties.class, HttpCacheProperties.class,
+        WorkloadProperties.class, IdempotencyProperties.class, OutboxProperties.class,
+        PaymentCallbackProperties.class, ShardingProperties.class, WarmupProperties.class,
+        InventoryProperties.class, PagingProperties.class, FacetProperties.class })
 public class ConvenienceStoreApplication {
 
     public static void main(String[] args) {
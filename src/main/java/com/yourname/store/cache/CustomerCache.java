@@ -0,0 +1,93 @@
+package com.yourname.store.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Near-cache of customers keyed by store and phone, plus one phone prefix index per store used for type-ahead
+ * suggestions. A phone number is only unique within a store.
+ * <p>
+ * Writes made inside a transaction are applied after commit so a rollback never leaves a customer in the
+ * cache that does not exist in the database. Loads are done by the caller outside of the cache's compute
+ * methods so no JDBC call ever runs while a cache bin is locked.
+ */
+@Component
+public class CustomerCache {
+
+    private final Cache<String, CustomerSnapshot> customers;
+    private final Map<Long, PhonePrefixIndex> phoneIndexes = new ConcurrentHashMap<>();
+
+    public CustomerCache(CustomerCacheProperties properties, MeterRegistry meterRegistry) {
+        this.customers = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, customers, "customers");
+        Gauge.builder("customer.phone.index.size", phoneIndexes,
+                        indexes -> indexes.values().stream().mapToInt(PhonePrefixIndex::size).sum())
+                .description("Number of phone numbers in the type-ahead index")
+                .register(meterRegistry);
+    }
+
+    public Optional<CustomerSnapshot> get(long storeId, String phone) {
+        return Optional.ofNullable(customers.getIfPresent(key(storeId, phone)));
+    }
+
+    public void put(CustomerSnapshot snapshot) {
+        afterCommit(() -> customers.put(key(snapshot.storeId(), snapshot.phone()), snapshot));
+    }
+
+    public void evict(long storeId, String phone) {
+        afterCommit(() -> customers.invalidate(key(storeId, phone)));
+    }
+
+    public void adjustPoints(long storeId, String phone, int delta) {
+        afterCommit(() -> customers.asMap().computeIfPresent(key(storeId, phone),
+                (key, current) -> current.withPoint((current.point() == null ? 0 : current.point()) + delta)));
+    }
+
+    public void index(long storeId, String phone, String name) {
+        afterCommit(() -> phoneIndex(storeId).put(phone, name));
+    }
+
+    public void replaceIndex(long storeId, Map<String, String> entries) {
+        phoneIndex(storeId).replaceAll(entries);
+    }
+
+    public List<PhonePrefixIndex.Entry> suggest(long storeId, String prefix, int limit) {
+        PhonePrefixIndex index = phoneIndexes.get(storeId);
+        return index != null ? index.findByPrefix(prefix, limit) : List.of();
+    }
+
+    private PhonePrefixIndex phoneIndex(long storeId) {
+        return phoneIndexes.computeIfAbsent(storeId, id -> new PhonePrefixIndex());
+    }
+
+    private static String key(long storeId, String phone) {
+        return storeId + ":" + phone;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
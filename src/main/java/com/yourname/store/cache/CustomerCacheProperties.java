@@ -0,0 +1,16 @@
+package com.yourname.store.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "customer-cache")
+public class CustomerCacheProperties {
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(10);
+    private int suggestionLimit = 10;
+    private int minPrefixLength = 3;
+}
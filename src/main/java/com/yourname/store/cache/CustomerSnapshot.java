@@ -0,0 +1,35 @@
+package com.yourname.store.cache;
+
+import com.yourname.store.dto.response.UserResponse;
+import com.yourname.store.entity.User;
+
+/**
+ * Immutable copy of a customer row. Cached values are never shared as entities; {@link #toUser()} hands out
+ * a fresh detached instance that can be attached to an order by id without another SELECT.
+ */
+public record CustomerSnapshot(Long id, Long storeId, String name, String phone, String address, Integer point) {
+
+    public static CustomerSnapshot from(User user) {
+        return new CustomerSnapshot(user.getId(), user.getStoreId(), user.getName(), user.getPhone(), user.getAddress(),
+                user.getPoint());
+    }
+
+    public CustomerSnapshot withPoint(Integer newPoint) {
+        return new CustomerSnapshot(id, storeId, name, phone, address, newPoint);
+    }
+
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .storeId(storeId)
+                .name(name)
+                .phone(phone)
+                .address(address)
+                .point(point)
+                .build();
+    }
+
+    public UserResponse toResponse() {
+        return new UserResponse(id, name, phone, address, point);
+    }
+}
@@ -0,0 +1,155 @@
+package com.yourname.store.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Digit trie over customer phone numbers used for type-ahead at the till. Each terminal node keeps the
+ * customer's display name so suggestions never need a database round-trip. Children arrays are allocated
+ * lazily, which keeps the long single-child tails of phone numbers cheap.
+ */
+public class PhonePrefixIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private int size;
+
+    public void put(String phone, String name) {
+        if (!isDigits(phone)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < phone.length(); i++) {
+                node = node.child(phone.charAt(i) - '0', true);
+            }
+            if (node.phone == null) {
+                size++;
+            }
+            node.phone = phone;
+            node.name = name;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Map<String, String> entries) {
+        Node newRoot = new Node();
+        int newSize = 0;
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            String phone = entry.getKey();
+            if (!isDigits(phone)) {
+                continue;
+            }
+            Node node = newRoot;
+            for (int i = 0; i < phone.length(); i++) {
+                node = node.child(phone.charAt(i) - '0', true);
+            }
+            node.phone = phone;
+            node.name = entry.getValue();
+            newSize++;
+        }
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            size = newSize;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} entries whose phone starts with {@code prefix}, in ascending phone order.
+     */
+    public List<Entry> findByPrefix(String prefix, int limit) {
+        if (!isDigits(prefix) || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i) - '0', false);
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            List<Entry> result = new ArrayList<>(Math.min(limit, 16));
+            collect(node, result, limit);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(Node node, List<Entry> result, int limit) {
+        if (node.phone != null) {
+            result.add(new Entry(node.phone, node.name));
+            if (result.size() >= limit) {
+                return;
+            }
+        }
+        if (node.children == null) {
+            return;
+        }
+        for (Node child : node.children) {
+            if (child != null) {
+                collect(child, result, limit);
+                if (result.size() >= limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean isDigits(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record Entry(String phone, String name) {
+    }
+
+    private static final class Node {
+        private Node[] children;
+        private String phone;
+        private String name;
+
+        private Node child(int digit, boolean create) {
+            if (children == null) {
+                if (!create) {
+                    return null;
+                }
+                children = new Node[10];
+            }
+            Node child = children[digit];
+            if (child == null && create) {
+                child = new Node();
+                children[digit] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.yourname.store.catalog;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "catalog-sync")
+public class CatalogSyncProperties {
+    // Chỉ phát thay đổi cũ hơn khoảng này: transaction chưa commit / replica trễ không bị bỏ sót.
+    // Nên lớn hơn replica-routing.max-lag.
+    private Duration settleWindow = Duration.ofSeconds(10);
+    // Nhiều thay đổi hơn số này thì trả về snapshot đầy đủ
+    private int maxChanges = 5000;
+}
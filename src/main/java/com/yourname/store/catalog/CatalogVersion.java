@@ -0,0 +1,39 @@
+package com.yourname.store.catalog;
+
+import com.yourname.store.exception.BadRequestException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Version of the catalog as seen by terminals: the latest {@code updated_at} of products and categories that
+ * is older than the settle window ({@code cutoff}). The token is that timestamp in microseconds, base 36; it
+ * doubles as the weak ETag of sync responses.
+ */
+public record CatalogVersion(LocalDateTime latestUpdate, LocalDateTime cutoff) {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String EMPTY_TOKEN = "0";
+
+    public String token() {
+        return latestUpdate == null ? EMPTY_TOKEN : encode(latestUpdate);
+    }
+
+    public static String encode(LocalDateTime timestamp) {
+        return Long.toString(ChronoUnit.MICROS.between(EPOCH, timestamp), 36);
+    }
+
+    /** Timestamp of a token, {@code null} for the token of an empty catalog. */
+    public static LocalDateTime decode(String token) {
+        if (EMPTY_TOKEN.equals(token)) {
+            return null;
+        }
+        try {
+            long micros = Long.parseLong(token, 36);
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid catalog sync token: " + token);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.yourname.store.catalog;
+
+import com.yourname.store.util.CsvReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV upload with a header row. Columns are matched by name in any order: {@code code}, {@code name},
+ * {@code category}, {@code price}, {@code stock_qty} are required,
+ * {@code status} and {@code reorder_threshold} are optional.
+ */
+class CsvProductRowReader implements ProductRowReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("code", "name", "category", "price", "stock_qty");
+
+    private final CsvReader csv;
+    private Map<String, Integer> columns;
+
+    CsvProductRowReader(Reader reader) {
+        this.csv = new CsvReader(reader);
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        if (columns == null) {
+            columns = readHeader();
+        }
+        List<String> fields;
+        do {
+            fields = csv.readRow();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        return new ProductImportRow(
+                csv.getRowLine(),
+                field(fields, "code"),
+                field(fields, "name"),
+                field(fields, "category"),
+                field(fields, "price"),
+                field(fields, "stock_qty"),
+                field(fields, "status"),
+                field(fields, "reorder_threshold"));
+    }
+
+    private Map<String, Integer> readHeader() throws IOException {
+        List<String> header = csv.readRow();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            indexes.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!indexes.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+        return indexes;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+}
@@ -0,0 +1,58 @@
+package com.yourname.store.catalog;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+
+/**
+ * JSON upload: an array of objects with {@code code}, {@code name}, {@code category}, {@code price},
+ * {@code stockQty} and optional {@code status} and {@code reorderThreshold}. Only one element is materialized
+ * at a time; the "line" of a row is its 1-based position in the array.
+ */
+class JsonProductRowReader implements ProductRowReader {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private boolean started;
+    private long index;
+
+    JsonProductRowReader(JsonParser parser, ObjectMapper objectMapper) {
+        this.parser = parser;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        try {
+            return read();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON after product #" + index + ": " + ex.getOriginalMessage());
+        }
+    }
+
+    private ProductImportRow read() throws IOException {
+        if (!started) {
+            started = true;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON upload must be an array of products");
+            }
+        }
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        JsonNode node = objectMapper.readTree(parser);
+        index++;
+        return new ProductImportRow(index, text(node, "code"), text(node, "name"), text(node, "category"),
+                text(node, "price"), text(node, "stockQty"), text(node, "status"),
+                text(node, "reorderThreshold"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
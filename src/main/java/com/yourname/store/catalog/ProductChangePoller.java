@@ -0,0 +1,113 @@
+package com.yourname.store.catalog;
+
+import com.yourname.store.shard.ShardRouter;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Per-shard cursor over the products whose {@code updated_at} moved, for in-memory product indexes (low stock,
+ * facets) that load once and then only re-read changes, whichever instance wrote them. Each index owns its own
+ * poller, so one index lagging does not skip changes for another.
+ * <p>
+ * The cursor is the database clock read before each pass; a pass re-reads from {@code settle-window} before it,
+ * so rows committed late with an older {@code updated_at} (or truncated to the second) are not missed.
+ */
+public class ProductChangePoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangePoller.class);
+
+    // Quét rời trên chỉ mục (store_id, updated_at): một lần nhảy cho mỗi cửa hàng
+    private static final String STORES = "SELECT DISTINCT store_id FROM products";
+
+    private final String name;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final Duration settleWindow;
+    private final Map<String, LocalDateTime> syncedUntil = new ConcurrentHashMap<>();
+
+    public ProductChangePoller(String name, JdbcTemplate jdbcTemplate, ShardRouter shardRouter,
+            Duration settleWindow) {
+        this.name = name;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.settleWindow = settleWindow;
+    }
+
+    /**
+     * Runs {@code loader} once on every shard and starts the shard's cursor at the time the load began; returns
+     * the total reported by the loader.
+     */
+    public int load(IntSupplier loader) {
+        return shardRouter.forEachShard(() -> {
+            LocalDateTime startedAt = databaseNow();
+            int loaded = loader.getAsInt();
+            syncedUntil.put(shardRouter.currentShard(), startedAt);
+            return loaded;
+        }).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Calls {@code changes} on every loaded shard with the stores of the shard and the time to re-read from, then
+     * advances the cursor. A failing shard is logged and retried from the same cursor on the next poll.
+     */
+    public void poll(Changes changes) {
+        shardRouter.forEachShard(() -> {
+            try {
+                return pollShard(shardRouter.currentShard(), changes);
+            } catch (DataAccessException ex) {
+                log.warn("{} sync failed, retrying on next pass", name, ex);
+                return 0;
+            }
+        });
+    }
+
+    /**
+     * Streams {@code select} (columns {@code FROM products p ...}, ending before {@code WHERE}) restricted to the
+     * rows of {@code storeIds} changed since {@code changedSince}.
+     */
+    public void queryChanged(String select, List<Long> storeIds, Timestamp changedSince, RowCallbackHandler rows) {
+        String placeholders = String.join(", ", Collections.nCopies(storeIds.size(), "?"));
+        List<Object> args = new ArrayList<>(storeIds);
+        args.add(changedSince);
+        jdbcTemplate.query(select + "WHERE p.store_id IN (" + placeholders + ") AND p.updated_at >= ?", rows,
+                args.toArray());
+    }
+
+    private int pollShard(String shard, Changes changes) {
+        LocalDateTime since = syncedUntil.get(shard);
+        if (since == null) {
+            return 0; // chưa nạp xong
+        }
+        LocalDateTime startedAt = databaseNow();
+        List<Long> storeIds = jdbcTemplate.queryForList(STORES, Long.class);
+        int changed = storeIds.isEmpty() ? 0
+                : changes.apply(storeIds, Timestamp.valueOf(since.minus(settleWindow)));
+        syncedUntil.put(shard, startedAt);
+        return changed;
+    }
+
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT NOW()", LocalDateTime.class);
+    }
+
+    @FunctionalInterface
+    public interface Changes {
+
+        /**
+         * Re-reads the rows of {@code storeIds} changed since {@code changedSince}; returns how many were applied.
+         */
+        int apply(List<Long> storeIds, Timestamp changedSince);
+    }
+}
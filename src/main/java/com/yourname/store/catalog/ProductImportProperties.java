@@ -0,0 +1,15 @@
+package com.yourname.store.catalog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product-import")
+public class ProductImportProperties {
+    // Số dòng trong một câu INSERT ... ON DUPLICATE KEY UPDATE nhiều VALUES
+    private int batchSize = 1000;
+    // Giới hạn số lỗi trả về trong response (vẫn đếm đủ trong "failed")
+    private int maxReportedErrors = 1000;
+}
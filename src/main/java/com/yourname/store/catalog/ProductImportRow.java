@@ -0,0 +1,16 @@
+package com.yourname.store.catalog;
+
+/**
+ * One raw row of an import file. Values are kept as text so that CSV and JSON uploads share the same
+ * validation and each row can fail on its own.
+ */
+public record ProductImportRow(
+        long line,
+        String code,
+        String name,
+        String category,
+        String price,
+        String stockQty,
+        String status,
+        String reorderThreshold) {
+}
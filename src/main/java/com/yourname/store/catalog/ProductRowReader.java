@@ -0,0 +1,26 @@
+package com.yourname.store.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pull-style source of import rows read straight from the request body, so an upload is never held in
+ * memory as a whole.
+ */
+public interface ProductRowReader {
+
+    /** Next row, or {@code null} when the upload is exhausted. */
+    ProductImportRow next() throws IOException;
+
+    static ProductRowReader csv(InputStream input) {
+        return new CsvProductRowReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+
+    static ProductRowReader json(InputStream input, ObjectMapper objectMapper) throws IOException {
+        return new JsonProductRowReader(objectMapper.getFactory().createParser(input), objectMapper);
+    }
+}
@@ -0,0 +1,13 @@
+package com.yourname.store.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} methods run on Spring Boot's {@code applicationTaskExecutor}, which is backed by virtual
+ * threads when the {@code virtual-threads} profile is active.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
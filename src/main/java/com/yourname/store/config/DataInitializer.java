@@ -5,6 +5,7 @@ import com.yourname.store.entity.Product;
 import com.yourname.store.entity.ProductStatus;
 import com.yourname.store.repository.CategoryRepository;
 import com.yourname.store.repository.ProductRepository;
+import com.yourname.store.shard.StoreContext;
 import java.math.BigDecimal;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -13,10 +14,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+// Tắt trong profile fast-start: dữ liệu mẫu đã có trong migration Flyway
 @Component
+@ConditionalOnProperty(prefix = "seed-data", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE) // seed trước warm-up
 @RequiredArgsConstructor
 public class DataInitializer implements ApplicationRunner {
 
@@ -52,9 +59,11 @@ public class DataInitializer implements ApplicationRunner {
     }
 
     private void createProductIfNotExists(String code, String name, Category category, BigDecimal price, int stock) {
-        productRepository.findByCode(code).ifPresentOrElse(
+        // dữ liệu mẫu thuộc cửa hàng mặc định
+        productRepository.findByStoreIdAndCode(StoreContext.DEFAULT_STORE_ID, code).ifPresentOrElse(
                 existing -> {},
                 () -> productRepository.save(Product.builder()
+                        .storeId(StoreContext.DEFAULT_STORE_ID)
                         .code(code)
                         .name(name)
                         .category(category)
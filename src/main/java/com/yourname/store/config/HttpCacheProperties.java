@@ -0,0 +1,36 @@
+package com.yourname.store.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+    // 0 = client luôn hỏi lại bằng If-None-Match (no-cache)
+    private Duration productMaxAge = Duration.ofSeconds(30);
+    private Duration productSearchMaxAge = Duration.ZERO;
+
+    public CacheControl productCacheControl() {
+        return publicCacheControl(productMaxAge);
+    }
+
+    public CacheControl productSearchCacheControl() {
+        return publicCacheControl(productSearchMaxAge);
+    }
+
+    // Đơn hàng chứa thông tin khách: không cho proxy lưu, luôn kiểm tra lại
+    public CacheControl orderCacheControl() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    private static CacheControl publicCacheControl(Duration maxAge) {
+        if (maxAge == null || maxAge.isZero() || maxAge.isNegative()) {
+            return CacheControl.noCache().cachePublic();
+        }
+        return CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+    }
+}
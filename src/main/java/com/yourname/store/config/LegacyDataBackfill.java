@@ -0,0 +1,71 @@
+package com.yourname.store.config;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills columns that {@code ddl-auto=update} added to tables which already had rows: {@code order_date} of
+ * order items and payments, and {@code updated_at} of products and categories. Flyway does the same in
+ * {@code V4} and {@code V5}, so this only runs without Flyway, and each backfill is recorded in
+ * {@code data_backfills} so later boots skip its full-table scan.
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.flyway", name = "enabled", havingValue = "false", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class LegacyDataBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyDataBackfill.class);
+
+    private static final String CREATE_MARKERS = "CREATE TABLE IF NOT EXISTS data_backfills ("
+            + "name VARCHAR(100) NOT NULL PRIMARY KEY, applied_at DATETIME NOT NULL)";
+    private static final String APPLIED = "SELECT name FROM data_backfills";
+    private static final String MARK = "INSERT IGNORE INTO data_backfills (name, applied_at) VALUES (?, NOW())";
+    private static final Map<String, List<String>> BACKFILLS = new LinkedHashMap<>();
+
+    static {
+        // Đơn cũ (trước khi có cột order_date ở bảng con): chép ngày từ orders
+        BACKFILLS.put("order_date", List.of(
+                "UPDATE order_items oi JOIN orders o ON o.id = oi.order_id SET oi.order_date = o.order_date "
+                        + "WHERE oi.order_date IS NULL",
+                "UPDATE payments p JOIN orders o ON o.id = p.order_id SET p.order_date = o.order_date "
+                        + "WHERE p.order_date IS NULL"));
+        // Đồng bộ catalog chỉ thấy dòng có updated_at
+        BACKFILLS.put("updated_at", List.of(
+                "UPDATE products SET updated_at = created_at WHERE updated_at IS NULL",
+                "UPDATE categories SET updated_at = created_at WHERE updated_at IS NULL"));
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute(CREATE_MARKERS);
+        Set<String> applied = new HashSet<>(jdbcTemplate.queryForList(APPLIED, String.class));
+        BACKFILLS.forEach((name, statements) -> {
+            if (applied.contains(name)) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                int rows = statements.stream().mapToInt(jdbcTemplate::update).sum();
+                jdbcTemplate.update(MARK, name);
+                log.info("Backfilled {} on {} existing rows", name, rows);
+            });
+        });
+    }
+}
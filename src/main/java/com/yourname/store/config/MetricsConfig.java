@@ -0,0 +1,20 @@
+package com.yourname.store.config;
+
+import com.yourname.store.warmup.WarmupContext;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Predicate;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Cho phép dùng @Timed trên các service; lượt gọi giả của warm-up không được ghi vào histogram
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        Predicate<ProceedingJoinPoint> skip = point -> WarmupContext.isActive();
+        return new TimedAspect(meterRegistry, skip);
+    }
+}
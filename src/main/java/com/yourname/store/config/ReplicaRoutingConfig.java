@@ -0,0 +1,86 @@
+package com.yourname.store.config;
+
+import com.yourname.store.datasource.ReadYourWritesFilter;
+import com.yourname.store.datasource.ReplicaHealthMonitor;
+import com.yourname.store.datasource.ReplicaNode;
+import com.yourname.store.datasource.ReplicaRoutingDataSource;
+import com.yourname.store.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Primary + read replicas. The application {@code dataSource} is a {@link LazyConnectionDataSourceProxy} over
+ * {@link ReplicaRoutingDataSource}, so the route is decided at the first statement of a transaction, once its
+ * read-only flag is known. The primary pool keeps the usual {@code spring.datasource.*} settings.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica-routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingProperties properties, DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry) {
+        List<ReplicaNode> replicas = properties.getReplicas().stream()
+                .map(replica -> new ReplicaNode(replica.getName(), replicaPool(replica, dataSourceProperties, meterRegistry)))
+                .toList();
+        return new ReplicaHealthMonitor(replicas, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReplicaHealthMonitor replicaHealthMonitor, ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        // Kiểm tra replica ngay khi khởi động thay vì đợi lịch đầu tiên
+        replicaHealthMonitor.checkReplicas();
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaHealthMonitor, properties, meterRegistry));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaRoutingProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    private HikariDataSource replicaPool(ReplicaRoutingProperties.Replica replica, DataSourceProperties primary,
+            MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + replica.getName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.getUsername());
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+        dataSource.setDriverClassName(primary.getDriverClassName());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        // Không chặn khởi động khi replica chưa sẵn sàng
+        dataSource.setInitializationFailTimeout(-1);
+        // Pool replica không phải bean nên tự gắn metrics Hikari
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
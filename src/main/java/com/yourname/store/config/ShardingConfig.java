@@ -0,0 +1,97 @@
+package com.yourname.store.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.datasource.ReplicaRoutingProperties;
+import com.yourname.store.shard.ShardPools;
+import com.yourname.store.shard.ShardRouter;
+import com.yourname.store.shard.ShardRoutingDataSource;
+import com.yourname.store.shard.ShardingProperties;
+import com.yourname.store.shard.StoreContextFilter;
+import com.yourname.store.workload.WorkloadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Store dimension and shards. The store filter always runs, so {@code store_id} scoping works on a single
+ * database too; with {@code sharding.enabled} the application {@code dataSource} is additionally wrapped in a
+ * {@link ShardRoutingDataSource} (inside the SQL monitor proxy, so statements on every shard are counted) and
+ * each extra shard gets its own pool, and its own workload pools when isolation is on, migrated with the same
+ * Flyway scripts as the main database.
+ */
+@Configuration
+public class ShardingConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public FilterRegistrationBean<StoreContextFilter> storeContextFilter(ShardingProperties properties,
+            ShardRouter shardRouter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<StoreContextFilter> registration =
+                new FilterRegistrationBean<>(new StoreContextFilter(properties, shardRouter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        // Trước WorkloadIsolationFilter: store sai bị từ chối mà không chiếm chỗ trong bulkhead
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+    static class ShardRoutingConfig {
+
+        // Kiểu trả về cụ thể: Spring xếp thứ tự BeanPostProcessor theo kiểu khai báo (Ordered) trước khi tạo bean
+        @Bean
+        static ShardDataSourcePostProcessor shardDataSourcePostProcessor(ObjectProvider<ShardRouter> shardRouter,
+                ObjectProvider<ShardPools> shardPools) {
+            return new ShardDataSourcePostProcessor(shardRouter, shardPools);
+        }
+
+        @Bean
+        ShardPools shardPools(ShardingProperties properties, DataSourceProperties dataSourceProperties,
+                WorkloadProperties workloadProperties, ReplicaRoutingProperties replicaRoutingProperties,
+                MeterRegistry meterRegistry, ObjectProvider<Flyway> flyway) {
+            ShardPools pools = new ShardPools(properties, dataSourceProperties, workloadProperties,
+                    replicaRoutingProperties.isEnabled(), meterRegistry);
+            flyway.ifAvailable(main -> pools.getPools().values().forEach(pool -> Flyway.configure()
+                    .configuration(main.getConfiguration())
+                    .dataSource(pool)
+                    .load()
+                    .migrate()));
+            return pools;
+        }
+    }
+
+    // Sau WorkloadIsolationConfig (HIGHEST_PRECEDENCE), trước BeanPostProcessor không Ordered của SqlMonitorConfig
+    static final class ShardDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ShardRouter> shardRouter;
+        private final ObjectProvider<ShardPools> shardPools;
+
+        private ShardDataSourcePostProcessor(ObjectProvider<ShardRouter> shardRouter,
+                ObjectProvider<ShardPools> shardPools) {
+            this.shardRouter = shardRouter;
+            this.shardPools = shardPools;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+                return new ShardRoutingDataSource(dataSource, shardRouter, shardPools);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE + 1;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.yourname.store.config;
+
+import com.yourname.store.metrics.SqlMonitorFilter;
+import com.yourname.store.metrics.SqlMonitorProperties;
+import com.yourname.store.metrics.SqlStatementListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Wraps the application {@code DataSource} in a datasource-proxy so every statement is visible to
+ * {@link SqlStatementListener}, and registers the per-request {@link SqlMonitorFilter}. Opt-in
+ * ({@code sql-monitor.enabled}): row counting proxies every {@code ResultSet}, so each {@code next()}/{@code getXxx()}
+ * call pays for a reflective hop, including the export stream and the startup loads of the in-memory indexes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sql-monitor", name = "enabled", havingValue = "true")
+public class SqlMonitorConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor sqlMonitorDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)) {
+                    SqlStatementListener listener = new SqlStatementListener();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .proxyResultSet()
+                            .methodListener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlMonitorFilter> sqlMonitorFilter(SqlMonitorProperties properties,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlMonitorFilter> registration =
+                new FilterRegistrationBean<>(new SqlMonitorFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -1,7 +1,17 @@
 package com.yourname.store.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.yourname.store.idempotency.IdempotentResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -18,6 +28,29 @@ public class WebConfig implements WebMvcConfigurer {
                         "http://localhost:5174")
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(IdempotentResponse.REPLAYED_HEADER)
                 .allowCredentials(false);
     }
+
+    // Cùng URL trả JSON hoặc CBOR tùy Accept: cache/ETag phải phân biệt theo Accept
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    /**
+     * CBOR ({@code application/cbor}) for POS terminals on slow links: smaller bodies and cheaper parsing than
+     * JSON. Built from the Boot-configured builder so both formats share the {@code spring.jackson.*} settings.
+     * JSON stays the default for clients that do not ask for CBOR.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
 }
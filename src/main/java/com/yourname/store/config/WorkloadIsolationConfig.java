@@ -0,0 +1,80 @@
+package com.yourname.store.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.workload.WorkloadClassifier;
+import com.yourname.store.workload.WorkloadIsolationFilter;
+import com.yourname.store.workload.WorkloadPools;
+import com.yourname.store.workload.WorkloadProperties;
+import com.yourname.store.workload.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Workload isolation: per-class bulkheads and adaptive shedding in {@link WorkloadIsolationFilter}, and
+ * per-class primary pools behind the main Hikari pool. The main pool is {@code dataSource} without replica
+ * routing and {@code primaryDataSource} with it, so read-only work still goes to replicas.
+ * <p>
+ * Opt-in ({@code workload.enabled=true}): the dedicated pools open their connections at startup, on top of the
+ * main pool, which a small database or a single-instance setup may not have room for.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "workload", name = "enabled", havingValue = "true")
+public class WorkloadIsolationConfig {
+
+    private static final Set<String> MAIN_POOL_BEANS = Set.of("dataSource", "primaryDataSource");
+
+    // Kiểu trả về cụ thể: Spring xếp thứ tự BeanPostProcessor theo kiểu khai báo (Ordered) trước khi tạo bean
+    @Bean
+    public static MainPoolPostProcessor workloadDataSourcePostProcessor(ObjectProvider<WorkloadPools> workloadPools) {
+        return new MainPoolPostProcessor(workloadPools);
+    }
+
+    @Bean
+    public WorkloadPools workloadPools(WorkloadProperties properties, DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry) {
+        return new WorkloadPools(properties, dataSourceProperties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<WorkloadIsolationFilter> workloadIsolationFilter(WorkloadProperties properties,
+            MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        FilterRegistrationBean<WorkloadIsolationFilter> registration = new FilterRegistrationBean<>(
+                new WorkloadIsolationFilter(properties, new WorkloadClassifier(), meterRegistry, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        // Trước SqlMonitorFilter/ReadYourWritesFilter: request bị từ chối không tốn gì thêm
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    // Ordered: chạy trước BeanPostProcessor của SqlMonitorConfig, khi dataSource vẫn còn là HikariDataSource
+    static final class MainPoolPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<WorkloadPools> workloadPools;
+
+        private MainPoolPostProcessor(ObjectProvider<WorkloadPools> workloadPools) {
+            this.workloadPools = workloadPools;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (MAIN_POOL_BEANS.contains(beanName) && bean instanceof HikariDataSource mainPool) {
+                return new WorkloadRoutingDataSource(mainPool, workloadPools);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
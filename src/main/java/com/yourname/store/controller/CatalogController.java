@@ -0,0 +1,40 @@
+package com.yourname.store.controller;
+
+import com.yourname.store.catalog.CatalogVersion;
+import com.yourname.store.dto.response.CatalogSyncResponse;
+import com.yourname.store.service.CatalogSyncService;
+import com.yourname.store.util.ETags;
+import com.yourname.store.util.WireFormats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private final CatalogSyncService catalogSyncService;
+
+    // Máy POS: lần đầu không có since (snapshot), sau đó gửi since=<token> và If-None-Match của lần trước
+    @GetMapping("/sync")
+    public ResponseEntity<CatalogSyncResponse> sync(
+            @RequestParam(value = "since", required = false) String since,
+            WebRequest request) {
+        CatalogVersion version = catalogSyncService.currentVersion();
+        // ETag yếu: Tomcat không nén response có ETag mạnh; JSON và CBOR là hai biểu diễn khác nhau
+        String etag = ETags.weak(version.token(), WireFormats.negotiate(request));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(catalogSyncService.sync(since, version));
+    }
+}
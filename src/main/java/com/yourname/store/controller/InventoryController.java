@@ -0,0 +1,69 @@
+package com.yourname.store.controller;
+
+import com.yourname.store.dto.request.ReorderThresholdRequest;
+import com.yourname.store.dto.request.StockMovementRequest;
+import com.yourname.store.dto.response.LowStockResponse;
+import com.yourname.store.dto.response.StockLevelResponse;
+import com.yourname.store.dto.response.StockMovementResponse;
+import com.yourname.store.dto.response.StockResponse;
+import com.yourname.store.exception.BadRequestException;
+import com.yourname.store.service.InventoryService;
+import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/inventory")
+@RequiredArgsConstructor
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+
+    @GetMapping("/low-stock")
+    public LowStockResponse getLowStock(@RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return inventoryService.getLowStock(Math.max(1, limit));
+    }
+
+    @PutMapping("/products/{id}/reorder-threshold")
+    public StockLevelResponse updateReorderThreshold(@PathVariable("id") Long id,
+            @Valid @RequestBody ReorderThresholdRequest request) {
+        return inventoryService.updateReorderThreshold(id, request.getReorderThreshold());
+    }
+
+    // at theo ISO, ví dụ 2024-05-01T08:00:00; bỏ trống = hiện tại
+    @GetMapping("/products/{id}/stock")
+    public StockResponse getStock(@PathVariable("id") Long id,
+            @RequestParam(value = "at", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime at) {
+        return inventoryService.getStock(id, at);
+    }
+
+    @GetMapping("/products/{id}/movements")
+    public List<StockMovementResponse> getMovements(@PathVariable("id") Long id,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        return inventoryService.getMovements(id, from, to, Math.max(1, limit));
+    }
+
+    @PostMapping("/products/{id}/movements")
+    public StockResponse recordMovement(@PathVariable("id") Long id,
+            @Valid @RequestBody StockMovementRequest request) {
+        return inventoryService.recordMovement(id, request);
+    }
+}
@@ -1,32 +1,51 @@
 package com.yourname.store.controller;
 
+import com.yourname.store.config.HttpCacheProperties;
 import com.yourname.store.dto.request.CreateOrderRequest;
 import com.yourname.store.dto.response.OrderResponse;
 import com.yourname.store.dto.response.OrderSummaryResponse;
 import com.yourname.store.dto.response.PageResponse;
 import com.yourname.store.dto.response.PaymentUrlResponse;
 import com.yourname.store.exception.BadRequestException;
+import com.yourname.store.idempotency.IdempotentResponse;
+import com.yourname.store.paging.TotalMode;
+import com.yourname.store.service.IdempotencyService;
+import com.yourname.store.service.OrderExportService;
 import com.yourname.store.service.OrderService;
 import com.yourname.store.service.PaymentService;
+import com.yourname.store.util.WireFormats;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -35,6 +54,9 @@ public class OrderController {
 
     private final OrderService orderService;
     private final PaymentService paymentService;
+    private final OrderExportService orderExportService;
+    private final HttpCacheProperties httpCacheProperties;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping
     public PageResponse<OrderSummaryResponse> searchOrders(
@@ -42,7 +64,9 @@ public class OrderController {
             @RequestParam(value = "from", required = false) String from,
             @RequestParam(value = "to", required = false) String to,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "10") int size) {
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "total", defaultValue = "exact") String total) {
+        TotalMode totalMode = TotalMode.parse(total);
         System.out.println("Search Orders Request - Parameters:");
         System.out.println("code: " + code);
         System.out.println("from: " + from);
@@ -70,29 +94,80 @@ public class OrderController {
                 Sort.by(Sort.Direction.DESC, "orderDate"));
 
         PageResponse<OrderSummaryResponse> response = orderService.searchOrders(code, fromTimestamp, toTimestamp,
-                pageable);
+                pageable, totalMode);
         System.out.println("Search result: Found " + response.totalElements() + " orders");
 
         return response;
     }
 
+    // Xuất CSV từng dòng hàng theo khoảng ngày, stream thẳng ra response (gzip=true -> .csv.gz)
+    @GetMapping("/export")
+    public void exportOrders(
+            @RequestParam("from") String from,
+            @RequestParam("to") String to,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        LocalDateTime fromTimestamp = parseDateTime(from, true);
+        LocalDateTime toTimestamp = parseDateTime(to, false);
+        if (fromTimestamp == null || toTimestamp == null) {
+            throw new BadRequestException("'from' and 'to' are required");
+        }
+        if (fromTimestamp.isAfter(toTimestamp)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        String filename = "orders-" + fromTimestamp.toLocalDate() + "-" + toTimestamp.toLocalDate()
+                + (gzip ? ".csv.gz" : ".csv");
+        response.setContentType(gzip ? "application/gzip" : "text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+        OutputStream body = response.getOutputStream();
+        if (gzip) {
+            body = new GZIPOutputStream(body, 64 * 1024);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            orderExportService.exportOrderLines(fromTimestamp, toTimestamp, writer);
+        } catch (UncheckedIOException ex) {
+            // client ngắt kết nối: truy vấn đã bị hủy, không còn gì để trả về
+        }
+    }
+
+    // Máy POS gửi lại khi timeout: cùng Idempotency-Key thì trả lại đơn đã tạo
     @PostMapping
-    public OrderResponse createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        return orderService.createOrder(request);
+    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = IdempotentResponse.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return toResponseEntity(idempotencyService.execute("order.create", idempotencyKey, request,
+                OrderResponse.class, () -> orderService.createOrder(request)));
     }
 
+    // Client hay hỏi lại trạng thái đơn: kiểm tra If-None-Match trước khi nạp cả đơn
     @GetMapping("/{id}")
-    public OrderResponse getOrder(@PathVariable("id") Long id) {
-        System.out.println("Fetching order with ID: " + id);
-        OrderResponse orderResponse = orderService.getOrder(id);
-        System.out.println("Order details: " + orderResponse);
-        return orderResponse;
+    public ResponseEntity<OrderResponse> getOrder(@PathVariable("id") Long id, WebRequest request) {
+        String etag = orderService.getOrderETag(id, WireFormats.negotiate(request));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(httpCacheProperties.orderCacheControl())
+                .body(orderService.getOrder(id));
     }
 
     @PostMapping("/{id}/payments/vnpay")
-    public PaymentUrlResponse initiateVnpayPayment(@PathVariable("id") Long id, HttpServletRequest request) {
+    public ResponseEntity<PaymentUrlResponse> initiateVnpayPayment(@PathVariable("id") Long id,
+            @RequestHeader(value = IdempotentResponse.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            HttpServletRequest request) {
         String clientIp = resolveClientIp(request);
-        return paymentService.initiateVnpayPayment(id, clientIp);
+        return toResponseEntity(idempotencyService.execute("order.payment.vnpay", idempotencyKey, id,
+                PaymentUrlResponse.class, () -> paymentService.initiateVnpayPayment(id, clientIp)));
+    }
+
+    private <T> ResponseEntity<T> toResponseEntity(IdempotentResponse<T> response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (response.replayed()) {
+            builder.header(IdempotentResponse.REPLAYED_HEADER, "true");
+        }
+        return builder.body(response.body());
     }
 
     private LocalDateTime parseDateTime(String value, boolean startOfDay) {
@@ -0,0 +1,24 @@
+package com.yourname.store.controller;
+
+import com.yourname.store.dto.response.PaymentCallbackResponse;
+import com.yourname.store.service.PaymentCallbackService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/payments")
+@RequiredArgsConstructor
+public class PaymentController {
+
+    private final PaymentCallbackService paymentCallbackService;
+
+    // Lịch sử callback VNPAY của một payment (đối soát, khiếu nại)
+    @GetMapping("/{id}/callbacks")
+    public List<PaymentCallbackResponse> getCallbacks(@PathVariable("id") Long id) {
+        return paymentCallbackService.getCallbacks(id);
+    }
+}
@@ -1,19 +1,39 @@
 package com.yourname.store.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.catalog.ProductRowReader;
+import com.yourname.store.config.HttpCacheProperties;
+import com.yourname.store.dto.response.FacetedProductPageResponse;
 import com.yourname.store.dto.response.PageResponse;
+import com.yourname.store.dto.response.ProductImportResponse;
 import com.yourname.store.dto.response.ProductResponse;
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.exception.BadRequestException;
+import com.yourname.store.facet.FacetFilter;
+import com.yourname.store.paging.TotalMode;
+import com.yourname.store.service.ProductImportService;
 import com.yourname.store.service.ProductService;
+import com.yourname.store.util.WireFormats;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/products")
@@ -24,21 +44,94 @@ public class ProductController {
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("createdAt", "name", "price", "code");
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
+    private final HttpCacheProperties httpCacheProperties;
 
     @GetMapping
-    public PageResponse<ProductResponse> searchProducts(
+    public ResponseEntity<PageResponse<ProductResponse>> searchProducts(
             @RequestParam(value = "q", required = false) String keyword,
             @RequestParam(value = "categoryId", required = false) Long categoryId,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "sort", defaultValue = "createdAt,desc") String sort,
+            @RequestParam(value = "total", defaultValue = "exact") String total,
+            WebRequest request) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), parseSort(sort));
+        TotalMode totalMode = TotalMode.parse(total);
+        if (totalMode != TotalMode.EXACT) {
+            // Tổng hợp trên mọi dòng khớp còn đắt hơn chính trang không COUNT: đọc trang rồi băm nó
+            PageResponse<ProductResponse> body = productService.searchProducts(keyword, categoryId, pageable,
+                    totalMode);
+            String etag = productService.getProductSearchETag(body, WireFormats.negotiate(request));
+            return request.checkNotModified(etag) ? null : productSearchResponse(etag).body(body);
+        }
+        // ETag (yếu, để vẫn được gzip) từ truy vấn tổng hợp: 304 không phải nạp trang
+        String etag = productService.getProductSearchETag(keyword, categoryId, pageable, totalMode,
+                WireFormats.negotiate(request));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return productSearchResponse(etag).body(productService.searchProducts(keyword, categoryId, pageable,
+                totalMode));
+    }
+
+    // Màn hình bán hàng: trang kết quả + số đếm theo danh mục, trạng thái, khoảng giá, còn hàng
+    @GetMapping("/faceted")
+    public FacetedProductPageResponse searchProductsFaceted(
+            @RequestParam(value = "q", required = false) String keyword,
+            @RequestParam(value = "categoryId", required = false) Set<Long> categoryIds,
+            @RequestParam(value = "status", required = false) Set<String> statuses,
+            @RequestParam(value = "priceBand", required = false) Set<Integer> priceBands,
+            @RequestParam(value = "inStock", required = false) Boolean inStock,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
             @RequestParam(value = "sort", defaultValue = "createdAt,desc") String sort) {
         Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), parseSort(sort));
-        return productService.searchProducts(keyword, categoryId, pageable);
+        FacetFilter filter = new FacetFilter(categoryIds, parseStatuses(statuses), priceBands, inStock);
+        return productService.searchProductsFaceted(keyword, filter, pageable);
     }
 
     @GetMapping("/{id}")
-    public ProductResponse getProduct(@PathVariable("id") Long id) {
-        return productService.getProduct(id);
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable("id") Long id, WebRequest request) {
+        String etag = productService.getProductETag(id, WireFormats.negotiate(request));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(httpCacheProperties.productCacheControl())
+                .body(productService.getProduct(id));
+    }
+
+    // Nhập bảng giá nhà cung cấp: đọc thẳng từ body, upsert theo code
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ProductImportResponse importCsv(InputStream body) {
+        return productImportService.importProducts(ProductRowReader.csv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ProductImportResponse importJson(InputStream body) throws IOException {
+        return productImportService.importProducts(ProductRowReader.json(body, objectMapper));
+    }
+
+    private ResponseEntity.BodyBuilder productSearchResponse(String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(httpCacheProperties.productSearchCacheControl());
+    }
+
+    private static Set<ProductStatus> parseStatuses(Set<String> statuses) {
+        if (statuses == null) {
+            return Set.of();
+        }
+        try {
+            return statuses.stream()
+                    .map(status -> ProductStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)))
+                    .collect(Collectors.toSet());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("status must be one of " + Arrays.toString(ProductStatus.values()));
+        }
     }
 
     private Sort parseSort(String sort) {
@@ -2,6 +2,7 @@ package com.yourname.store.controller;
 
 import com.yourname.store.service.ReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +11,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+// Lazy cùng ReportServiceImpl: bean được tạo khi có request báo cáo đầu tiên
 @RestController
+@Lazy
 @RequestMapping("/api/reports")
 @RequiredArgsConstructor
 public class ReportController {
@@ -17,6 +17,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class StatisticsController {
 
+    private static final String SCOPE_STORE = "store";
+    private static final String SCOPE_CHAIN = "chain";
+
     private final StatisticsService statisticsService;
 
     @GetMapping("/revenue")
@@ -24,23 +27,40 @@ public class StatisticsController {
             @RequestParam(value = "from", required = false)
                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(value = "to", required = false)
-                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "scope", defaultValue = SCOPE_STORE) String scope) {
         LocalDate today = LocalDate.now();
         LocalDate defaultFrom = today.withDayOfMonth(1);
         LocalDate effectiveFrom = from != null ? from : defaultFrom;
         LocalDate effectiveTo = to != null ? to : today;
         validateRange(effectiveFrom, effectiveTo);
-        return statisticsService.getDailyRevenueStats(effectiveFrom, effectiveTo);
+        return isChain(scope)
+                ? statisticsService.getChainDailyRevenueStats(effectiveFrom, effectiveTo)
+                : statisticsService.getDailyRevenueStats(effectiveFrom, effectiveTo);
     }
 
     @GetMapping("/top-products")
     public List<TopProductResponse> getTopProducts(
             @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
-            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+            @RequestParam(value = "limit", defaultValue = "5") int limit,
+            @RequestParam(value = "scope", defaultValue = SCOPE_STORE) String scope) {
         validateRange(from, to);
         int sanitizedLimit = Math.max(1, Math.min(limit, 100));
-        return statisticsService.getTopProducts(from, to, sanitizedLimit);
+        return isChain(scope)
+                ? statisticsService.getChainTopProducts(from, to, sanitizedLimit)
+                : statisticsService.getTopProducts(from, to, sanitizedLimit);
+    }
+
+    // scope=store (mặc định): cửa hàng trong header X-Store-Id; scope=chain: gộp mọi cửa hàng trên mọi shard
+    private boolean isChain(String scope) {
+        if (SCOPE_CHAIN.equalsIgnoreCase(scope)) {
+            return true;
+        }
+        if (SCOPE_STORE.equalsIgnoreCase(scope)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Parameter 'scope' must be 'store' or 'chain'");
     }
 
     private void validateRange(LocalDate from, LocalDate to) {
@@ -1,8 +1,10 @@
 package com.yourname.store.controller;
 
+import com.yourname.store.dto.response.CustomerSuggestionResponse;
 import com.yourname.store.dto.response.UserResponse;
 import com.yourname.store.exception.BadRequestException;
 import com.yourname.store.service.UserService;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,4 +25,11 @@ public class UserController {
         }
         return userService.getUserByPhone(phone);
     }
+
+    @GetMapping("/suggest")
+    public List<CustomerSuggestionResponse> suggestByPhone(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return userService.suggestByPhone(prefix, limit);
+    }
 }
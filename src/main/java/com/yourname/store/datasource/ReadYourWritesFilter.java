@@ -0,0 +1,60 @@
+package com.yourname.store.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Carries read-your-writes across requests: the first write of a request sets a cookie holding the end of
+ * the stickiness window, and requests presenting a live cookie read from the primary. The cookie is set when
+ * the write connection is acquired, i.e. before the controller writes the body.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReplicaRoutingProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReplicaRoutingContext.begin(readCookie(request), () -> writeCookie(request, response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.end();
+        }
+    }
+
+    private long readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (properties.getStickyCookie().equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void writeCookie(HttpServletRequest request, HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(properties.getStickyCookie(), Long.toString(ReplicaRoutingContext.primaryUntilMillis()));
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, properties.getStickiness().toSeconds()));
+        response.addCookie(cookie);
+    }
+}
@@ -0,0 +1,133 @@
+package com.yourname.store.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Polls every replica with {@code SHOW REPLICA STATUS} and keeps only running replicas within
+ * {@code replica-routing.max-lag} in rotation. Falls back to {@code SHOW SLAVE STATUS} for servers that
+ * predate the new syntax; both MySQL ({@code Seconds_Behind_Source}) and MariaDB/older MySQL
+ * ({@code Seconds_Behind_Master}) column names are understood.
+ */
+public class ReplicaHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private final List<ReplicaNode> replicas;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaHealthMonitor(List<ReplicaNode> replicas, ReplicaRoutingProperties properties,
+            MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = properties.getMaxLag().toSeconds();
+        for (ReplicaNode replica : this.replicas) {
+            Gauge.builder("store.datasource.replica.lag", replica, ReplicaNode::getLagSeconds)
+                    .description("Replication lag in seconds, -1 when unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("store.datasource.replica.healthy", replica, node -> node.isHealthy() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Next healthy replica in round-robin order, or {@code null} when every replica is out of rotation.
+     */
+    public ReplicaNode nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${replica-routing.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    void check(ReplicaNode replica) {
+        boolean wasHealthy = replica.isHealthy();
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            Long lag = readLag(connection);
+            if (lag == null) {
+                replica.markDown("replication is not running");
+            } else if (lag > maxLagSeconds) {
+                replica.markDown("lag " + lag + "s exceeds " + maxLagSeconds + "s");
+            } else {
+                replica.markUp(lag);
+            }
+        } catch (SQLException ex) {
+            replica.markDown(ex.getMessage());
+        }
+        if (wasHealthy != replica.isHealthy()) {
+            if (replica.isHealthy()) {
+                log.info("Replica {} back in rotation (lag {}s)", replica.getName(), replica.getLagSeconds());
+            } else {
+                log.warn("Replica {} out of rotation: {}", replica.getName(), replica.getReason());
+            }
+        }
+    }
+
+    // Trả về null nếu server không phải replica hoặc luồng replication đã dừng
+    private Long readLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet status;
+            try {
+                status = statement.executeQuery("SHOW REPLICA STATUS");
+            } catch (SQLException ex) {
+                status = statement.executeQuery("SHOW SLAVE STATUS");
+            }
+            try (ResultSet rs = status) {
+                if (!rs.next()) {
+                    return null;
+                }
+                String lagColumn = hasColumn(rs, "Seconds_Behind_Source") ? "Seconds_Behind_Source" : "Seconds_Behind_Master";
+                long lag = rs.getLong(lagColumn);
+                return rs.wasNull() ? null : lag;
+            }
+        }
+    }
+
+    private boolean hasColumn(ResultSet rs, String column) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (column.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes a replica out of rotation right away after a failed connection instead of waiting for the next
+     * scheduled check.
+     */
+    void markDown(ReplicaNode replica, SQLException ex) {
+        if (replica.isHealthy()) {
+            replica.markDown(ex.getMessage());
+            log.warn("Replica {} out of rotation: {}", replica.getName(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.yourname.store.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * A replica pool plus the state last observed by {@link ReplicaHealthMonitor}.
+ */
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile long lagSeconds = -1;
+    private volatile String reason = "not checked yet";
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    void markUp(long lagSeconds) {
+        this.lagSeconds = lagSeconds;
+        this.reason = null;
+        this.healthy = true;
+    }
+
+    void markDown(String reason) {
+        this.reason = reason;
+        this.healthy = false;
+    }
+}
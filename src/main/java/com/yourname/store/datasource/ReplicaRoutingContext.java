@@ -0,0 +1,47 @@
+package com.yourname.store.datasource;
+
+/**
+ * Per-thread read-your-writes state. After a write on the primary, reads on the same thread stay on the
+ * primary until the stickiness window expires; {@link ReadYourWritesFilter} carries the window across
+ * requests of the same client in a cookie.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private ReplicaRoutingContext() {
+    }
+
+    static void begin(long primaryUntilMillis, Runnable onFirstWrite) {
+        State state = STATE.get();
+        state.primaryUntilMillis = primaryUntilMillis;
+        state.onFirstWrite = onFirstWrite;
+    }
+
+    static void end() {
+        STATE.remove();
+    }
+
+    static boolean isPrimarySticky() {
+        return STATE.get().primaryUntilMillis > System.currentTimeMillis();
+    }
+
+    static long primaryUntilMillis() {
+        return STATE.get().primaryUntilMillis;
+    }
+
+    static void markWrite(long stickinessMillis) {
+        State state = STATE.get();
+        state.primaryUntilMillis = System.currentTimeMillis() + stickinessMillis;
+        Runnable callback = state.onFirstWrite;
+        if (callback != null) {
+            state.onFirstWrite = null;
+            callback.run();
+        }
+    }
+
+    private static final class State {
+        private long primaryUntilMillis;
+        private Runnable onFirstWrite;
+    }
+}
@@ -0,0 +1,83 @@
+package com.yourname.store.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections requested inside {@code @Transactional(readOnly = true)} to a healthy replica and
+ * everything else to the primary. Must sit behind a {@code LazyConnectionDataSourceProxy}, otherwise the
+ * connection is fetched before the transaction's read-only flag is visible.
+ * <p>
+ * Reads stay on the primary when the thread wrote recently (read-your-writes), when no replica is in
+ * rotation, or when the chosen replica refuses a connection, in which case it is also taken out of rotation.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaHealthMonitor monitor;
+    private final long stickinessMillis;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaHealthMonitor monitor, ReplicaRoutingProperties properties,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.monitor = monitor;
+        this.stickinessMillis = properties.getStickiness().toMillis();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReplicaRoutingContext.markWrite(stickinessMillis);
+            }
+            return primary("write");
+        }
+        if (ReplicaRoutingContext.isPrimarySticky()) {
+            return primary("sticky");
+        }
+        ReplicaNode replica = monitor.nextHealthy();
+        if (replica == null) {
+            return primary("no-replica");
+        }
+        try {
+            Connection connection = replica.getDataSource().getConnection();
+            count(replica.getName(), "read");
+            return connection;
+        } catch (SQLException ex) {
+            monitor.markDown(replica, ex);
+            return primary("fallback");
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per pool");
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    private Connection primary(String reason) throws SQLException {
+        Connection connection = primary.getConnection();
+        count(PRIMARY, reason);
+        return connection;
+    }
+
+    private void count(String target, String reason) {
+        Counter.builder("store.datasource.route")
+                .description("Connections handed out by the replica router")
+                .tags("target", target, "reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,33 @@
+package com.yourname.store.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "replica-routing")
+public class ReplicaRoutingProperties {
+    private boolean enabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+    // Replica trễ hơn mức này bị loại khỏi vòng đọc cho tới lần kiểm tra sau
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    // Sau khi ghi, client đọc từ primary trong khoảng này (read-your-writes)
+    private Duration stickiness = Duration.ofSeconds(5);
+    private String stickyCookie = "STORE_PRIMARY_UNTIL";
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
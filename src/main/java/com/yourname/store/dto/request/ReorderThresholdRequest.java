@@ -0,0 +1,12 @@
+package com.yourname.store.dto.request;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class ReorderThresholdRequest {
+
+    // null: quay về inventory.default-reorder-threshold
+    @Min(0)
+    private Integer reorderThreshold;
+}
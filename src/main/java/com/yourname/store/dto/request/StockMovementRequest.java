@@ -0,0 +1,20 @@
+package com.yourname.store.dto.request;
+
+import com.yourname.store.entity.StockMovementType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class StockMovementRequest {
+
+    // Chỉ RESTOCK (delta > 0) hoặc ADJUSTMENT (delta khác 0); SALE/CANCEL do luồng đơn hàng ghi
+    @NotNull
+    private StockMovementType type;
+
+    @NotNull
+    private Integer delta;
+
+    @Size(max = 255)
+    private String note;
+}
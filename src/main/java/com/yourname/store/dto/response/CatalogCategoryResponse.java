@@ -0,0 +1,4 @@
+package com.yourname.store.dto.response;
+
+public record CatalogCategoryResponse(Long id, String name) {
+}
@@ -0,0 +1,15 @@
+package com.yourname.store.dto.response;
+
+import com.yourname.store.entity.ProductStatus;
+import java.math.BigDecimal;
+
+// Bản rút gọn cho máy POS: không có tên danh mục (đã có trong categories) và thời gian tạo
+public record CatalogProductResponse(
+        Long id,
+        String code,
+        String name,
+        Long categoryId,
+        BigDecimal price,
+        Integer stockQty,
+        ProductStatus status) {
+}
@@ -0,0 +1,14 @@
+package com.yourname.store.dto.response;
+
+import java.util.List;
+
+/**
+ * {@code full = true}: replace the local catalog with these rows. Otherwise upsert them. Either way, send
+ * {@code token} as {@code since} on the next sync.
+ */
+public record CatalogSyncResponse(
+        String token,
+        boolean full,
+        List<CatalogCategoryResponse> categories,
+        List<CatalogProductResponse> products) {
+}
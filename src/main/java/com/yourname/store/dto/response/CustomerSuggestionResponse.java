@@ -0,0 +1,4 @@
+package com.yourname.store.dto.response;
+
+public record CustomerSuggestionResponse(String phone, String name) {
+}
@@ -0,0 +1,9 @@
+package com.yourname.store.dto.response;
+
+// value: giá trị truyền lại vào tham số lọc (categoryId, status, priceBand, inStock)
+public record FacetValueResponse(
+        String value,
+        String label,
+        long count,
+        boolean selected) {
+}
@@ -0,0 +1,7 @@
+package com.yourname.store.dto.response;
+
+// page.totalElements lấy từ chỉ mục facet (totalMode = APPROXIMATE), không có COUNT
+public record FacetedProductPageResponse(
+        PageResponse<ProductResponse> page,
+        ProductFacetsResponse facets) {
+}
@@ -0,0 +1,13 @@
+package com.yourname.store.dto.response;
+
+import java.util.List;
+
+/**
+ * Products of the store at or below their reorder threshold, out-of-stock and lowest stock first.
+ * {@code total} counts all of them, {@code items} holds at most the requested limit.
+ */
+public record LowStockResponse(
+        long storeId,
+        int total,
+        List<StockLevelResponse> items) {
+}
@@ -1,12 +1,44 @@
 package com.yourname.store.dto.response;
 
+import com.yourname.store.paging.TotalMode;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+// totalElements/totalPages là null khi totalMode = NONE; với APPROXIMATE là số đếm gần nhất (có thể đã cũ)
 public record PageResponse<T>(
         List<T> content,
         int page,
         int size,
-        long totalElements,
-        int totalPages,
-        boolean last) {
+        Long totalElements,
+        Integer totalPages,
+        boolean last,
+        TotalMode totalMode) {
+
+    public PageResponse(List<T> content, int page, int size, long totalElements, int totalPages, boolean last) {
+        this(content, page, size, Long.valueOf(totalElements), Integer.valueOf(totalPages), last, TotalMode.EXACT);
+    }
+
+    public static <T> PageResponse<T> of(Page<?> page, List<T> content) {
+        return new PageResponse<>(content, page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages(), page.isLast());
+    }
+
+    /**
+     * Page of a count-free {@link Slice}; {@code approximateTotal} is null for {@link TotalMode#NONE}. A stale
+     * approximate total is raised to at least what this page proves exists, and on the last page (which proves
+     * the exact total) replaced by it, so it never contradicts {@code last}.
+     */
+    public static <T> PageResponse<T> of(Slice<?> slice, List<T> content, Long approximateTotal) {
+        if (approximateTotal == null) {
+            return new PageResponse<>(content, slice.getNumber(), slice.getSize(), null, null, slice.isLast(),
+                    TotalMode.NONE);
+        }
+        long seen = (long) slice.getNumber() * slice.getSize() + content.size() + (slice.hasNext() ? 1 : 0);
+        boolean exact = slice.isLast() && (!content.isEmpty() || slice.getNumber() == 0);
+        long total = exact ? seen : Math.max(approximateTotal, seen);
+        int totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize());
+        return new PageResponse<>(content, slice.getNumber(), slice.getSize(), total, totalPages, slice.isLast(),
+                TotalMode.APPROXIMATE);
+    }
 }
@@ -0,0 +1,13 @@
+package com.yourname.store.dto.response;
+
+import java.time.LocalDateTime;
+
+public record PaymentCallbackResponse(
+        Long id,
+        String source,
+        String outcome,
+        String responseCode,
+        String error,
+        LocalDateTime receivedAt,
+        String query) {
+}
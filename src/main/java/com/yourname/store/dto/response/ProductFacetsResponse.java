@@ -0,0 +1,37 @@
+package com.yourname.store.dto.response;
+
+import com.yourname.store.facet.FacetCounts;
+import com.yourname.store.facet.FacetFilter;
+import com.yourname.store.facet.PriceBands;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts for every value of every facet. A value's count is the number of products the search would return
+ * with that value selected instead of the facet's current selection, the other facets unchanged.
+ */
+public record ProductFacetsResponse(
+        List<FacetValueResponse> categories,
+        List<FacetValueResponse> statuses,
+        List<FacetValueResponse> priceBands,
+        List<FacetValueResponse> inStock) {
+
+    public static ProductFacetsResponse of(FacetCounts counts, FacetFilter filter, PriceBands bands) {
+        List<FacetValueResponse> categories = new ArrayList<>();
+        counts.categories().forEach((id, count) -> categories.add(new FacetValueResponse(String.valueOf(id),
+                counts.categoryNames().get(id), count, filter.categoryIds().contains(id))));
+        List<FacetValueResponse> statuses = new ArrayList<>();
+        counts.statuses().forEach((status, count) -> statuses.add(new FacetValueResponse(status.name(),
+                status.name(), count, filter.statuses().contains(status))));
+        List<FacetValueResponse> priceBands = new ArrayList<>();
+        for (int band = 0; band < counts.priceBands().size(); band++) {
+            priceBands.add(new FacetValueResponse(String.valueOf(band), bands.label(band),
+                    counts.priceBands().get(band), filter.priceBands().contains(band)));
+        }
+        List<FacetValueResponse> inStock = List.of(
+                new FacetValueResponse("true", "In stock", counts.inStock(), Boolean.TRUE.equals(filter.inStock())),
+                new FacetValueResponse("false", "Out of stock", counts.outOfStock(),
+                        Boolean.FALSE.equals(filter.inStock())));
+        return new ProductFacetsResponse(categories, statuses, priceBands, inStock);
+    }
+}
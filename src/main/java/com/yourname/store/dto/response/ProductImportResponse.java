@@ -0,0 +1,13 @@
+package com.yourname.store.dto.response;
+
+import java.util.List;
+
+public record ProductImportResponse(
+        long totalRows,
+        long imported,
+        long failed,
+        List<ProductImportError> errors) {
+
+    public record ProductImportError(long line, String code, String message) {
+    }
+}
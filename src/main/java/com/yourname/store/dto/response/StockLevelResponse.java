@@ -0,0 +1,15 @@
+package com.yourname.store.dto.response;
+
+import com.yourname.store.entity.ProductStatus;
+
+// reorderThreshold là ngưỡng đang áp dụng; customThreshold = false khi sản phẩm dùng ngưỡng mặc định
+public record StockLevelResponse(
+        Long productId,
+        String code,
+        String name,
+        int stockQty,
+        int reorderThreshold,
+        boolean customThreshold,
+        ProductStatus status,
+        boolean lowStock) {
+}
@@ -0,0 +1,14 @@
+package com.yourname.store.dto.response;
+
+import com.yourname.store.entity.StockMovementType;
+import java.time.LocalDateTime;
+
+public record StockMovementResponse(
+        Long id,
+        StockMovementType type,
+        int delta,
+        Long orderId,
+        String note,
+        boolean compacted,
+        LocalDateTime createdAt) {
+}
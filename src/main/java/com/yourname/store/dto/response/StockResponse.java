@@ -0,0 +1,10 @@
+package com.yourname.store.dto.response;
+
+import java.time.LocalDateTime;
+
+// at = null: tồn kho hiện tại (gồm phần sổ kho chưa gộp)
+public record StockResponse(
+        Long productId,
+        LocalDateTime at,
+        int stockQty) {
+}
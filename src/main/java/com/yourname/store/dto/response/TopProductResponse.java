@@ -2,8 +2,10 @@ package com.yourname.store.dto.response;
 
 import java.math.BigDecimal;
 
+// productId là null trong báo cáo toàn chuỗi: mỗi cửa hàng có bản ghi sản phẩm riêng cho cùng một mã
 public record TopProductResponse(
         Long productId,
+        String code,
         String name,
         long soldQuantity,
         BigDecimal revenue) {
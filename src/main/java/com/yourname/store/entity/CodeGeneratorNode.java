@@ -0,0 +1,27 @@
+package com.yourname.store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Lease của một node-id CodeGenerator; chỉ NodeIdLease ghi bảng này (bằng SQL)
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "code_generator_nodes")
+public class CodeGeneratorNode {
+
+    @Id
+    @Column(name = "node_id")
+    private Integer nodeId;
+
+    @Column(name = "owner", nullable = false, length = 128)
+    private String owner;
+
+    @Column(name = "heartbeat_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime heartbeatAt;
+}
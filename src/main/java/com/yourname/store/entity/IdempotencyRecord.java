@@ -0,0 +1,64 @@
+package com.yourname.store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One {@code Idempotency-Key} per store and scope (e.g. {@code order.create}). The row is inserted as
+ * {@code IN_PROGRESS} before the request runs and switched to {@code COMPLETED} with the serialized response in
+ * the same transaction as the business write, so a replay never sees an order without its stored response.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_store_scope_key",
+                columnNames = { "store_id", "scope", "idempotency_key" })
+}, indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "store_id", nullable = false, updatable = false)
+    private Long storeId;
+
+    @Column(name = "scope", nullable = false, length = 50)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    @Column(name = "response_body", columnDefinition = "MEDIUMTEXT")
+    private String responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -5,14 +5,18 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -22,6 +26,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @Setter
@@ -29,14 +34,22 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "orders")
+// orders được partition theo tháng của order_date (V4): khóa unique phải chứa order_date, không có FK
+@Table(name = "orders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_code", columnNames = { "code", "order_date" })
+}, indexes = @Index(name = "idx_orders_store_date", columnList = "store_id, order_date"))
 public class Order extends BaseEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "code", nullable = false, unique = true, length = 50)
+    // Cửa hàng sở hữu dòng; dữ liệu có trước khi tách cửa hàng thuộc cửa hàng 1
+    @ColumnDefault("1")
+    @Column(name = "store_id", nullable = false, updatable = false)
+    private Long storeId;
+
+    @Column(name = "code", nullable = false, length = 50)
     private String code;
 
     @Column(name = "order_date", nullable = false)
@@ -61,7 +74,7 @@ public class Order extends BaseEntity {
     private List<Payment> payments = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = true)
+    @JoinColumn(name = "user_id", nullable = true, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
     public void addItem(OrderItem item) {
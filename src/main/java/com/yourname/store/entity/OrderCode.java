@@ -0,0 +1,29 @@
+package com.yourname.store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Global uniqueness of {@code orders.code}: the partitioned {@code orders} table can only enforce
+ * {@code UNIQUE (code, order_date)}. Inserted in the transaction that creates the order.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "order_codes")
+public class OrderCode {
+
+    @Id
+    @Column(name = "code", length = 50)
+    private String code;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+}
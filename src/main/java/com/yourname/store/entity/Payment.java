@@ -1,16 +1,20 @@
 package com.yourname.store.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -18,6 +22,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @Setter
@@ -25,22 +30,33 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payments_txn_ref", columnNames = { "txn_ref", "order_date" })
+})
 public class Payment extends BaseEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Cửa hàng sở hữu dòng; dữ liệu có trước khi tách cửa hàng thuộc cửa hàng 1
+    @ColumnDefault("1")
+    @Column(name = "store_id", nullable = false, updatable = false)
+    private Long storeId;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", nullable = false)
+    @JoinColumn(name = "order_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Order order;
 
+    // Chép từ orders.order_date để partition cùng tháng với đơn hàng
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "provider", nullable = false, length = 30)
     private PaymentProvider provider;
 
-    @Column(name = "txn_ref", nullable = false, unique = true, length = 64)
+    @Column(name = "txn_ref", nullable = false, length = 64)
     private String txnRef;
 
     @Column(name = "amount", nullable = false, precision = 18, scale = 2)
@@ -59,6 +75,13 @@ public class Payment extends BaseEntity {
     @Column(name = "pay_date")
     private LocalDateTime payDate;
 
-    @Column(name = "raw_query", columnDefinition = "TEXT")
-    private String rawQuery;
+    @PrePersist
+    void assignOrderDate() {
+        if (orderDate == null && order != null) {
+            orderDate = order.getOrderDate();
+        }
+        if (storeId == null && order != null) {
+            storeId = order.getStoreId();
+        }
+    }
 }
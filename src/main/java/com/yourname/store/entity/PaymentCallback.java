@@ -0,0 +1,59 @@
+package com.yourname.store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Append-only audit of every VNPAY callback (return and IPN, duplicates and rejected ones included). The sorted
+ * query string is stored compressed (see {@code CompressedText}) so the hot {@code payments} row stays narrow.
+ * Keyed by {@code txn_ref} rather than a payment id because callbacks with an unknown or forged reference are
+ * recorded as well.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payment_callbacks", indexes = {
+        @Index(name = "idx_payment_callbacks_txn_ref", columnList = "txn_ref"),
+        @Index(name = "idx_payment_callbacks_received_at", columnList = "received_at")
+})
+public class PaymentCallback {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "txn_ref", length = 64)
+    private String txnRef;
+
+    @Column(name = "source", nullable = false, length = 10)
+    private String source;
+
+    @Column(name = "outcome", nullable = false, length = 30)
+    private String outcome;
+
+    @Column(name = "response_code", length = 10)
+    private String responseCode;
+
+    @Column(name = "error", length = 255)
+    private String error;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "BLOB")
+    private byte[] payload;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,29 @@
+package com.yourname.store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Global uniqueness of {@code payments.txn_ref}, which VNPAY callbacks look payments up by; the partitioned
+ * {@code payments} table can only enforce {@code UNIQUE (txn_ref, order_date)}.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payment_refs")
+public class PaymentRef {
+
+    @Id
+    @Column(name = "txn_ref", length = 64)
+    private String txnRef;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+}
@@ -0,0 +1,6 @@
+package com.yourname.store.entity;
+
+public enum PointTransactionType {
+    EARN,
+    REVERSAL
+}
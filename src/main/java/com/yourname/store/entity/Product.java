@@ -8,15 +8,19 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Getter
 @Setter
@@ -24,14 +28,24 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "products")
+// Chỉ ghi cột đã đổi: stock_qty chỉ được cộng dồn bằng SQL (StockLedger), không bị ghi đè bằng giá trị cũ
+@DynamicUpdate
+// Mã sản phẩm chỉ duy nhất trong một cửa hàng (V9)
+@Table(name = "products",
+        uniqueConstraints = @UniqueConstraint(name = "uk_products_store_code", columnNames = { "store_id", "code" }),
+        indexes = @Index(name = "idx_products_store_updated_at", columnList = "store_id, updated_at"))
 public class Product extends BaseEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "code", nullable = false, unique = true, length = 50)
+    // Cửa hàng sở hữu dòng; dữ liệu có trước khi tách cửa hàng thuộc cửa hàng 1
+    @ColumnDefault("1")
+    @Column(name = "store_id", nullable = false, updatable = false)
+    private Long storeId;
+
+    @Column(name = "code", nullable = false, length = 50)
     private String code;
 
     @Column(name = "name", nullable = false, length = 255)
@@ -47,6 +61,10 @@ public class Product extends BaseEntity {
     @Column(name = "stock_qty", nullable = false)
     private Integer stockQty;
 
+    // null: dùng inventory.default-reorder-threshold
+    @Column(name = "reorder_threshold")
+    private Integer reorderThreshold;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 30)
     private ProductStatus status;
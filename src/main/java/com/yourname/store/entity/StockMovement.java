@@ -0,0 +1,60 @@
+package com.yourname.store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Append-only stock movement. Rows are inserted with one multi-row statement by {@code StockLedger}; the only
+ * later change is {@code compacted}, set once the delta has been added to {@code products.stock_qty}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_pending", columnList = "compacted, product_id"),
+        @Index(name = "idx_stock_movements_product_created", columnList = "product_id, created_at"),
+        @Index(name = "idx_stock_movements_order", columnList = "order_id")
+})
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private StockMovementType type;
+
+    @Column(name = "delta", nullable = false)
+    private int delta;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "note", length = 255)
+    private String note;
+
+    @Column(name = "compacted", nullable = false)
+    private boolean compacted;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package com.yourname.store.entity;
+
+public enum StockMovementType {
+    SALE,
+    CANCEL,
+    RESTOCK,
+    ADJUSTMENT
+}
@@ -0,0 +1,43 @@
+package com.yourname.store.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Stock of one product at {@code takenAt}, written periodically by {@code StockLedger} so that stock at a past
+ * time only needs the movements after the nearest snapshot.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "stock_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_snapshots_product_taken", columnNames = { "product_id", "taken_at" })
+})
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "stock_qty", nullable = false)
+    private int stockQty;
+
+    @Column(name = "taken_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime takenAt;
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.AllArgsConstructor;
@@ -15,6 +16,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Getter
 @Setter
@@ -22,23 +25,31 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@DynamicUpdate
+// Số điện thoại chỉ duy nhất trong một cửa hàng (V9)
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_store_phone", columnNames = { "store_id", "phone" }))
 public class User extends BaseEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Cửa hàng sở hữu dòng; dữ liệu có trước khi tách cửa hàng thuộc cửa hàng 1
+    @ColumnDefault("1")
+    @Column(name = "store_id", nullable = false, updatable = false)
+    private Long storeId;
+
     @Column(name = "name", nullable = false, length = 150)
     private String name;
 
-    @Column(name = "phone", unique = true, length = 20)
+    @Column(name = "phone", length = 20)
     private String phone;
 
     @Column(name = "address", nullable = false, length = 255)
     private String address;
 
-    @Column(name = "point", nullable = false)
+    // Chỉ thay đổi qua UserRepository.addPoints, không ghi đè khi flush entity
+    @Column(name = "point", nullable = false, updatable = false)
     private Integer point;
 
     @JsonIgnore
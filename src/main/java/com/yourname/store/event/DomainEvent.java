@@ -0,0 +1,27 @@
+package com.yourname.store.event;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Domain events are written to {@code outbox_events} in the transaction that causes them and delivered after
+ * commit by {@link OutboxRelay} as Spring application events, so handlers are plain {@code @EventListener}
+ * methods. Delivery is at-least-once: handlers must tolerate seeing the same event again.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(OrderCreated.class),
+        @JsonSubTypes.Type(OrderPaid.class),
+        @JsonSubTypes.Type(OrderCanceled.class),
+        @JsonSubTypes.Type(StockChanged.class),
+        @JsonSubTypes.Type(StockThresholdCrossed.class)
+})
+public sealed interface DomainEvent permits OrderCreated, OrderPaid, OrderCanceled, StockChanged,
+        StockThresholdCrossed {
+
+    Long aggregateId();
+
+    static String typeOf(DomainEvent event) {
+        return event.getClass().getSimpleName();
+    }
+}
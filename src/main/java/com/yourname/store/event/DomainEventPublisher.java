@@ -0,0 +1,87 @@
+package com.yourname.store.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Collects the domain events of the current transaction and writes them to {@code outbox_events} with a single
+ * multi-row INSERT just before commit, so an order and its events are committed (or rolled back) together.
+ * After commit the relay is woken up to deliver them.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventPublisher {
+
+    private static final String INSERT = "INSERT INTO outbox_events "
+            + "(event_type, aggregate_id, payload, status, attempts, next_attempt_at, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, 'PENDING', 0, NOW(), NOW())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay outboxRelay;
+
+    public void publish(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Domain events must be published inside a transaction");
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    private void write(List<DomainEvent> events) {
+        StringBuilder sql = new StringBuilder(INSERT);
+        List<Object> args = new ArrayList<>(events.size() * 3);
+        for (DomainEvent event : events) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            args.add(DomainEvent.typeOf(event));
+            args.add(event.aggregateId());
+            args.add(serialize(event));
+        }
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private String serialize(DomainEvent event) {
+        try {
+            return objectMapper.writerFor(DomainEvent.class).writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize " + DomainEvent.typeOf(event), ex);
+        }
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<DomainEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!events.isEmpty()) {
+                write(events);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            outboxRelay.signal();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventPublisher.this);
+        }
+    }
+}
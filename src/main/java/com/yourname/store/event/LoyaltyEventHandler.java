@@ -0,0 +1,26 @@
+package com.yourname.store.event;
+
+import com.yourname.store.service.LoyaltyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Cộng/trừ điểm sau khi checkout đã commit: không giữ khóa dòng users trong transaction tạo đơn
+@Component
+@RequiredArgsConstructor
+public class LoyaltyEventHandler {
+
+    private final LoyaltyService loyaltyService;
+
+    @EventListener
+    public void onOrderPaid(OrderPaid event) {
+        if (event.userId() != null) {
+            loyaltyService.awardPoints(event.orderId());
+        }
+    }
+
+    @EventListener
+    public void onOrderCanceled(OrderCanceled event) {
+        loyaltyService.reversePoints(event.orderId());
+    }
+}
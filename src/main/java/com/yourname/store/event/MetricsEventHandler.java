@@ -0,0 +1,32 @@
+package com.yourname.store.event;
+
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.metrics.StoreMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Đếm sau khi transaction của relay commit: event bị gửi lại vì handler khác lỗi không bị đếm hai lần
+@Component
+@RequiredArgsConstructor
+public class MetricsEventHandler {
+
+    private final StoreMetrics storeMetrics;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPaid(OrderPaid event) {
+        storeMetrics.orderPaid();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChanged event) {
+        if (event.status() == ProductStatus.OUT_OF_STOCK) {
+            storeMetrics.stockOut();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockThresholdCrossed(StockThresholdCrossed event) {
+        storeMetrics.stockThresholdCrossed(event.low());
+    }
+}
@@ -0,0 +1,9 @@
+package com.yourname.store.event;
+
+public record OrderCanceled(Long orderId) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,14 @@
+package com.yourname.store.event;
+
+import com.yourname.store.entity.OrderStatus;
+import java.math.BigDecimal;
+
+// Không còn được phát (không có handler nào); giữ để relay vẫn đọc được các dòng cũ trong outbox_events
+public record OrderCreated(Long orderId, String orderCode, Long userId, BigDecimal totalAmount, OrderStatus status)
+        implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,11 @@
+package com.yourname.store.event;
+
+import java.math.BigDecimal;
+
+public record OrderPaid(Long orderId, Long userId, BigDecimal totalAmount) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.yourname.store.event;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+    private int batchSize = 100;
+    // Quét định kỳ để gửi lại event lỗi hoặc bị bỏ sót khi instance khác chết
+    private Duration pollInterval = Duration.ofSeconds(1);
+    // Event đã được một relay nhận sẽ không bị relay khác lấy trong khoảng này
+    private Duration leaseTimeout = Duration.ofSeconds(30);
+    private int maxAttempts = 10;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
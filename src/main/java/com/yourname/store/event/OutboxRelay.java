@@ -0,0 +1,174 @@
+package com.yourname.store.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.entity.OutboxEvent;
+import com.yourname.store.entity.OutboxStatus;
+import com.yourname.store.metrics.StoreMetrics;
+import com.yourname.store.repository.OutboxEventRepository;
+import com.yourname.store.shard.ShardRouter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers outbox events on a single background thread. Each pass claims a batch with
+ * {@code FOR UPDATE SKIP LOCKED} and leases it, then runs every event in its own transaction: the
+ * {@code @EventListener} handlers join that transaction and the outbox row is deleted in it, so database side
+ * effects of a handler and the removal of its event commit together. A failed event is retried with exponential
+ * backoff until {@code outbox.max-attempts}, then left as {@code DEAD}.
+ */
+@Component
+public class OutboxRelay implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository repository;
+    private final OutboxProperties properties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final StoreMetrics storeMetrics;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public OutboxRelay(OutboxEventRepository repository, OutboxProperties properties,
+            ApplicationEventPublisher applicationEventPublisher, ObjectMapper objectMapper,
+            StoreMetrics storeMetrics, ShardRouter shardRouter, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.properties = properties;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.objectMapper = objectMapper;
+        this.storeMetrics = storeMetrics;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Gọi sau commit: gom nhiều lần đánh thức thành một lượt chạy
+    public void signal() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drainQuietly);
+            } catch (RejectedExecutionException ex) {
+                scheduled.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:PT1S}")
+    public void poll() {
+        signal();
+    }
+
+    private void drainQuietly() {
+        scheduled.set(false);
+        try {
+            drain();
+        } catch (DataAccessException ex) {
+            log.warn("Outbox relay pass failed, retrying on next poll", ex);
+        }
+    }
+
+    /**
+     * Delivers due events of every shard until the backlog is empty; returns the number of events delivered.
+     */
+    public int drain() {
+        return shardRouter.forEachShard(this::drainShard).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int drainShard() {
+        int delivered = 0;
+        while (true) {
+            List<OutboxEvent> batch = claim();
+            for (OutboxEvent event : batch) {
+                if (dispatch(event)) {
+                    delivered++;
+                }
+            }
+            if (batch.size() < properties.getBatchSize()) {
+                return delivered;
+            }
+        }
+    }
+
+    private List<OutboxEvent> claim() {
+        return transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = repository.findDispatchable(properties.getBatchSize());
+            if (!batch.isEmpty()) {
+                repository.lease(batch.stream().map(OutboxEvent::getId).toList(),
+                        properties.getLeaseTimeout().toSeconds());
+            }
+            return batch;
+        });
+    }
+
+    private boolean dispatch(OutboxEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                applicationEventPublisher.publishEvent(deserialize(event));
+                repository.deleteDispatched(event.getId());
+            });
+            storeMetrics.outboxEvent(event.getEventType(), "dispatched");
+            return true;
+        } catch (RuntimeException ex) {
+            markFailed(event, ex);
+            return false;
+        }
+    }
+
+    private void markFailed(OutboxEvent event, RuntimeException ex) {
+        int attempts = event.getAttempts() + 1;
+        boolean dead = attempts >= properties.getMaxAttempts();
+        String error = String.valueOf(ex.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (dead) {
+            log.error("Outbox event {} ({}) failed {} times, giving up", event.getId(), event.getEventType(),
+                    attempts, ex);
+        } else {
+            log.warn("Outbox event {} ({}) failed, attempt {}", event.getId(), event.getEventType(), attempts, ex);
+        }
+        String finalError = error;
+        transactionTemplate.executeWithoutResult(status -> repository.markFailed(event.getId(),
+                dead ? OutboxStatus.DEAD.name() : OutboxStatus.PENDING.name(), finalError, backoffSeconds(attempts)));
+        storeMetrics.outboxEvent(event.getEventType(), dead ? "dead" : "retried");
+    }
+
+    // 1s, 2s, 4s... tối đa max-backoff
+    long backoffSeconds(int attempts) {
+        long initial = Math.max(1, properties.getInitialBackoff().toSeconds());
+        long backoff = initial << Math.min(attempts - 1, 30);
+        return Math.min(backoff, properties.getMaxBackoff().toSeconds());
+    }
+
+    private DomainEvent deserialize(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), DomainEvent.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot read outbox event " + event.getId(), ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,11 @@
+package com.yourname.store.event;
+
+import com.yourname.store.entity.ProductStatus;
+
+public record StockChanged(Long productId, int stockQty, ProductStatus status, Long orderId) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return productId;
+    }
+}
@@ -0,0 +1,14 @@
+package com.yourname.store.event;
+
+/**
+ * A product's stock went to or below its reorder threshold ({@code low}), or back above it. Published in the
+ * transaction that changed the stock or the threshold, so it is emitted once per crossing cluster-wide.
+ */
+public record StockThresholdCrossed(Long productId, Long storeId, String code, int stockQty, int reorderThreshold,
+        boolean low) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return productId;
+    }
+}
@@ -0,0 +1,19 @@
+package com.yourname.store.facet;
+
+import com.yourname.store.entity.ProductStatus;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@link StoreFacets#count}: the number of products matching the whole filter, and for every value
+ * of a facet the number of products that would match with that facet's own selection replaced by the value.
+ * {@code categories} is ordered by category name, {@code priceBands} by band.
+ */
+public record FacetCounts(long total, Map<Long, Long> categories, Map<Long, String> categoryNames,
+        Map<ProductStatus, Long> statuses, List<Long> priceBands, long inStock, long outOfStock) {
+
+    static FacetCounts empty(int priceBands) {
+        return new FacetCounts(0, Map.of(), Map.of(), Map.of(), Collections.nCopies(priceBands, 0L), 0, 0);
+    }
+}
@@ -0,0 +1,20 @@
+package com.yourname.store.facet;
+
+import com.yourname.store.entity.ProductStatus;
+import java.util.Set;
+
+/**
+ * Facet selections of a product search. Values of one facet are OR-ed, facets are AND-ed; an empty set (or a
+ * {@code null} {@code inStock}) does not filter.
+ */
+public record FacetFilter(Set<Long> categoryIds, Set<ProductStatus> statuses, Set<Integer> priceBands,
+        Boolean inStock) {
+
+    public static final FacetFilter NONE = new FacetFilter(null, null, null, null);
+
+    public FacetFilter {
+        categoryIds = categoryIds == null ? Set.of() : Set.copyOf(categoryIds);
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+        priceBands = priceBands == null ? Set.of() : Set.copyOf(priceBands);
+    }
+}
@@ -0,0 +1,21 @@
+package com.yourname.store.facet;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "facets")
+public class FacetProperties {
+    // Ranh giới khoảng giá (VND): 10000,20000 -> "< 10000", "10000 - 20000", ">= 20000"
+    private List<BigDecimal> priceBands = new ArrayList<>(List.of(new BigDecimal("10000"), new BigDecimal("20000"),
+            new BigDecimal("50000"), new BigDecimal("100000")));
+    private Duration syncInterval = Duration.ofSeconds(2);
+    // Lớn hơn độ lệch đồng hồ giữa các instance và thời gian một transaction ghi sản phẩm
+    private Duration settleWindow = Duration.ofSeconds(10);
+}
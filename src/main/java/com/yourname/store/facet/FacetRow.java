@@ -0,0 +1,25 @@
+package com.yourname.store.facet;
+
+import com.yourname.store.entity.ProductStatus;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Facet values of one product, with the name and code a keyword is matched against. {@code stockQty} is the
+ * stored (compacted) stock, the same column the search page filters on, so counts and pages agree in ledger
+ * mode too.
+ */
+public record FacetRow(long productId, long storeId, String name, String code, long categoryId,
+        String categoryName, BigDecimal price, int stockQty, ProductStatus status) {
+
+    // Cột cần cho of(ResultSet), đọc từ "products p JOIN categories c"
+    static final String COLUMNS = "p.id, p.store_id, p.name, p.code, p.category_id, c.name AS category_name, "
+            + "p.price, p.stock_qty, p.status";
+
+    static FacetRow of(ResultSet rs) throws SQLException {
+        return new FacetRow(rs.getLong("id"), rs.getLong("store_id"), rs.getString("name"), rs.getString("code"),
+                rs.getLong("category_id"), rs.getString("category_name"), rs.getBigDecimal("price"),
+                rs.getInt("stock_qty"), ProductStatus.valueOf(rs.getString("status")));
+    }
+}
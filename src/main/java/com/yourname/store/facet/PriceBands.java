@@ -0,0 +1,54 @@
+package com.yourname.store.facet;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Price bands from ascending boundaries: band {@code i} is {@code [boundary(i - 1), boundary(i))}, the first band
+ * has no lower bound and the last no upper bound.
+ */
+public final class PriceBands {
+
+    private final List<BigDecimal> boundaries;
+
+    public PriceBands(List<BigDecimal> boundaries) {
+        this.boundaries = boundaries.stream().distinct().sorted().toList();
+    }
+
+    public int count() {
+        return boundaries.size() + 1;
+    }
+
+    public int bandOf(BigDecimal price) {
+        int band = 0;
+        while (band < boundaries.size() && price.compareTo(boundaries.get(band)) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    // null: không có cận dưới
+    public BigDecimal lower(int band) {
+        return band == 0 ? null : boundaries.get(band - 1);
+    }
+
+    // null: không có cận trên
+    public BigDecimal upper(int band) {
+        return band == boundaries.size() ? null : boundaries.get(band);
+    }
+
+    public String label(int band) {
+        BigDecimal lower = lower(band);
+        BigDecimal upper = upper(band);
+        if (lower == null && upper == null) {
+            return "all";
+        }
+        if (lower == null) {
+            return "< " + upper.toPlainString();
+        }
+        if (upper == null) {
+            return ">= " + lower.toPlainString();
+        }
+        return lower.toPlainString() + " - " + upper.toPlainString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.yourname.store.facet;
+
+import com.yourname.store.catalog.ProductChangePoller;
+import com.yourname.store.shard.ShardRouter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory facet counts for the product search ({@code /api/products/faceted}), one {@link StoreFacets} per
+ * store. Loaded once when the application is ready; afterwards a short poll ({@link ProductChangePoller})
+ * re-reads only the products whose {@code updated_at} moved ({@code idx_products_store_updated_at}) and the
+ * renamed categories, on every shard and whichever instance wrote them. Keyword scopes are matched in memory
+ * too, so a faceted request does not query the database. Sales in ledger mode reach the index when they are
+ * compacted.
+ */
+@Component
+public class ProductFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFacetIndex.class);
+
+    private static final String ROWS = "SELECT " + FacetRow.COLUMNS
+            + " FROM products p JOIN categories c ON c.id = p.category_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PriceBands priceBands;
+    private final ProductChangePoller changes;
+    private final Map<Long, StoreFacets> stores = new ConcurrentHashMap<>();
+
+    public ProductFacetIndex(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, FacetProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.priceBands = new PriceBands(properties.getPriceBands());
+        this.changes = new ProductChangePoller("Product facet", jdbcTemplate, shardRouter,
+                properties.getSettleWindow());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        changes.load(() -> {
+            AtomicInteger loaded = new AtomicInteger();
+            jdbcTemplate.query(ROWS, rs -> {
+                apply(FacetRow.of(rs));
+                loaded.incrementAndGet();
+            });
+            return loaded.get();
+        });
+        log.info("Product facet index loaded {} products in {} stores", stores.values().stream()
+                .mapToInt(StoreFacets::size).sum(), stores.size());
+    }
+
+    public PriceBands priceBands() {
+        return priceBands;
+    }
+
+    /**
+     * Facet counts of a store for {@code filter}, among the products whose name or code contains
+     * {@code keyword} (same rule as the search) when it is given.
+     */
+    public FacetCounts count(long storeId, FacetFilter filter, String keyword) {
+        StoreFacets facets = stores.get(storeId);
+        if (facets == null) {
+            return FacetCounts.empty(priceBands.count());
+        }
+        return facets.count(filter, keyword);
+    }
+
+    @Scheduled(fixedDelayString = "${facets.sync-interval:PT2S}")
+    public void sync() {
+        changes.poll((storeIds, changedSince) -> {
+            AtomicInteger changed = new AtomicInteger();
+            changes.queryChanged(ROWS, storeIds, changedSince, rs -> {
+                apply(FacetRow.of(rs));
+                changed.incrementAndGet();
+            });
+            jdbcTemplate.query("SELECT id, name FROM categories WHERE updated_at >= ?", rs -> {
+                long categoryId = rs.getLong("id");
+                String name = rs.getString("name");
+                storeIds.stream()
+                        .map(stores::get)
+                        .filter(facets -> facets != null)
+                        .forEach(facets -> facets.renameCategory(categoryId, name));
+            }, changedSince);
+            return changed.get();
+        });
+    }
+
+    void apply(FacetRow row) {
+        stores.computeIfAbsent(row.storeId(), storeId -> new StoreFacets(priceBands)).put(row);
+    }
+}
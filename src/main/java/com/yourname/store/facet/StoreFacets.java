@@ -0,0 +1,261 @@
+package com.yourname.store.facet;
+
+import com.yourname.store.entity.ProductStatus;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Facet bitmaps of one store, one compressed bitmap of product ids per category, status and price band plus
+ * one for products in stock. A search intersects the bitmaps of its selections instead of running a
+ * {@code GROUP BY} per facet; a product change moves its id between bitmaps.
+ * <p>
+ * Writers (the load and the sync poll) update the bitmaps under the lock; readers count on an immutable
+ * snapshot, copied once after a batch of changes, so concurrent searches never wait for each other.
+ */
+public class StoreFacets {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final PriceBands priceBands;
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> categories = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+    private final Map<ProductStatus, RoaringBitmap> statuses = new EnumMap<>(ProductStatus.class);
+    private final RoaringBitmap[] bands;
+    private final RoaringBitmap inStock = new RoaringBitmap();
+    // Giá trị đang được đánh dấu của từng sản phẩm, để gỡ bit cũ khi sản phẩm đổi
+    private final Map<Integer, FacetRow> rows = new HashMap<>();
+    // Chuỗi tìm kiếm của từng sản phẩm, chuẩn hóa một lần khi tên/mã đổi chứ không phải mỗi lần chép snapshot
+    private final Map<Integer, String> texts = new HashMap<>();
+    // ReentrantLock thay cho synchronized: put/snapshot chạy trên luồng request, kể cả virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private volatile boolean dirty = true;
+
+    public StoreFacets(PriceBands priceBands) {
+        this.priceBands = priceBands;
+        this.bands = new RoaringBitmap[priceBands.count()];
+        for (int band = 0; band < bands.length; band++) {
+            bands[band] = new RoaringBitmap();
+        }
+        for (ProductStatus status : ProductStatus.values()) {
+            statuses.put(status, new RoaringBitmap());
+        }
+    }
+
+    /**
+     * Moves the product to the bitmaps of {@code row}. Returns false without touching the snapshot when the row
+     * equals what is already indexed, which is what most rows re-read by the sync poll's settle window are.
+     */
+    public boolean put(FacetRow row) {
+        int id = Math.toIntExact(row.productId());
+        lock.lock();
+        try {
+            FacetRow previous = rows.put(id, row);
+            if (row.equals(previous)) {
+                return false;
+            }
+            if (previous != null) {
+                clear(id, previous);
+            }
+            if (previous == null || !Objects.equals(previous.name(), row.name())
+                    || !Objects.equals(previous.code(), row.code())) {
+                texts.put(id, searchText(row.name() + '\u0000' + row.code()));
+            }
+            all.add(id);
+            categories.computeIfAbsent(row.categoryId(), categoryId -> new RoaringBitmap()).add(id);
+            categoryNames.put(row.categoryId(), row.categoryName());
+            statuses.get(row.status()).add(id);
+            bands[priceBands.bandOf(row.price())].add(id);
+            if (row.stockQty() > 0) {
+                inStock.add(id);
+            }
+            dirty = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void renameCategory(long categoryId, String name) {
+        lock.lock();
+        try {
+            if (categoryNames.computeIfPresent(categoryId, (id, previous) -> name) != null) {
+                dirty = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return snapshot().all.getCardinality();
+    }
+
+    /**
+     * Counts for {@code filter}, limited to the products whose name or code contains {@code keyword} unless it
+     * is blank. Matching ignores case and accents, like the collation the search page filters with.
+     */
+    public FacetCounts count(FacetFilter filter, String keyword) {
+        Snapshot current = snapshot();
+        return current.count(filter, StringUtils.hasText(keyword) ? current.matching(searchText(keyword.trim()))
+                : null);
+    }
+
+    // Chỉ chép lại khi có thay đổi kể từ lần đọc trước; phần lớn lượt đọc không cần khóa
+    private Snapshot snapshot() {
+        if (dirty) {
+            lock.lock();
+            try {
+                if (dirty) {
+                    snapshot = new Snapshot(this);
+                    dirty = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Lower-cased name and code with accents stripped ({@code đ} included), so a contains check agrees with
+     * {@code LIKE} under an accent- and case-insensitive collation.
+     */
+    static String searchText(String value) {
+        String decomposed = Normalizer.normalize(value.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+    }
+
+    /**
+     * Immutable copy of the bitmaps; never changed after construction, so it is read without locking.
+     */
+    private static final class Snapshot {
+
+        private final RoaringBitmap all;
+        private final Map<Long, RoaringBitmap> categories = new HashMap<>();
+        private final Map<Long, String> categoryNames;
+        private final Map<ProductStatus, RoaringBitmap> statuses = new EnumMap<>(ProductStatus.class);
+        private final RoaringBitmap[] bands;
+        private final RoaringBitmap inStock;
+        // Chuỗi tìm kiếm theo id, quét tuần tự thay cho LIKE trên cơ sở dữ liệu
+        private final int[] ids;
+        private final String[] texts;
+
+        private Snapshot(StoreFacets facets) {
+            all = facets.all.clone();
+            facets.categories.forEach((categoryId, bitmap) -> categories.put(categoryId, bitmap.clone()));
+            categoryNames = new HashMap<>(facets.categoryNames);
+            facets.statuses.forEach((status, bitmap) -> statuses.put(status, bitmap.clone()));
+            bands = new RoaringBitmap[facets.bands.length];
+            for (int band = 0; band < bands.length; band++) {
+                bands[band] = facets.bands[band].clone();
+            }
+            inStock = facets.inStock.clone();
+            ids = new int[facets.texts.size()];
+            texts = new String[ids.length];
+            int index = 0;
+            for (Map.Entry<Integer, String> entry : facets.texts.entrySet()) {
+                ids[index] = entry.getKey();
+                texts[index++] = entry.getValue();
+            }
+        }
+
+        private RoaringBitmap matching(String keyword) {
+            RoaringBitmap matches = new RoaringBitmap();
+            for (int index = 0; index < ids.length; index++) {
+                if (texts[index].contains(keyword)) {
+                    matches.add(ids[index]);
+                }
+            }
+            return matches;
+        }
+
+        private FacetCounts count(FacetFilter filter, RoaringBitmap scope) {
+            RoaringBitmap universe = scope == null ? all : RoaringBitmap.and(all, scope);
+            RoaringBitmap byCategory = filter.categoryIds().isEmpty() ? null
+                    : union(categories, filter.categoryIds());
+            RoaringBitmap byStatus = filter.statuses().isEmpty() ? null : union(statuses, filter.statuses());
+            RoaringBitmap byBand = filter.priceBands().isEmpty() ? null : unionBands(filter.priceBands());
+            RoaringBitmap byStock = filter.inStock() == null ? null
+                    : filter.inStock() ? inStock : RoaringBitmap.andNot(all, inStock);
+
+            // Mỗi nhóm đếm theo bộ lọc của các nhóm khác: chọn một danh mục vẫn thấy số lượng của danh mục còn lại
+            RoaringBitmap categoryBase = and(universe, byStatus, byBand, byStock);
+            RoaringBitmap statusBase = and(universe, byCategory, byBand, byStock);
+            RoaringBitmap bandBase = and(universe, byCategory, byStatus, byStock);
+            RoaringBitmap stockBase = and(universe, byCategory, byStatus, byBand);
+
+            Map<Long, Long> categoryCounts = new LinkedHashMap<>();
+            Map<Long, String> names = new LinkedHashMap<>();
+            categories.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isEmpty())
+                    .sorted(Comparator.comparing((Map.Entry<Long, RoaringBitmap> entry) ->
+                            categoryNames.get(entry.getKey())).thenComparing(Map.Entry::getKey))
+                    .forEach(entry -> {
+                        categoryCounts.put(entry.getKey(),
+                                (long) RoaringBitmap.andCardinality(categoryBase, entry.getValue()));
+                        names.put(entry.getKey(), categoryNames.get(entry.getKey()));
+                    });
+            Map<ProductStatus, Long> statusCounts = new EnumMap<>(ProductStatus.class);
+            statuses.forEach((status, bitmap) -> statusCounts.put(status,
+                    (long) RoaringBitmap.andCardinality(statusBase, bitmap)));
+            List<Long> bandCounts = new ArrayList<>(bands.length);
+            for (RoaringBitmap band : bands) {
+                bandCounts.add((long) RoaringBitmap.andCardinality(bandBase, band));
+            }
+            long inStockCount = RoaringBitmap.andCardinality(stockBase, inStock);
+            long total = byCategory == null ? categoryBase.getLongCardinality()
+                    : RoaringBitmap.andCardinality(categoryBase, byCategory);
+
+            return new FacetCounts(total, categoryCounts, names, statusCounts, bandCounts, inStockCount,
+                    stockBase.getLongCardinality() - inStockCount);
+        }
+
+        private RoaringBitmap unionBands(Set<Integer> selected) {
+            return FastAggregation.or(selected.stream()
+                    .filter(band -> band >= 0 && band < bands.length)
+                    .map(band -> bands[band])
+                    .toArray(RoaringBitmap[]::new));
+        }
+    }
+
+    private void clear(int id, FacetRow previous) {
+        categories.get(previous.categoryId()).remove(id);
+        statuses.get(previous.status()).remove(id);
+        bands[priceBands.bandOf(previous.price())].remove(id);
+        inStock.remove(id);
+    }
+
+    private static <K> RoaringBitmap union(Map<K, RoaringBitmap> bitmaps, Set<K> selected) {
+        return FastAggregation.or(selected.stream()
+                .map(bitmaps::get)
+                .filter(bitmap -> bitmap != null)
+                .toArray(RoaringBitmap[]::new));
+    }
+
+    // Không sửa các bitmap đầu vào; không có bộ lọc nào thì trả lại chính base
+    private static RoaringBitmap and(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = RoaringBitmap.and(result, filter);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yourname.store.idempotency;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // Thời gian giữ response đã lưu để trả lại cho request lặp
+    private Duration ttl = Duration.ofHours(24);
+    private long cacheMaximumSize = 10_000;
+    private Duration cacheTtl = Duration.ofMinutes(10);
+    // Request trùng chờ lần chạy đầu tối đa bấy lâu rồi trả 409
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private Duration pollInterval = Duration.ofMillis(100);
+    // Khóa IN_PROGRESS không được cập nhật quá lâu coi như bị bỏ dở
+    private Duration inProgressTimeout = Duration.ofSeconds(30);
+    private int maxKeyLength = 100;
+    private int sweepBatchSize = 1000;
+}
@@ -0,0 +1,10 @@
+package com.yourname.store.idempotency;
+
+/**
+ * Result of an idempotent call; {@code replayed} is true when the body was taken from a previous execution.
+ */
+public record IdempotentResponse<T>(T body, boolean replayed) {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+}
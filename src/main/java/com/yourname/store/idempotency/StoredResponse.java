@@ -0,0 +1,5 @@
+package com.yourname.store.idempotency;
+
+// Response đã lưu kèm hash của request gốc để phát hiện key bị dùng lại cho request khác
+public record StoredResponse(String requestHash, String body) {
+}
@@ -0,0 +1,19 @@
+package com.yourname.store.inventory;
+
+/**
+ * A sale would take the stock of {@code productId} below zero; nothing of the sale is kept once the transaction
+ * rolls back.
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    private final long productId;
+
+    public InsufficientStockException(long productId) {
+        super("Insufficient stock for product " + productId);
+        this.productId = productId;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+}
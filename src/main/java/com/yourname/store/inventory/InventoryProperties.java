@@ -0,0 +1,33 @@
+package com.yourname.store.inventory;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "inventory")
+public class InventoryProperties {
+    // Ngưỡng cho sản phẩm chưa đặt reorder_threshold
+    private int defaultReorderThreshold = 10;
+    // Chu kỳ đọc các sản phẩm vừa đổi (theo updated_at) do instance khác ghi
+    private Duration syncInterval = Duration.ofSeconds(10);
+    // Đọc lùi thêm khoảng này để không sót dòng commit muộn hoặc lệch đồng hồ
+    private Duration settleWindow = Duration.ofSeconds(10);
+    private int maxResults = 500;
+    private Ledger ledger = new Ledger();
+
+    @Getter
+    @Setter
+    public static class Ledger {
+        // in-place: mỗi lần bán cộng thẳng vào products.stock_qty; ledger: chỉ ghi thêm vào stock_movements,
+        // compaction cộng dồn định kỳ (không còn khóa dòng sản phẩm bán chạy)
+        private StockWriteMode stockWrites = StockWriteMode.IN_PLACE;
+        private Duration compactionInterval = Duration.ofSeconds(2);
+        // Số sản phẩm tối đa mỗi lượt compaction
+        private int compactionBatchSize = 500;
+        // Chu kỳ chụp tồn kho cho truy vấn tồn tại một thời điểm
+        private Duration snapshotInterval = Duration.ofHours(1);
+    }
+}
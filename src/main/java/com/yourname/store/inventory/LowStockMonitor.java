@@ -0,0 +1,219 @@
+package com.yourname.store.inventory;
+
+import com.yourname.store.catalog.ProductChangePoller;
+import com.yourname.store.event.DomainEventPublisher;
+import com.yourname.store.event.StockThresholdCrossed;
+import com.yourname.store.shard.ShardRouter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps, per store, a sorted in-memory set of the products at or below their reorder threshold, so
+ * {@code /api/inventory/low-stock} never queries {@code products}. The set is loaded once at startup; after that
+ * every stock or threshold change is evaluated on its own:
+ * <ul>
+ * <li>the code that changes stock calls {@link #stockChanged} inside its transaction, which publishes
+ * {@link StockThresholdCrossed} through the outbox when the product crosses its threshold and updates the set
+ * after commit;</li>
+ * <li>changes committed by other instances are picked up by a short poll of the rows whose {@code updated_at}
+ * moved ({@code idx_products_store_updated_at}, see {@link ProductChangePoller}), not by rescanning the
+ * table.</li>
+ * </ul>
+ */
+@Component
+public class LowStockMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    private static final String COLUMNS = "SELECT " + StockLevel.COLUMNS + " FROM products p ";
+    private static final String AT_RISK = COLUMNS + "WHERE p.status <> 'INACTIVE' AND "
+            + StockLedger.CURRENT_STOCK + " <= COALESCE(p.reorder_threshold, ?)";
+    private static final RowMapper<StockLevel> STOCK_LEVEL = (rs, rowNum) -> StockLevel.of(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DomainEventPublisher domainEventPublisher;
+    private final InventoryProperties properties;
+    private final ProductChangePoller changes;
+    private final Comparator<StockLevel> mostAtRisk;
+    private final Map<Long, StoreIndex> stores = new ConcurrentHashMap<>();
+
+    public LowStockMonitor(JdbcTemplate jdbcTemplate, DomainEventPublisher domainEventPublisher,
+            ShardRouter shardRouter, InventoryProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.domainEventPublisher = domainEventPublisher;
+        this.properties = properties;
+        this.changes = new ProductChangePoller("Low-stock", jdbcTemplate, shardRouter, properties.getSettleWindow());
+        // Hết hàng trước, rồi tồn ít nhất, rồi ngưỡng cao nhất
+        int defaultThreshold = properties.getDefaultReorderThreshold();
+        this.mostAtRisk = Comparator.comparingInt(StockLevel::stockQty)
+                .thenComparing(Comparator.comparingInt((StockLevel level) -> level.thresholdOr(defaultThreshold))
+                        .reversed())
+                .thenComparing(StockLevel::code)
+                .thenComparingLong(StockLevel::productId);
+    }
+
+    // Nạp một lần trước khi readiness báo UP; sau đó chỉ cập nhật theo từng thay đổi
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        changes.load(() -> {
+            List<StockLevel> atRisk = jdbcTemplate.query(AT_RISK, STOCK_LEVEL, properties.getDefaultReorderThreshold());
+            atRisk.forEach(this::apply);
+            return atRisk.size();
+        });
+        log.info("Low-stock monitor loaded {} at-risk products", stores.values().stream()
+                .mapToInt(StoreIndex::size).sum());
+    }
+
+    /**
+     * Evaluates one stock or threshold change. Must run inside the transaction that wrote {@code current}:
+     * the crossing event is committed with it, and the in-memory set only changes once it has committed.
+     * {@code previous} is {@code null} for a product that did not exist before: it joins the set without an
+     * event, since it crossed nothing.
+     */
+    public void stockChanged(StockLevel previous, StockLevel current) {
+        int defaultThreshold = properties.getDefaultReorderThreshold();
+        boolean atRisk = current.atRisk(defaultThreshold);
+        if (previous != null && previous.atRisk(defaultThreshold) != atRisk) {
+            domainEventPublisher.publish(new StockThresholdCrossed(current.productId(), current.storeId(),
+                    current.code(), current.stockQty(), current.thresholdOr(defaultThreshold), atRisk));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(current);
+                }
+            });
+        } else {
+            apply(current);
+        }
+    }
+
+    /**
+     * At-risk products of a store, most urgent first.
+     */
+    public List<StockLevel> lowStock(long storeId, int limit) {
+        StoreIndex index = stores.get(storeId);
+        return index == null ? List.of() : index.first(Math.min(limit, properties.getMaxResults()));
+    }
+
+    public int lowStockCount(long storeId) {
+        StoreIndex index = stores.get(storeId);
+        return index == null ? 0 : index.size();
+    }
+
+    public int defaultReorderThreshold() {
+        return properties.getDefaultReorderThreshold();
+    }
+
+    /**
+     * Re-reads the products changed since the last pass on every shard, including changes committed by other
+     * instances or written outside the application.
+     */
+    @Scheduled(fixedDelayString = "${inventory.sync-interval:PT10S}")
+    public void sync() {
+        changes.poll((storeIds, changedSince) -> {
+            AtomicInteger changed = new AtomicInteger();
+            changes.queryChanged(COLUMNS, storeIds, changedSince, rs -> {
+                apply(StockLevel.of(rs));
+                changed.incrementAndGet();
+            });
+            return changed.get();
+        });
+    }
+
+    void apply(StockLevel level) {
+        StoreIndex index = stores.computeIfAbsent(level.storeId(), storeId -> new StoreIndex(mostAtRisk));
+        if (level.atRisk(properties.getDefaultReorderThreshold())) {
+            index.put(level);
+        } else {
+            index.remove(level.productId());
+        }
+    }
+
+    void applyAll(Collection<StockLevel> levels) {
+        levels.forEach(this::apply);
+    }
+
+    // TreeSet + map theo productId, khóa theo cửa hàng: thay một phần tử = xóa bản cũ rồi thêm bản mới
+    private static final class StoreIndex {
+
+        private final NavigableSet<StockLevel> atRisk;
+        private final Map<Long, StockLevel> byProduct = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private StoreIndex(Comparator<StockLevel> order) {
+            this.atRisk = new TreeSet<>(order);
+        }
+
+        void put(StockLevel level) {
+            lock.writeLock().lock();
+            try {
+                StockLevel previous = byProduct.put(level.productId(), level);
+                if (previous != null) {
+                    atRisk.remove(previous);
+                }
+                atRisk.add(level);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long productId) {
+            lock.writeLock().lock();
+            try {
+                StockLevel previous = byProduct.remove(productId);
+                if (previous != null) {
+                    atRisk.remove(previous);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<StockLevel> first(int limit) {
+            lock.readLock().lock();
+            try {
+                List<StockLevel> result = new ArrayList<>(Math.min(limit, atRisk.size()));
+                for (StockLevel level : atRisk) {
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                    result.add(level);
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return atRisk.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.yourname.store.inventory;
+
+import com.yourname.store.entity.StockMovementType;
+import com.yourname.store.shard.ShardRouter;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Append-only record of every stock change ({@code stock_movements}). Current stock is
+ * {@code products.stock_qty} (the compacted snapshot) plus the movements not compacted yet:
+ * <ul>
+ * <li>{@code inventory.ledger.stock-writes=in-place}: each movement is added to {@code products.stock_qty} in the
+ * same transaction, so nothing is left to compact;</li>
+ * <li>{@code ledger}: a sale only inserts its movement and never locks the product row; {@link #compact()} adds
+ * the pending movements to {@code products.stock_qty} every {@code compaction-interval}.</li>
+ * </ul>
+ * Sales go through {@link #sell}, which never lets the stock drop below zero. {@link #snapshot()} stores the
+ * stock of recently changed products every {@code snapshot-interval}, so
+ * {@link #stockAt} only adds the movements after the nearest snapshot.
+ */
+@Component
+public class StockLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    /**
+     * Current stock of the product aliased {@code p}, for use in a select list or a condition.
+     */
+    public static final String CURRENT_STOCK = "(p.stock_qty + COALESCE((SELECT SUM(m.delta) FROM stock_movements m "
+            + "WHERE m.compacted = FALSE AND m.product_id = p.id), 0))";
+
+    private static final String INSERT = "INSERT INTO stock_movements "
+            + "(store_id, product_id, type, delta, order_id, note, compacted, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ADD_TO_PRODUCT =
+            "UPDATE products SET stock_qty = stock_qty + ?, updated_at = ? WHERE id = ?";
+    // Điều kiện nằm trong chính câu UPDATE: hai lượt bán đơn vị cuối cùng không thể cùng qua
+    private static final String TAKE_FROM_PRODUCT =
+            "UPDATE products SET stock_qty = stock_qty + ?, updated_at = ? WHERE id = ? AND stock_qty + ? >= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final InventoryProperties.Ledger properties;
+    private final Duration settleWindow;
+    private final TransactionTemplate readCommitted;
+    private final TransactionTemplate latestCommitted;
+    private final Map<String, LocalDateTime> lastSnapshot = new ConcurrentHashMap<>();
+
+    public StockLedger(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, InventoryProperties properties,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.properties = properties.getLedger();
+        this.settleWindow = properties.getSettleWindow();
+        // Không có gap lock: compaction và snapshot không chặn các lượt bán đang ghi thêm dòng
+        this.readCommitted = new TransactionTemplate(transactionManager);
+        this.readCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.latestCommitted = new TransactionTemplate(transactionManager);
+        this.latestCommitted.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.latestCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    public record Movement(long storeId, long productId, StockMovementType type, int delta, Long orderId,
+            String note) {
+    }
+
+    /**
+     * {@code true} when sales are left pending for {@link #compact()} instead of updating the product row.
+     */
+    public boolean deferred() {
+        return properties.getStockWrites() == StockWriteMode.LEDGER;
+    }
+
+    /**
+     * Sum of the movements not compacted yet, per product; products without any are absent.
+     */
+    public Map<Long, Integer> pending(Collection<Long> productIds) {
+        Map<Long, Integer> pending = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return pending;
+        }
+        jdbcTemplate.query("SELECT product_id, SUM(delta) FROM stock_movements WHERE compacted = FALSE "
+                + "AND product_id IN (" + placeholders(productIds.size()) + ") GROUP BY product_id",
+                rs -> {
+                    pending.put(rs.getLong(1), rs.getInt(2));
+                }, productIds.toArray());
+        return pending;
+    }
+
+    public Integer currentStock(long productId) {
+        List<Integer> stock = jdbcTemplate.queryForList("SELECT " + CURRENT_STOCK + " FROM products p WHERE p.id = ?",
+                Integer.class, productId);
+        return stock.isEmpty() ? null : stock.get(0);
+    }
+
+    /**
+     * Appends movements in the caller's transaction. In {@code in-place} mode they are also added to
+     * {@code products.stock_qty} with an atomic increment; a managed {@code Product} keeps its old value.
+     */
+    public void record(List<Movement> movements) {
+        requireTransaction();
+        if (movements.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        insert(movements, !deferred(), now);
+        if (!deferred()) {
+            addToProducts(sumByProduct(movements), now);
+        }
+    }
+
+    /**
+     * Records sales in the caller's transaction and returns the stock left per product, or throws
+     * {@link InsufficientStockException} when one would drop below zero. The product rows stay locked until the
+     * transaction ends, so two payments for the last unit are checked one after the other: {@code in-place}
+     * takes the stock with a conditional decrement, {@code ledger} locks the rows and checks the committed stock
+     * before appending the movements.
+     */
+    public Map<Long, Integer> sell(List<Movement> sales) {
+        requireTransaction();
+        if (sales.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Integer> deltas = new TreeMap<>(sumByProduct(sales));
+        Map<Long, Integer> remaining;
+        if (deferred()) {
+            remaining = lockedStock(deltas.keySet());
+            deltas.forEach((productId, delta) -> {
+                Integer stock = remaining.get(productId);
+                if (stock == null || stock + delta < 0) {
+                    throw new InsufficientStockException(productId);
+                }
+                remaining.put(productId, stock + delta);
+            });
+        } else {
+            Timestamp timestamp = Timestamp.valueOf(now);
+            // theo thứ tự id để hai giao dịch không khóa chéo nhau
+            deltas.forEach((productId, delta) -> {
+                if (jdbcTemplate.update(TAKE_FROM_PRODUCT, delta, timestamp, productId, delta) == 0) {
+                    throw new InsufficientStockException(productId);
+                }
+            });
+            remaining = storedStock(deltas.keySet());
+        }
+        insert(sales, !deferred(), now);
+        return remaining;
+    }
+
+    /**
+     * Net delta per product of the movements of one type recorded for an order.
+     */
+    public Map<Long, Integer> orderDeltas(long orderId, StockMovementType type) {
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT product_id, SUM(delta) FROM stock_movements WHERE order_id = ? AND type = ? "
+                + "GROUP BY product_id ORDER BY product_id", rs -> {
+                    deltas.put(rs.getLong(1), rs.getInt(2));
+                }, orderId, type.name());
+        return deltas;
+    }
+
+    /**
+     * Stock of a product at {@code at}: the nearest snapshot taken at or before it plus the movements in between,
+     * or, without one, the current stock minus the movements since. {@code 0} before the product existed.
+     */
+    public int stockAt(long productId, LocalDateTime at) {
+        Timestamp until = Timestamp.valueOf(at);
+        List<Object[]> snapshot = jdbcTemplate.query("SELECT stock_qty, taken_at FROM stock_snapshots "
+                + "WHERE product_id = ? AND taken_at <= ? ORDER BY taken_at DESC LIMIT 1",
+                (rs, rowNum) -> new Object[] { rs.getInt(1), rs.getTimestamp(2) }, productId, until);
+        if (!snapshot.isEmpty()) {
+            return (int) snapshot.get(0)[0] + jdbcTemplate.queryForObject("SELECT COALESCE(SUM(delta), 0) "
+                    + "FROM stock_movements WHERE product_id = ? AND created_at > ? AND created_at <= ?",
+                    Integer.class, productId, snapshot.get(0)[1], until);
+        }
+        Integer stock = jdbcTemplate.queryForObject("SELECT CASE WHEN p.created_at > ? THEN 0 ELSE "
+                + CURRENT_STOCK + " - (SELECT COALESCE(SUM(delta), 0) FROM stock_movements "
+                + "WHERE product_id = p.id AND created_at > ?) END FROM products p WHERE p.id = ?",
+                Integer.class, until, until, productId);
+        return stock;
+    }
+
+    /**
+     * Adds pending movements to {@code products.stock_qty}, at most {@code compaction-batch-size} products per
+     * shard and pass. Rows are claimed with {@code FOR UPDATE SKIP LOCKED}, so several instances can compact
+     * at the same time.
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.compaction-interval:PT2S}")
+    public void compact() {
+        shardRouter.forEachShard(() -> {
+            try {
+                return compactShard();
+            } catch (DataAccessException ex) {
+                log.warn("Stock compaction failed, retrying on next pass", ex);
+                return 0;
+            }
+        });
+    }
+
+    int compactShard() {
+        List<Long> productIds = jdbcTemplate.queryForList("SELECT DISTINCT product_id FROM stock_movements "
+                + "WHERE compacted = FALSE LIMIT ?", Long.class, properties.getCompactionBatchSize());
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        Integer compacted = readCommitted.execute(status -> {
+            List<Long> movementIds = new ArrayList<>();
+            Map<Long, Integer> deltas = new HashMap<>();
+            jdbcTemplate.query("SELECT id, product_id, delta FROM stock_movements WHERE compacted = FALSE "
+                    + "AND product_id IN (" + placeholders(productIds.size()) + ") FOR UPDATE SKIP LOCKED", rs -> {
+                        movementIds.add(rs.getLong(1));
+                        deltas.merge(rs.getLong(2), rs.getInt(3), Integer::sum);
+                    }, productIds.toArray());
+            if (movementIds.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.update("UPDATE stock_movements SET compacted = TRUE WHERE id IN ("
+                    + placeholders(movementIds.size()) + ")", movementIds.toArray());
+            addToProducts(deltas, LocalDateTime.now());
+            return movementIds.size();
+        });
+        return compacted == null ? 0 : compacted;
+    }
+
+    /**
+     * Stores the stock of every product changed since the previous snapshot, as of the last
+     * {@code snapshot-interval} boundary that is older than {@code inventory.settle-window}.
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.snapshot-interval:PT1H}")
+    public void snapshot() {
+        shardRouter.forEachShard(() -> {
+            try {
+                return snapshotShard(shardRouter.currentShard());
+            } catch (DataAccessException ex) {
+                log.warn("Stock snapshot failed, retrying on next pass", ex);
+                return 0;
+            }
+        });
+    }
+
+    int snapshotShard(String shard) {
+        // Cùng mốc trên mọi instance: uk_stock_snapshots_product_taken bỏ qua bản trùng
+        long interval = properties.getSnapshotInterval().toSeconds();
+        long cutoff = LocalDateTime.now().minus(settleWindow).toEpochSecond(ZoneOffset.UTC);
+        LocalDateTime takenAt = LocalDateTime.ofEpochSecond(cutoff - Math.floorMod(cutoff, interval), 0,
+                ZoneOffset.UTC);
+        LocalDateTime previous = lastSnapshot.computeIfAbsent(shard, key -> jdbcTemplate.queryForList(
+                "SELECT taken_at FROM stock_snapshots ORDER BY id DESC LIMIT 1", LocalDateTime.class).stream()
+                .findFirst().orElse(takenAt.minus(properties.getSnapshotInterval())));
+        if (!takenAt.isAfter(previous)) {
+            return 0;
+        }
+        // Sản phẩm đổi tồn kho đều có updated_at mới (bán tại chỗ, compaction, nhập, điều chỉnh)
+        List<Object[]> rows = new ArrayList<>();
+        for (Long storeId : jdbcTemplate.queryForList("SELECT DISTINCT store_id FROM products", Long.class)) {
+            jdbcTemplate.query("SELECT p.store_id, p.id, " + CURRENT_STOCK + " - (SELECT COALESCE(SUM(delta), 0) "
+                    + "FROM stock_movements WHERE product_id = p.id AND created_at > ?) "
+                    + "FROM products p WHERE p.store_id = ? AND p.updated_at > ?", rs -> {
+                        rows.add(new Object[] { rs.getLong(1), rs.getLong(2), rs.getInt(3) });
+                    }, Timestamp.valueOf(takenAt), storeId, Timestamp.valueOf(previous.minus(settleWindow)));
+        }
+        for (int from = 0; from < rows.size(); from += 1000) {
+            List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + 1000));
+            List<Object> args = new ArrayList<>(chunk.size() * 4);
+            for (Object[] row : chunk) {
+                Collections.addAll(args, row);
+                args.add(Timestamp.valueOf(takenAt));
+            }
+            jdbcTemplate.update("INSERT IGNORE INTO stock_snapshots (store_id, product_id, stock_qty, taken_at) "
+                    + "VALUES " + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?)")),
+                    args.toArray());
+        }
+        lastSnapshot.put(shard, takenAt);
+        log.debug("Stock snapshot at {}: {} products on shard {}", takenAt, rows.size(), shard);
+        return rows.size();
+    }
+
+    // Khóa dòng sản phẩm rồi cộng phần sổ kho chưa gộp đã commit. Snapshot REPEATABLE READ của giao dịch có thể
+    // đã cũ, còn đọc có khóa trên stock_movements sẽ khóa chéo với compaction: đọc bằng giao dịch riêng
+    private Map<Long, Integer> lockedStock(Collection<Long> productIds) {
+        Map<Long, Integer> stock = new HashMap<>();
+        jdbcTemplate.query("SELECT id, stock_qty FROM products WHERE id IN (" + placeholders(productIds.size())
+                + ") ORDER BY id FOR UPDATE", rs -> {
+                    stock.put(rs.getLong(1), rs.getInt(2));
+                }, productIds.toArray());
+        Map<Long, Integer> pending = latestCommitted.execute(status -> pending(productIds));
+        pending.forEach((productId, delta) -> stock.computeIfPresent(productId, (id, qty) -> qty + delta));
+        return stock;
+    }
+
+    // Dòng vừa được chính giao dịch này cập nhật (và đang khóa): đọc thường đã thấy giá trị mới nhất
+    private Map<Long, Integer> storedStock(Collection<Long> productIds) {
+        Map<Long, Integer> stock = new HashMap<>();
+        jdbcTemplate.query("SELECT id, stock_qty FROM products WHERE id IN (" + placeholders(productIds.size())
+                + ")", rs -> {
+                    stock.put(rs.getLong(1), rs.getInt(2));
+                }, productIds.toArray());
+        return stock;
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Stock movements must be recorded inside a transaction");
+        }
+    }
+
+    private void insert(List<Movement> movements, boolean compacted, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object> args = new ArrayList<>(movements.size() * 8);
+        for (Movement movement : movements) {
+            args.add(movement.storeId());
+            args.add(movement.productId());
+            args.add(movement.type().name());
+            args.add(movement.delta());
+            // kiểu tường minh: null không kiểu khiến driver phải hỏi metadata của câu lệnh
+            args.add(new SqlParameterValue(Types.BIGINT, movement.orderId()));
+            args.add(new SqlParameterValue(Types.VARCHAR, movement.note()));
+            args.add(compacted);
+            args.add(timestamp);
+        }
+        jdbcTemplate.update(INSERT + String.join(", ", Collections.nCopies(movements.size(), ROW)),
+                args.toArray());
+    }
+
+    private void addToProducts(Map<Long, Integer> deltas, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        // theo thứ tự id để hai giao dịch không khóa chéo nhau
+        deltas.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> args.add(new Object[] { entry.getValue(), timestamp, entry.getKey() }));
+        jdbcTemplate.batchUpdate(ADD_TO_PRODUCT, args);
+    }
+
+    private static Map<Long, Integer> sumByProduct(List<Movement> movements) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        movements.forEach(movement -> deltas.merge(movement.productId(), movement.delta(), Integer::sum));
+        return deltas;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
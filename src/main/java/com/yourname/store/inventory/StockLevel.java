@@ -0,0 +1,49 @@
+package com.yourname.store.inventory;
+
+import com.yourname.store.entity.Product;
+import com.yourname.store.entity.ProductStatus;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Stock of one product as the low-stock monitor sees it. {@code stockQty} is the current stock including
+ * movements not compacted yet (see {@link StockLedger}); {@link #of(Product)} only knows the compacted value.
+ * {@code reorderThreshold} is the product's own
+ * threshold and may be {@code null} (the configured default applies).
+ */
+public record StockLevel(long productId, long storeId, String code, String name, int stockQty,
+        Integer reorderThreshold, ProductStatus status) {
+
+    // Cột cần cho of(ResultSet), đọc từ "products p"; tồn kho gồm cả phần sổ kho chưa gộp
+    public static final String COLUMNS = "p.id, p.store_id, p.code, p.name, " + StockLedger.CURRENT_STOCK
+            + " AS stock_qty, p.reorder_threshold, p.status";
+
+    public static StockLevel of(Product product) {
+        return new StockLevel(product.getId(), product.getStoreId(), product.getCode(), product.getName(),
+                product.getStockQty(), product.getReorderThreshold(), product.getStatus());
+    }
+
+    public static StockLevel of(ResultSet rs) throws SQLException {
+        int threshold = rs.getInt("reorder_threshold");
+        Integer reorderThreshold = rs.wasNull() ? null : threshold;
+        return new StockLevel(rs.getLong("id"), rs.getLong("store_id"), rs.getString("code"), rs.getString("name"),
+                rs.getInt("stock_qty"), reorderThreshold, ProductStatus.valueOf(rs.getString("status")));
+    }
+
+    public StockLevel withStockQty(int stockQty) {
+        return new StockLevel(productId, storeId, code, name, stockQty, reorderThreshold, status);
+    }
+
+    public StockLevel withReorderThreshold(Integer reorderThreshold) {
+        return new StockLevel(productId, storeId, code, name, stockQty, reorderThreshold, status);
+    }
+
+    public int thresholdOr(int defaultThreshold) {
+        return reorderThreshold != null ? reorderThreshold : defaultThreshold;
+    }
+
+    // Sản phẩm ngừng bán không cần đặt thêm hàng
+    public boolean atRisk(int defaultThreshold) {
+        return status != ProductStatus.INACTIVE && stockQty <= thresholdOr(defaultThreshold);
+    }
+}
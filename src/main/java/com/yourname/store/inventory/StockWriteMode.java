@@ -0,0 +1,6 @@
+package com.yourname.store.inventory;
+
+public enum StockWriteMode {
+    IN_PLACE,
+    LEDGER
+}
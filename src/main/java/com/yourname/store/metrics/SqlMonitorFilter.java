@@ -0,0 +1,93 @@
+package com.yourname.store.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens a {@link SqlStatementCounter} scope per HTTP request, publishes the totals as {@code store.sql.*}
+ * meters tagged with the matched URI pattern, and logs requests that exceed the configured budgets or repeat
+ * the same statement often enough to look like an N+1.
+ */
+@RequiredArgsConstructor
+public class SqlMonitorFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitorFilter.class);
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats stats = SqlStatementCounter.stop();
+            if (stats != null) {
+                report(request, stats);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        String method = request.getMethod();
+
+        DistributionSummary.builder("store.sql.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("store.sql.rows")
+                .description("Rows read or written per HTTP request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("store.sql.time")
+                .description("Time spent in JDBC per HTTP request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.getJdbcTime());
+
+        List<SqlStatementStats.RepeatedStatement> repeated =
+                stats.repeatedStatements(properties.getRepeatedStatementThreshold());
+        if (!repeated.isEmpty()) {
+            Counter.builder("store.sql.n-plus-one")
+                    .description("Requests that repeated an identical statement")
+                    .tags("uri", uri, "method", method)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 on {} {}: {}", method, uri, repeated.stream()
+                    .map(statement -> statement.count() + "x [" + statement.sql() + "]")
+                    .toList());
+        }
+
+        boolean overStatements = stats.getStatements() > properties.getMaxStatements();
+        boolean overTime = stats.getJdbcTime().compareTo(properties.getMaxJdbcTime()) > 0;
+        if (overStatements || overTime) {
+            Counter.builder("store.sql.budget.exceeded")
+                    .description("Requests over the SQL statement or JDBC time budget")
+                    .tags("uri", uri, "method", method, "budget", overStatements ? "statements" : "time")
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("SQL budget exceeded on {} {}: {} (budget: {} statements, {}ms)", method, uri, stats,
+                    properties.getMaxStatements(), properties.getMaxJdbcTime().toMillis());
+        }
+    }
+}
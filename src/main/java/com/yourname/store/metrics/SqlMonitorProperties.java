@@ -0,0 +1,18 @@
+package com.yourname.store.metrics;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sql-monitor")
+public class SqlMonitorProperties {
+    private boolean enabled = true;
+    // Ngân sách cho mỗi HTTP request; vượt quá sẽ ghi log WARN
+    private int maxStatements = 15;
+    private Duration maxJdbcTime = Duration.ofMillis(500);
+    // Cùng một câu SQL chạy >= N lần trong một request được coi là N+1
+    private int repeatedStatementThreshold = 3;
+}
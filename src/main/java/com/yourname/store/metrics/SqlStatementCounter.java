@@ -0,0 +1,29 @@
+package com.yourname.store.metrics;
+
+/**
+ * Thread-bound holder for the {@link SqlStatementStats} of the current unit of work. Nothing is counted on a
+ * thread until {@link #start()} is called, so scheduled jobs and startup seeding stay out of the numbers.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static SqlStatementStats stop() {
+        SqlStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+}
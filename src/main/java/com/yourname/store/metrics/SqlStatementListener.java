@@ -0,0 +1,70 @@
+package com.yourname.store.metrics;
+
+import java.sql.ResultSet;
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Feeds statement, row and timing data from the proxied {@code DataSource} into the thread's
+ * {@link SqlStatementStats}. Rows are counted from {@code ResultSet.next()} for queries and from update counts
+ * for DML.
+ */
+public class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementCounter.current();
+        if (stats != null) {
+            stats.queryStarted(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementCounter.current();
+        if (stats == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        // Batch của một PreparedStatement chỉ có một câu SQL
+        String sql = queryInfoList.get(0).getQuery();
+        stats.queryFinished(sql, System.nanoTime(), updateCount(execInfo.getResult()));
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlStatementStats stats = SqlStatementCounter.current();
+            if (stats != null) {
+                stats.rowRead();
+            }
+        }
+    }
+
+    private long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                // SUCCESS_NO_INFO (-2): driver không trả số dòng, tính là 1
+                total += count >= 0 ? count : 1;
+            }
+            return total;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.yourname.store.metrics;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SQL activity of one unit of work (an HTTP request or a test block). A JDBC batch counts as one statement,
+ * since it is one round-trip, while its update counts are added to {@link #getRows()}. Not thread-safe:
+ * instances are only touched by the thread that owns them through {@link SqlStatementCounter}.
+ */
+public class SqlStatementStats {
+
+    private int statements;
+    private int selects;
+    private int inserts;
+    private int updates;
+    private int deletes;
+    private long rows;
+    private long jdbcNanos;
+    private long queryStartedAt;
+    private final Map<String, Integer> repeatedSelects = new LinkedHashMap<>();
+
+    void queryStarted(long nanoTime) {
+        queryStartedAt = nanoTime;
+    }
+
+    void queryFinished(String sql, long nanoTime, long affectedRows) {
+        statements++;
+        jdbcNanos += nanoTime - queryStartedAt;
+        rows += affectedRows;
+        String head = sql.stripLeading();
+        String keyword = head.substring(0, Math.min(6, head.length())).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select" -> {
+                selects++;
+                repeatedSelects.merge(sql, 1, Integer::sum);
+            }
+            case "insert" -> inserts++;
+            case "update" -> updates++;
+            case "delete" -> deletes++;
+            default -> {
+                // with/call/set...: chỉ tính vào tổng
+            }
+        }
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getSelects() {
+        return selects;
+    }
+
+    public int getInserts() {
+        return inserts;
+    }
+
+    public int getUpdates() {
+        return updates;
+    }
+
+    public int getDeletes() {
+        return deletes;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * SELECTs whose exact SQL text ran at least {@code threshold} times, most frequent first. With prepared
+     * statements this is the typical shape of an N+1: one lazy load per parent row. Repeated inserts are left
+     * out because identity-keyed child rows are always inserted one by one.
+     */
+    public List<RepeatedStatement> repeatedStatements(int threshold) {
+        return repeatedSelects.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .map(entry -> new RepeatedStatement(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(RepeatedStatement::count).reversed())
+                .toList();
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statements
+                + " (select=" + selects + ", insert=" + inserts + ", update=" + updates + ", delete=" + deletes + ")"
+                + ", rows=" + rows
+                + ", jdbcTime=" + getJdbcTime().toMillis() + "ms";
+    }
+
+    public record RepeatedStatement(String sql, int count) {
+    }
+}
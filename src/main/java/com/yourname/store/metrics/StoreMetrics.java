@@ -0,0 +1,94 @@
+package com.yourname.store.metrics;
+
+import com.yourname.store.entity.PaymentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters and the timers that cannot be expressed with {@code @Timed} (private methods).
+ * All meters live under the {@code store.} prefix so percentiles, histograms and enablement can be tuned
+ * with {@code management.metrics.*.store} properties.
+ */
+@Component
+@RequiredArgsConstructor
+public class StoreMetrics {
+
+    public static final String OUTCOME_ERROR = "ERROR";
+
+    private final MeterRegistry meterRegistry;
+
+    public void orderPaid() {
+        Counter.builder("store.orders.paid")
+                .description("Orders that reached PAID")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void paymentFailed(PaymentStatus status) {
+        Counter.builder("store.payments.failed")
+                .description("Payments that ended FAILED or CANCELED")
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void stockOut() {
+        Counter.builder("store.stock.outs")
+                .description("Products whose stock dropped to zero")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void stockThresholdCrossed(boolean low) {
+        Counter.builder("store.stock.threshold.crossings")
+                .description("Products whose stock crossed the reorder threshold (below, recovered)")
+                .tag("direction", low ? "below" : "recovered")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void orderExportFinished(String outcome, long rows) {
+        Counter.builder("store.export.runs")
+                .description("Order CSV exports by outcome (completed, cancelled, ERROR)")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+        Counter.builder("store.export.rows")
+                .description("CSV lines written by order exports")
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    public void idempotentRequest(String scope, String outcome) {
+        Counter.builder("store.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key by outcome (executed, replayed, mismatch, conflict)")
+                .tag("scope", scope)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void outboxEvent(String type, String outcome) {
+        Counter.builder("store.outbox.events")
+                .description("Outbox events handled by the relay by outcome (dispatched, retried, dead)")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopVnpayCallback(Timer.Sample sample, String source, String outcome) {
+        sample.stop(Timer.builder("store.payment.vnpay.callback")
+                .description("Time to verify and apply a VNPAY callback")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
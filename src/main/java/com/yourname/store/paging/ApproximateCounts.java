@@ -0,0 +1,90 @@
+package com.yourname.store.paging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourname.store.shard.StoreContext;
+import com.yourname.store.workload.WorkloadClass;
+import com.yourname.store.workload.WorkloadContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Totals for {@code ?total=approximate}, cached per store and filter. The first request for a filter counts
+ * once; afterwards requests get the cached total, and one older than {@code paging.approximate-total-refresh}
+ * is recounted on a background thread (reporting workload, same store) while callers keep the old value.
+ */
+@Component
+public class ApproximateCounts implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ApproximateCounts.class);
+
+    private final Cache<String, Count> counts;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher;
+    private final long refreshAfterNanos;
+
+    public ApproximateCounts(PagingProperties properties, MeterRegistry meterRegistry) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(properties.getApproximateTotalMaxEntries())
+                .expireAfterAccess(properties.getApproximateTotalExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "approximate-totals");
+        this.refreshAfterNanos = properties.getApproximateTotalRefresh().toNanos();
+        AtomicInteger threads = new AtomicInteger();
+        this.refresher = Executors.newFixedThreadPool(Math.max(1, properties.getRefreshThreads()), task -> {
+            Thread thread = new Thread(task, "approximate-total-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private record Count(long value, long countedAt) {
+    }
+
+    /**
+     * Total for {@code filter} in the current store; {@code counter} runs the exact count when needed.
+     */
+    public long count(String filter, LongSupplier counter) {
+        long storeId = StoreContext.currentStoreId();
+        String key = storeId + "|" + filter;
+        Count cached = counts.getIfPresent(key);
+        if (cached == null) {
+            long value = counter.getAsLong();
+            counts.put(key, new Count(value, System.nanoTime()));
+            return value;
+        }
+        if (System.nanoTime() - cached.countedAt() > refreshAfterNanos && refreshing.add(key)) {
+            refresher.execute(() -> refresh(key, storeId, counter));
+        }
+        return cached.value();
+    }
+
+    private void refresh(String key, long storeId, LongSupplier counter) {
+        try {
+            long value = WorkloadContext.callAs(WorkloadClass.REPORTING,
+                    () -> StoreContext.callInStore(storeId, counter::getAsLong));
+            counts.put(key, new Count(value, System.nanoTime()));
+        } catch (RuntimeException ex) {
+            // giữ giá trị cũ, lần hỏi sau thử lại
+            log.warn("Refreshing approximate total {} failed", key, ex);
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,18 @@
+package com.yourname.store.paging;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "paging")
+public class PagingProperties {
+    // Tổng xấp xỉ cũ hơn khoảng này được đếm lại ở nền; request vẫn nhận giá trị cũ
+    private Duration approximateTotalRefresh = Duration.ofSeconds(60);
+    // Bộ lọc không được dùng lại trong khoảng này thì bỏ khỏi cache
+    private Duration approximateTotalExpiry = Duration.ofMinutes(10);
+    private long approximateTotalMaxEntries = 1_000;
+    private int refreshThreads = 1;
+}
@@ -0,0 +1,85 @@
+package com.yourname.store.paging;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Count-free pages for {@link Specification} searches. Only the ids of the page are selected, with one extra row
+ * to tell whether a next page exists; the entities are then loaded by id with the repository's fetch graph, so
+ * a graph over a collection ({@code Order.items}) never forces Hibernate to paginate in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class SliceQueries {
+
+    private final EntityManager entityManager;
+
+    public <T> Slice<Long> ids(Class<T> type, Specification<T> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        query.select(root.get("id"));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? ids.subList(0, pageable.getPageSize()) : ids, pageable, hasNext);
+    }
+
+    /**
+     * Evaluates {@code aggregates} (count, max of {@code updated_at}...) over every row matching
+     * {@code specification} in one query without loading any entity, e.g. to validate a cached search result
+     * before running the search.
+     */
+    public <T> List<Object> aggregate(Class<T> type, Specification<T> specification,
+            BiFunction<Root<T>, CriteriaBuilder, List<Selection<?>>> aggregates) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<T> root = query.from(type);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        query.multiselect(aggregates.apply(root, builder));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return Arrays.asList(entityManager.createQuery(query).getSingleResult());
+    }
+
+    /**
+     * Loads the entities of {@code ids} with {@code loader} and returns them in the order of {@code ids}.
+     */
+    public static <T> List<T> inOrder(List<Long> ids, Function<Collection<Long>, List<T>> loader,
+            Function<T, Long> idOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, T> byId = loader.apply(ids).stream()
+                .collect(Collectors.toMap(idOf, Function.identity(), (first, second) -> first));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
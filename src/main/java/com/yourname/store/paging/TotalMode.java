@@ -0,0 +1,28 @@
+package com.yourname.store.paging;
+
+import com.yourname.store.exception.BadRequestException;
+import java.util.Locale;
+import org.springframework.util.StringUtils;
+
+/**
+ * How a search page reports its totals ({@code ?total=} on {@code /api/orders} and {@code /api/products}).
+ */
+public enum TotalMode {
+    // COUNT(*) trên mỗi trang, như trước đây
+    EXACT,
+    // Không đếm: lấy size + 1 dòng để biết còn trang sau
+    NONE,
+    // Như NONE, kèm tổng đếm trước đó và được làm mới ở nền
+    APPROXIMATE;
+
+    public static TotalMode parse(String value) {
+        if (!StringUtils.hasText(value)) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("total must be one of exact, none, approximate");
+        }
+    }
+}
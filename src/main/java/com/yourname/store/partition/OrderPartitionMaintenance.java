@@ -0,0 +1,178 @@
+package com.yourname.store.partition;
+
+import com.yourname.store.shard.ShardRouter;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly RANGE partitions of {@code orders}, {@code order_items} and {@code payments} (see
+ * {@code V4__partition_orders_by_month.sql}) rolling: months up to {@code future-months} ahead are split off
+ * {@code pmax}, and months older than {@code retention-months} are copied into the {@code *_archive} tables and
+ * dropped. Tables that are not partitioned (Hibernate {@code ddl-auto} schemas) are left alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionMaintenance.class);
+
+    // Bảng con trước, orders sau cùng: đơn hàng không bao giờ nằm ở archive thiếu dòng con
+    static final List<String> TABLES = List.of("order_items", "payments", "orders");
+    static final String ARCHIVE_SUFFIX = "_archive";
+    static final String MAX_PARTITION = "pmax";
+    private static final String LOCK_NAME = "store.order-partition-maintenance";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionProperties properties;
+    private final ShardRouter shardRouter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${partitioning.cron:0 30 2 * * *}")
+    public void run() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // mỗi shard là một database riêng với partition riêng; lỗi ở một shard không chặn các shard còn lại
+        LocalDate today = LocalDate.now();
+        shardRouter.forEachShard(() -> {
+            try {
+                return maintain(today);
+            } catch (DataAccessException ex) {
+                log.error("Order partition maintenance failed", ex);
+                return MaintenanceResult.EMPTY;
+            }
+        });
+    }
+
+    /**
+     * Runs one maintenance pass as of {@code today} on a single connection guarded by {@code GET_LOCK}, so
+     * only one instance reorganizes partitions at a time.
+     */
+    public MaintenanceResult maintain(LocalDate today) {
+        return jdbcTemplate.execute((ConnectionCallback<MaintenanceResult>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer locked = session.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) {
+                log.info("Order partition maintenance is running elsewhere, skipping");
+                return MaintenanceResult.EMPTY;
+            }
+            try {
+                return maintain(session, today);
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+        });
+    }
+
+    private MaintenanceResult maintain(JdbcTemplate session, LocalDate today) {
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        LocalDate createUntil = currentMonth.plusMonths(properties.getFutureMonths() + 1L);
+        LocalDate archiveBefore = currentMonth.minusMonths(properties.getRetentionMonths());
+
+        List<String> created = new ArrayList<>();
+        List<String> archived = new ArrayList<>();
+        for (String table : TABLES) {
+            List<PartitionInfo> partitions = loadPartitions(session, table);
+            if (partitions.isEmpty()) {
+                log.debug("Table {} is not partitioned, skipping maintenance", table);
+                continue;
+            }
+            created.addAll(addFuturePartitions(session, table, partitions, createUntil));
+            archived.addAll(archiveExpiredPartitions(session, table, partitions, archiveBefore));
+        }
+        if (!created.isEmpty() || !archived.isEmpty()) {
+            log.info("Order partitions created {} archived {}", created, archived);
+        }
+        return new MaintenanceResult(created, archived);
+    }
+
+    private List<PartitionInfo> loadPartitions(JdbcTemplate session, String table) {
+        return session.query("""
+                SELECT PARTITION_NAME, PARTITION_DESCRIPTION
+                FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """, (rs, rowNum) -> new PartitionInfo(
+                        rs.getString("PARTITION_NAME"), parseBound(rs.getString("PARTITION_DESCRIPTION"))), table);
+    }
+
+    private List<String> addFuturePartitions(JdbcTemplate session, String table, List<PartitionInfo> partitions,
+            LocalDate createUntil) {
+        boolean hasMax = partitions.stream().anyMatch(p -> p.name().equals(MAX_PARTITION) && p.upperBound() == null);
+        LocalDate highest = partitions.stream()
+                .map(PartitionInfo::upperBound)
+                .filter(bound -> bound != null)
+                .max(LocalDate::compareTo)
+                .orElse(null);
+        if (!hasMax || highest == null) {
+            log.warn("Table {} has no {} partition or monthly bound, cannot add partitions", table, MAX_PARTITION);
+            return List.of();
+        }
+
+        List<String> names = new ArrayList<>();
+        StringBuilder definitions = new StringBuilder();
+        for (LocalDate month = highest; month.isBefore(createUntil); month = month.plusMonths(1)) {
+            String name = month.format(PARTITION_NAME);
+            names.add(table + "." + name);
+            definitions.append("PARTITION ").append(name)
+                    .append(" VALUES LESS THAN ('").append(month.plusMonths(1)).append("'), ");
+        }
+        if (!names.isEmpty()) {
+            // pmax thường rỗng nên REORGANIZE chỉ đổi metadata
+            session.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                    + definitions + "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+        }
+        return names;
+    }
+
+    private List<String> archiveExpiredPartitions(JdbcTemplate session, String table,
+            List<PartitionInfo> partitions, LocalDate archiveBefore) {
+        List<String> archived = new ArrayList<>();
+        for (PartitionInfo partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(archiveBefore)) {
+                continue;
+            }
+            // INSERT IGNORE: chạy lại sau khi bị ngắt giữa chừng không nhân đôi dữ liệu
+            int rows = session.update("INSERT IGNORE INTO " + table + ARCHIVE_SUFFIX
+                    + " SELECT * FROM " + table + " PARTITION (" + partition.name() + ")");
+            session.execute("ALTER TABLE " + table + " DROP PARTITION " + partition.name());
+            log.info("Archived {} rows of {} partition {}", rows, table, partition.name());
+            archived.add(table + "." + partition.name());
+        }
+        return archived;
+    }
+
+    // PARTITION_DESCRIPTION của RANGE COLUMNS: '2026-02-01' hoặc '2026-02-01 00:00:00'; MAXVALUE = không giới hạn
+    static LocalDate parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        return LocalDate.parse(value.substring(0, 10));
+    }
+
+    record PartitionInfo(String name, LocalDate upperBound) {
+    }
+
+    public record MaintenanceResult(List<String> created, List<String> archived) {
+        static final MaintenanceResult EMPTY = new MaintenanceResult(List.of(), List.of());
+    }
+}
@@ -0,0 +1,17 @@
+package com.yourname.store.partition;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "partitioning")
+public class PartitionProperties {
+    private boolean enabled = true;
+    // Số tháng tương lai luôn có sẵn partition (ngoài tháng hiện tại)
+    private int futureMonths = 3;
+    // Tháng cũ hơn số này được chuyển sang bảng *_archive
+    private int retentionMonths = 24;
+    private String cron = "0 30 2 * * *";
+}
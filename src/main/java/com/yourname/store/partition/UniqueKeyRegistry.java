@@ -0,0 +1,34 @@
+package com.yourname.store.partition;
+
+import com.yourname.store.entity.OrderCode;
+import com.yourname.store.entity.PaymentRef;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registers order codes and VNPAY transaction references in the non-partitioned {@code order_codes} and
+ * {@code payment_refs} tables. MySQL only allows unique keys on a partitioned table that contain the partition
+ * column, so {@code orders}/{@code payments} alone would accept the same code in two different months; the
+ * primary key of the registry rejects it and rolls the whole order or payment back.
+ * <p>
+ * {@code persist} with an assigned id is a plain INSERT at flush, without the SELECT {@code save} would issue.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class UniqueKeyRegistry {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void reserveOrderCode(String code, LocalDateTime orderDate) {
+        entityManager.persist(new OrderCode(code, orderDate));
+    }
+
+    public void reservePaymentRef(String txnRef, LocalDateTime orderDate) {
+        entityManager.persist(new PaymentRef(txnRef, orderDate));
+    }
+}
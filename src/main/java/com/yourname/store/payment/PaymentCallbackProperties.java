@@ -0,0 +1,16 @@
+package com.yourname.store.payment;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment-callbacks")
+public class PaymentCallbackProperties {
+    // Callback cũ hơn khoảng này bị xóa khỏi payment_callbacks
+    private Duration retention = Duration.ofDays(180);
+    private String purgeCron = "0 45 2 * * *";
+    private int purgeBatchSize = 1000;
+}
@@ -1,9 +1,30 @@
 package com.yourname.store.repository;
 
+import com.yourname.store.dto.response.CatalogCategoryResponse;
 import com.yourname.store.entity.Category;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByNameIgnoreCase(String name);
+
+    @Query("select max(c.updatedAt) from Category c where c.updatedAt <= :cutoff")
+    LocalDateTime findLatestUpdate(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("select new com.yourname.store.dto.response.CatalogCategoryResponse(c.id, c.name) from Category c order by c.id")
+    List<CatalogCategoryResponse> findCatalogSnapshot();
+
+    @Query("""
+            select new com.yourname.store.dto.response.CatalogCategoryResponse(c.id, c.name)
+            from Category c
+            where c.updatedAt > :since and c.updatedAt <= :cutoff
+            order by c.id
+            """)
+    List<CatalogCategoryResponse> findCatalogChanges(
+            @Param("since") LocalDateTime since,
+            @Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,40 @@
+package com.yourname.store.repository;
+
+import com.yourname.store.entity.IdempotencyRecord;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByStoreIdAndScopeAndIdempotencyKey(Long storeId, String scope,
+            String idempotencyKey);
+
+    // Lấy lại khóa IN_PROGRESS bị bỏ dở (instance chết giữa chừng); chỉ một instance cập nhật được
+    @Modifying
+    @Query("""
+            update IdempotencyRecord r set r.requestHash = :requestHash, r.updatedAt = :now
+            where r.id = :id and r.status = com.yourname.store.entity.IdempotencyStatus.IN_PROGRESS
+              and r.updatedAt < :staleBefore
+            """)
+    int takeOver(@Param("id") Long id, @Param("requestHash") String requestHash,
+            @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("""
+            update IdempotencyRecord r
+            set r.status = com.yourname.store.entity.IdempotencyStatus.COMPLETED, r.responseBody = :responseBody,
+                r.expiresAt = :expiresAt, r.updatedAt = :now
+            where r.id = :id
+            """)
+    int complete(@Param("id") Long id, @Param("responseBody") String responseBody,
+            @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    // Xóa theo lô trên idx_idempotency_expires_at để không giữ khóa lâu
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
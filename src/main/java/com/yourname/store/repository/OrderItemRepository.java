@@ -11,18 +11,23 @@ import com.yourname.store.entity.OrderItem;
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     @Query(
-            value = "SELECT oi.product_id AS productId, p.name AS name, "
+            // gộp theo mã sản phẩm: cùng một mã ở nhiều cửa hàng là một mặt hàng khi báo cáo toàn chuỗi
+            value = "SELECT MIN(oi.product_id) AS productId, p.code AS code, MAX(p.name) AS name, "
                     + "SUM(oi.quantity) AS soldQuantity, SUM(oi.line_total) AS revenue "
                     + "FROM order_items oi "
-                    + "JOIN orders o ON oi.order_id = o.id "
+                    + "JOIN orders o ON oi.order_id = o.id AND oi.order_date = o.order_date "
                     + "JOIN products p ON oi.product_id = p.id "
                     + "WHERE o.status = 'PAID' "
                     + "AND o.order_date BETWEEN :from AND :to "
-                    + "GROUP BY oi.product_id, p.name "
+                    // lặp lại điều kiện trên order_items để MySQL chỉ quét các partition trong khoảng
+                    + "AND oi.order_date BETWEEN :from AND :to "
+                    + "AND (:storeId IS NULL OR o.store_id = :storeId) "
+                    + "GROUP BY p.code "
                     + "ORDER BY soldQuantity DESC, revenue DESC "
                     + "LIMIT :limit",
             nativeQuery = true)
     List<TopProductProjection> findTopProducts(
+            @Param("storeId") Long storeId,
             @Param("from") LocalDateTime from,
             @Param("to") LocalDateTime to,
             @Param("limit") int limit);
@@ -1,8 +1,11 @@
 package com.yourname.store.repository;
 
 import com.yourname.store.entity.Order;
+import com.yourname.store.repository.projection.OrderVersionProjection;
 import com.yourname.store.repository.projection.RevenueStatsProjection;
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -11,6 +14,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -18,6 +22,9 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
 
   Optional<Order> findByCode(String code);
 
+  // Đơn của cửa hàng khác (cùng shard) được coi như không tồn tại
+  Optional<Order> findByIdAndStoreId(Long id, Long storeId);
+
   // Truy vấn lấy items và products
   @EntityGraph(attributePaths = { "items", "items.product" })
   Optional<Order> findWithDetailsById(Long id);
@@ -30,10 +37,37 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
   @EntityGraph(attributePaths = { "user" })
   Optional<Order> findWithUserById(Long id);
 
+  // Handler cộng/trừ điểm khóa dòng đơn trước: hai event của cùng một đơn không chạy xen nhau
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select o from Order o where o.id = :id")
+  Optional<Order> findForUpdateById(@Param("id") Long id);
+
+  // Những gì GET /api/orders/{id} hiển thị: đơn, khách, thanh toán, tên sản phẩm -> ETag, không nạp cả đơn
+  @Query("""
+      select coalesce(o.updatedAt, o.createdAt) as updatedAt, o.status as status,
+             coalesce(u.updatedAt, u.createdAt) as userUpdatedAt,
+             (select count(p) from Payment p
+               where p.order = o and p.orderDate = o.orderDate) as paymentCount,
+             (select count(p) from Payment p
+               where p.order = o and p.orderDate = o.orderDate
+                 and p.status <> com.yourname.store.entity.PaymentStatus.PENDING) as settledPaymentCount,
+             (select max(coalesce(p.updatedAt, p.createdAt)) from Payment p
+               where p.order = o and p.orderDate = o.orderDate) as paymentsUpdatedAt,
+             (select max(coalesce(pr.updatedAt, pr.createdAt)) from OrderItem i join i.product pr
+               where i.order = o and i.orderDate = o.orderDate) as productsUpdatedAt
+      from Order o left join o.user u
+      where o.id = :id and o.storeId = :storeId
+      """)
+  Optional<OrderVersionProjection> findVersionByIdAndStoreId(@Param("id") Long id, @Param("storeId") Long storeId);
+
   @Override
   @EntityGraph(attributePaths = { "items", "items.product", "user" })
   Page<Order> findAll(Specification<Order> spec, Pageable pageable);
 
+  // Bước hai của trang không đếm (SliceQueries): nạp đủ đơn theo id của trang
+  @EntityGraph(attributePaths = { "items", "items.product", "user" })
+  List<Order> findAllByIdIn(Collection<Long> ids);
+
   @Query(value = """
       SELECT DATE_FORMAT(o.order_date, '%Y-%m-%d') AS bucket,
              COALESCE(SUM(o.total_amount), 0) AS revenue,
@@ -41,10 +75,12 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
       FROM orders o
       WHERE o.status = 'PAID'
         AND o.order_date BETWEEN :from AND :to
+        AND (:storeId IS NULL OR o.store_id = :storeId)
       GROUP BY DATE(o.order_date)
       ORDER BY DATE(o.order_date)
       """, nativeQuery = true)
   List<RevenueStatsProjection> calculateDailyRevenue(
+      @Param("storeId") Long storeId,
       @Param("from") LocalDateTime from,
       @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,43 @@
+package com.yourname.store.repository;
+
+import com.yourname.store.entity.OutboxEvent;
+import com.yourname.store.entity.OutboxStatus;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED: nhiều relay (nhiều instance) lấy các lô khác nhau mà không chờ nhau
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE status = 'PENDING' AND next_attempt_at <= NOW()
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> findDispatchable(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET next_attempt_at = NOW() + INTERVAL :seconds SECOND WHERE id IN (:ids)",
+            nativeQuery = true)
+    int lease(@Param("ids") List<Long> ids, @Param("seconds") long seconds);
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE id = :id", nativeQuery = true)
+    int deleteDispatched(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = """
+            UPDATE outbox_events
+            SET attempts = attempts + 1, status = :status, last_error = :error,
+                next_attempt_at = NOW() + INTERVAL :seconds SECOND, updated_at = NOW()
+            WHERE id = :id
+            """, nativeQuery = true)
+    int markFailed(@Param("id") Long id, @Param("status") String status, @Param("error") String error,
+            @Param("seconds") long seconds);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,19 @@
+package com.yourname.store.repository;
+
+import com.yourname.store.entity.PaymentCallback;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PaymentCallbackRepository extends JpaRepository<PaymentCallback, Long> {
+
+    List<PaymentCallback> findByTxnRefOrderByIdAsc(String txnRef);
+
+    // Xóa theo lô trên idx_payment_callbacks_received_at
+    @Modifying
+    @Query(value = "DELETE FROM payment_callbacks WHERE received_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteReceivedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -9,5 +9,8 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Optional<Payment> findByTxnRef(String txnRef);
 
+    // Thanh toán của cửa hàng khác (cùng shard) được coi như không tồn tại
+    Optional<Payment> findByIdAndStoreId(Long id, Long storeId);
+
     boolean existsByTxnRefAndStatus(String txnRef, PaymentStatus status);
 }
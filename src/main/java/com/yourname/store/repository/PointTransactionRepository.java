@@ -0,0 +1,13 @@
+package com.yourname.store.repository;
+
+import com.yourname.store.entity.PointTransaction;
+import com.yourname.store.entity.PointTransactionType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PointTransactionRepository extends JpaRepository<PointTransaction, Long> {
+
+    Optional<PointTransaction> findByOrderIdAndType(Long orderId, PointTransactionType type);
+
+    boolean existsByOrderIdAndType(Long orderId, PointTransactionType type);
+}
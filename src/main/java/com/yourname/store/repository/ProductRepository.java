@@ -1,19 +1,70 @@
 package com.yourname.store.repository;
 
+import com.yourname.store.dto.response.CatalogProductResponse;
 import com.yourname.store.entity.Product;
+import com.yourname.store.repository.projection.ProductVersionProjection;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
-    Optional<Product> findByCode(String code);
+    Optional<Product> findByStoreIdAndCode(Long storeId, String code);
+
+    // Sản phẩm của cửa hàng khác (cùng shard) được coi như không tồn tại
+    Optional<Product> findByIdAndStoreId(Long id, Long storeId);
 
     @Override
     @EntityGraph(attributePaths = {"category"})
     Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    // Bước hai của trang không đếm (SliceQueries)
+    @EntityGraph(attributePaths = {"category"})
+    List<Product> findAllByIdIn(Collection<Long> ids);
+
+    // Tính ETag của GET /api/products/{id} mà không nạp entity
+    @Query("""
+            select coalesce(p.updatedAt, p.createdAt) as updatedAt, p.stockQty as stockQty, p.price as price,
+                   p.status as status, coalesce(c.updatedAt, c.createdAt) as categoryUpdatedAt
+            from Product p left join p.category c
+            where p.id = :id and p.storeId = :storeId
+            """)
+    Optional<ProductVersionProjection> findVersionByIdAndStoreId(@Param("id") Long id,
+            @Param("storeId") Long storeId);
+
+    // Các truy vấn đồng bộ catalog cho máy POS của một cửa hàng: dùng idx_products_store_updated_at, không nạp entity
+    @Query("select max(p.updatedAt) from Product p where p.storeId = :storeId and p.updatedAt <= :cutoff")
+    LocalDateTime findLatestUpdate(@Param("storeId") Long storeId, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("""
+            select new com.yourname.store.dto.response.CatalogProductResponse(
+                p.id, p.code, p.name, p.category.id, p.price, p.stockQty, p.status)
+            from Product p
+            where p.storeId = :storeId
+            order by p.id
+            """)
+    List<CatalogProductResponse> findCatalogSnapshot(@Param("storeId") Long storeId);
+
+    @Query("""
+            select new com.yourname.store.dto.response.CatalogProductResponse(
+                p.id, p.code, p.name, p.category.id, p.price, p.stockQty, p.status)
+            from Product p
+            where p.storeId = :storeId and p.updatedAt > :since and p.updatedAt <= :cutoff
+            order by p.updatedAt, p.id
+            """)
+    List<CatalogProductResponse> findCatalogChanges(
+            @Param("storeId") Long storeId,
+            @Param("since") LocalDateTime since,
+            @Param("cutoff") LocalDateTime cutoff,
+            Limit limit);
 }
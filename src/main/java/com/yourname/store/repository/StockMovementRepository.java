@@ -0,0 +1,14 @@
+package com.yourname.store.repository;
+
+import com.yourname.store.entity.StockMovement;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    // idx_stock_movements_product_created
+    List<StockMovement> findByProductIdAndCreatedAtBetweenOrderByCreatedAtDescIdDesc(Long productId,
+            LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
@@ -1,10 +1,24 @@
 package com.yourname.store.repository;
 
 import com.yourname.store.entity.User;
+import com.yourname.store.repository.projection.CustomerPhoneProjection;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByPhone(String phone);
+    Optional<User> findByStoreIdAndPhone(Long storeId, String phone);
+
+    @Query("SELECT u.storeId AS storeId, u.phone AS phone, u.name AS name FROM User u WHERE u.phone IS NOT NULL")
+    List<CustomerPhoneProjection> findAllPhones();
+
+    // Cộng/trừ điểm trực tiếp trên DB để tránh mất cập nhật khi có nhiều đơn song song
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.point = u.point + :delta, u.updatedAt = :now WHERE u.id = :id")
+    int addPoints(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
 }
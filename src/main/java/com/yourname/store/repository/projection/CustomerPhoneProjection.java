@@ -0,0 +1,10 @@
+package com.yourname.store.repository.projection;
+
+public interface CustomerPhoneProjection {
+
+    Long getStoreId();
+
+    String getPhone();
+
+    String getName();
+}
@@ -0,0 +1,21 @@
+package com.yourname.store.repository.projection;
+
+import com.yourname.store.entity.OrderStatus;
+import java.time.LocalDateTime;
+
+public interface OrderVersionProjection {
+
+    LocalDateTime getUpdatedAt();
+
+    OrderStatus getStatus();
+
+    LocalDateTime getUserUpdatedAt();
+
+    Long getPaymentCount();
+
+    Long getSettledPaymentCount();
+
+    LocalDateTime getPaymentsUpdatedAt();
+
+    LocalDateTime getProductsUpdatedAt();
+}
@@ -0,0 +1,19 @@
+package com.yourname.store.repository.projection;
+
+import com.yourname.store.entity.ProductStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// updated_at chỉ chính xác tới giây trên schema Flyway nên kèm các cột hay đổi (tồn kho, giá, trạng thái)
+public interface ProductVersionProjection {
+
+    LocalDateTime getUpdatedAt();
+
+    Integer getStockQty();
+
+    BigDecimal getPrice();
+
+    ProductStatus getStatus();
+
+    LocalDateTime getCategoryUpdatedAt();
+}
@@ -6,6 +6,8 @@ public interface TopProductProjection {
 
     Long getProductId();
 
+    String getCode();
+
     String getName();
 
     long getSoldQuantity();
@@ -0,0 +1,15 @@
+package com.yourname.store.service;
+
+import com.yourname.store.catalog.CatalogVersion;
+import com.yourname.store.dto.response.CatalogSyncResponse;
+
+public interface CatalogSyncService {
+
+    CatalogVersion currentVersion();
+
+    /**
+     * Full snapshot when {@code sinceToken} is {@code null} or too far behind, otherwise the products and
+     * categories changed after {@code sinceToken} up to {@code version}.
+     */
+    CatalogSyncResponse sync(String sinceToken, CatalogVersion version);
+}
@@ -0,0 +1,17 @@
+package com.yourname.store.service;
+
+import com.yourname.store.idempotency.IdempotentResponse;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs {@code action} at most once per {@code scope} and {@code idempotencyKey}. A repeated key with the same
+     * {@code request} returns the stored response; a concurrent duplicate waits for the first execution. Without a
+     * key the action simply runs.
+     */
+    <T> IdempotentResponse<T> execute(String scope, String idempotencyKey, Object request, Class<T> responseType,
+            Supplier<T> action);
+
+    int sweepExpired();
+}
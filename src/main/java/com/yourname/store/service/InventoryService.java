@@ -0,0 +1,24 @@
+package com.yourname.store.service;
+
+import com.yourname.store.dto.request.StockMovementRequest;
+import com.yourname.store.dto.response.LowStockResponse;
+import com.yourname.store.dto.response.StockLevelResponse;
+import com.yourname.store.dto.response.StockMovementResponse;
+import com.yourname.store.dto.response.StockResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InventoryService {
+
+    // Đọc từ bộ nhớ (LowStockMonitor), không truy vấn bảng products
+    LowStockResponse getLowStock(int limit);
+
+    StockLevelResponse updateReorderThreshold(Long productId, Integer reorderThreshold);
+
+    // at = null: tồn kho hiện tại; có at: snapshot gần nhất + các dòng sổ kho sau đó
+    StockResponse getStock(Long productId, LocalDateTime at);
+
+    List<StockMovementResponse> getMovements(Long productId, LocalDateTime from, LocalDateTime to, int limit);
+
+    StockResponse recordMovement(Long productId, StockMovementRequest request);
+}
@@ -0,0 +1,18 @@
+package com.yourname.store.service;
+
+import java.math.BigDecimal;
+
+public interface LoyaltyService {
+
+    int calculateEarnedPoints(BigDecimal orderTotal);
+
+    /**
+     * Credits the points of a paid order to its customer. Safe to call more than once for the same order.
+     */
+    void awardPoints(Long orderId);
+
+    /**
+     * Takes back the points earned by a canceled order. Safe to call more than once for the same order.
+     */
+    void reversePoints(Long orderId);
+}
@@ -0,0 +1,15 @@
+package com.yourname.store.service;
+
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+public interface OrderExportService {
+
+    /**
+     * Writes one CSV line per order item of the orders placed in {@code [from, to]} and returns the number
+     * of data lines. Rows are streamed from MySQL and written as they arrive, so memory use does not depend
+     * on the size of the range. An {@link java.io.UncheckedIOException} means the writer failed (client
+     * disconnected); the query is cancelled before it is thrown.
+     */
+    long exportOrderLines(LocalDateTime from, LocalDateTime to, Writer writer);
+}
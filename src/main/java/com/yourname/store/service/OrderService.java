@@ -5,8 +5,10 @@ import com.yourname.store.dto.response.OrderResponse;
 import com.yourname.store.dto.response.OrderSummaryResponse;
 import com.yourname.store.dto.response.PageResponse;
 import com.yourname.store.entity.Order;
+import com.yourname.store.paging.TotalMode;
 import java.time.LocalDateTime;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 
 public interface OrderService {
 
@@ -16,10 +18,18 @@ public interface OrderService {
 
     Order getOrderEntity(Long id);
 
+    // Một truy vấn gộp thay vì nạp đơn + items + payments + user như getOrder
+    String getOrderETag(Long id, MediaType mediaType);
+
     void handleOrderPaid(Order order);
 
     void handleOrderCanceled(Order order);
 
+    default PageResponse<OrderSummaryResponse> searchOrders(String code, LocalDateTime from, LocalDateTime to,
+            Pageable pageable) {
+        return searchOrders(code, from, to, pageable, TotalMode.EXACT);
+    }
+
     PageResponse<OrderSummaryResponse> searchOrders(String code, LocalDateTime from, LocalDateTime to,
-            Pageable pageable);
+            Pageable pageable, TotalMode totalMode);
 }
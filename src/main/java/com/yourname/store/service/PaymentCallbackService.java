@@ -0,0 +1,17 @@
+package com.yourname.store.service;
+
+import com.yourname.store.dto.response.PaymentCallbackResponse;
+import java.util.List;
+import java.util.Map;
+
+public interface PaymentCallbackService {
+
+    /**
+     * Appends one callback to the audit table in its own transaction; failures are logged, never thrown.
+     */
+    void record(String source, Map<String, String> params, String outcome, String error);
+
+    List<PaymentCallbackResponse> getCallbacks(Long paymentId);
+
+    int purgeExpired();
+}
@@ -0,0 +1,13 @@
+package com.yourname.store.service;
+
+import com.yourname.store.catalog.ProductRowReader;
+import com.yourname.store.dto.response.ProductImportResponse;
+
+public interface ProductImportService {
+
+    /**
+     * Upserts products by {@code code} in multi-row batches. Invalid rows are reported and skipped; the
+     * other rows of the batch are still imported. Batches commit independently.
+     */
+    ProductImportResponse importProducts(ProductRowReader rows);
+}
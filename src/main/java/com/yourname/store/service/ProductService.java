@@ -1,17 +1,39 @@
 package com.yourname.store.service;
 
+import com.yourname.store.dto.response.FacetedProductPageResponse;
 import com.yourname.store.dto.response.PageResponse;
 import com.yourname.store.dto.response.ProductResponse;
 import com.yourname.store.entity.Product;
+import com.yourname.store.facet.FacetFilter;
+import com.yourname.store.paging.TotalMode;
 
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 
 public interface ProductService {
     List<Product> getAllProducts();
 
-    PageResponse<ProductResponse> searchProducts(String keyword, Long categoryId, Pageable pageable);
+    default PageResponse<ProductResponse> searchProducts(String keyword, Long categoryId, Pageable pageable) {
+        return searchProducts(keyword, categoryId, pageable, TotalMode.EXACT);
+    }
+
+    PageResponse<ProductResponse> searchProducts(String keyword, Long categoryId, Pageable pageable,
+            TotalMode totalMode);
+
+    // Kiểm tra If-None-Match của trang tìm kiếm bằng một truy vấn tổng hợp, trước khi chạy tìm kiếm
+    String getProductSearchETag(String keyword, Long categoryId, Pageable pageable, TotalMode totalMode,
+            MediaType mediaType);
+
+    // total=none|approximate: không có COUNT để tiết kiệm, nên ETag lấy từ chính trang đã đọc, không thêm truy vấn
+    String getProductSearchETag(PageResponse<ProductResponse> page, MediaType mediaType);
+
+    // Trang kết quả kèm số đếm cho mọi giá trị facet, lấy từ ProductFacetIndex thay vì GROUP BY
+    FacetedProductPageResponse searchProductsFaceted(String keyword, FacetFilter filter, Pageable pageable);
 
     ProductResponse getProduct(Long id);
+
+    // Rẻ hơn getProduct: chỉ đọc các cột quyết định nội dung response; mediaType: JSON hoặc CBOR đã thương lượng
+    String getProductETag(Long id, MediaType mediaType);
 }
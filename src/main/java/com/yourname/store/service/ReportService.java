@@ -1,8 +1,13 @@
 package com.yourname.store.service;
 
+import com.yourname.store.entity.Order;
+
 public interface ReportService {
 
     byte[] generateInvoicePdf(Long orderId);
 
+    // Hóa đơn của một đơn hàng đã nạp sẵn (kèm items, user); dùng cho warm-up với đơn hàng giả
+    byte[] generateInvoicePdf(Order order);
+
     byte[] generateAllProductsPdf();
 }
@@ -10,4 +10,9 @@ public interface StatisticsService {
     List<RevenueStatsResponse> getDailyRevenueStats(LocalDate from, LocalDate to);
 
     List<TopProductResponse> getTopProducts(LocalDate from, LocalDate to, int limit);
+
+    // Báo cáo toàn chuỗi: truy vấn song song mọi shard rồi gộp kết quả
+    List<RevenueStatsResponse> getChainDailyRevenueStats(LocalDate from, LocalDate to);
+
+    List<TopProductResponse> getChainTopProducts(LocalDate from, LocalDate to, int limit);
 }
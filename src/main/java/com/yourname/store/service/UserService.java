@@ -1,7 +1,9 @@
 package com.yourname.store.service;
 
+import com.yourname.store.dto.response.CustomerSuggestionResponse;
 import com.yourname.store.dto.response.UserResponse;
 import com.yourname.store.entity.User;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
@@ -18,6 +20,8 @@ public interface UserService {
 
     boolean isGuest(User user);
 
+    List<CustomerSuggestionResponse> suggestByPhone(String prefix, Integer limit);
+
 }
 
 
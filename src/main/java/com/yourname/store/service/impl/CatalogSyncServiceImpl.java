@@ -0,0 +1,71 @@
+package com.yourname.store.service.impl;
+
+import com.yourname.store.catalog.CatalogSyncProperties;
+import com.yourname.store.catalog.CatalogVersion;
+import com.yourname.store.dto.response.CatalogCategoryResponse;
+import com.yourname.store.dto.response.CatalogProductResponse;
+import com.yourname.store.dto.response.CatalogSyncResponse;
+import com.yourname.store.repository.CategoryRepository;
+import com.yourname.store.repository.ProductRepository;
+import com.yourname.store.service.CatalogSyncService;
+import com.yourname.store.shard.StoreContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogSyncServiceImpl implements CatalogSyncService {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CatalogSyncProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogVersion currentVersion() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getSettleWindow());
+        LocalDateTime latest = max(productRepository.findLatestUpdate(StoreContext.currentStoreId(), cutoff),
+                categoryRepository.findLatestUpdate(cutoff));
+        return new CatalogVersion(latest, cutoff);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogSyncResponse sync(String sinceToken, CatalogVersion version) {
+        if (sinceToken == null || sinceToken.isBlank()) {
+            return snapshot(version);
+        }
+        LocalDateTime since = CatalogVersion.decode(sinceToken.trim());
+        if (since == null) {
+            return snapshot(version);
+        }
+        if (version.latestUpdate() == null || !version.latestUpdate().isAfter(since)) {
+            return new CatalogSyncResponse(sinceToken.trim(), false, List.of(), List.of());
+        }
+
+        List<CatalogProductResponse> products = productRepository.findCatalogChanges(
+                StoreContext.currentStoreId(), since, version.cutoff(), Limit.of(properties.getMaxChanges() + 1));
+        if (products.size() > properties.getMaxChanges()) {
+            // Máy POS bị bỏ xa: tải lại toàn bộ rẻ hơn áp từng thay đổi
+            return snapshot(version);
+        }
+        List<CatalogCategoryResponse> categories = categoryRepository.findCatalogChanges(since, version.cutoff());
+        return new CatalogSyncResponse(version.token(), false, categories, products);
+    }
+
+    private CatalogSyncResponse snapshot(CatalogVersion version) {
+        return new CatalogSyncResponse(version.token(), true,
+                categoryRepository.findCatalogSnapshot(), productRepository.findCatalogSnapshot(StoreContext.currentStoreId()));
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+}
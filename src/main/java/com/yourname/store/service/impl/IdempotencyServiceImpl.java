@@ -0,0 +1,313 @@
+package com.yourname.store.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourname.store.entity.IdempotencyRecord;
+import com.yourname.store.entity.IdempotencyStatus;
+import com.yourname.store.exception.BadRequestException;
+import com.yourname.store.exception.ConflictException;
+import com.yourname.store.idempotency.IdempotencyProperties;
+import com.yourname.store.idempotency.IdempotentResponse;
+import com.yourname.store.idempotency.StoredResponse;
+import com.yourname.store.metrics.StoreMetrics;
+import com.yourname.store.repository.IdempotencyRecordRepository;
+import com.yourname.store.service.IdempotencyService;
+import com.yourname.store.shard.ShardRouter;
+import com.yourname.store.shard.StoreContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * Idempotency keys backed by {@code idempotency_keys} with a Caffeine front cache for completed responses.
+ * <p>
+ * Duplicates inside one instance wait on the in-flight execution; duplicates on another instance poll the
+ * {@code IN_PROGRESS} row. The claim is committed on its own before the action runs, and the stored response is
+ * written in the action's transaction.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final StoreMetrics storeMetrics;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository repository, IdempotencyProperties properties,
+            ObjectMapper objectMapper, StoreMetrics storeMetrics, ShardRouter shardRouter,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.storeMetrics = storeMetrics;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+    }
+
+    @Override
+    public <T> IdempotentResponse<T> execute(String scope, String idempotencyKey, Object request,
+            Class<T> responseType, Supplier<T> action) {
+        if (!properties.isEnabled() || !StringUtils.hasText(idempotencyKey)) {
+            return new IdempotentResponse<>(action.get(), false);
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > properties.getMaxKeyLength()) {
+            throw new BadRequestException(IdempotentResponse.IDEMPOTENCY_KEY_HEADER + " must not exceed "
+                    + properties.getMaxKeyLength() + " characters");
+        }
+        long storeId = StoreContext.currentStoreId();
+        // Key do client sinh, chỉ duy nhất trong một cửa hàng
+        String cacheKey = storeId + ":" + scope + ":" + key;
+        String requestHash = hash(request);
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+
+        while (true) {
+            StoredResponse cached = responses.getIfPresent(cacheKey);
+            if (cached != null) {
+                return replay(scope, cached, requestHash, responseType);
+            }
+            CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, execution);
+            if (running == null) {
+                try {
+                    return executeOnce(storeId, scope, key, cacheKey, requestHash, responseType, action, deadline,
+                            execution);
+                } finally {
+                    inFlight.remove(cacheKey, execution);
+                    // lần chạy thất bại: các request đang chờ sẽ tự thử lại
+                    execution.complete(null);
+                }
+            }
+            StoredResponse previous = await(scope, running, deadline);
+            if (previous != null) {
+                return replay(scope, previous, requestHash, responseType);
+            }
+        }
+    }
+
+    private <T> IdempotentResponse<T> executeOnce(long storeId, String scope, String key, String cacheKey,
+            String requestHash, Class<T> responseType, Supplier<T> action, long deadline,
+            CompletableFuture<StoredResponse> execution) {
+        while (true) {
+            Claim claim = claim(storeId, scope, key, requestHash);
+            if (claim == null) {
+                continue;
+            }
+            IdempotencyRecord record = claim.record();
+            if (claim.owned()) {
+                Executed<T> executed = run(record.getId(), action);
+                StoredResponse stored = new StoredResponse(requestHash, executed.json());
+                responses.put(cacheKey, stored);
+                execution.complete(stored);
+                storeMetrics.idempotentRequest(scope, "executed");
+                return new IdempotentResponse<>(executed.body(), false);
+            }
+            if (!record.getRequestHash().equals(requestHash)) {
+                throw mismatch(scope);
+            }
+            if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+                StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getResponseBody());
+                responses.put(cacheKey, stored);
+                execution.complete(stored);
+                return replay(scope, stored, requestHash, responseType);
+            }
+            // instance khác đang xử lý cùng key
+            if (System.nanoTime() >= deadline) {
+                throw conflict(scope);
+            }
+            sleep(scope);
+        }
+    }
+
+    // null: key vừa bị xóa (hết hạn hoặc lần chạy trước thất bại), cần thử lại
+    private Claim claim(long storeId, String scope, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            IdempotencyRecord created = newTransaction.execute(status -> repository.saveAndFlush(
+                    IdempotencyRecord.builder()
+                            .storeId(storeId)
+                            .scope(scope)
+                            .idempotencyKey(key)
+                            .requestHash(requestHash)
+                            .status(IdempotencyStatus.IN_PROGRESS)
+                            .expiresAt(now.plus(properties.getTtl()))
+                            .build()));
+            return new Claim(created, true);
+        } catch (DataIntegrityViolationException ex) {
+            // key đã tồn tại
+        }
+        return newTransaction.execute(status -> {
+            IdempotencyRecord existing = repository.findByStoreIdAndScopeAndIdempotencyKey(storeId, scope, key).orElse(null);
+            if (existing == null) {
+                return null;
+            }
+            if (existing.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+                LocalDateTime staleBefore = now.minus(properties.getInProgressTimeout());
+                if (repository.takeOver(existing.getId(), requestHash, now, staleBefore) == 1) {
+                    log.warn("Taking over abandoned idempotency key {} in scope {} of store {}", key, scope,
+                            storeId);
+                    existing.setRequestHash(requestHash);
+                    return new Claim(existing, true);
+                }
+            } else if (existing.getExpiresAt().isBefore(now)) {
+                repository.delete(existing);
+                return null;
+            }
+            return new Claim(existing, false);
+        });
+    }
+
+    private <T> Executed<T> run(Long recordId, Supplier<T> action) {
+        try {
+            return transactionTemplate.execute(status -> {
+                T body = action.get();
+                String json = serialize(body);
+                LocalDateTime now = LocalDateTime.now();
+                repository.complete(recordId, json, now.plus(properties.getTtl()), now);
+                return new Executed<>(body, json);
+            });
+        } catch (RuntimeException ex) {
+            release(recordId);
+            throw ex;
+        }
+    }
+
+    // Request lỗi không được lưu lại: client sửa request rồi gửi lại với cùng key
+    private void release(Long recordId) {
+        try {
+            newTransaction.executeWithoutResult(status -> repository.deleteById(recordId));
+        } catch (DataAccessException ex) {
+            log.warn("Could not release idempotency record {}; it expires after the in-progress timeout",
+                    recordId, ex);
+        }
+    }
+
+    private StoredResponse await(String scope, CompletableFuture<StoredResponse> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw conflict(scope);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw conflict(scope);
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    private void sleep(String scope) {
+        try {
+            Thread.sleep(properties.getPollInterval().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw conflict(scope);
+        }
+    }
+
+    private <T> IdempotentResponse<T> replay(String scope, StoredResponse stored, String requestHash,
+            Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw mismatch(scope);
+        }
+        storeMetrics.idempotentRequest(scope, "replayed");
+        try {
+            return new IdempotentResponse<>(objectMapper.readValue(stored.body(), responseType), true);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", ex);
+        }
+    }
+
+    private BadRequestException mismatch(String scope) {
+        storeMetrics.idempotentRequest(scope, "mismatch");
+        return new BadRequestException(IdempotentResponse.IDEMPOTENCY_KEY_HEADER
+                + " has already been used for a different request");
+    }
+
+    private ConflictException conflict(String scope) {
+        storeMetrics.idempotentRequest(scope, "conflict");
+        return new ConflictException("A request with this " + IdempotentResponse.IDEMPOTENCY_KEY_HEADER
+                + " is still being processed");
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response cannot be stored for idempotent replay", ex);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Cannot fingerprint request", ex);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval:PT10M}",
+            initialDelayString = "${idempotency.sweep-interval:PT10M}")
+    public int sweepExpired() {
+        return shardRouter.forEachShard(this::sweepShard).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int sweepShard() {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = properties.getSweepBatchSize();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = newTransaction.execute(status -> repository.deleteExpired(now, batchSize));
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Removed {} expired idempotency keys", total);
+        }
+        return total;
+    }
+
+    private record Claim(IdempotencyRecord record, boolean owned) {
+    }
+
+    private record Executed<T>(T body, String json) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.yourname.store.service.impl;
+
+import com.yourname.store.dto.request.StockMovementRequest;
+import com.yourname.store.dto.response.LowStockResponse;
+import com.yourname.store.dto.response.StockLevelResponse;
+import com.yourname.store.dto.response.StockMovementResponse;
+import com.yourname.store.dto.response.StockResponse;
+import com.yourname.store.entity.Product;
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.entity.StockMovementType;
+import com.yourname.store.event.DomainEventPublisher;
+import com.yourname.store.event.StockChanged;
+import com.yourname.store.exception.BadRequestException;
+import com.yourname.store.exception.NotFoundException;
+import com.yourname.store.inventory.InventoryProperties;
+import com.yourname.store.inventory.LowStockMonitor;
+import com.yourname.store.inventory.StockLedger;
+import com.yourname.store.inventory.StockLevel;
+import com.yourname.store.repository.ProductRepository;
+import com.yourname.store.repository.StockMovementRepository;
+import com.yourname.store.service.InventoryService;
+import com.yourname.store.shard.StoreContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final LowStockMonitor lowStockMonitor;
+    private final StockLedger stockLedger;
+    private final DomainEventPublisher domainEventPublisher;
+    private final InventoryProperties properties;
+
+    @Override
+    public LowStockResponse getLowStock(int limit) {
+        long storeId = StoreContext.currentStoreId();
+        return new LowStockResponse(storeId, lowStockMonitor.lowStockCount(storeId),
+                lowStockMonitor.lowStock(storeId, limit).stream().map(this::toResponse).toList());
+    }
+
+    @Override
+    @Transactional
+    public StockLevelResponse updateReorderThreshold(Long productId, Integer reorderThreshold) {
+        Product product = findProduct(productId);
+        StockLevel previous = StockLevel.of(product).withStockQty(currentStock(product));
+        product.setReorderThreshold(reorderThreshold);
+        productRepository.save(product);
+        StockLevel current = previous.withReorderThreshold(reorderThreshold);
+        lowStockMonitor.stockChanged(previous, current);
+        return toResponse(current);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockResponse getStock(Long productId, LocalDateTime at) {
+        Product product = findProduct(productId);
+        int stockQty = at == null ? currentStock(product) : stockLedger.stockAt(product.getId(), at);
+        return new StockResponse(product.getId(), at, stockQty);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockMovementResponse> getMovements(Long productId, LocalDateTime from, LocalDateTime to,
+            int limit) {
+        Product product = findProduct(productId);
+        return stockMovementRepository.findByProductIdAndCreatedAtBetweenOrderByCreatedAtDescIdDesc(
+                product.getId(), from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0),
+                to != null ? to : LocalDateTime.now(), PageRequest.of(0, Math.min(limit, properties.getMaxResults())))
+                .stream()
+                .map(movement -> new StockMovementResponse(movement.getId(), movement.getType(), movement.getDelta(),
+                        movement.getOrderId(), movement.getNote(), movement.isCompacted(), movement.getCreatedAt()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public StockResponse recordMovement(Long productId, StockMovementRequest request) {
+        int delta = request.getDelta();
+        if (request.getType() == StockMovementType.RESTOCK) {
+            if (delta <= 0) {
+                throw new BadRequestException("Restock delta must be positive");
+            }
+        } else if (request.getType() == StockMovementType.ADJUSTMENT) {
+            if (delta == 0) {
+                throw new BadRequestException("Adjustment delta must not be zero");
+            }
+        } else {
+            throw new BadRequestException("Only RESTOCK and ADJUSTMENT movements can be recorded manually");
+        }
+
+        Product product = findProduct(productId);
+        StockLevel previous = StockLevel.of(product).withStockQty(currentStock(product));
+        int stockQty = previous.stockQty() + delta;
+        if (stockQty < 0) {
+            throw new BadRequestException("Stock cannot go below zero for product: " + product.getCode());
+        }
+        if (stockQty == 0 && product.getStatus() == ProductStatus.ACTIVE) {
+            product.setStatus(ProductStatus.OUT_OF_STOCK);
+        } else if (stockQty > 0 && product.getStatus() == ProductStatus.OUT_OF_STOCK) {
+            product.setStatus(ProductStatus.ACTIVE);
+        }
+        stockLedger.record(List.of(new StockLedger.Movement(product.getStoreId(), product.getId(), request.getType(),
+                delta, null, request.getNote())));
+        domainEventPublisher.publish(new StockChanged(product.getId(), stockQty, product.getStatus(), null));
+        lowStockMonitor.stockChanged(previous, StockLevel.of(product).withStockQty(stockQty));
+        return new StockResponse(product.getId(), null, stockQty);
+    }
+
+    private Product findProduct(Long productId) {
+        return productRepository.findByIdAndStoreId(productId, StoreContext.currentStoreId())
+                .orElseThrow(() -> new NotFoundException("Product not found: " + productId));
+    }
+
+    private int currentStock(Product product) {
+        return product.getStockQty() + stockLedger.pending(List.of(product.getId()))
+                .getOrDefault(product.getId(), 0);
+    }
+
+    private StockLevelResponse toResponse(StockLevel level) {
+        int defaultThreshold = lowStockMonitor.defaultReorderThreshold();
+        return new StockLevelResponse(level.productId(), level.code(), level.name(), level.stockQty(),
+                level.thresholdOr(defaultThreshold), level.reorderThreshold() != null, level.status(),
+                level.atRisk(defaultThreshold));
+    }
+}
@@ -0,0 +1,99 @@
+package com.yourname.store.service.impl;
+
+import com.yourname.store.cache.CustomerCache;
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.OrderStatus;
+import com.yourname.store.entity.PointTransaction;
+import com.yourname.store.entity.PointTransactionType;
+import com.yourname.store.entity.User;
+import com.yourname.store.repository.OrderRepository;
+import com.yourname.store.repository.PointTransactionRepository;
+import com.yourname.store.repository.UserRepository;
+import com.yourname.store.service.LoyaltyService;
+import com.yourname.store.service.UserService;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * Loyalty points are kept as an append-only ledger ({@code point_transactions}) plus a balance in
+ * {@code users.point} that is only changed with an atomic {@code point = point + ?} update.
+ * <p>
+ * Points are applied from the {@code OrderPaid} / {@code OrderCanceled} events after checkout has committed.
+ * Both operations lock the order row first, so an award and a reversal of the same order never interleave, and
+ * the balance update still runs before the ledger insert that takes a shared FK lock on {@code users}.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoyaltyServiceImpl implements LoyaltyService {
+
+    private static final BigDecimal EARN_RATE = BigDecimal.valueOf(0.01);
+
+    private final PointTransactionRepository pointTransactionRepository;
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final UserService userService;
+    private final CustomerCache customerCache;
+
+    @Override
+    public int calculateEarnedPoints(BigDecimal orderTotal) {
+        return orderTotal.multiply(EARN_RATE)
+                .setScale(0, RoundingMode.FLOOR)
+                .intValue();
+    }
+
+    @Override
+    @Transactional
+    public void awardPoints(Long orderId) {
+        Order order = orderRepository.findForUpdateById(orderId).orElse(null);
+        // đơn đã bị hủy trước khi event tới thì không cộng điểm
+        if (order == null || order.getStatus() != OrderStatus.PAID) {
+            return;
+        }
+        User user = order.getUser();
+        if (user == null || userService.isGuest(user) || !StringUtils.hasText(user.getPhone())) {
+            return;
+        }
+        if (pointTransactionRepository.existsByOrderIdAndType(orderId, PointTransactionType.EARN)) {
+            return;
+        }
+        int points = calculateEarnedPoints(order.getTotalAmount());
+        if (points <= 0) {
+            return;
+        }
+        userRepository.addPoints(user.getId(), points, LocalDateTime.now());
+        customerCache.adjustPoints(user.getStoreId(), user.getPhone(), points);
+        pointTransactionRepository.save(PointTransaction.builder()
+                .user(user)
+                .order(order)
+                .type(PointTransactionType.EARN)
+                .delta(points)
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void reversePoints(Long orderId) {
+        Order order = orderRepository.findForUpdateById(orderId).orElse(null);
+        if (order == null
+                || pointTransactionRepository.existsByOrderIdAndType(orderId, PointTransactionType.REVERSAL)) {
+            return;
+        }
+        pointTransactionRepository.findByOrderIdAndType(orderId, PointTransactionType.EARN)
+                .ifPresent(earned -> {
+                    userRepository.addPoints(earned.getUser().getId(), -earned.getDelta(), LocalDateTime.now());
+                    customerCache.adjustPoints(earned.getUser().getStoreId(), earned.getUser().getPhone(),
+                            -earned.getDelta());
+                    pointTransactionRepository.save(PointTransaction.builder()
+                            .user(earned.getUser())
+                            .order(order)
+                            .type(PointTransactionType.REVERSAL)
+                            .delta(-earned.getDelta())
+                            .build());
+                });
+    }
+}
@@ -0,0 +1,98 @@
+package com.yourname.store.service.impl;
+
+import com.yourname.store.metrics.StoreMetrics;
+import com.yourname.store.service.OrderExportService;
+import com.yourname.store.shard.StoreContext;
+import com.yourname.store.util.CsvWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportServiceImpl.class);
+
+    static final String[] HEADER = { "order_code", "order_date", "status", "order_total", "customer_name",
+            "customer_phone", "product_code", "product_name", "quantity", "unit_price", "line_total" };
+
+    // Cột đọc bằng getString theo đúng thứ tự HEADER: không tạo entity/BigDecimal/LocalDateTime cho từng dòng
+    private static final String EXPORT_SQL = """
+            SELECT o.code, o.order_date, o.status, o.total_amount, u.name, u.phone,
+                   p.code, p.name, oi.quantity, oi.unit_price, oi.line_total
+            FROM orders o
+            JOIN order_items oi ON oi.order_id = o.id AND oi.order_date = o.order_date
+            JOIN products p ON p.id = oi.product_id
+            LEFT JOIN users u ON u.id = o.user_id
+            WHERE o.order_date BETWEEN ? AND ?
+              AND o.store_id = ?
+            ORDER BY o.order_date, o.id, oi.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StoreMetrics storeMetrics;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOrderLines(LocalDateTime from, LocalDateTime to, Writer writer) {
+        String outcome = StoreMetrics.OUTCOME_ERROR;
+        long[] rows = new long[1];
+        try {
+            jdbcTemplate.execute(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Connector/J chỉ stream từng dòng khi fetch size = Integer.MIN_VALUE
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, (PreparedStatement statement) -> {
+                statement.setTimestamp(1, Timestamp.valueOf(from));
+                statement.setTimestamp(2, Timestamp.valueOf(to));
+                statement.setLong(3, StoreContext.currentStoreId());
+                try (ResultSet rs = statement.executeQuery()) {
+                    writeRows(rs, writer, rows, statement);
+                }
+                return null;
+            });
+            outcome = "completed";
+            return rows[0];
+        } catch (UncheckedIOException ex) {
+            outcome = "cancelled";
+            log.info("Order export {} - {} aborted after {} rows: {}", from, to, rows[0], ex.getMessage());
+            throw ex;
+        } finally {
+            storeMetrics.orderExportFinished(outcome, rows[0]);
+        }
+    }
+
+    private void writeRows(ResultSet rs, Writer writer, long[] rows, PreparedStatement statement)
+            throws SQLException {
+        CsvWriter csv = new CsvWriter(writer);
+        try {
+            csv.writeRow(HEADER);
+            while (rs.next()) {
+                for (int column = 1; column <= HEADER.length; column++) {
+                    csv.writeField(rs.getString(column));
+                }
+                csv.endRow();
+                rows[0]++;
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            // Đóng result set đang stream sẽ đọc nốt mọi dòng còn lại: hủy truy vấn trước
+            statement.cancel();
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
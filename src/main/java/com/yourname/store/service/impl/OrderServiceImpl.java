@@ -10,20 +10,37 @@ import com.yourname.store.entity.OrderItem;
 import com.yourname.store.entity.OrderStatus;
 import com.yourname.store.entity.Product;
 import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.entity.StockMovementType;
 import com.yourname.store.entity.User;
 import com.yourname.store.exception.BadRequestException;
+import com.yourname.store.event.DomainEventPublisher;
+import com.yourname.store.event.OrderCanceled;
+import com.yourname.store.event.OrderPaid;
+import com.yourname.store.event.StockChanged;
 import com.yourname.store.exception.NotFoundException;
+import com.yourname.store.inventory.InsufficientStockException;
+import com.yourname.store.inventory.LowStockMonitor;
+import com.yourname.store.inventory.StockLedger;
+import com.yourname.store.inventory.StockLevel;
 import com.yourname.store.mapper.OrderMapper;
+import com.yourname.store.paging.ApproximateCounts;
+import com.yourname.store.paging.SliceQueries;
+import com.yourname.store.paging.TotalMode;
+import com.yourname.store.partition.UniqueKeyRegistry;
 import com.yourname.store.repository.OrderRepository;
 import com.yourname.store.repository.ProductRepository;
+import com.yourname.store.repository.projection.OrderVersionProjection;
 import com.yourname.store.service.OrderService;
 import com.yourname.store.service.UserService;
+import com.yourname.store.shard.StoreContext;
 import com.yourname.store.util.CodeGenerator;
+import com.yourname.store.util.ETags;
 import com.yourname.store.util.OrderSpecifications;
 
+import io.micrometer.core.annotation.Timed;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,7 +50,9 @@ import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -46,9 +65,17 @@ public class OrderServiceImpl implements OrderService {
     private final ProductRepository productRepository;
     private final OrderMapper orderMapper;
     private final UserService userService;
+    private final CodeGenerator codeGenerator;
+    private final DomainEventPublisher domainEventPublisher;
+    private final LowStockMonitor lowStockMonitor;
+    private final StockLedger stockLedger;
+    private final SliceQueries sliceQueries;
+    private final ApproximateCounts approximateCounts;
+    private final UniqueKeyRegistry uniqueKeyRegistry;
 
     @Override
     @Transactional
+    @Timed(value = "store.order.create", description = "Time to price, validate and persist an order")
     public OrderResponse createOrder(CreateOrderRequest request) {
         validateUniqueProducts(request.getItems());
 
@@ -56,7 +83,10 @@ public class OrderServiceImpl implements OrderService {
                 .map(OrderItemRequest::getProductId)
                 .toList();
 
+        // sản phẩm của cửa hàng khác được coi như không tồn tại
+        long storeId = StoreContext.currentStoreId();
         Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .filter(product -> product.getStoreId() == storeId)
                 .collect(Collectors.toMap(Product::getId, Function.identity()));
 
         if (products.size() != productIds.size()) {
@@ -64,38 +94,17 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order order = Order.builder()
-                .code(CodeGenerator.generateOrderCode())
+                .storeId(storeId)
+                .code(codeGenerator.generateOrderCode())
                 .orderDate(LocalDateTime.now())
                 .status(OrderStatus.PAID) // Tạm thời đặt là PAID, sau này có thể thay đổi tuỳ theo luồng thanh toán
                 .totalAmount(BigDecimal.ZERO)
                 .note(request.getNote())
                 .build();
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
-
-        for (OrderItemRequest itemRequest : request.getItems()) {
-            Product product = products.get(itemRequest.getProductId());
-            if (product.getStatus() == ProductStatus.INACTIVE) {
-                throw new BadRequestException("Product is inactive: " + product.getCode());
-            }
-            if (product.getStockQty() < itemRequest.getQuantity()) {
-                throw new BadRequestException("Insufficient stock for product: " + product.getCode());
-            }
-
-            BigDecimal unitPrice = product.getPrice();
-            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(itemRequest.getQuantity()));
-
-            OrderItem orderItem = OrderItem.builder()
-                    .product(product)
-                    .unitPrice(unitPrice)
-                    .quantity(itemRequest.getQuantity())
-                    .lineTotal(lineTotal)
-                    .build();
-
-            order.addItem(orderItem);
-            totalAmount = totalAmount.add(lineTotal);
-        }
-
+        // in-place: stock_qty đã là tồn kho hiện tại, không tốn thêm truy vấn sổ kho cho mỗi đơn
+        Map<Long, Integer> pendingStock = stockLedger.deferred() ? stockLedger.pending(productIds) : Map.of();
+        BigDecimal totalAmount = addItems(order, request.getItems(), products, pendingStock);
         order.setTotalAmount(totalAmount);
 
         // cập nhật user nếu có thông tin khách hàng
@@ -115,26 +124,51 @@ public class OrderServiceImpl implements OrderService {
 
             // Chỉ khi có user mới gán vào order
             order.setUser(user);
-
-            // cộng điểm thưởng cho user (nếu không phải khách vãng lai)
-            if (!userService.isGuest(user) && user.getPhone() != null && !user.getPhone().isBlank()) {
-                int currentPoint = user.getPoint() == null ? 0 : user.getPoint();
-                int earnedPoint = totalAmount.multiply(BigDecimal.valueOf(0.01))
-                        .setScale(0, RoundingMode.FLOOR)
-                        .intValue();
-                if (earnedPoint > 0) {
-                    user.setPoint(currentPoint + earnedPoint);
-                    userService.save(user);
-                }
-            }
         }
         // Nếu không có thông tin khách hàng, không gán user cho order (user_id sẽ là
         // null)
 
         Order saved = orderRepository.save(order);
+        uniqueKeyRegistry.reserveOrderCode(saved.getCode(), saved.getOrderDate());
+        // điểm thưởng, thống kê được xử lý sau commit qua outbox
+        Long userId = user != null ? user.getId() : null;
+        if (saved.getStatus() == OrderStatus.PAID) {
+            domainEventPublisher.publish(new OrderPaid(saved.getId(), userId, totalAmount));
+        }
         return orderMapper.toResponse(saved);
     }
 
+    // Kiểm tra trạng thái/tồn kho (gồm phần sổ kho chưa gộp), tạo các dòng đơn hàng và trả về tổng tiền
+    static BigDecimal addItems(Order order, List<OrderItemRequest> items, Map<Long, Product> products,
+            Map<Long, Integer> pendingStock) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+
+        for (OrderItemRequest itemRequest : items) {
+            Product product = products.get(itemRequest.getProductId());
+            if (product.getStatus() == ProductStatus.INACTIVE) {
+                throw new BadRequestException("Product is inactive: " + product.getCode());
+            }
+            int stock = product.getStockQty() + pendingStock.getOrDefault(product.getId(), 0);
+            if (stock < itemRequest.getQuantity()) {
+                throw new BadRequestException("Insufficient stock for product: " + product.getCode());
+            }
+
+            BigDecimal unitPrice = product.getPrice();
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(itemRequest.getQuantity()));
+
+            OrderItem orderItem = OrderItem.builder()
+                    .product(product)
+                    .unitPrice(unitPrice)
+                    .quantity(itemRequest.getQuantity())
+                    .lineTotal(lineTotal)
+                    .build();
+
+            order.addItem(orderItem);
+            totalAmount = totalAmount.add(lineTotal);
+        }
+        return totalAmount;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderResponse getOrder(Long id) {
@@ -145,8 +179,8 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public Order getOrderEntity(Long id) {
-        // Fetch order with basic information first
-        Order baseOrder = orderRepository.findById(id)
+        // Fetch order with basic information first, only within the current store
+        Order baseOrder = orderRepository.findByIdAndStoreId(id, StoreContext.currentStoreId())
                 .orElseThrow(() -> new NotFoundException("Order not found with id: " + id));
 
         // Fetch items and product details separately
@@ -167,6 +201,16 @@ public class OrderServiceImpl implements OrderService {
         return baseOrder;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getOrderETag(Long id, MediaType mediaType) {
+        OrderVersionProjection version = orderRepository.findVersionByIdAndStoreId(id, StoreContext.currentStoreId())
+                .orElseThrow(() -> new NotFoundException("Order not found with id: " + id));
+        return ETags.strong("order", id, version.getUpdatedAt(), version.getStatus(), version.getUserUpdatedAt(),
+                version.getPaymentCount(), version.getSettledPaymentCount(), version.getPaymentsUpdatedAt(),
+                version.getProductsUpdatedAt(), mediaType);
+    }
+
     @Override
     @Transactional
     public void handleOrderPaid(Order order) {
@@ -175,23 +219,35 @@ public class OrderServiceImpl implements OrderService {
         }
         order.setStatus(OrderStatus.PAID);
 
+        // Kiểm tra và trừ tồn kho trong lúc giữ khóa dòng sản phẩm; trạng thái và sự kiện lấy từ số còn lại thật
+        Map<Long, Product> products = managedProducts(order);
+        List<StockLedger.Movement> sales = order.getItems().stream()
+                .map(item -> new StockLedger.Movement(order.getStoreId(), item.getProduct().getId(),
+                        StockMovementType.SALE, -item.getQuantity(), order.getId(), null))
+                .toList();
+        Map<Long, Integer> remaining;
+        try {
+            remaining = stockLedger.sell(sales);
+        } catch (InsufficientStockException ex) {
+            throw new BadRequestException("Insufficient stock while completing payment for product: "
+                    + products.get(ex.getProductId()).getCode());
+        }
         order.getItems().forEach(item -> {
-            Product product = item.getProduct();
-            int remaining = product.getStockQty() - item.getQuantity();
-            if (remaining < 0) {
-                throw new BadRequestException(
-                        "Insufficient stock while completing payment for product: " + product.getCode());
-            }
-            product.setStockQty(remaining);
-            if (remaining == 0) {
+            Product product = products.get(item.getProduct().getId());
+            int left = remaining.get(product.getId());
+            StockLevel previous = StockLevel.of(product).withStockQty(left + item.getQuantity());
+            if (left == 0) {
                 product.setStatus(ProductStatus.OUT_OF_STOCK);
             }
+            domainEventPublisher.publish(new StockChanged(product.getId(), left, product.getStatus(),
+                    order.getId()));
+            lowStockMonitor.stockChanged(previous, StockLevel.of(product).withStockQty(left));
         });
 
         orderRepository.save(order);
-        productRepository.saveAll(order.getItems().stream()
-                .map(OrderItem::getProduct)
-                .collect(Collectors.toSet()));
+        User user = order.getUser();
+        domainEventPublisher.publish(new OrderPaid(order.getId(), user != null ? user.getId() : null,
+                order.getTotalAmount()));
     }
 
     @Override
@@ -201,48 +257,68 @@ public class OrderServiceImpl implements OrderService {
             return;
         }
         order.setStatus(OrderStatus.CANCELED);
+        restoreStock(order);
         orderRepository.save(order);
+        domainEventPublisher.publish(new OrderCanceled(order.getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<OrderSummaryResponse> searchOrders(
-            String code, LocalDateTime from, LocalDateTime to, Pageable pageable) {
-        System.out.println("OrderServiceImpl.searchOrders called with:");
-        System.out.println("  - code: " + code);
-        System.out.println("  - from: " + from);
-        System.out.println("  - to: " + to);
-        System.out.println("  - pageable: page=" + pageable.getPageNumber() + ", size=" + pageable.getPageSize());
-
-        Specification<Order> specification = OrderSpecifications.filter(code, from, to);
-        Page<Order> page = orderRepository.findAll(specification, pageable);
-
-        System.out.println("Query returned " + page.getTotalElements() + " orders");
-        if (page.getTotalElements() == 0) {
-            System.out.println("No orders found - checking if any orders exist in the date range");
-            // Manual check for debugging
-            List<Order> allOrders = orderRepository.findAll();
-            System.out.println("Total orders in database: " + allOrders.size());
-            for (Order order : allOrders) {
-                System.out.println("Order ID: " + order.getId() +
-                        ", Code: " + order.getCode() +
-                        ", Date: " + order.getOrderDate() +
-                        " matches filter? " +
-                        (from == null || !order.getOrderDate().isBefore(from)) + " && " +
-                        (to == null || !order.getOrderDate().isAfter(to)));
-            }
+            String code, LocalDateTime from, LocalDateTime to, Pageable pageable, TotalMode totalMode) {
+        Specification<Order> specification = OrderSpecifications.filter(StoreContext.currentStoreId(), code, from,
+                to);
+        if (totalMode == TotalMode.EXACT) {
+            Page<Order> page = orderRepository.findAll(specification, pageable);
+            return PageResponse.of(page, page.stream().map(orderMapper::toSummary).toList());
         }
 
-        List<OrderSummaryResponse> content = page.stream()
+        // Không COUNT: id của trang (+1 dòng) rồi nạp đơn theo id
+        Slice<Long> ids = sliceQueries.ids(Order.class, specification, pageable);
+        List<OrderSummaryResponse> content = SliceQueries.inOrder(ids.getContent(), orderRepository::findAllByIdIn,
+                        Order::getId).stream()
                 .map(orderMapper::toSummary)
                 .toList();
-        return new PageResponse<>(
-                content,
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isLast());
+        Long total = totalMode == TotalMode.APPROXIMATE
+                ? approximateCounts.count("orders|" + code + "|" + from + "|" + to,
+                        () -> orderRepository.count(specification))
+                : null;
+        return PageResponse.of(ids, content, total);
+    }
+
+    // Hoàn lại số đã bán của đơn (nếu có và chưa hoàn) bằng các dòng CANCEL trong sổ kho
+    private void restoreStock(Order order) {
+        Map<Long, Integer> sold = stockLedger.orderDeltas(order.getId(), StockMovementType.SALE);
+        if (sold.isEmpty() || !stockLedger.orderDeltas(order.getId(), StockMovementType.CANCEL).isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> pending = stockLedger.pending(sold.keySet());
+        List<StockLedger.Movement> returns = new ArrayList<>();
+        managedProducts(order).values().stream()
+                .filter(product -> sold.containsKey(product.getId()))
+                .forEach(product -> {
+                    int stock = product.getStockQty() + pending.getOrDefault(product.getId(), 0);
+                    int returned = -sold.get(product.getId());
+                    StockLevel previous = StockLevel.of(product).withStockQty(stock);
+                    if (product.getStatus() == ProductStatus.OUT_OF_STOCK && stock + returned > 0) {
+                        product.setStatus(ProductStatus.ACTIVE);
+                    }
+                    returns.add(new StockLedger.Movement(product.getStoreId(), product.getId(),
+                            StockMovementType.CANCEL, returned, order.getId(), null));
+                    domainEventPublisher.publish(new StockChanged(product.getId(), stock + returned,
+                            product.getStatus(), order.getId()));
+                    lowStockMonitor.stockChanged(previous, StockLevel.of(product).withStockQty(stock + returned));
+                });
+        stockLedger.record(returns);
+    }
+
+    // Đơn có thể đã detached: đọc lại sản phẩm trong transaction này để chỉ cột thực sự đổi (status) được ghi
+    private Map<Long, Product> managedProducts(Order order) {
+        List<Long> productIds = order.getItems().stream()
+                .map(item -> item.getProduct().getId())
+                .toList();
+        return productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
     }
 
     private void validateUniqueProducts(List<OrderItemRequest> items) {
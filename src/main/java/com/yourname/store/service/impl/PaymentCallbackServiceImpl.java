@@ -0,0 +1,118 @@
+package com.yourname.store.service.impl;
+
+import com.yourname.store.dto.response.PaymentCallbackResponse;
+import com.yourname.store.entity.Payment;
+import com.yourname.store.entity.PaymentCallback;
+import com.yourname.store.exception.NotFoundException;
+import com.yourname.store.payment.PaymentCallbackProperties;
+import com.yourname.store.repository.PaymentCallbackRepository;
+import com.yourname.store.repository.PaymentRepository;
+import com.yourname.store.service.PaymentCallbackService;
+import com.yourname.store.shard.ShardRouter;
+import com.yourname.store.shard.StoreContext;
+import com.yourname.store.util.CompressedText;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class PaymentCallbackServiceImpl implements PaymentCallbackService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentCallbackServiceImpl.class);
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final int MAX_TXN_REF_LENGTH = 64;
+
+    private final PaymentCallbackRepository paymentCallbackRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentCallbackProperties properties;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public PaymentCallbackServiceImpl(PaymentCallbackRepository paymentCallbackRepository,
+            PaymentRepository paymentRepository, PaymentCallbackProperties properties, ShardRouter shardRouter,
+            PlatformTransactionManager transactionManager) {
+        this.paymentCallbackRepository = paymentCallbackRepository;
+        this.paymentRepository = paymentRepository;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void record(String source, Map<String, String> params, String outcome, String error) {
+        try {
+            paymentCallbackRepository.save(PaymentCallback.builder()
+                    .txnRef(truncate(params.get("vnp_TxnRef"), MAX_TXN_REF_LENGTH))
+                    .source(source)
+                    .outcome(outcome)
+                    .responseCode(truncate(params.get("vnp_ResponseCode"), 10))
+                    .error(truncate(error, MAX_ERROR_LENGTH))
+                    .payload(CompressedText.compress(toQuery(params)))
+                    .receivedAt(LocalDateTime.now())
+                    .build());
+        } catch (DataAccessException ex) {
+            // mất một dòng audit không được làm hỏng callback của VNPAY
+            log.warn("Could not record VNPAY {} callback for txnRef {}", source, params.get("vnp_TxnRef"), ex);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentCallbackResponse> getCallbacks(Long paymentId) {
+        Payment payment = paymentRepository.findByIdAndStoreId(paymentId, StoreContext.currentStoreId())
+                .orElseThrow(() -> new NotFoundException("Payment not found with id: " + paymentId));
+        return paymentCallbackRepository.findByTxnRefOrderByIdAsc(payment.getTxnRef()).stream()
+                .map(callback -> new PaymentCallbackResponse(
+                        callback.getId(),
+                        callback.getSource(),
+                        callback.getOutcome(),
+                        callback.getResponseCode(),
+                        callback.getError(),
+                        callback.getReceivedAt(),
+                        CompressedText.decompress(callback.getPayload())))
+                .toList();
+    }
+
+    @Override
+    @Scheduled(cron = "${payment-callbacks.purge-cron:0 45 2 * * *}")
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        return shardRouter.forEachShard(() -> purgeShard(cutoff)).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int purgeShard(LocalDateTime cutoff) {
+        int batchSize = properties.getPurgeBatchSize();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(
+                    status -> paymentCallbackRepository.deleteReceivedBefore(cutoff, batchSize));
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Purged {} VNPAY callbacks received before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    // Cùng định dạng với payments.raw_query trước đây: tham số sắp theo tên
+    static String toQuery(Map<String, String> params) {
+        return params.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
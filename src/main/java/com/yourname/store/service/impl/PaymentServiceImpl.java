@@ -10,22 +10,28 @@ import com.yourname.store.entity.PaymentStatus;
 import com.yourname.store.exception.NotFoundException;
 import com.yourname.store.exception.PaymentException;
 import com.yourname.store.mapper.OrderMapper;
+import com.yourname.store.metrics.StoreMetrics;
+import com.yourname.store.partition.UniqueKeyRegistry;
 import com.yourname.store.payment.VnpayProperties;
 import com.yourname.store.payment.VnpayService;
 import com.yourname.store.repository.PaymentRepository;
 import com.yourname.store.service.OrderService;
+import com.yourname.store.service.PaymentCallbackService;
 import com.yourname.store.service.PaymentService;
+import com.yourname.store.shard.StoreContext;
 import com.yourname.store.util.CodeGenerator;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -39,6 +45,11 @@ public class PaymentServiceImpl implements PaymentService {
     private final VnpayService vnpayService;
     private final VnpayProperties vnpayProperties;
     private final OrderMapper orderMapper;
+    private final CodeGenerator codeGenerator;
+    private final StoreMetrics storeMetrics;
+    private final PaymentCallbackService paymentCallbackService;
+    private final TransactionTemplate transactionTemplate;
+    private final UniqueKeyRegistry uniqueKeyRegistry;
 
     @Override
     @Transactional
@@ -54,7 +65,7 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = Payment.builder()
                 .order(order)
                 .provider(PaymentProvider.VNPAY)
-                .txnRef(CodeGenerator.generateTxnRef())
+                .txnRef(codeGenerator.generateTxnRef(order.getStoreId()))
                 .amount(order.getTotalAmount())
                 .currency(vnpayProperties.getCurrCode())
                 .status(PaymentStatus.PENDING)
@@ -62,30 +73,56 @@ public class PaymentServiceImpl implements PaymentService {
 
         order.addPayment(payment);
         paymentRepository.save(payment);
+        uniqueKeyRegistry.reservePaymentRef(payment.getTxnRef(), order.getOrderDate());
 
         String paymentUrl = vnpayService.buildPaymentUrl(order, payment, clientIp);
         return new PaymentUrlResponse(paymentUrl);
     }
 
     @Override
-    @Transactional
     public OrderResponse handleVnpayReturn(Map<String, String> params) {
-        Payment payment = processVnpayCallback(params);
-        return orderMapper.toResponse(payment.getOrder());
+        return processVnpayCallback(params, "return", payment -> orderMapper.toResponse(payment.getOrder()));
     }
 
     @Override
-    @Transactional
     public String handleVnpayIpn(Map<String, String> params) {
         try {
-            processVnpayCallback(params);
+            processVnpayCallback(params, "ipn", payment -> null);
             return "{\"RspCode\":\"00\",\"Message\":\"Confirm Success\"}";
         } catch (PaymentException ex) {
             return "{\"RspCode\":\"99\",\"Message\":\"" + ex.getMessage() + "\"}";
         }
     }
 
-    private Payment processVnpayCallback(Map<String, String> params) {
+    // VNPAY gọi về không kèm header cửa hàng: cửa hàng (và shard) lấy từ tiền tố của vnp_TxnRef
+    private <T> T processVnpayCallback(Map<String, String> params, String source, Function<Payment, T> response) {
+        long storeId = CodeGenerator.storeIdOfTxnRef(params.get("vnp_TxnRef"));
+        return StoreContext.callInStore(storeId, () -> processVnpayCallbackInStore(params, source, response));
+    }
+
+    // Audit được ghi sau khi transaction kết thúc: callback bị từ chối (rollback) vẫn có dòng audit
+    private <T> T processVnpayCallbackInStore(Map<String, String> params, String source,
+            Function<Payment, T> response) {
+        Timer.Sample sample = storeMetrics.startTimer();
+        String outcome = StoreMetrics.OUTCOME_ERROR;
+        String error = null;
+        try {
+            CallbackResult<T> result = transactionTemplate.execute(status -> {
+                Payment payment = applyVnpayCallback(params);
+                return new CallbackResult<>(payment.getStatus().name(), response.apply(payment));
+            });
+            outcome = result.outcome();
+            return result.response();
+        } catch (RuntimeException ex) {
+            error = ex.getMessage();
+            throw ex;
+        } finally {
+            storeMetrics.stopVnpayCallback(sample, source, outcome);
+            paymentCallbackService.record(source, params, outcome, error);
+        }
+    }
+
+    private Payment applyVnpayCallback(Map<String, String> params) {
         if (!vnpayService.verifySignature(params)) {
             throw new PaymentException("Invalid VNPAY signature");
         }
@@ -103,7 +140,6 @@ public class PaymentServiceImpl implements PaymentService {
 
         payment.setStatus(newStatus);
         payment.setBankCode(params.get("vnp_BankCode"));
-        payment.setRawQuery(toRawQuery(params));
 
         String payDateRaw = params.get("vnp_PayDate");
         if (payDateRaw != null && !payDateRaw.isBlank()) {
@@ -115,6 +151,7 @@ public class PaymentServiceImpl implements PaymentService {
         if (newStatus == PaymentStatus.PAID) {
             orderService.handleOrderPaid(payment.getOrder());
         } else if (newStatus == PaymentStatus.CANCELED || newStatus == PaymentStatus.FAILED) {
+            storeMetrics.paymentFailed(newStatus);
             orderService.handleOrderCanceled(payment.getOrder());
         }
         return payment;
@@ -150,10 +187,6 @@ public class PaymentServiceImpl implements PaymentService {
         return PaymentStatus.FAILED;
     }
 
-    private String toRawQuery(Map<String, String> params) {
-        return params.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> entry.getKey() + "=" + entry.getValue())
-                .collect(Collectors.joining("&"));
+    private record CallbackResult<T>(String outcome, T response) {
     }
 }
@@ -0,0 +1,345 @@
+package com.yourname.store.service.impl;
+
+import com.yourname.store.catalog.ProductImportProperties;
+import com.yourname.store.catalog.ProductImportRow;
+import com.yourname.store.catalog.ProductRowReader;
+import com.yourname.store.dto.response.ProductImportResponse;
+import com.yourname.store.dto.response.ProductImportResponse.ProductImportError;
+import com.yourname.store.entity.Category;
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.entity.StockMovementType;
+import com.yourname.store.inventory.LowStockMonitor;
+import com.yourname.store.inventory.StockLedger;
+import com.yourname.store.inventory.StockLevel;
+import com.yourname.store.repository.CategoryRepository;
+import com.yourname.store.service.ProductImportService;
+import com.yourname.store.shard.StoreContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final int MAX_CODE_LENGTH = 50;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_CATEGORY_LENGTH = 100;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("9999999999999999.99");
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO products (store_id, code, name, category_id, price, stock_qty, reorder_threshold, status, "
+                    + "created_at, updated_at) VALUES ";
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 10;
+    // updated_at chỉ đổi khi dòng thực sự thay đổi (phải gán trước các cột khác);
+    // file không có reorder_threshold thì giữ ngưỡng đang có.
+    // Sản phẩm đã có không bị ghi đè stock_qty: chênh lệch được ghi vào sổ kho thành dòng ADJUSTMENT
+    private static final String UPSERT_SUFFIX = """
+             ON DUPLICATE KEY UPDATE
+            updated_at = IF(name <=> VALUES(name) AND category_id <=> VALUES(category_id)
+                AND price <=> VALUES(price)
+                AND reorder_threshold <=> COALESCE(VALUES(reorder_threshold), reorder_threshold)
+                AND status <=> VALUES(status), updated_at, VALUES(updated_at)),
+            name = VALUES(name), category_id = VALUES(category_id), price = VALUES(price),
+            reorder_threshold = COALESCE(VALUES(reorder_threshold), reorder_threshold),
+            status = VALUES(status)""";
+    private static final String STOCK_LEVELS = "SELECT " + StockLevel.COLUMNS
+            + " FROM products p WHERE p.store_id = ? AND p.code IN (";
+    private static final String IMPORT_NOTE = "import";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ProductImportProperties properties;
+    private final LowStockMonitor lowStockMonitor;
+    private final StockLedger stockLedger;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate, CategoryRepository categoryRepository,
+            ProductImportProperties properties, LowStockMonitor lowStockMonitor, StockLedger stockLedger,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.properties = properties;
+        this.lowStockMonitor = lowStockMonitor;
+        this.stockLedger = stockLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ProductImportResponse importProducts(ProductRowReader rows) {
+        ImportRun run = new ImportRun(loadCategories());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<ValidRow> batch = new ArrayList<>(batchSize);
+        try {
+            ProductImportRow row;
+            while ((row = rows.next()) != null) {
+                run.total++;
+                ValidRow valid = validate(row, run);
+                if (valid != null) {
+                    batch.add(valid);
+                    if (batch.size() == batchSize) {
+                        flush(batch, run);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            // Upload hỏng giữa chừng: các dòng hợp lệ đã đọc vẫn được ghi
+            flush(batch, run);
+        }
+        log.info("Product import: {} rows, {} imported, {} failed", run.total, run.imported, run.failed);
+        return new ProductImportResponse(run.total, run.imported, run.failed, run.errors);
+    }
+
+    private Map<String, Long> loadCategories() {
+        Map<String, Long> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(categoryKey(category.getName()), category.getId());
+        }
+        return categories;
+    }
+
+    private ValidRow validate(ProductImportRow row, ImportRun run) {
+        String code = trim(row.code());
+        String name = trim(row.name());
+        String category = trim(row.category());
+        if (!StringUtils.hasText(code) || code.length() > MAX_CODE_LENGTH) {
+            return run.fail(row, "code is required and at most " + MAX_CODE_LENGTH + " characters");
+        }
+        if (!StringUtils.hasText(name) || name.length() > MAX_NAME_LENGTH) {
+            return run.fail(row, "name is required and at most " + MAX_NAME_LENGTH + " characters");
+        }
+        if (!StringUtils.hasText(category) || category.length() > MAX_CATEGORY_LENGTH) {
+            return run.fail(row, "category is required and at most " + MAX_CATEGORY_LENGTH + " characters");
+        }
+
+        String priceText = trim(row.price());
+        if (!StringUtils.hasText(priceText)) {
+            return run.fail(row, "price is required");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(priceText);
+        } catch (NumberFormatException ex) {
+            return run.fail(row, "price is not a number: " + row.price());
+        }
+        if (price.signum() < 0 || price.scale() > 2 || price.compareTo(MAX_PRICE) > 0) {
+            return run.fail(row, "price must be >= 0 with at most 2 decimals");
+        }
+
+        int stockQty;
+        try {
+            stockQty = Integer.parseInt(trim(row.stockQty()));
+        } catch (NumberFormatException ex) {
+            return run.fail(row, "stock_qty is not an integer: " + row.stockQty());
+        }
+        if (stockQty < 0) {
+            return run.fail(row, "stock_qty must be >= 0");
+        }
+
+        Integer reorderThreshold = null;
+        if (StringUtils.hasText(row.reorderThreshold())) {
+            try {
+                reorderThreshold = Integer.parseInt(row.reorderThreshold().trim());
+            } catch (NumberFormatException ex) {
+                return run.fail(row, "reorder_threshold is not an integer: " + row.reorderThreshold());
+            }
+            if (reorderThreshold < 0) {
+                return run.fail(row, "reorder_threshold must be >= 0");
+            }
+        }
+
+        ProductStatus status = ProductStatus.ACTIVE;
+        if (StringUtils.hasText(row.status())) {
+            try {
+                status = ProductStatus.valueOf(row.status().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                return run.fail(row, "unknown status: " + row.status());
+            }
+        }
+
+        return new ValidRow(row, code, name, resolveCategory(category, run), price, stockQty, reorderThreshold,
+                status);
+    }
+
+    // Danh mục được nạp một lần; danh mục mới chỉ tạo lần đầu gặp
+    private Long resolveCategory(String name, ImportRun run) {
+        return run.categories.computeIfAbsent(categoryKey(name), key -> {
+            try {
+                return categoryRepository.save(Category.builder().name(name).build()).getId();
+            } catch (DataIntegrityViolationException ex) {
+                // import khác vừa tạo cùng tên
+                return categoryRepository.findByNameIgnoreCase(name).orElseThrow(() -> ex).getId();
+            }
+        });
+    }
+
+    private void flush(List<ValidRow> batch, ImportRun run) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            upsert(batch, now);
+            run.imported += batch.size();
+        } catch (DataAccessException ex) {
+            // Một dòng lỗi làm hỏng cả câu lệnh: ghi lại từng dòng để tách lỗi ra
+            log.debug("Batch upsert failed, retrying {} rows one by one", batch.size(), ex);
+            for (ValidRow row : batch) {
+                try {
+                    upsert(List.of(row), now);
+                    run.imported++;
+                } catch (DataAccessException rowEx) {
+                    run.fail(row.source(), NestedExceptionUtils.getMostSpecificCause(rowEx).getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    // Tồn kho trước khi ghi được đọc trong cùng transaction; tồn kho sau khi ghi suy ra từ chính dòng import,
+    // chỉ đọc lại id của sản phẩm mới đang dưới ngưỡng
+    private void upsert(List<ValidRow> rows, LocalDateTime now) {
+        long storeId = StoreContext.currentStoreId();
+        Map<String, ValidRow> latest = new LinkedHashMap<>();
+        rows.forEach(row -> latest.put(row.code(), row));
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, StockLevel> before = stockLevels(storeId, latest.keySet());
+            jdbcTemplate.update(upsertSql(rows.size()), parameters(rows, storeId, now));
+            int defaultThreshold = lowStockMonitor.defaultReorderThreshold();
+            List<String> createdAtRisk = new ArrayList<>();
+            List<StockLedger.Movement> adjustments = new ArrayList<>();
+            latest.forEach((code, row) -> {
+                StockLevel previous = before.get(code);
+                if (previous == null) {
+                    StockLevel created = new StockLevel(0, storeId, code, row.name(), row.stockQty(),
+                            row.reorderThreshold(), row.status());
+                    if (created.atRisk(defaultThreshold)) {
+                        createdAtRisk.add(code);
+                    }
+                    return;
+                }
+                if (row.stockQty() != previous.stockQty()) {
+                    adjustments.add(new StockLedger.Movement(storeId, previous.productId(),
+                            StockMovementType.ADJUSTMENT, row.stockQty() - previous.stockQty(), null, IMPORT_NOTE));
+                }
+                Integer threshold = row.reorderThreshold() != null ? row.reorderThreshold()
+                        : previous.reorderThreshold();
+                lowStockMonitor.stockChanged(previous, new StockLevel(previous.productId(), storeId, code,
+                        row.name(), row.stockQty(), threshold, row.status()));
+            });
+            stockLedger.record(adjustments);
+            if (!createdAtRisk.isEmpty()) {
+                stockLevels(storeId, createdAtRisk).values()
+                        .forEach(created -> lowStockMonitor.stockChanged(null, created));
+            }
+        });
+    }
+
+    private Map<String, StockLevel> stockLevels(long storeId, Collection<String> codes) {
+        Object[] args = new Object[codes.size() + 1];
+        args[0] = storeId;
+        int i = 1;
+        for (String code : codes) {
+            args[i++] = code;
+        }
+        Map<String, StockLevel> levels = new HashMap<>();
+        jdbcTemplate.query(STOCK_LEVELS + String.join(", ", Collections.nCopies(codes.size(), "?")) + ")",
+                rs -> {
+                    StockLevel level = StockLevel.of(rs);
+                    levels.put(level.code(), level);
+                }, args);
+        return levels;
+    }
+
+    private String upsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (VALUES_ROW.length() + 2)
+                + UPSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(VALUES_ROW);
+        }
+        return sql.append(UPSERT_SUFFIX).toString();
+    }
+
+    // nhập vào cửa hàng của request; trùng (store_id, code) thì cập nhật
+    private Object[] parameters(List<ValidRow> rows, long storeId, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        Object[] parameters = new Object[rows.size() * COLUMNS];
+        int i = 0;
+        for (ValidRow row : rows) {
+            parameters[i++] = storeId;
+            parameters[i++] = row.code();
+            parameters[i++] = row.name();
+            parameters[i++] = row.categoryId();
+            parameters[i++] = row.price();
+            parameters[i++] = row.stockQty();
+            // kiểu tường minh: null không kiểu khiến driver phải hỏi metadata của cả câu lệnh
+            parameters[i++] = new SqlParameterValue(Types.INTEGER, row.reorderThreshold());
+            parameters[i++] = row.status().name();
+            parameters[i++] = timestamp;
+            parameters[i++] = timestamp;
+        }
+        return parameters;
+    }
+
+    private static String categoryKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private record ValidRow(ProductImportRow source, String code, String name, Long categoryId, BigDecimal price,
+            int stockQty, Integer reorderThreshold, ProductStatus status) {
+    }
+
+    private final class ImportRun {
+        private final Map<String, Long> categories;
+        private final List<ProductImportError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        private ImportRun(Map<String, Long> categories) {
+            this.categories = categories;
+        }
+
+        private ValidRow fail(ProductImportRow row, String message) {
+            failed++;
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(new ProductImportError(row.line(), row.code(), message));
+            }
+            return null;
+        }
+    }
+}
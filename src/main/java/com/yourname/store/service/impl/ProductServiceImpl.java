@@ -1,19 +1,35 @@
 package com.yourname.store.service.impl;
 
+import com.yourname.store.dto.response.FacetedProductPageResponse;
 import com.yourname.store.dto.response.PageResponse;
+import com.yourname.store.dto.response.ProductFacetsResponse;
 import com.yourname.store.dto.response.ProductResponse;
 import com.yourname.store.entity.Product;
+import com.yourname.store.exception.BadRequestException;
 import com.yourname.store.exception.NotFoundException;
+import com.yourname.store.facet.FacetCounts;
+import com.yourname.store.facet.FacetFilter;
+import com.yourname.store.facet.PriceBands;
+import com.yourname.store.facet.ProductFacetIndex;
 import com.yourname.store.mapper.ProductMapper;
+import com.yourname.store.paging.ApproximateCounts;
+import com.yourname.store.paging.SliceQueries;
+import com.yourname.store.paging.TotalMode;
 import com.yourname.store.repository.ProductRepository;
+import com.yourname.store.repository.projection.ProductVersionProjection;
 import com.yourname.store.service.ProductService;
+import com.yourname.store.shard.StoreContext;
+import com.yourname.store.util.ETags;
 import com.yourname.store.util.ProductSpecifications;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,32 +37,93 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final SliceQueries sliceQueries;
+    private final ApproximateCounts approximateCounts;
+    private final ProductFacetIndex productFacetIndex;
 
     @Override
-    public PageResponse<ProductResponse> searchProducts(String keyword, Long categoryId, Pageable pageable) {
-        Specification<Product> specification = ProductSpecifications.filter(keyword, categoryId);
-        Page<Product> page = productRepository.findAll(specification, pageable);
-        List<ProductResponse> content = page.stream()
+    @Transactional(readOnly = true)
+    public PageResponse<ProductResponse> searchProducts(String keyword, Long categoryId, Pageable pageable,
+            TotalMode totalMode) {
+        Specification<Product> specification = ProductSpecifications.filter(StoreContext.currentStoreId(), keyword,
+                categoryId);
+        if (totalMode == TotalMode.EXACT) {
+            Page<Product> page = productRepository.findAll(specification, pageable);
+            return PageResponse.of(page, page.stream().map(productMapper::toResponse).toList());
+        }
+
+        Slice<Long> ids = sliceQueries.ids(Product.class, specification, pageable);
+        List<ProductResponse> content = SliceQueries.inOrder(ids.getContent(), productRepository::findAllByIdIn,
+                        Product::getId).stream()
                 .map(productMapper::toResponse)
                 .toList();
-        return new PageResponse<>(
-                content,
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isLast());
+        Long total = totalMode == TotalMode.APPROXIMATE
+                ? approximateCounts.count("products|" + keyword + "|" + categoryId,
+                        () -> productRepository.count(specification))
+                : null;
+        return PageResponse.of(ids, content, total);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String getProductSearchETag(String keyword, Long categoryId, Pageable pageable, TotalMode totalMode,
+            MediaType mediaType) {
+        long storeId = StoreContext.currentStoreId();
+        List<Object> version = sliceQueries.aggregate(Product.class,
+                ProductSpecifications.filter(storeId, keyword, categoryId), ProductSpecifications.version());
+        return ETags.weak("products", storeId, keyword, categoryId, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort(), totalMode, version, mediaType);
+    }
+
+    @Override
+    public String getProductSearchETag(PageResponse<ProductResponse> page, MediaType mediaType) {
+        return ETags.weak("products", StoreContext.currentStoreId(), page, mediaType);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetedProductPageResponse searchProductsFaceted(String keyword, FacetFilter filter, Pageable pageable) {
+        PriceBands priceBands = productFacetIndex.priceBands();
+        if (filter.priceBands().stream().anyMatch(band -> band < 0 || band >= priceBands.count())) {
+            throw new BadRequestException("priceBand must be between 0 and " + (priceBands.count() - 1));
+        }
+        long storeId = StoreContext.currentStoreId();
+        FacetCounts counts = productFacetIndex.count(storeId, filter, keyword);
+
+        // Tổng đã có từ bitmap: trang chỉ cần id (+1 dòng) rồi nạp sản phẩm
+        Specification<Product> specification = ProductSpecifications.filter(storeId, keyword, null)
+                .and(ProductSpecifications.facets(filter, priceBands));
+        Slice<Long> ids = sliceQueries.ids(Product.class, specification, pageable);
+        List<ProductResponse> content = SliceQueries.inOrder(ids.getContent(), productRepository::findAllByIdIn,
+                        Product::getId).stream()
+                .map(productMapper::toResponse)
+                .toList();
+        return new FacetedProductPageResponse(PageResponse.of(ids, content, counts.total()),
+                ProductFacetsResponse.of(counts, filter, priceBands));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductResponse getProduct(Long id) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findByIdAndStoreId(id, StoreContext.currentStoreId())
                 .orElseThrow(() -> new NotFoundException("Product not found: " + id));
         return productMapper.toResponse(product);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getProductETag(Long id, MediaType mediaType) {
+        ProductVersionProjection version = productRepository.findVersionByIdAndStoreId(id,
+                StoreContext.currentStoreId())
+                .orElseThrow(() -> new NotFoundException("Product not found: " + id));
+        return ETags.strong("product", id, version.getUpdatedAt(), version.getStockQty(),
+                version.getPrice().stripTrailingZeros().toPlainString(), version.getStatus(),
+                version.getCategoryUpdatedAt(), mediaType);
+    }
 }
@@ -4,13 +4,17 @@ import com.yourname.store.entity.Order;
 import com.yourname.store.report.InvoiceItem;
 import com.yourname.store.service.OrderService;
 import com.yourname.store.service.ReportService;
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
+import net.sf.jasperreports.engine.JRException;
 import net.sf.jasperreports.engine.JasperCompileManager;
 import net.sf.jasperreports.engine.JasperExportManager;
 import net.sf.jasperreports.engine.JasperFillManager;
@@ -19,22 +23,35 @@ import net.sf.jasperreports.engine.JasperReport;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.engine.xml.JRXmlLoader;
 import net.sf.jasperreports.engine.design.JasperDesign;
-import org.springframework.core.io.Resource;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+// Lazy: JasperReports chỉ được nạp ở request báo cáo đầu tiên, không làm chậm khởi động
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
+    private static final String INVOICE_TEMPLATE = "classpath:reports/invoice.jrxml";
+    private static final String ALL_PRODUCTS_TEMPLATE = "classpath:reports/all-products.jrxml";
+
     private final OrderService orderService;
     private final ResourceLoader resourceLoader;
     private final DataSource dataSource; // Kết nối database cho products report
+    // Template chỉ compile một lần, các lần sau chỉ fill dữ liệu
+    private final Map<String, JasperReport> compiledReports = new ConcurrentHashMap<>();
 
     @Override
+    @Timed(value = "store.report.invoice", description = "Time to fill and export an invoice PDF")
+    @Transactional(readOnly = true)
     public byte[] generateInvoicePdf(Long orderId) {
-        Order order = orderService.getOrderEntity(orderId);
+        return generateInvoicePdf(orderService.getOrderEntity(orderId));
+    }
 
+    @Override
+    public byte[] generateInvoicePdf(Order order) {
         List<InvoiceItem> items = order.getItems().stream()
                 .map(item -> new InvoiceItem(
                         item.getProduct().getCode(),
@@ -58,11 +75,8 @@ public class ReportServiceImpl implements ReportService {
 
         JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(items);
 
-        try (InputStream templateStream = loadTemplateStream()) {
-            // Sử dụng JRXmlLoader để tải trực tiếp từ stream
-            JasperDesign jasperDesign = JRXmlLoader.load(templateStream);
-            JasperReport report = JasperCompileManager.compileReport(jasperDesign);
-
+        try {
+            JasperReport report = compiledReport(INVOICE_TEMPLATE);
             JasperPrint print = JasperFillManager.fillReport(report, params, dataSource);
             return JasperExportManager.exportReportToPdf(print);
         } catch (Exception e) {
@@ -72,17 +86,14 @@ public class ReportServiceImpl implements ReportService {
     }
 
     @Override
+    @Timed(value = "store.report.products", description = "Time to fill and export the product list PDF")
+    @Transactional(readOnly = true)
     public byte[] generateAllProductsPdf() {
         // CÁCH 2: Sử dụng JDBC Connection - JasperReports tự query database
         Map<String, Object> params = new HashMap<>();
 
-        try (InputStream templateStream = resourceLoader
-                .getResource("classpath:reports/all-products.jrxml")
-                .getInputStream();
-                Connection connection = dataSource.getConnection()) {
-
-            JasperDesign jasperDesign = JRXmlLoader.load(templateStream);
-            JasperReport report = JasperCompileManager.compileReport(jasperDesign);
+        try (Connection connection = dataSource.getConnection()) {
+            JasperReport report = compiledReport(ALL_PRODUCTS_TEMPLATE);
 
             // Truyền Connection - Jasper sẽ execute SQL query trong template
             JasperPrint print = JasperFillManager.fillReport(report, params, connection);
@@ -93,12 +104,17 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private InputStream loadTemplateStream() {
-        try {
-            Resource resource = resourceLoader.getResource("classpath:reports/invoice.jrxml");
-            return resource.getInputStream();
-        } catch (Exception ex) {
-            throw new IllegalStateException("Unable to load invoice template", ex);
+    private JasperReport compiledReport(String location) {
+        return compiledReports.computeIfAbsent(location, this::compile);
+    }
+
+    private JasperReport compile(String location) {
+        try (InputStream templateStream = resourceLoader.getResource(location).getInputStream()) {
+            // Sử dụng JRXmlLoader để tải trực tiếp từ stream
+            JasperDesign jasperDesign = JRXmlLoader.load(templateStream);
+            return JasperCompileManager.compileReport(jasperDesign);
+        } catch (IOException | JRException ex) {
+            throw new IllegalStateException("Unable to compile report template " + location, ex);
         }
     }
 
@@ -7,41 +7,115 @@ import com.yourname.store.repository.OrderRepository;
 import com.yourname.store.repository.projection.RevenueStatsProjection;
 import com.yourname.store.repository.projection.TopProductProjection;
 import com.yourname.store.service.StatisticsService;
+import com.yourname.store.shard.ShardRouter;
+import com.yourname.store.shard.StoreContext;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
-@RequiredArgsConstructor
 public class StatisticsServiceImpl implements StatisticsService {
 
     private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59, 999_000_000);
+    private static final Comparator<TopProductResponse> BEST_SELLING = Comparator
+            .comparingLong(TopProductResponse::soldQuantity).reversed()
+            .thenComparing(TopProductResponse::revenue, Comparator.reverseOrder());
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StatisticsServiceImpl(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+            ShardRouter shardRouter, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.shardRouter = shardRouter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     @Override
+    @Timed(value = "store.stats.query", extraTags = { "query", "daily-revenue" })
+    @Transactional(readOnly = true)
     public List<RevenueStatsResponse> getDailyRevenueStats(LocalDate from, LocalDate to) {
+        return dailyRevenue(StoreContext.currentStoreId(), from, to);
+    }
+
+    @Override
+    @Timed(value = "store.stats.query", extraTags = { "query", "top-products" })
+    @Transactional(readOnly = true)
+    public List<TopProductResponse> getTopProducts(LocalDate from, LocalDate to, int limit) {
+        return topProducts(StoreContext.currentStoreId(), from, to, limit);
+    }
+
+    // Không mở transaction ở đây: mỗi shard chạy transaction riêng trên luồng fan-out của nó
+    @Override
+    @Timed(value = "store.stats.query", extraTags = { "query", "chain-daily-revenue" })
+    public List<RevenueStatsResponse> getChainDailyRevenueStats(LocalDate from, LocalDate to) {
+        Map<String, RevenueStatsResponse> buckets = new TreeMap<>();
+        for (List<RevenueStatsResponse> shard : fanOut(() -> dailyRevenue(null, from, to))) {
+            for (RevenueStatsResponse stats : shard) {
+                buckets.merge(stats.bucket(), stats, (a, b) -> new RevenueStatsResponse(a.bucket(),
+                        a.revenue().add(b.revenue()), a.orderCount() + b.orderCount()));
+            }
+        }
+        return List.copyOf(buckets.values());
+    }
+
+    // Mỗi shard trả đủ danh sách (không LIMIT): top N toàn chuỗi có thể không nằm trong top N của shard nào
+    @Override
+    @Timed(value = "store.stats.query", extraTags = { "query", "chain-top-products" })
+    public List<TopProductResponse> getChainTopProducts(LocalDate from, LocalDate to, int limit) {
+        Map<String, TopProductResponse> products = new LinkedHashMap<>();
+        for (List<TopProductResponse> shard : fanOut(() -> topProducts(null, from, to, Integer.MAX_VALUE))) {
+            for (TopProductResponse product : shard) {
+                products.merge(product.code(),
+                        new TopProductResponse(null, product.code(), product.name(), product.soldQuantity(),
+                                product.revenue()),
+                        (a, b) -> new TopProductResponse(null, a.code(), a.name(),
+                                a.soldQuantity() + b.soldQuantity(), a.revenue().add(b.revenue())));
+            }
+        }
+        return products.values().stream()
+                .sorted(BEST_SELLING)
+                .limit(limit)
+                .toList();
+    }
+
+    private List<RevenueStatsResponse> dailyRevenue(Long storeId, LocalDate from, LocalDate to) {
         LocalDateTime fromDateTime = from.atStartOfDay();
         LocalDateTime toDateTime = to.atTime(END_OF_DAY);
         List<RevenueStatsProjection> projections =
-                orderRepository.calculateDailyRevenue(fromDateTime, toDateTime);
+                orderRepository.calculateDailyRevenue(storeId, fromDateTime, toDateTime);
         return projections.stream()
                 .map(p -> new RevenueStatsResponse(p.getBucket(), p.getRevenue(), p.getOrderCount()))
                 .toList();
     }
 
-    @Override
-    public List<TopProductResponse> getTopProducts(LocalDate from, LocalDate to, int limit) {
+    private List<TopProductResponse> topProducts(Long storeId, LocalDate from, LocalDate to, int limit) {
         LocalDateTime fromDateTime = from.atStartOfDay();
         LocalDateTime toDateTime = to.atTime(END_OF_DAY);
         List<TopProductProjection> projections =
-                orderItemRepository.findTopProducts(fromDateTime, toDateTime, limit);
+                orderItemRepository.findTopProducts(storeId, fromDateTime, toDateTime, limit);
         return projections.stream()
-                .map(p -> new TopProductResponse(p.getProductId(), p.getName(), p.getSoldQuantity(), p.getRevenue()))
+                .map(p -> new TopProductResponse(p.getProductId(), p.getCode(), p.getName(), p.getSoldQuantity(),
+                        p.getRevenue()))
                 .toList();
     }
+
+    private <T> List<T> fanOut(Supplier<T> query) {
+        return shardRouter.fanOut(() -> readOnlyTransaction.execute(status -> query.get()));
+    }
 }
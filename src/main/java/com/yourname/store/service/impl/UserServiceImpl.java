@@ -1,12 +1,26 @@
 package com.yourname.store.service.impl;
 
+import com.yourname.store.cache.CustomerCache;
+import com.yourname.store.cache.CustomerCacheProperties;
+import com.yourname.store.cache.CustomerSnapshot;
+import com.yourname.store.dto.response.CustomerSuggestionResponse;
 import com.yourname.store.dto.response.UserResponse;
 import com.yourname.store.entity.User;
 import com.yourname.store.exception.NotFoundException;
 import com.yourname.store.repository.UserRepository;
+import com.yourname.store.repository.projection.CustomerPhoneProjection;
 import com.yourname.store.service.UserService;
+import com.yourname.store.shard.ShardRouter;
+import com.yourname.store.shard.StoreContext;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +33,9 @@ public class UserServiceImpl implements UserService {
     private static final String GUEST_ADDRESS = "Tam thoi";
 
     private final UserRepository userRepository;
+    private final CustomerCache customerCache;
+    private final CustomerCacheProperties customerCacheProperties;
+    private final ShardRouter shardRouter;
 
     @Override
     @Transactional(readOnly = true)
@@ -26,7 +43,7 @@ public class UserServiceImpl implements UserService {
         if (phone == null || phone.isBlank()) {
             return Optional.empty();
         }
-        return userRepository.findByPhone(phone);
+        return findSnapshot(StoreContext.currentStoreId(), phone).map(CustomerSnapshot::toUser);
     }
 
     @Override
@@ -35,39 +52,57 @@ public class UserServiceImpl implements UserService {
         if (phone == null || phone.isBlank()) {
             return createGuestUser(name, address);
         }
-        return userRepository.findByPhone(phone)
+        long storeId = StoreContext.currentStoreId();
+        Optional<CustomerSnapshot> cached = findSnapshot(storeId, phone);
+        // Không ghi lại user khi tên/địa chỉ không đổi
+        if (cached.isPresent() && Objects.equals(cached.get().name(), name)
+                && Objects.equals(cached.get().address(), address)) {
+            return cached.get().toUser();
+        }
+        User saved = userRepository.findByStoreIdAndPhone(storeId, phone)
                 .map(existing -> {
                     existing.setName(name);
                     existing.setAddress(address);
-                    if (existing.getPoint() == null) {
-                        existing.setPoint(0);
-                    }
                     return userRepository.save(existing);
                 })
                 .orElseGet(() -> userRepository.save(User.builder()
+                        .storeId(storeId)
                         .name(name)
                         .phone(phone)
                         .address(address)
                         .point(0)
                         .build()));
+        customerCache.put(CustomerSnapshot.from(saved));
+        customerCache.index(storeId, saved.getPhone(), saved.getName());
+        return saved;
     }
 
     @Override
     @Transactional
     public User createGuestUser(String name, String address) {
-        return userRepository.findByPhone(GUEST_PHONE)
+        long storeId = StoreContext.currentStoreId();
+        Optional<CustomerSnapshot> cached = customerCache.get(storeId, GUEST_PHONE);
+        if (cached.isPresent()) {
+            return cached.get().toUser();
+        }
+        User guest = userRepository.findByStoreIdAndPhone(storeId, GUEST_PHONE)
                 .orElseGet(() -> userRepository.save(User.builder()
+                        .storeId(storeId)
                         .name(GUEST_NAME)
                         .phone(GUEST_PHONE)
                         .address(GUEST_ADDRESS)
                         .point(0)
                         .build()));
+        customerCache.put(CustomerSnapshot.from(guest));
+        return guest;
     }
 
     @Override
     @Transactional
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        customerCache.evict(saved.getStoreId(), saved.getPhone());
+        return saved;
     }
 
     @Override
@@ -81,8 +116,52 @@ public class UserServiceImpl implements UserService {
         if (phone == null || phone.isBlank()) {
             throw new NotFoundException("User not found with phone: " + phone);
         }
-        User user = userRepository.findByPhone(phone)
+        return findSnapshot(StoreContext.currentStoreId(), phone)
+                .map(CustomerSnapshot::toResponse)
                 .orElseThrow(() -> new NotFoundException("User not found with phone: " + phone));
-        return new UserResponse(user.getId(), user.getName(), user.getPhone(), user.getAddress(), user.getPoint());
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<CustomerSuggestionResponse> suggestByPhone(String prefix, Integer limit) {
+        if (prefix == null || prefix.trim().length() < customerCacheProperties.getMinPrefixLength()) {
+            return List.of();
+        }
+        int effectiveLimit = limit == null
+                ? customerCacheProperties.getSuggestionLimit()
+                : Math.max(1, Math.min(limit, customerCacheProperties.getSuggestionLimit()));
+        return customerCache.suggest(StoreContext.currentStoreId(), prefix.trim(), effectiveLimit).stream()
+                .map(entry -> new CustomerSuggestionResponse(entry.phone(), entry.name()))
+                .toList();
+    }
+
+    /**
+     * Rebuilds the phone prefix indexes from every shard, picking up customers created by other instances.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${customer-cache.index-refresh-interval:PT10M}",
+            initialDelayString = "${customer-cache.index-refresh-interval:PT10M}")
+    public void refreshPhoneIndex() {
+        shardRouter.forEachShard(() -> {
+            Map<Long, Map<String, String>> entriesByStore = new HashMap<>();
+            for (CustomerPhoneProjection customer : userRepository.findAllPhones()) {
+                if (!GUEST_PHONE.equals(customer.getPhone())) {
+                    entriesByStore.computeIfAbsent(customer.getStoreId(), storeId -> new HashMap<>())
+                            .put(customer.getPhone(), customer.getName());
+                }
+            }
+            entriesByStore.forEach(customerCache::replaceIndex);
+            return null;
+        });
+    }
+
+    private Optional<CustomerSnapshot> findSnapshot(long storeId, String phone) {
+        Optional<CustomerSnapshot> cached = customerCache.get(storeId, phone);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<CustomerSnapshot> loaded = userRepository.findByStoreIdAndPhone(storeId, phone)
+                .map(CustomerSnapshot::from);
+        loaded.ifPresent(customerCache::put);
+        return loaded;
+    }
+}
@@ -0,0 +1,86 @@
+package com.yourname.store.shard;
+
+import com.yourname.store.workload.WorkloadPools;
+import com.yourname.store.workload.WorkloadProperties;
+import com.yourname.store.workload.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+/**
+ * One Hikari pool ({@code shard-<name>}) per configured shard. The main shard is not in here: it is the
+ * application data source with its replicas and workload pools.
+ * <p>
+ * With workload isolation enabled each shard also gets its own back-office/reporting pools behind a
+ * {@link WorkloadRoutingDataSource}, so a report on one shard cannot take that shard's checkout connections.
+ * Read replicas are only configured for the main database: read-only transactions of stores on other shards
+ * run on the shard's primary, which is logged at startup when replica routing is on.
+ */
+public class ShardPools implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardPools.class);
+
+    private final Map<String, DataSource> pools;
+    private final List<HikariDataSource> primaries = new ArrayList<>();
+    private final List<WorkloadPools> workloadPools = new ArrayList<>();
+
+    public ShardPools(ShardingProperties properties, DataSourceProperties dataSourceProperties,
+            WorkloadProperties workloadProperties, boolean replicaRouting, MeterRegistry meterRegistry) {
+        Map<String, DataSource> created = new LinkedHashMap<>();
+        properties.getShards().forEach((name, shard) -> {
+            if (ShardRouter.MAIN_SHARD.equals(name)) {
+                return;
+            }
+            HikariDataSource primary = pool(name, shard, dataSourceProperties, meterRegistry);
+            primaries.add(primary);
+            if (workloadProperties.isEnabled()) {
+                WorkloadPools shardWorkloadPools = new WorkloadPools(workloadProperties, "shard-" + name + "-workload-",
+                        primary.getJdbcUrl(), primary.getUsername(), primary.getPassword(),
+                        primary.getDriverClassName(), meterRegistry);
+                workloadPools.add(shardWorkloadPools);
+                created.put(name, new WorkloadRoutingDataSource(primary, shardWorkloadPools));
+            } else {
+                created.put(name, primary);
+            }
+            if (replicaRouting) {
+                log.warn("Shard {} has no read replicas: read-only transactions of its stores run on its primary",
+                        name);
+            }
+        });
+        this.pools = Collections.unmodifiableMap(created);
+    }
+
+    public Map<String, DataSource> getPools() {
+        return pools;
+    }
+
+    @Override
+    public void destroy() {
+        workloadPools.forEach(WorkloadPools::destroy);
+        primaries.forEach(HikariDataSource::close);
+    }
+
+    private static HikariDataSource pool(String name, ShardingProperties.Shard shard, DataSourceProperties primary,
+            MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + name);
+        dataSource.setJdbcUrl(shard.getUrl());
+        dataSource.setUsername(shard.getUsername() != null ? shard.getUsername() : primary.determineUsername());
+        dataSource.setPassword(shard.getPassword() != null ? shard.getPassword() : primary.determinePassword());
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(shard.getConnectionTimeout().toMillis());
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,155 @@
+package com.yourname.store.shard;
+
+import com.yourname.store.workload.WorkloadClass;
+import com.yourname.store.workload.WorkloadContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps stores to shards ({@code sharding.stores}) and runs work on every shard: sequentially on the calling
+ * thread for background jobs ({@link #forEachShard}), or in parallel for chain-wide reports
+ * ({@link #fanOut}). Each task sees its shard pinned in {@link StoreContext}, so repositories and
+ * {@code TransactionTemplate}s used inside it talk to that shard. With sharding disabled there is a single
+ * shard, {@value #MAIN_SHARD}, and tasks run inline.
+ */
+@Component
+public class ShardRouter implements DisposableBean {
+
+    public static final String MAIN_SHARD = "main";
+
+    private final ShardingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<String> shards;
+    private final ExecutorService fanOutExecutor;
+
+    public ShardRouter(ShardingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Set<String> names = new LinkedHashSet<>();
+        names.add(MAIN_SHARD);
+        if (properties.isEnabled()) {
+            names.addAll(properties.getShards().keySet());
+            if (!names.contains(properties.getDefaultShard())) {
+                throw new IllegalStateException("sharding.default-shard is not a configured shard: "
+                        + properties.getDefaultShard());
+            }
+            properties.getStores().forEach((storeId, shard) -> {
+                if (!names.contains(shard)) {
+                    throw new IllegalStateException("Store " + storeId + " is mapped to unknown shard " + shard);
+                }
+            });
+        }
+        this.shards = List.copyOf(names);
+        this.fanOutExecutor = shards.size() > 1 ? newFanOutExecutor(Math.min(properties.getFanOutThreads(),
+                shards.size())) : null;
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public String shardFor(long storeId) {
+        if (!properties.isEnabled()) {
+            return MAIN_SHARD;
+        }
+        return properties.getStores().getOrDefault(storeId, properties.getDefaultShard());
+    }
+
+    // Khi đã khai báo danh sách cửa hàng thì store lạ bị từ chối thay vì rơi vào shard mặc định
+    public boolean isKnownStore(long storeId) {
+        return !properties.isEnabled() || properties.getStores().isEmpty()
+                || properties.getStores().containsKey(storeId);
+    }
+
+    public String currentShard() {
+        String pinned = StoreContext.pinnedShard();
+        return pinned != null ? pinned : shardFor(StoreContext.currentStoreId());
+    }
+
+    /**
+     * Runs {@code task} once per shard on the calling thread and returns the results in shard order.
+     */
+    public <T> List<T> forEachShard(Supplier<T> task) {
+        List<T> results = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            results.add(StoreContext.callOnShard(shard, () -> timed(shard, task)));
+        }
+        return results;
+    }
+
+    /**
+     * Runs {@code task} on all shards in parallel and returns the results in shard order; the tasks keep the
+     * caller's workload class, so a report still uses the reporting pool on the main shard. Fails as a whole when
+     * one shard fails or the shards do not all answer within {@code sharding.fan-out-timeout}; a partial
+     * chain-wide report would look complete to the caller.
+     */
+    public <T> List<T> fanOut(Supplier<T> task) {
+        if (fanOutExecutor == null) {
+            return forEachShard(task);
+        }
+        WorkloadClass workload = WorkloadContext.current();
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            futures.add(fanOutExecutor.submit(() -> WorkloadContext.callAs(workload,
+                    () -> StoreContext.callOnShard(shard, () -> timed(shard, task)))));
+        }
+        long deadline = System.nanoTime() + properties.getFanOutTimeout().toNanos();
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Shard query failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Shards did not answer within " + properties.getFanOutTimeout());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", ex);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+
+    private <T> T timed(String shard, Supplier<T> task) {
+        return Timer.builder("store.shard.task")
+                .description("Work run on one shard by a job or a chain-wide report")
+                .tag("shard", shard)
+                .register(meterRegistry)
+                .record(task);
+    }
+
+    private static ExecutorService newFanOutExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.yourname.store.shard;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Hands out connections of the shard that owns the current store ({@link StoreContext}), or of the shard a
+ * job pinned. The main shard is the wrapped application data source. Threads with no store at all (startup,
+ * Flyway, seeding) use the main shard; router and pools are resolved on first use because this data source is
+ * created while the context is still starting.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource mainDataSource;
+    private final ObjectProvider<ShardRouter> router;
+    private final ObjectProvider<ShardPools> pools;
+
+    public ShardRoutingDataSource(DataSource mainDataSource, ObjectProvider<ShardRouter> router,
+            ObjectProvider<ShardPools> pools) {
+        this.mainDataSource = mainDataSource;
+        this.router = router;
+        this.pools = pools;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per shard");
+    }
+
+    public DataSource getMainDataSource() {
+        return mainDataSource;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return mainDataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || mainDataSource.isWrapperFor(iface);
+    }
+
+    private DataSource target() {
+        if (!StoreContext.isSet()) {
+            return mainDataSource;
+        }
+        String shard = router.getObject().currentShard();
+        if (ShardRouter.MAIN_SHARD.equals(shard)) {
+            return mainDataSource;
+        }
+        DataSource pool = pools.getObject().getPools().get(shard);
+        if (pool == null) {
+            throw new IllegalStateException("No data source for shard " + shard);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,35 @@
+package com.yourname.store.shard;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+    // Tắt: mọi cửa hàng dùng datasource chính (shard "main"), store_id chỉ còn là một cột lọc
+    private boolean enabled = false;
+    private String storeHeader = "X-Store-Id";
+    // Shard của cửa hàng không có trong stores; "main" là datasource spring.datasource.*
+    private String defaultShard = ShardRouter.MAIN_SHARD;
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+    // store id -> tên shard
+    private Map<Long, String> stores = new LinkedHashMap<>();
+    // Báo cáo toàn chuỗi chạy song song trên các shard
+    private int fanOutThreads = 4;
+    private Duration fanOutTimeout = Duration.ofSeconds(30);
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
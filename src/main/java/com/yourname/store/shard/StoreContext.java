@@ -0,0 +1,86 @@
+package com.yourname.store.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Store of the request running on the current thread, set by {@link StoreContextFilter} from the store header.
+ * {@link ShardRoutingDataSource} routes connections to the shard of that store. Threads outside a request use
+ * {@link #DEFAULT_STORE_ID}, the value existing rows were migrated to. Background jobs that must visit every
+ * shard pin a shard instead through {@link ShardRouter#forEachShard}.
+ * <p>
+ * Switching store or shard is only safe outside a transaction: the transaction keeps the connection it
+ * started with.
+ */
+public final class StoreContext {
+
+    public static final long DEFAULT_STORE_ID = 1L;
+
+    private static final ThreadLocal<Long> STORE = new ThreadLocal<>();
+    private static final ThreadLocal<String> SHARD = new ThreadLocal<>();
+
+    private StoreContext() {
+    }
+
+    public static long currentStoreId() {
+        Long storeId = STORE.get();
+        return storeId != null ? storeId : DEFAULT_STORE_ID;
+    }
+
+    /**
+     * Runs {@code action} as store {@code storeId}, e.g. a VNPAY callback whose store is only known from the
+     * transaction reference, and restores the previous store afterwards.
+     */
+    public static <T> T callInStore(long storeId, Supplier<T> action) {
+        Long previousStore = STORE.get();
+        String previousShard = SHARD.get();
+        STORE.set(storeId);
+        SHARD.remove();
+        try {
+            return action.get();
+        } finally {
+            restore(previousStore, previousShard);
+        }
+    }
+
+    static <T> T callOnShard(String shard, Supplier<T> action) {
+        Long previousStore = STORE.get();
+        String previousShard = SHARD.get();
+        STORE.remove();
+        SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previousStore, previousShard);
+        }
+    }
+
+    static boolean isSet() {
+        return STORE.get() != null || SHARD.get() != null;
+    }
+
+    static String pinnedShard() {
+        return SHARD.get();
+    }
+
+    static void set(long storeId) {
+        STORE.set(storeId);
+    }
+
+    static void clear() {
+        STORE.remove();
+        SHARD.remove();
+    }
+
+    private static void restore(Long storeId, String shard) {
+        if (storeId != null) {
+            STORE.set(storeId);
+        } else {
+            STORE.remove();
+        }
+        if (shard != null) {
+            SHARD.set(shard);
+        } else {
+            SHARD.remove();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.yourname.store.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.dto.response.ApiError;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Reads the store of an {@code /api} request from {@code sharding.store-header} (default store when absent)
+ * into {@link StoreContext}. Responses vary by that header, so shared caches keep one copy per store.
+ */
+public class StoreContextFilter extends OncePerRequestFilter {
+
+    private final ShardingProperties properties;
+    private final ShardRouter router;
+    private final ObjectMapper objectMapper;
+
+    public StoreContextFilter(ShardingProperties properties, ShardRouter router, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.router = router;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, properties.getStoreHeader());
+        String header = request.getHeader(properties.getStoreHeader());
+        long storeId = StoreContext.DEFAULT_STORE_ID;
+        if (StringUtils.hasText(header)) {
+            try {
+                storeId = Long.parseLong(header.trim());
+            } catch (NumberFormatException ex) {
+                storeId = -1;
+            }
+            if (storeId <= 0) {
+                reject(request, response, "Invalid " + properties.getStoreHeader() + ": " + header);
+                return;
+            }
+        }
+        if (!router.isKnownStore(storeId)) {
+            reject(request, response, "Unknown store: " + storeId);
+            return;
+        }
+
+        StoreContext.set(storeId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StoreContext.clear();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String message) throws IOException {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ApiError error = new ApiError(Instant.now(), status.value(), status.getReasonPhrase(), message,
+                request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -1,25 +1,164 @@
 package com.yourname.store.util;
 
+import com.yourname.store.shard.StoreContext;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
-import java.util.UUID;
-import lombok.experimental.UtilityClass;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
 
-@UtilityClass
+/**
+ * Snowflake-style generator for order codes and VNPAY transaction references.
+ * <p>
+ * Each value is derived from a 64-bit state of {@code epochMillis << 12 | sequence} advanced with a CAS loop:
+ * the next state is {@code max(now << 12, last + 1)}, so values are strictly increasing per node even when
+ * the clock stalls or moves backwards, and a sequence overflow simply borrows the next millisecond. The node
+ * id (0-1023) is leased per running instance by {@link NodeIdLease}.
+ * <p>
+ * Formats keep the existing shape with a fixed-width, sortable suffix: {@code ORD-yyyyMMddHHmmss-XXXXXXX}
+ * and {@code PAYyyyyMMddHHmmssXXXXXXX}, where the suffix is base-36 of millisecond, node id and sequence. The
+ * timestamp is in UTC: a local time would repeat an hour at a DST fall-back and could repeat a code.
+ * Transaction references of stores other than the default one are prefixed with {@code S<storeId>} so a VNPAY
+ * callback, which carries nothing but the reference, can be routed to the store's shard.
+ */
+@Component
 public class CodeGenerator {
 
-    private static final DateTimeFormatter ORDER_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss", Locale.US);
+    public static final long MAX_NODE_ID = (1L << 10) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int MILLIS_SHIFT = SEQUENCE_BITS + 10;
+    private static final int SUFFIX_LENGTH = 7;
+    private static final int TIMESTAMP_LENGTH = 14;
+    private static final char[] BASE36 = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final char[] ORDER_PREFIX = "ORD-".toCharArray();
+    private static final char[] TXN_PREFIX = "PAY".toCharArray();
+    private static final char STORE_PREFIX = 'S';
+
+    private final LongSupplier nodeId;
+    private final ZoneId zone;
+    private final LongSupplier clock;
+    private final AtomicLong lastState = new AtomicLong();
+    private volatile SecondStamp secondStamp = new SecondStamp(Long.MIN_VALUE, new char[TIMESTAMP_LENGTH]);
+
+    @Autowired
+    public CodeGenerator(NodeIdLease nodeIdLease) {
+        this(nodeIdLease::nodeId, ZoneOffset.UTC, System::currentTimeMillis);
+    }
+
+    public CodeGenerator(long nodeId, ZoneId zone, LongSupplier clock) {
+        this(fixed(nodeId), zone, clock);
+    }
+
+    private CodeGenerator(LongSupplier nodeId, ZoneId zone, LongSupplier clock) {
+        this.nodeId = nodeId;
+        this.zone = zone;
+        this.clock = clock;
+    }
 
     public String generateOrderCode() {
-        return "ORD-" + LocalDateTime.now().format(ORDER_FORMATTER) + "-" + randomSuffix();
+        long node = nodeId.getAsLong();
+        long state = nextState();
+        char[] buffer = new char[ORDER_PREFIX.length + TIMESTAMP_LENGTH + 1 + SUFFIX_LENGTH];
+        System.arraycopy(ORDER_PREFIX, 0, buffer, 0, ORDER_PREFIX.length);
+        int offset = writeTimestamp(state, buffer, ORDER_PREFIX.length);
+        buffer[offset++] = '-';
+        writeSuffix(state, node, buffer, offset);
+        return new String(buffer);
     }
 
     public String generateTxnRef() {
-        return "PAY" + LocalDateTime.now().format(ORDER_FORMATTER) + randomSuffix();
+        long node = nodeId.getAsLong();
+        long state = nextState();
+        char[] buffer = new char[TXN_PREFIX.length + TIMESTAMP_LENGTH + SUFFIX_LENGTH];
+        System.arraycopy(TXN_PREFIX, 0, buffer, 0, TXN_PREFIX.length);
+        int offset = writeTimestamp(state, buffer, TXN_PREFIX.length);
+        writeSuffix(state, node, buffer, offset);
+        return new String(buffer);
+    }
+
+    public String generateTxnRef(long storeId) {
+        String txnRef = generateTxnRef();
+        return storeId == StoreContext.DEFAULT_STORE_ID ? txnRef : STORE_PREFIX + Long.toString(storeId) + txnRef;
+    }
+
+    // Tham chiếu cũ (không có tiền tố S) thuộc cửa hàng mặc định
+    public static long storeIdOfTxnRef(String txnRef) {
+        if (txnRef == null || txnRef.length() < 2 || txnRef.charAt(0) != STORE_PREFIX) {
+            return StoreContext.DEFAULT_STORE_ID;
+        }
+        int end = txnRef.indexOf(TXN_PREFIX[0], 1);
+        try {
+            return Long.parseLong(txnRef, 1, end > 0 ? end : txnRef.length(), 10);
+        } catch (NumberFormatException ex) {
+            return StoreContext.DEFAULT_STORE_ID;
+        }
+    }
+
+    long nextState() {
+        while (true) {
+            long last = lastState.get();
+            long next = Math.max(clock.getAsLong() << SEQUENCE_BITS, last + 1);
+            if (lastState.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private int writeTimestamp(long state, char[] buffer, int offset) {
+        long epochMillis = state >>> SEQUENCE_BITS;
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        SecondStamp stamp = secondStamp;
+        if (stamp.epochSecond != epochSecond) {
+            stamp = new SecondStamp(epochSecond, formatSecond(epochSecond));
+            secondStamp = stamp;
+        }
+        System.arraycopy(stamp.digits, 0, buffer, offset, TIMESTAMP_LENGTH);
+        return offset + TIMESTAMP_LENGTH;
+    }
+
+    private static void writeSuffix(long state, long node, char[] buffer, int offset) {
+        long epochMillis = state >>> SEQUENCE_BITS;
+        long millisOfSecond = Math.floorMod(epochMillis, 1000);
+        long value = (millisOfSecond << MILLIS_SHIFT) | (node << NODE_SHIFT) | (state & SEQUENCE_MASK);
+        for (int i = offset + SUFFIX_LENGTH - 1; i >= offset; i--) {
+            buffer[i] = BASE36[(int) (value % 36)];
+            value /= 36;
+        }
+    }
+
+    private char[] formatSecond(long epochSecond) {
+        ZoneOffset offset = zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+        LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+        char[] digits = new char[TIMESTAMP_LENGTH];
+        writeDigits(digits, 0, time.getYear(), 4);
+        writeDigits(digits, 4, time.getMonthValue(), 2);
+        writeDigits(digits, 6, time.getDayOfMonth(), 2);
+        writeDigits(digits, 8, time.getHour(), 2);
+        writeDigits(digits, 10, time.getMinute(), 2);
+        writeDigits(digits, 12, time.getSecond(), 2);
+        return digits;
+    }
+
+    private static LongSupplier fixed(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        return () -> nodeId;
+    }
+
+    private static void writeDigits(char[] target, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
     }
 
-    private String randomSuffix() {
-        return UUID.randomUUID().toString().replaceAll("-", "").substring(0, 6).toUpperCase(Locale.US);
+    private record SecondStamp(long epochSecond, char[] digits) {
     }
 }
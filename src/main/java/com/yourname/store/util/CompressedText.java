@@ -0,0 +1,75 @@
+package com.yourname.store.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Text compressed in the format of MySQL's {@code COMPRESS()}: the uncompressed length as a 4-byte little-endian
+ * integer followed by a zlib stream. Values written here can be read in SQL with {@code UNCOMPRESS(column)}, and
+ * rows migrated with {@code COMPRESS()} can be read here.
+ */
+@UtilityClass
+public class CompressedText {
+
+    private static final int HEADER_LENGTH = 4;
+
+    public byte[] compress(String text) {
+        byte[] input = text.getBytes(StandardCharsets.UTF_8);
+        if (input.length == 0) {
+            return new byte[0];
+        }
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2 + 16);
+            output.writeBytes(ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(input.length).array());
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public String decompress(byte[] compressed) {
+        if (compressed == null || compressed.length == 0) {
+            return "";
+        }
+        if (compressed.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Compressed value is too short");
+        }
+        int length = ByteBuffer.wrap(compressed, 0, HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN).getInt()
+                & 0x3FFFFFFF;
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed, HEADER_LENGTH, compressed.length - HEADER_LENGTH);
+            byte[] output = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int inflated = inflater.inflate(output, read, length - read);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != length) {
+                throw new IllegalArgumentException("Compressed value is truncated");
+            }
+            return new String(output, StandardCharsets.UTF_8);
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Compressed value is corrupt", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.yourname.store.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader, the counterpart of {@link CsvWriter}: quoted fields may contain commas,
+ * doubled quotes and line breaks. A leading UTF-8 BOM is skipped. Wrap the source in a
+ * {@link java.io.BufferedReader}, characters are read one at a time.
+ */
+public final class CsvReader {
+
+    private final Reader in;
+    private boolean started;
+    private long nextLine = 1;
+    private long rowLine;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Returns the fields of the next row, or {@code null} at the end of the input.
+     *
+     * @throws IllegalArgumentException when a quoted field is not terminated
+     */
+    public List<String> readRow() throws IOException {
+        int c = in.read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = in.read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        rowLine = nextLine;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field in CSV row at line " + rowLine);
+                }
+                if (c == '"') {
+                    int next = in.read();
+                    if (next != '"') {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    nextLine++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    nextLine++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    /** Line on which the row last returned by {@link #readRow()} starts (1-based). */
+    public long getRowLine() {
+        return rowLine;
+    }
+}
@@ -0,0 +1,63 @@
+package com.yourname.store.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 writer: fields are separated by commas and quoted only when they contain a comma, quote
+ * or line break. Nothing is buffered here, wrap the target in a {@link java.io.BufferedWriter}.
+ */
+public final class CsvWriter {
+
+    private final Writer out;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeRow(String... values) throws IOException {
+        for (String value : values) {
+            writeField(value);
+        }
+        endRow();
+    }
+
+    public void writeField(String value) throws IOException {
+        if (!firstField) {
+            out.write(',');
+        }
+        firstField = false;
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    public void endRow() throws IOException {
+        out.write("\r\n");
+        firstField = true;
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
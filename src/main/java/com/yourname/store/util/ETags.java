@@ -0,0 +1,31 @@
+package com.yourname.store.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import lombok.experimental.UtilityClass;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Builds entity tags from the values a response depends on (ids, {@code updatedAt}, status...), so they can be
+ * checked against {@code If-None-Match} before the response itself is loaded.
+ */
+@UtilityClass
+public class ETags {
+
+    public String strong(Object... parts) {
+        return "\"" + digest(parts) + "\"";
+    }
+
+    // ETag yếu: Tomcat chỉ nén (gzip) response có ETag yếu
+    public String weak(Object... parts) {
+        return "W/\"" + digest(parts) + "\"";
+    }
+
+    private String digest(Object[] parts) {
+        String joined = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,163 @@
+package com.yourname.store.util;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives every running instance its own {@link CodeGenerator} node id, so no two instances can generate the same
+ * order code or VNPAY reference in the same millisecond.
+ * <p>
+ * An instance claims the lowest node id of {@code code_generator_nodes} that is free, or whose holder has not
+ * renewed it for {@code code-generator.lease-timeout} (an instance that crashed leaves its row behind). The
+ * claim runs when the application is ready, or at the latest before the first code is generated, so a
+ * build-time context refresh (AOT processing, the CDS training run) never needs a database, and the new pod
+ * of a rolling deploy takes the next free id instead of waiting for the old one. The lease is renewed every
+ * {@code code-generator.lease-heartbeat} and released on shutdown.
+ */
+@Component
+public class NodeIdLease implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeIdLease.class);
+
+    private static final String LIVE = "SELECT node_id FROM code_generator_nodes "
+            + "WHERE heartbeat_at >= NOW(6) - INTERVAL ? SECOND";
+    // Chỉ chiếm dòng của owner khác khi heartbeat đã quá hạn
+    private static final String CLAIM = "INSERT INTO code_generator_nodes (node_id, owner, heartbeat_at) "
+            + "VALUES (?, ?, NOW(6)) ON DUPLICATE KEY UPDATE "
+            + "owner = IF(owner = VALUES(owner) OR heartbeat_at < NOW(6) - INTERVAL ? SECOND, "
+            + "VALUES(owner), owner), "
+            + "heartbeat_at = IF(owner = VALUES(owner), VALUES(heartbeat_at), heartbeat_at)";
+    private static final String OWNER = "SELECT owner FROM code_generator_nodes WHERE node_id = ?";
+    private static final String RENEW = "UPDATE code_generator_nodes SET heartbeat_at = NOW(6) "
+            + "WHERE node_id = ? AND owner = ?";
+    private static final String RELEASE = "DELETE FROM code_generator_nodes WHERE node_id = ? AND owner = ?";
+    private static final long NONE = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration timeout;
+    private final String owner;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long nodeId = NONE;
+
+    @Autowired
+    public NodeIdLease(JdbcTemplate jdbcTemplate,
+            @Value("${code-generator.lease-timeout:PT30S}") Duration timeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeout = timeout;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void leaseOnReady() {
+        try {
+            nodeId();
+        } catch (DataAccessException ex) {
+            log.warn("Could not lease a code generator node id yet, retrying before the first code: {}",
+                    ex.getMessage());
+        }
+    }
+
+    /**
+     * Node id held by this instance, leased on first use.
+     */
+    public long nodeId() {
+        long current = nodeId;
+        return current != NONE ? current : lease();
+    }
+
+    @Scheduled(fixedDelayString = "${code-generator.lease-heartbeat:PT10S}",
+            initialDelayString = "${code-generator.lease-heartbeat:PT10S}")
+    public void heartbeat() {
+        long current = nodeId;
+        if (current == NONE) {
+            return;
+        }
+        try {
+            if (jdbcTemplate.update(RENEW, current, owner) == 0) {
+                // Heartbeat bị lỡ quá lâu (GC, mất kết nối DB) và instance khác đã chiếm node id
+                log.error("Code generator node id {} was taken over by another instance; leasing a new one",
+                        current);
+                forget(current);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not renew code generator node id lease: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        long current = nodeId;
+        if (current == NONE) {
+            return;
+        }
+        forget(current);
+        try {
+            jdbcTemplate.update(RELEASE, current, owner);
+        } catch (DataAccessException ex) {
+            log.warn("Could not release code generator node id {}: {}", current, ex.getMessage());
+        }
+    }
+
+    private long lease() {
+        lock.lock();
+        try {
+            if (nodeId == NONE) {
+                // Luồng riêng: không mượn kết nối/transaction của đơn hàng đang tạo, và luôn ghi vào shard chính
+                nodeId = CompletableFuture.supplyAsync(this::claimFirstFree).join();
+            }
+            return nodeId;
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long claimFirstFree() {
+        Set<Long> live = new HashSet<>(jdbcTemplate.queryForList(LIVE, Long.class, timeout.toSeconds()));
+        for (long candidate = 0; candidate <= CodeGenerator.MAX_NODE_ID; candidate++) {
+            // Thua tranh chấp với instance khác thì thử node id kế tiếp
+            if (!live.contains(candidate) && owner.equals(claim(candidate))) {
+                log.info("Leased code generator node id {} as {}", candidate, owner);
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("All " + (CodeGenerator.MAX_NODE_ID + 1)
+                + " code generator node ids are leased by running instances");
+    }
+
+    private String claim(long candidate) {
+        jdbcTemplate.update(CLAIM, candidate, owner, timeout.toSeconds());
+        List<String> owners = jdbcTemplate.queryForList(OWNER, String.class, candidate);
+        return owners.isEmpty() ? null : owners.get(0);
+    }
+
+    private void forget(long current) {
+        lock.lock();
+        try {
+            if (nodeId == current) {
+                nodeId = NONE;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
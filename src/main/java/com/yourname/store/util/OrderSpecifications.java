@@ -2,43 +2,76 @@ package com.yourname.store.util;
 
 import com.yourname.store.entity.Order;
 import jakarta.persistence.criteria.Predicate;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
 public final class OrderSpecifications {
 
+    // Mã đơn đầy đủ ORD-yyyyMMddHHmmss-XXXXXXX chứa thời điểm tạo đơn theo UTC (mã cũ: giờ địa phương)
+    private static final Pattern FULL_ORDER_CODE = Pattern.compile("(?i)ORD-(\\d{14})-[0-9A-Z]+");
+    private static final DateTimeFormatter CODE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final Duration CODE_DATE_TOLERANCE = Duration.ofMinutes(1);
+
     private OrderSpecifications() {
     }
 
-    public static Specification<Order> filter(String codeKeyword, LocalDateTime from, LocalDateTime to) {
-        System.out.println("Creating Order specification with filters:");
-        System.out.println("codeKeyword: " + codeKeyword);
-        System.out.println("from: " + (from != null ? from.toString() : "null"));
-        System.out.println("to: " + (to != null ? to.toString() : "null"));
-
+    public static Specification<Order> filter(Long storeId, String codeKeyword, LocalDateTime from,
+            LocalDateTime to) {
         return (root, query, builder) -> {
             Predicate predicate = builder.conjunction();
 
             if (StringUtils.hasText(codeKeyword)) {
-                String keyword = "%" + codeKeyword.trim().toLowerCase() + "%";
+                String trimmed = codeKeyword.trim();
+                String keyword = "%" + trimmed.toLowerCase() + "%";
                 predicate = builder.and(
                         predicate,
                         builder.like(builder.lower(root.get("code")), keyword));
-                System.out.println("Added code filter: " + keyword);
+
+                // Tìm theo mã đầy đủ: giới hạn order_date quanh thời điểm trong mã để chỉ quét một partition
+                Optional<LocalDateTime> codeTime = orderDateFromCode(trimmed);
+                if (codeTime.isPresent()) {
+                    LocalDateTime asUtc = LocalDateTime.ofInstant(codeTime.get().toInstant(ZoneOffset.UTC),
+                            ZoneId.systemDefault());
+                    LocalDateTime earliest = codeTime.get().isBefore(asUtc) ? codeTime.get() : asUtc;
+                    LocalDateTime latest = codeTime.get().isBefore(asUtc) ? asUtc : codeTime.get();
+                    predicate = builder.and(predicate, builder.between(root.get("orderDate"),
+                            earliest.minus(CODE_DATE_TOLERANCE), latest.plus(CODE_DATE_TOLERANCE)));
+                }
             }
 
             if (from != null) {
                 predicate = builder.and(predicate, builder.greaterThanOrEqualTo(root.get("orderDate"), from));
-                System.out.println("Added from date filter: >= " + from);
             }
 
             if (to != null) {
                 predicate = builder.and(predicate, builder.lessThanOrEqualTo(root.get("orderDate"), to));
-                System.out.println("Added to date filter: <= " + to);
             }
 
+            // idx_orders_store_date (store_id, order_date)
+            predicate = builder.and(predicate, builder.equal(root.get("storeId"), storeId));
+
             return predicate;
         };
     }
+
+    static Optional<LocalDateTime> orderDateFromCode(String code) {
+        Matcher matcher = FULL_ORDER_CODE.matcher(code);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDateTime.parse(matcher.group(1), CODE_TIMESTAMP));
+        } catch (DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
 }
@@ -1,16 +1,30 @@
 package com.yourname.store.util;
 
+import com.yourname.store.entity.Category;
 import com.yourname.store.entity.Product;
+import com.yourname.store.facet.FacetFilter;
+import com.yourname.store.facet.PriceBands;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.jpa.domain.Specification;
 
 @UtilityClass
 public class ProductSpecifications {
 
-    public Specification<Product> filter(String keyword, Long categoryId) {
+    public Specification<Product> filter(Long storeId, String keyword, Long categoryId) {
         return (root, query, builder) -> {
-            Predicate predicate = builder.conjunction();
+            Predicate predicate = builder.equal(root.get("storeId"), storeId);
 
             if (keyword != null && !keyword.isBlank()) {
                 String likeExpression = "%" + keyword.trim().toLowerCase() + "%";
@@ -26,4 +40,58 @@ public class ProductSpecifications {
             return predicate;
         };
     }
+
+    // Cùng điều kiện với StoreFacets: trang kết quả khớp với số đếm của facet
+    public Specification<Product> facets(FacetFilter filter, PriceBands priceBands) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!filter.categoryIds().isEmpty()) {
+                predicates.add(root.get("category").get("id").in(filter.categoryIds()));
+            }
+            if (!filter.statuses().isEmpty()) {
+                predicates.add(root.get("status").in(filter.statuses()));
+            }
+            if (!filter.priceBands().isEmpty()) {
+                Path<BigDecimal> price = root.get("price");
+                predicates.add(builder.or(filter.priceBands().stream()
+                        .map(band -> priceBand(builder, price, priceBands, band))
+                        .toArray(Predicate[]::new)));
+            }
+            if (filter.inStock() != null) {
+                predicates.add(filter.inStock()
+                        ? builder.greaterThan(root.get("stockQty"), 0)
+                        : builder.lessThanOrEqualTo(root.get("stockQty"), 0));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Aggregates that change whenever a search result page may change: matching rows, latest product and
+     * category change, and total stock (stock moves within the second {@code updated_at} is truncated to).
+     */
+    public BiFunction<Root<Product>, CriteriaBuilder, List<Selection<?>>> version() {
+        return (root, builder) -> {
+            Join<Product, Category> category = root.join("category", JoinType.LEFT);
+            return List.of(
+                    builder.count(root),
+                    builder.greatest(builder.<LocalDateTime>coalesce(root.get("updatedAt"), root.get("createdAt"))),
+                    builder.sum(root.<Integer>get("stockQty")),
+                    builder.greatest(builder.<LocalDateTime>coalesce(category.get("updatedAt"),
+                            category.get("createdAt"))));
+        };
+    }
+
+    private Predicate priceBand(CriteriaBuilder builder, Path<BigDecimal> price, PriceBands priceBands, int band) {
+        BigDecimal lower = priceBands.lower(band);
+        BigDecimal upper = priceBands.upper(band);
+        Predicate predicate = builder.conjunction();
+        if (lower != null) {
+            predicate = builder.and(predicate, builder.greaterThanOrEqualTo(price, lower));
+        }
+        if (upper != null) {
+            predicate = builder.and(predicate, builder.lessThan(price, upper));
+        }
+        return predicate;
+    }
 }
@@ -0,0 +1,52 @@
+package com.yourname.store.util;
+
+import java.util.List;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * The body formats of the API (see {@code WebConfig}). The same URL answers JSON or CBOR depending on
+ * {@code Accept}, so a validator computed before the body is written must know which one will be sent: a strong
+ * ETag promises byte-identical bodies.
+ */
+@UtilityClass
+public class WireFormats {
+
+    public final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    // Thứ tự như message converter: JSON là mặc định cho Accept */* hoặc không có Accept
+    private final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, CBOR);
+
+    /**
+     * Format the message converters will pick for the request's {@code Accept} header. Falls back to JSON when
+     * nothing matches; the request then fails with 406 when the body is written.
+     */
+    public MediaType negotiate(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType producible : PRODUCIBLE) {
+                if (type.isCompatibleWith(producible)) {
+                    return producible;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,26 @@
+package com.yourname.store.warmup;
+
+/**
+ * Marks the thread running a {@link WarmupRunner} step, so the {@code @Timed} aspect skips the synthetic calls
+ * and timers such as {@code store.report.invoice} and {@code store.stats.query} only describe real traffic.
+ */
+public final class WarmupContext {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private WarmupContext() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    static void run(Runnable action) {
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            action.run();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
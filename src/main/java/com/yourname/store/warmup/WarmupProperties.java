@@ -0,0 +1,25 @@
+package com.yourname.store.warmup;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+    private boolean enabled = true;
+    // Số lần lặp mặc định cho mỗi bước
+    private int iterations = 100;
+    // Ghi đè theo tên bước (product-search, order-mapping, vnpay-signing, invoice-pdf, stats)
+    private Map<String, Integer> stepIterations = new HashMap<>();
+    // Hết thời gian thì dừng warm-up và để readiness báo UP
+    private Duration timeout = Duration.ofSeconds(60);
+
+    public int iterationsFor(String step) {
+        return stepIterations.getOrDefault(step, iterations);
+    }
+}
@@ -0,0 +1,210 @@
+package com.yourname.store.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.OrderItem;
+import com.yourname.store.entity.OrderStatus;
+import com.yourname.store.entity.Payment;
+import com.yourname.store.entity.PaymentProvider;
+import com.yourname.store.entity.PaymentStatus;
+import com.yourname.store.entity.Product;
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.entity.User;
+import com.yourname.store.mapper.OrderMapper;
+import com.yourname.store.payment.VnpayService;
+import com.yourname.store.service.ProductService;
+import com.yourname.store.service.ReportService;
+import com.yourname.store.service.StatisticsService;
+import com.yourname.store.shard.StoreContext;
+import com.yourname.store.workload.WorkloadClass;
+import com.yourname.store.workload.WorkloadContext;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs side-effect-free executions of the hot paths before the instance takes traffic. Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC} only after every {@link ApplicationRunner} has returned, so
+ * {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} while Hibernate, Jackson, Jasper, the connection
+ * pools and the JIT warm up. Nothing is written: order mapping, VNPAY signing and the invoice use an in-memory
+ * order, product search and statistics are read-only queries. Latency per step is logged and exposed under
+ * {@code warmup} in {@code /actuator/info}; the steps run inside {@link WarmupContext}, so they do not show up in
+ * the {@code @Timed} histograms. A step configured with 0 iterations is skipped; the {@code @Lazy}
+ * report service is only created when the invoice step actually runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner, InfoContributor, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+    private static final String CLIENT_IP = "127.0.0.1";
+
+    private final WarmupProperties properties;
+    private final ProductService productService;
+    private final StatisticsService statisticsService;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final VnpayService vnpayService;
+    private final ObjectProvider<ReportService> reportService;
+
+    private volatile List<WarmupStepReport> reports = List.of();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + properties.getTimeout().toNanos();
+        List<WarmupStepReport> results = new ArrayList<>();
+        steps().forEach((name, step) -> {
+            if (properties.iterationsFor(name) > 0 && System.nanoTime() < deadline) {
+                results.add(runStep(name, properties.iterationsFor(name), step, deadline));
+            }
+        });
+        reports = List.copyOf(results);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Warm-up finished in {} ms, marking the application ready", elapsedMillis);
+    }
+
+    // sau DataInitializer: tìm kiếm và thống kê chạy trên dữ liệu đã seed
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("warmup", Map.of("steps", reports));
+    }
+
+    public List<WarmupStepReport> reports() {
+        return reports;
+    }
+
+    private Map<String, IntConsumer> steps() {
+        Order order = sampleOrder();
+        Payment payment = order.getPayments().get(0);
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(30);
+
+        Map<String, IntConsumer> steps = new LinkedHashMap<>();
+        // cùng pool/bulkhead mà request thật sẽ dùng
+        steps.put("product-search", i -> WorkloadContext.callAs(WorkloadClass.BACK_OFFICE,
+                () -> productService.searchProducts(i % 2 == 0 ? null : "P0", null, FIRST_PAGE)));
+        steps.put("order-mapping", i -> toJson(orderMapper.toResponse(order)));
+        steps.put("vnpay-signing", i -> vnpayService.verifySignature(
+                queryParams(vnpayService.buildPaymentUrl(order, payment, CLIENT_IP))));
+        steps.put("invoice-pdf", i -> reportService.getObject().generateInvoicePdf(order));
+        steps.put("stats", i -> WorkloadContext.callAs(WorkloadClass.REPORTING, () -> {
+            statisticsService.getDailyRevenueStats(from, today);
+            return statisticsService.getTopProducts(from, today, 10);
+        }));
+        return steps;
+    }
+
+    private WarmupStepReport runStep(String name, int iterations, IntConsumer step, long deadline) {
+        long[] nanos = new long[Math.max(0, iterations)];
+        int done = 0;
+        String error = null;
+        try {
+            while (done < nanos.length && System.nanoTime() < deadline) {
+                long begin = System.nanoTime();
+                int iteration = done;
+                WarmupContext.run(() -> step.accept(iteration));
+                nanos[done++] = System.nanoTime() - begin;
+            }
+        } catch (RuntimeException ex) {
+            // warm-up lỗi không được chặn khởi động
+            log.warn("Warm-up step {} failed after {} iterations", name, done, ex);
+            error = ex.toString();
+        }
+        WarmupStepReport report = WarmupStepReport.of(name, Arrays.copyOf(nanos, done), error);
+        log.info(String.format("Warm-up %-14s %4d iterations: first %.2f ms, median %.2f ms -> %.2f ms (x%.1f)",
+                name, report.iterations(), report.firstMillis(), report.earlyMedianMillis(),
+                report.lateMedianMillis(), report.speedup()));
+        return report;
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Map<String, String> queryParams(String url) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : url.substring(url.indexOf('?') + 1).split("&")) {
+            int separator = pair.indexOf('=');
+            params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    // Đơn hàng chỉ tồn tại trong bộ nhớ, không bao giờ được persist
+    private static Order sampleOrder() {
+        Order order = Order.builder()
+                .storeId(StoreContext.DEFAULT_STORE_ID)
+                .code("WARMUP-0001")
+                .orderDate(LocalDateTime.now())
+                .status(OrderStatus.CREATED)
+                .note("warm-up")
+                .user(User.builder().name("Warm Up").phone("0900000000").address("N/A").point(0).build())
+                .build();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 1; i <= 5; i++) {
+            Product product = Product.builder()
+                    .storeId(StoreContext.DEFAULT_STORE_ID)
+                    .code("WARMUP-P" + i)
+                    .name("Warm-up product " + i)
+                    .price(BigDecimal.valueOf(10_000L * i))
+                    .stockQty(100)
+                    .status(ProductStatus.ACTIVE)
+                    .build();
+            BigDecimal lineTotal = product.getPrice().multiply(BigDecimal.valueOf(i));
+            order.addItem(OrderItem.builder()
+                    .product(product)
+                    .unitPrice(product.getPrice())
+                    .quantity(i)
+                    .lineTotal(lineTotal)
+                    .build());
+            total = total.add(lineTotal);
+        }
+        order.setTotalAmount(total);
+        order.addPayment(Payment.builder()
+                .provider(PaymentProvider.VNPAY)
+                .txnRef("WARMUP0001")
+                .amount(total)
+                .currency("VND")
+                .status(PaymentStatus.PENDING)
+                .build());
+        return order;
+    }
+}
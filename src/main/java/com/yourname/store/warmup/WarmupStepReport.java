@@ -0,0 +1,37 @@
+package com.yourname.store.warmup;
+
+import java.util.Arrays;
+
+/**
+ * Latency of one warm-up step: the first execution, and the median of the first and of the last tenth of the
+ * iterations (at least one each), in milliseconds. {@code error} is set when the step stopped on an exception.
+ */
+public record WarmupStepReport(String step, int iterations, double firstMillis, double earlyMedianMillis,
+        double lateMedianMillis, String error) {
+
+    static WarmupStepReport of(String step, long[] nanos, String error) {
+        if (nanos.length == 0) {
+            return new WarmupStepReport(step, 0, Double.NaN, Double.NaN, Double.NaN, error);
+        }
+        int window = Math.max(1, nanos.length / 10);
+        return new WarmupStepReport(step, nanos.length, millis(nanos[0]),
+                median(Arrays.copyOfRange(nanos, 0, window)),
+                median(Arrays.copyOfRange(nanos, nanos.length - window, nanos.length)), error);
+    }
+
+    public double speedup() {
+        return earlyMedianMillis / lateMedianMillis;
+    }
+
+    private static double median(long[] nanos) {
+        Arrays.sort(nanos);
+        int middle = nanos.length / 2;
+        return nanos.length % 2 == 1
+                ? millis(nanos[middle])
+                : (millis(nanos[middle - 1]) + millis(nanos[middle])) / 2;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.yourname.store.workload;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limit for a low-priority workload, driven by the latency of the protected workload
+ * (checkout): every checkout slower than the target cuts the limit by {@code backoffRatio}, every checkout
+ * within the target adds one slot, up to the bulkhead size. Without checkout traffic for {@code idleReset}
+ * there is nothing to protect and the limit goes back to its maximum.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long targetNanos;
+    private final long idleResetNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long lastSampleNanos;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, double backoffRatio, long targetNanos,
+            long idleResetNanos, LongSupplier clock) {
+        this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.targetNanos = targetNanos;
+        this.idleResetNanos = idleResetNanos;
+        this.clock = clock;
+        this.limit = new AtomicInteger(maxLimit);
+        this.lastSampleNanos = clock.getAsLong();
+    }
+
+    public boolean tryAcquire() {
+        int currentLimit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onProtectedLatency(long latencyNanos) {
+        lastSampleNanos = clock.getAsLong();
+        if (latencyNanos > targetNanos) {
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        } else {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int getLimit() {
+        if (clock.getAsLong() - lastSampleNanos > idleResetNanos) {
+            limit.set(maxLimit);
+        }
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,21 @@
+package com.yourname.store.workload;
+
+/**
+ * Request classes that get their own bulkhead, and optionally their own connection pool. Only
+ * {@link #CHECKOUT} is never shed by the adaptive limiter: its latency is what the limiter protects.
+ */
+public enum WorkloadClass {
+    CHECKOUT("checkout"),
+    BACK_OFFICE("back-office"),
+    REPORTING("reporting");
+
+    private final String tag;
+
+    WorkloadClass(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
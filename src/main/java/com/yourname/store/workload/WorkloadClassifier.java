@@ -0,0 +1,40 @@
+package com.yourname.store.workload;
+
+import java.util.List;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Maps a request to its {@link WorkloadClass}. Anything not listed is back-office work.
+ */
+public class WorkloadClassifier {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private static final List<Rule> RULES = List.of(
+            // Quầy thu ngân: tạo đơn, thanh toán, theo dõi trạng thái đơn, gợi ý khách hàng
+            new Rule("POST", "/api/orders", WorkloadClass.CHECKOUT),
+            new Rule(null, "/api/orders/*/payments/**", WorkloadClass.CHECKOUT),
+            new Rule("GET", "/api/orders/{id:\\d+}", WorkloadClass.CHECKOUT),
+            // tra cứu lịch sử callback là việc đối soát, không thuộc luồng thanh toán
+            new Rule("GET", "/api/payments/*/callbacks", WorkloadClass.BACK_OFFICE),
+            new Rule(null, "/api/payments/**", WorkloadClass.CHECKOUT),
+            new Rule("GET", "/api/users/suggest", WorkloadClass.CHECKOUT),
+            // Báo cáo, thống kê, xuất/nhập hàng loạt
+            new Rule(null, "/api/stats/**", WorkloadClass.REPORTING),
+            new Rule(null, "/api/reports/**", WorkloadClass.REPORTING),
+            new Rule("GET", "/api/orders/export", WorkloadClass.REPORTING),
+            new Rule("POST", "/api/products/import", WorkloadClass.REPORTING));
+
+    public WorkloadClass classify(String method, String path) {
+        for (Rule rule : RULES) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method))
+                    && MATCHER.match(rule.pattern(), path)) {
+                return rule.workloadClass();
+            }
+        }
+        return WorkloadClass.BACK_OFFICE;
+    }
+
+    private record Rule(String method, String pattern, WorkloadClass workloadClass) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.yourname.store.workload;
+
+import java.util.function.Supplier;
+
+/**
+ * Workload class of the request running on the current thread, read by {@link WorkloadRoutingDataSource} to
+ * pick a connection pool. Threads outside a request (jobs, startup) have none and use the main pool.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadClass current() {
+        return CURRENT.get();
+    }
+
+    // Chạy action trên luồng khác (vd. fan-out sang các shard) mà vẫn dùng pool của request gốc
+    public static <T> T callAs(WorkloadClass workloadClass, Supplier<T> action) {
+        WorkloadClass previous = CURRENT.get();
+        if (workloadClass != null) {
+            CURRENT.set(workloadClass);
+        } else {
+            CURRENT.remove();
+        }
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static void set(WorkloadClass workloadClass) {
+        CURRENT.set(workloadClass);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,149 @@
+package com.yourname.store.workload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.dto.response.ApiError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admits each {@code /api} request into the bulkhead of its {@link WorkloadClass} and tags the thread so its
+ * JDBC work uses that class's pool. Back-office and reporting requests also pass an
+ * {@link AdaptiveConcurrencyLimiter} fed by checkout latency. A request that finds its bulkhead full after
+ * {@code max-wait}, or is shed by the limiter, gets {@code 429} with {@code Retry-After} before any work is
+ * done.
+ */
+public class WorkloadIsolationFilter extends OncePerRequestFilter {
+
+    static final String OUTCOME_ADMITTED = "admitted";
+    static final String OUTCOME_REJECTED = "rejected";
+    static final String OUTCOME_SHED = "shed";
+
+    private final WorkloadProperties properties;
+    private final WorkloadClassifier classifier;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Map<WorkloadClass, Semaphore> bulkheads = new EnumMap<>(WorkloadClass.class);
+    private final Map<WorkloadClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(WorkloadClass.class);
+
+    public WorkloadIsolationFilter(WorkloadProperties properties, WorkloadClassifier classifier,
+            MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.classifier = classifier;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        WorkloadProperties.Adaptive adaptive = properties.getAdaptive();
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            int maxConcurrent = properties.bulkhead(workloadClass).getMaxConcurrent();
+            Semaphore bulkhead = new Semaphore(maxConcurrent, true);
+            bulkheads.put(workloadClass, bulkhead);
+            Gauge.builder("store.workload.in.flight", bulkhead, semaphore -> maxConcurrent - semaphore.availablePermits())
+                    .description("Requests inside the bulkhead of a workload class")
+                    .tag("workload", workloadClass.tag())
+                    .register(meterRegistry);
+            if (adaptive.isEnabled() && workloadClass != WorkloadClass.CHECKOUT) {
+                AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(adaptive.getMinLimit(),
+                        maxConcurrent, adaptive.getBackoffRatio(), adaptive.getCheckoutLatencyTarget().toNanos(),
+                        adaptive.getIdleReset().toNanos(), System::nanoTime);
+                limiters.put(workloadClass, limiter);
+                Gauge.builder("store.workload.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                        .description("Current adaptive concurrency limit of a workload class")
+                        .tag("workload", workloadClass.tag())
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        WorkloadClass workloadClass = classifier.classify(request.getMethod(), path);
+
+        Semaphore bulkhead = bulkheads.get(workloadClass);
+        if (!acquire(bulkhead, properties.bulkhead(workloadClass))) {
+            reject(request, response, workloadClass, OUTCOME_REJECTED);
+            return;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(workloadClass);
+        if (limiter != null && !limiter.tryAcquire()) {
+            bulkhead.release();
+            reject(request, response, workloadClass, OUTCOME_SHED);
+            return;
+        }
+
+        count(workloadClass, OUTCOME_ADMITTED);
+        long started = System.nanoTime();
+        WorkloadContext.set(workloadClass);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            WorkloadContext.clear();
+            bulkhead.release();
+            if (limiter != null) {
+                limiter.release();
+            }
+            long elapsed = System.nanoTime() - started;
+            Timer.builder("store.workload.latency")
+                    .description("Time spent inside the bulkhead per workload class")
+                    .tag("workload", workloadClass.tag())
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            if (workloadClass == WorkloadClass.CHECKOUT) {
+                limiters.values().forEach(each -> each.onProtectedLatency(elapsed));
+            }
+        }
+    }
+
+    AdaptiveConcurrencyLimiter limiter(WorkloadClass workloadClass) {
+        return limiters.get(workloadClass);
+    }
+
+    private boolean acquire(Semaphore bulkhead, WorkloadProperties.Bulkhead settings) {
+        long waitNanos = settings.getMaxWait() != null ? settings.getMaxWait().toNanos() : 0;
+        if (waitNanos <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, WorkloadClass workloadClass,
+            String outcome) throws IOException {
+        count(workloadClass, outcome);
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ApiError error = new ApiError(Instant.now(), status.value(), status.getReasonPhrase(),
+                "Server busy with " + workloadClass.tag() + " requests, retry later", request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private void count(WorkloadClass workloadClass, String outcome) {
+        Counter.builder("store.workload.requests")
+                .description("Requests per workload class by admission outcome (admitted, rejected, shed)")
+                .tags("workload", workloadClass.tag(), "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,60 @@
+package com.yourname.store.workload;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+/**
+ * Dedicated primary connection pools ({@code workload-<class>}) for the classes configured with a
+ * {@code pool-size}. Each extra shard gets its own set ({@code shard-<name>-workload-<class>}) against its
+ * database.
+ */
+public class WorkloadPools implements DisposableBean {
+
+    private final Map<WorkloadClass, DataSource> pools;
+
+    public WorkloadPools(WorkloadProperties properties, DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry) {
+        this(properties, "workload-", dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(), dataSourceProperties.determineDriverClassName(),
+                meterRegistry);
+    }
+
+    public WorkloadPools(WorkloadProperties properties, String poolNamePrefix, String url, String username,
+            String password, String driverClassName, MeterRegistry meterRegistry) {
+        Map<WorkloadClass, DataSource> created = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            WorkloadProperties.Bulkhead settings = properties.bulkhead(workloadClass);
+            if (settings.getPoolSize() > 0) {
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName(poolNamePrefix + workloadClass.tag());
+                dataSource.setJdbcUrl(url);
+                dataSource.setUsername(username);
+                dataSource.setPassword(password);
+                dataSource.setDriverClassName(driverClassName);
+                dataSource.setMaximumPoolSize(settings.getPoolSize());
+                dataSource.setMinimumIdle(1);
+                dataSource.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+                dataSource.setInitializationFailTimeout(-1);
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                created.put(workloadClass, dataSource);
+            }
+        }
+        this.pools = Collections.unmodifiableMap(created);
+    }
+
+    public Map<WorkloadClass, DataSource> getPools() {
+        return pools;
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(pool -> ((HikariDataSource) pool).close());
+    }
+}
@@ -0,0 +1,57 @@
+package com.yourname.store.workload;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "workload")
+public class WorkloadProperties {
+    private boolean enabled = false;
+    private Bulkhead checkout = new Bulkhead(150, Duration.ofSeconds(1), 0);
+    private Bulkhead backOffice = new Bulkhead(20, Duration.ofMillis(200), 8);
+    private Bulkhead reporting = new Bulkhead(3, Duration.ZERO, 3);
+    private Adaptive adaptive = new Adaptive();
+
+    public Bulkhead bulkhead(WorkloadClass workloadClass) {
+        return switch (workloadClass) {
+            case CHECKOUT -> checkout;
+            case BACK_OFFICE -> backOffice;
+            case REPORTING -> reporting;
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        // Số request đồng thời tối đa của lớp; vượt quá thì chờ tối đa max-wait rồi trả 429
+        private int maxConcurrent;
+        private Duration maxWait;
+        // Pool kết nối riêng tới primary; 0 = dùng chung pool chính (spring.datasource.hikari)
+        private int poolSize;
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int maxConcurrent, Duration maxWait, int poolSize) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWait = maxWait;
+            this.poolSize = poolSize;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Adaptive {
+        // Thu hẹp back-office/reporting khi latency checkout vượt mức này
+        private boolean enabled = true;
+        private Duration checkoutLatencyTarget = Duration.ofMillis(250);
+        private int minLimit = 1;
+        private double backoffRatio = 0.9;
+        // Không có request checkout trong khoảng này thì trả giới hạn về tối đa
+        private Duration idleReset = Duration.ofSeconds(5);
+    }
+}
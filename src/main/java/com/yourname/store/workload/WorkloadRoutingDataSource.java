@@ -0,0 +1,73 @@
+package com.yourname.store.workload;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Hands out connections from the pool of the current {@link WorkloadContext} class, so reports cannot take
+ * the connections checkout needs. Classes without a pool of their own, and threads outside a request, use
+ * the main pool. The per-class pools of the main database are resolved on first use because this data source
+ * is created while the context is still starting; a shard passes its own pools directly.
+ */
+public class WorkloadRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource mainPool;
+    private final Supplier<WorkloadPools> pools;
+
+    public WorkloadRoutingDataSource(DataSource mainPool, ObjectProvider<WorkloadPools> pools) {
+        this.mainPool = mainPool;
+        this.pools = pools::getIfAvailable;
+    }
+
+    public WorkloadRoutingDataSource(DataSource mainPool, WorkloadPools pools) {
+        this.mainPool = mainPool;
+        this.pools = () -> pools;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per pool");
+    }
+
+    public DataSource getMainPool() {
+        return mainPool;
+    }
+
+    // Hikari metrics, health... của Spring Boot thấy pool chính qua unwrap
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return mainPool.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || mainPool.isWrapperFor(iface);
+    }
+
+    private DataSource target() {
+        WorkloadClass workloadClass = WorkloadContext.current();
+        if (workloadClass == null) {
+            return mainPool;
+        }
+        WorkloadPools available = pools.get();
+        if (available == null) {
+            return mainPool;
+        }
+        Map<WorkloadClass, DataSource> dedicated = available.getPools();
+        return dedicated.getOrDefault(workloadClass, mainPool);
+    }
+}
@@ -0,0 +1,3 @@
+-- Ngưỡng đặt hàng lại theo sản phẩm: tồn kho <= ngưỡng là sắp hết hàng.
+-- NULL dùng inventory.default-reorder-threshold của ứng dụng.
+ALTER TABLE products ADD COLUMN reorder_threshold INT NULL AFTER stock_qty;
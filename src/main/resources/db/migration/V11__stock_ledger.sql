@@ -0,0 +1,28 @@
+-- Sổ kho chỉ ghi thêm: mỗi lần bán, hủy, nhập, điều chỉnh là một dòng. compacted = FALSE: chưa cộng vào
+-- products.stock_qty (chế độ inventory.ledger.stock-writes=ledger), tồn hiện tại = stock_qty + tổng các dòng này
+CREATE TABLE IF NOT EXISTS stock_movements (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    store_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    delta INT NOT NULL,
+    order_id BIGINT NULL,
+    note VARCHAR(255) NULL,
+    compacted BOOLEAN NOT NULL,
+    created_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_stock_movements_pending ON stock_movements (compacted, product_id);
+CREATE INDEX idx_stock_movements_product_created ON stock_movements (product_id, created_at);
+CREATE INDEX idx_stock_movements_order ON stock_movements (order_id);
+
+-- Ảnh chụp tồn kho định kỳ cho truy vấn tồn tại một thời điểm; taken_at làm tròn theo chu kỳ nên
+-- nhiều instance cùng chụp chỉ ghi một dòng
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    store_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    stock_qty INT NOT NULL,
+    taken_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_stock_snapshots_product_taken UNIQUE (product_id, taken_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,24 @@
+-- Bảng partition chỉ có UNIQUE (code, order_date)/(txn_ref, order_date): hai bảng khóa không partition giữ
+-- tính duy nhất toàn cục, ghi cùng transaction với đơn/thanh toán. Không bị chuyển sang *_archive.
+CREATE TABLE IF NOT EXISTS order_codes (
+    code VARCHAR(50) NOT NULL PRIMARY KEY,
+    order_date DATETIME NOT NULL
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO order_codes (code, order_date) SELECT code, order_date FROM orders;
+INSERT IGNORE INTO order_codes (code, order_date) SELECT code, order_date FROM orders_archive;
+
+CREATE TABLE IF NOT EXISTS payment_refs (
+    txn_ref VARCHAR(64) NOT NULL PRIMARY KEY,
+    order_date DATETIME NOT NULL
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO payment_refs (txn_ref, order_date) SELECT txn_ref, order_date FROM payments;
+INSERT IGNORE INTO payment_refs (txn_ref, order_date) SELECT txn_ref, order_date FROM payments_archive;
+
+-- Mỗi node-id của CodeGenerator chỉ được một instance đang chạy giữ (lease gia hạn định kỳ)
+CREATE TABLE IF NOT EXISTS code_generator_nodes (
+    node_id INT NOT NULL PRIMARY KEY,
+    owner VARCHAR(128) NOT NULL,
+    heartbeat_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB;
@@ -0,0 +1,5 @@
+-- Idempotency-Key chỉ duy nhất trong một cửa hàng: hai cửa hàng cùng shard gửi trùng key không dùng lẫn bản ghi
+ALTER TABLE idempotency_keys
+    ADD COLUMN store_id BIGINT NOT NULL DEFAULT 1 AFTER id,
+    DROP INDEX uk_idempotency_scope_key,
+    ADD CONSTRAINT uk_idempotency_store_scope_key UNIQUE (store_id, scope, idempotency_key);
@@ -1,2 +1,30 @@
--- Allow NULL values in user_id column of orders table
-ALTER TABLE orders MODIFY user_id BIGINT NULL;
\ No newline at end of file
+-- Khách hàng tách khỏi orders sang bảng users; orders.user_id NULL = khách vãng lai.
+-- (Bản trước chỉ "MODIFY user_id" trên cột V1 chưa tạo nên chưa từng chạy thành công.)
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(150) NOT NULL,
+    phone VARCHAR(20) NULL,
+    address VARCHAR(255) NOT NULL,
+    point INT NOT NULL DEFAULT 0,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NULL DEFAULT NULL,
+    CONSTRAINT uk_users_phone UNIQUE (phone)
+) ENGINE=InnoDB;
+
+ALTER TABLE orders ADD COLUMN user_id BIGINT NULL AFTER id;
+
+INSERT INTO users (name, phone, address)
+SELECT MAX(o.customer_name), o.customer_phone, MAX(o.customer_address)
+FROM orders o
+WHERE o.customer_phone <> ''
+GROUP BY o.customer_phone;
+
+UPDATE orders o
+JOIN users u ON u.phone = o.customer_phone
+SET o.user_id = u.id;
+
+ALTER TABLE orders
+    DROP COLUMN customer_name,
+    DROP COLUMN customer_phone,
+    DROP COLUMN customer_address,
+    ADD CONSTRAINT fk_order_user FOREIGN KEY (user_id) REFERENCES users (id);
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS point_transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    delta INT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NULL DEFAULT NULL,
+    CONSTRAINT uk_point_tx_order_type UNIQUE (order_id, type),
+    CONSTRAINT fk_point_tx_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_point_tx_order FOREIGN KEY (order_id) REFERENCES orders (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_point_tx_user ON point_transactions (user_id);
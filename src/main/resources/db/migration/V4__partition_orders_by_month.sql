@@ -0,0 +1,92 @@
+-- Partition orders, order_items, payments theo tháng của order_date (RANGE COLUMNS).
+-- Ràng buộc của MySQL: bảng partition không có foreign key, mọi PRIMARY/UNIQUE key phải chứa order_date.
+-- Partition tháng mới và việc chuyển tháng cũ sang *_archive do OrderPartitionMaintenance đảm nhiệm.
+
+ALTER TABLE point_transactions DROP FOREIGN KEY fk_point_tx_order;
+ALTER TABLE orders DROP FOREIGN KEY fk_order_user;
+ALTER TABLE order_items DROP FOREIGN KEY fk_order_item_order, DROP FOREIGN KEY fk_order_item_product;
+ALTER TABLE payments DROP FOREIGN KEY fk_payment_order;
+
+-- order_date được chép xuống bảng con để partition cùng khóa với orders
+ALTER TABLE order_items ADD COLUMN order_date DATETIME NULL AFTER order_id;
+UPDATE order_items oi JOIN orders o ON o.id = oi.order_id SET oi.order_date = o.order_date;
+ALTER TABLE order_items MODIFY order_date DATETIME NOT NULL;
+
+ALTER TABLE payments ADD COLUMN order_date DATETIME NULL AFTER order_id;
+UPDATE payments p JOIN orders o ON o.id = p.order_id SET p.order_date = o.order_date;
+ALTER TABLE payments MODIFY order_date DATETIME NOT NULL;
+
+ALTER TABLE orders
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, order_date),
+    DROP INDEX code,
+    ADD CONSTRAINT uk_orders_code UNIQUE (code, order_date);
+
+ALTER TABLE order_items
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, order_date);
+
+ALTER TABLE payments
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, order_date),
+    DROP INDEX txn_ref,
+    ADD CONSTRAINT uk_payments_txn_ref UNIQUE (txn_ref, order_date);
+
+ALTER TABLE orders PARTITION BY RANGE COLUMNS (order_date) (
+    PARTITION p_history VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+ALTER TABLE order_items PARTITION BY RANGE COLUMNS (order_date) (
+    PARTITION p_history VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+ALTER TABLE payments PARTITION BY RANGE COLUMNS (order_date) (
+    PARTITION p_history VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- Bảng lưu trữ: cùng cấu trúc, không partition
+CREATE TABLE orders_archive LIKE orders;
+ALTER TABLE orders_archive REMOVE PARTITIONING;
+CREATE TABLE order_items_archive LIKE order_items;
+ALTER TABLE order_items_archive REMOVE PARTITIONING;
+CREATE TABLE payments_archive LIKE payments;
+ALTER TABLE payments_archive REMOVE PARTITIONING;
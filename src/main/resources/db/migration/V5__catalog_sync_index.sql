@@ -0,0 +1,5 @@
+-- Đồng bộ catalog cho máy POS: tìm sản phẩm thay đổi sau một mốc updated_at
+UPDATE products SET updated_at = created_at WHERE updated_at IS NULL;
+UPDATE categories SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX idx_products_updated_at ON products (updated_at);
@@ -0,0 +1,15 @@
+-- Idempotency-Key của POST /api/orders và khởi tạo thanh toán; dọn định kỳ theo expires_at
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    scope VARCHAR(50) NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_body MEDIUMTEXT NULL,
+    expires_at DATETIME NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NULL DEFAULT NULL,
+    CONSTRAINT uk_idempotency_scope_key UNIQUE (scope, idempotency_key)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_idempotency_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,15 @@
+-- Transactional outbox: event được ghi cùng transaction với đơn hàng, relay gửi rồi xóa
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NULL DEFAULT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_outbox_status_next_attempt ON outbox_events (status, next_attempt_at);
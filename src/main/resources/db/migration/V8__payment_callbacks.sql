@@ -0,0 +1,29 @@
+-- Payload callback VNPAY chuyển khỏi bảng payments (nóng) sang bảng audit riêng, nén theo định dạng COMPRESS()
+-- của MySQL: đọc lại bằng UNCOMPRESS(payload). Mỗi callback (kể cả trùng lặp/bị từ chối) là một dòng.
+CREATE TABLE IF NOT EXISTS payment_callbacks (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    txn_ref VARCHAR(64) NULL,
+    source VARCHAR(10) NOT NULL,
+    outcome VARCHAR(30) NOT NULL,
+    response_code VARCHAR(10) NULL,
+    error VARCHAR(255) NULL,
+    payload BLOB NOT NULL,
+    received_at DATETIME NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_payment_callbacks_txn_ref ON payment_callbacks (txn_ref);
+CREATE INDEX idx_payment_callbacks_received_at ON payment_callbacks (received_at);
+
+INSERT INTO payment_callbacks (txn_ref, source, outcome, payload, received_at)
+SELECT txn_ref, 'legacy', status, COMPRESS(raw_query), COALESCE(updated_at, created_at)
+FROM payments
+WHERE raw_query IS NOT NULL;
+
+INSERT INTO payment_callbacks (txn_ref, source, outcome, payload, received_at)
+SELECT txn_ref, 'legacy', status, COMPRESS(raw_query), COALESCE(updated_at, created_at)
+FROM payments_archive
+WHERE raw_query IS NOT NULL;
+
+-- payments_archive phải giữ cùng cấu trúc với payments để việc chuyển partition sang archive vẫn khớp cột
+ALTER TABLE payments DROP COLUMN raw_query;
+ALTER TABLE payments_archive DROP COLUMN raw_query;
@@ -0,0 +1,19 @@
+-- Nhiều cửa hàng: mỗi đơn, thanh toán, khách hàng, sản phẩm (tồn kho) thuộc một store_id.
+-- Dữ liệu có sẵn thuộc cửa hàng 1. Bảng *_archive thêm cột ở cùng vị trí để INSERT ... SELECT * vẫn khớp.
+ALTER TABLE orders ADD COLUMN store_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE orders_archive ADD COLUMN store_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE payments ADD COLUMN store_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE payments_archive ADD COLUMN store_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE users ADD COLUMN store_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE products ADD COLUMN store_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+
+-- Thống kê, tìm kiếm, xuất đơn theo cửa hàng và khoảng ngày
+CREATE INDEX idx_orders_store_date ON orders (store_id, order_date);
+
+-- Mã sản phẩm và số điện thoại khách chỉ duy nhất trong một cửa hàng
+ALTER TABLE products DROP INDEX code, ADD CONSTRAINT uk_products_store_code UNIQUE (store_id, code);
+ALTER TABLE users DROP INDEX uk_users_phone, ADD CONSTRAINT uk_users_store_phone UNIQUE (store_id, phone);
+
+-- Đồng bộ catalog cho máy POS theo từng cửa hàng
+CREATE INDEX idx_products_store_updated_at ON products (store_id, updated_at);
+DROP INDEX idx_products_updated_at ON products;
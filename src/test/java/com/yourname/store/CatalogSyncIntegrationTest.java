@@ -0,0 +1,144 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.dto.response.CatalogProductResponse;
+import com.yourname.store.dto.response.CatalogSyncResponse;
+import com.yourname.store.util.ETags;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CatalogSyncIntegrationTest {
+
+    private static final int EXTRA_PRODUCTS = 200;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("catalog-sync.settle-window", () -> "0s");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void seedCatalog() {
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories", Long.class);
+        jdbcTemplate.update("DELETE FROM products WHERE code LIKE 'SYNC-%'");
+        LocalDateTime seededAt = LocalDateTime.now().minusMinutes(1);
+        for (int i = 0; i < EXTRA_PRODUCTS; i++) {
+            jdbcTemplate.update("INSERT INTO products (code, name, category_id, price, stock_qty, status, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, 10000, 10, 'ACTIVE', ?, ?)",
+                    "SYNC-" + i, "Sync product " + i, categoryId, seededAt, seededAt);
+        }
+    }
+
+    @Test
+    void fullSnapshot_isCompressedAndAnswersNotModifiedForItsToken() throws Exception {
+        HttpResponse<InputStream> response = get("/api/catalog/sync", null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        CatalogSyncResponse snapshot = body(response);
+        assertThat(snapshot.full()).isTrue();
+        assertThat(snapshot.products()).hasSize(count("SELECT COUNT(*) FROM products"));
+        assertThat(snapshot.categories()).hasSize(count("SELECT COUNT(*) FROM categories"));
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+        // ETag yếu theo token và định dạng body (JSON ở đây)
+        assertThat(etag).isEqualTo(ETags.weak(snapshot.token(), MediaType.APPLICATION_JSON));
+
+        HttpResponse<InputStream> notModified = get("/api/catalog/sync?since=" + snapshot.token(), etag);
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(notModified.body().readAllBytes()).isEmpty();
+    }
+
+    @Test
+    void delta_returnsOnlyProductsChangedSinceToken() throws Exception {
+        HttpResponse<InputStream> snapshot = get("/api/catalog/sync", null);
+        String etag = snapshot.headers().firstValue("ETag").orElseThrow();
+        String token = body(snapshot).token();
+
+        jdbcTemplate.update("UPDATE products SET price = 12500, updated_at = ? WHERE code = 'SYNC-7'",
+                LocalDateTime.now());
+        Thread.sleep(20);
+
+        HttpResponse<InputStream> response = get("/api/catalog/sync?since=" + token, etag);
+        assertThat(response.statusCode()).isEqualTo(200);
+        CatalogSyncResponse delta = body(response);
+        assertThat(delta.full()).isFalse();
+        assertThat(delta.categories()).isEmpty();
+        assertThat(delta.products()).extracting(CatalogProductResponse::code).containsExactly("SYNC-7");
+        assertThat(delta.products().get(0).price()).isEqualByComparingTo(new BigDecimal("12500"));
+        assertThat(delta.token()).isNotEqualTo(token);
+
+        CatalogSyncResponse upToDate = body(get("/api/catalog/sync?since=" + delta.token(), null));
+        assertThat(upToDate.full()).isFalse();
+        assertThat(upToDate.products()).isEmpty();
+        assertThat(upToDate.token()).isEqualTo(delta.token());
+    }
+
+    @Test
+    void invalidToken_isRejected() throws Exception {
+        assertThat(get("/api/catalog/sync?since=not-a-token", null).statusCode()).isEqualTo(400);
+    }
+
+    private HttpResponse<InputStream> get(String path, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private CatalogSyncResponse body(HttpResponse<InputStream> response) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent();
+        try (InputStream in = gzip ? new GZIPInputStream(response.body()) : response.body()) {
+            return objectMapper.readValue(in, CatalogSyncResponse.class);
+        }
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,246 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.yourname.store.dto.request.CreateOrderRequest;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.paging.TotalMode;
+import com.yourname.store.service.OrderService;
+import com.yourname.store.service.ProductService;
+import com.yourname.store.support.SqlStatementAssertions;
+import com.yourname.store.util.WireFormats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetIntegrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    // Schema Flyway: updated_at chỉ tới giây, orders được partition
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("sql-monitor.enabled", () -> true);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void clearCounter() {
+        SqlStatementAssertions.clear();
+    }
+
+    @Test
+    void product_isNotResentUntilItChanges() throws Exception {
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+
+        String etag = mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, must-revalidate, public"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("\"");
+
+        mockMvc.perform(get("/api/products/{id}", id).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Cùng giây với lần ghi trước: updated_at không đổi nhưng tồn kho thì có
+        jdbcTemplate.update("UPDATE products SET stock_qty = stock_qty - 1 WHERE id = ?", id);
+        String changed = mockMvc.perform(get("/api/products/{id}", id).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(changed).isNotEqualTo(etag);
+
+        mockMvc.perform(get("/api/products/{id}", 999_999L)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void product_jsonAndCborHaveDifferentETags() throws Exception {
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+
+        String json = mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String cbor = mockMvc.perform(get("/api/products/{id}", id).accept(WireFormats.CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormats.CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(cbor).isNotEqualTo(json);
+
+        // ETag của JSON không được dùng để trả 304 cho client đọc CBOR
+        mockMvc.perform(get("/api/products/{id}", id).accept(WireFormats.CBOR).header("If-None-Match", json))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/{id}", id).accept(WireFormats.CBOR).header("If-None-Match", cbor))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void productSearch_answersNotModifiedForTheSamePage() throws Exception {
+        String etag = mockMvc.perform(get("/api/products").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("W/\"");
+
+        mockMvc.perform(get("/api/products").param("size", "5").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/products").param("size", "4").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void productSearch_validatesWithOneAggregateQuery() throws Exception {
+        SqlStatementAssertions.reset();
+        String etag = productService.getProductSearchETag(null, null, PageRequest.of(0, 5, Sort.by("id")),
+                TotalMode.EXACT, MediaType.APPLICATION_JSON);
+        SqlStatementAssertions.assertStatements(1);
+
+        // tồn kho đổi trong cùng giây với updated_at trước đó vẫn đổi ETag
+        jdbcTemplate.update("UPDATE products SET stock_qty = stock_qty + 1 WHERE id = (SELECT id FROM "
+                + "(SELECT MIN(id) AS id FROM products) first_product)");
+        assertThat(productService.getProductSearchETag(null, null, PageRequest.of(0, 5, Sort.by("id")),
+                TotalMode.EXACT, MediaType.APPLICATION_JSON)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void productSearchWithoutTotal_skipsTheAggregate() throws Exception {
+        long before = productSearchStatements();
+        String etag = mockMvc.perform(get("/api/products").param("size", "5").param("sort", "id,asc")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).startsWith("W/\"");
+        // id của trang rồi sản phẩm kèm category: không COUNT, không truy vấn tổng hợp cho ETag
+        assertThat(productSearchStatements() - before).isEqualTo(2);
+
+        before = productSearchStatements();
+        mockMvc.perform(get("/api/products").param("size", "5").param("sort", "id,asc").param("total", "none")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        assertThat(productSearchStatements() - before).isEqualTo(2);
+
+        // ETag băm chính trang: tồn kho đổi trong cùng giây vẫn gửi lại trang
+        jdbcTemplate.update("UPDATE products SET stock_qty = stock_qty + 1 WHERE id = (SELECT id FROM "
+                + "(SELECT MIN(id) AS id FROM products) first_product)");
+        mockMvc.perform(get("/api/products").param("size", "5").param("sort", "id,asc").param("total", "none")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        before = productSearchStatements();
+        mockMvc.perform(get("/api/products").param("size", "5")).andExpect(status().isOk());
+        // total=exact giữ ETag tổng hợp: ETag, trang, COUNT
+        assertThat(productSearchStatements() - before).isEqualTo(3);
+    }
+
+    @Test
+    void order_checksIfNoneMatchWithOneQuery() throws Exception {
+        OrderResponse order = createOrder();
+
+        String etag = mockMvc.perform(get("/api/orders/{id}", order.id()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/orders/{id}", order.id()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        SqlStatementAssertions.reset();
+        assertThat(orderService.getOrderETag(order.id(), MediaType.APPLICATION_JSON)).isEqualTo(etag);
+        SqlStatementAssertions.assertStatements(1);
+
+        jdbcTemplate.update("UPDATE orders SET status = 'CANCELED' WHERE id = ?", order.id());
+        mockMvc.perform(get("/api/orders/{id}", order.id()).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void otherStore_getsNotFoundForProductsAndOrders() throws Exception {
+        Long productId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+        OrderResponse order = createOrder();
+
+        // cùng database (cùng shard) nhưng khác cửa hàng: không được đọc, kể cả qua ETag hay thanh toán
+        mockMvc.perform(get("/api/products/{id}", productId).header("X-Store-Id", "2"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/orders/{id}", order.id()).header("X-Store-Id", "2"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/orders/{id}/payments/vnpay", order.id()).header("X-Store-Id", "2"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/orders/{id}", order.id()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void productETag_usesOneQuery() {
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+
+        SqlStatementAssertions.reset();
+        productService.getProductETag(id, MediaType.APPLICATION_JSON);
+        SqlStatementAssertions.assertStatements(1);
+    }
+
+    // SqlMonitorFilter đếm theo từng request và cộng dồn vào store.sql.statements
+    private long productSearchStatements() {
+        DistributionSummary summary = meterRegistry.find("store.sql.statements")
+                .tags("uri", "/api/products", "method", "GET")
+                .summary();
+        return summary == null ? 0 : Math.round(summary.totalAmount());
+    }
+
+    private OrderResponse createOrder() {
+        Long productId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM products WHERE status = 'ACTIVE' AND stock_qty > 5", Long.class);
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(item));
+        return orderService.createOrder(request);
+    }
+}
@@ -0,0 +1,198 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.idempotency.IdempotentResponse;
+import com.yourname.store.service.IdempotencyService;
+import com.yourname.store.shard.StoreContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IdempotencyIntegrationTest {
+
+    private static final Pattern ORDER_ID = Pattern.compile("^\\{\"id\":(\\d+)");
+    private static final int DUPLICATES = 8;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    // Schema Flyway để kiểm tra luôn V6__idempotency_keys.sql
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void retriedOrder_returnsTheStoredResponseWithoutCreatingAnotherOrder() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = orderBody(productId(), 1, "retry " + key);
+
+        HttpResponse<String> first = post("/api/orders", body, key);
+        HttpResponse<String> retry = post("/api/orders", body, key);
+
+        assertThat(first.statusCode()).as(first.body()).isEqualTo(200);
+        assertThat(first.headers().firstValue("Idempotent-Replayed")).isEmpty();
+        assertThat(retry.statusCode()).isEqualTo(200);
+        assertThat(retry.headers().firstValue("Idempotent-Replayed")).hasValue("true");
+        assertThat(orderId(retry)).isEqualTo(orderId(first));
+        assertThat(ordersWithNote("retry " + key)).isEqualTo(1);
+
+        HttpResponse<String> otherRequest = post("/api/orders", orderBody(productId(), 2, "retry " + key), key);
+        assertThat(otherRequest.statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void concurrentDuplicates_waitForTheFirstExecution() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = orderBody(productId(), 1, "double tap " + key);
+        CyclicBarrier start = new CyclicBarrier(DUPLICATES);
+        ExecutorService workers = Executors.newFixedThreadPool(DUPLICATES);
+        List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < DUPLICATES; i++) {
+                responses.add(workers.submit(() -> {
+                    start.await();
+                    return post("/api/orders", body, key);
+                }));
+            }
+            List<Long> ids = new ArrayList<>();
+            for (Future<HttpResponse<String>> response : responses) {
+                assertThat(response.get().statusCode()).as(response.get().body()).isEqualTo(200);
+                ids.add(orderId(response.get()));
+            }
+            assertThat(ids).containsOnly(ids.get(0));
+        } finally {
+            workers.shutdownNow();
+        }
+        assertThat(ordersWithNote("double tap " + key)).isEqualTo(1);
+    }
+
+    @Test
+    void failedRequest_releasesTheKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+        Long productId = productId();
+
+        HttpResponse<String> rejected = post("/api/orders", orderBody(productId, 1_000_000, "fixed " + key), key);
+        assertThat(rejected.statusCode()).isEqualTo(400);
+
+        HttpResponse<String> fixed = post("/api/orders", orderBody(productId, 1, "fixed " + key), key);
+        assertThat(fixed.statusCode()).as(fixed.body()).isEqualTo(200);
+        assertThat(fixed.headers().firstValue("Idempotent-Replayed")).isEmpty();
+    }
+
+    @Test
+    void paymentInitiation_isNotDuplicated() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long orderId = orderId(post("/api/orders", orderBody(productId(), 1, "payment " + key), null));
+        // Đơn tạo qua API đang được đặt PAID ngay; đưa về CREATED để khởi tạo thanh toán
+        jdbcTemplate.update("UPDATE orders SET status = 'CREATED' WHERE id = ?", orderId);
+
+        HttpResponse<String> first = post("/api/orders/" + orderId + "/payments/vnpay", "", key);
+        HttpResponse<String> retry = post("/api/orders/" + orderId + "/payments/vnpay", "", key);
+
+        assertThat(first.statusCode()).as(first.body()).isEqualTo(200);
+        assertThat(retry.body()).isEqualTo(first.body());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments WHERE order_id = ?", Integer.class,
+                orderId)).isEqualTo(1);
+    }
+
+    @Test
+    void sameKeyInAnotherStore_isNotReplayed() {
+        String key = UUID.randomUUID().toString();
+        IdempotentResponse<String> first = StoreContext.callInStore(1, () -> idempotencyService.execute(
+                "order.create", key, "same request", String.class, () -> "store 1"));
+        IdempotentResponse<String> otherStore = StoreContext.callInStore(2, () -> idempotencyService.execute(
+                "order.create", key, "same request", String.class, () -> "store 2"));
+
+        assertThat(first.body()).isEqualTo("store 1");
+        assertThat(otherStore.body()).isEqualTo("store 2");
+        assertThat(otherStore.replayed()).isFalse();
+        assertThat(jdbcTemplate.queryForList("SELECT store_id FROM idempotency_keys WHERE idempotency_key = ?",
+                Long.class, key)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void sweep_removesExpiredKeys() {
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, status, response_body, expires_at)
+                VALUES ('order.create', 'expired-key', 'x', 'COMPLETED', '{}', NOW() - INTERVAL 1 HOUR)
+                """);
+
+        assertThat(idempotencyService.sweepExpired()).isGreaterThanOrEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_keys WHERE idempotency_key = 'expired-key'", Integer.class))
+                .isZero();
+    }
+
+    private Long productId() {
+        return jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM products WHERE status = 'ACTIVE' AND stock_qty > 10", Long.class);
+    }
+
+    private int ordersWithNote(String note) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE note = ?", Integer.class, note);
+    }
+
+    private String orderBody(Long productId, int quantity, String note) {
+        return "{\"note\":\"" + note + "\",\"items\":[{\"productId\":" + productId + ",\"quantity\":" + quantity + "}]}";
+    }
+
+    private long orderId(HttpResponse<String> response) {
+        Matcher matcher = ORDER_ID.matcher(response.body());
+        assertThat(matcher.find()).as(response.body()).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private HttpResponse<String> post(String path, String body, String idempotencyKey) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
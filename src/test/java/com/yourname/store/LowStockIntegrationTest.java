@@ -0,0 +1,206 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.dto.response.LowStockResponse;
+import com.yourname.store.dto.response.StockLevelResponse;
+import com.yourname.store.event.StockThresholdCrossed;
+import com.yourname.store.inventory.LowStockMonitor;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class LowStockIntegrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    // Schema Flyway để kiểm tra luôn V10__reorder_threshold.sql
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("warmup.enabled", () -> false);
+        registry.add("inventory.default-reorder-threshold", () -> 10);
+    }
+
+    @TestConfiguration
+    static class Recorder {
+
+        @Bean
+        CrossingRecorder crossingRecorder() {
+            return new CrossingRecorder();
+        }
+    }
+
+    static class CrossingRecorder {
+
+        final Queue<StockThresholdCrossed> received = new ConcurrentLinkedQueue<>();
+
+        @EventListener
+        public void onCrossed(StockThresholdCrossed event) {
+            received.add(event);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LowStockMonitor lowStockMonitor;
+
+    @Autowired
+    private CrossingRecorder recorder;
+
+    @Test
+    void raisingAndResettingThresholdMovesProductInAndOutWithOneEventPerCrossing() throws Exception {
+        long id = productId("P2001"); // tồn 80
+
+        StockLevelResponse raised = putThreshold(id, "{\"reorderThreshold\": 80}");
+        assertThat(raised.lowStock()).isTrue();
+        assertThat(raised.customThreshold()).isTrue();
+        assertThat(lowStockCodes()).contains("P2001");
+
+        // vẫn dưới ngưỡng: không có event mới
+        putThreshold(id, "{\"reorderThreshold\": 90}");
+
+        StockLevelResponse reset = putThreshold(id, "{\"reorderThreshold\": null}");
+        assertThat(reset.lowStock()).isFalse();
+        assertThat(reset.reorderThreshold()).isEqualTo(10);
+        assertThat(lowStockCodes()).doesNotContain("P2001");
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(recorder.received)
+                .filteredOn(event -> event.productId() == id)
+                .extracting(StockThresholdCrossed::low)
+                .containsExactly(true, false));
+        assertThat(jdbcTemplate.queryForObject("SELECT reorder_threshold FROM products WHERE id = ?",
+                Integer.class, id)).isNull();
+    }
+
+    @Test
+    void negativeThresholdIsRejected() throws Exception {
+        mockMvc.perform(put("/api/inventory/products/{id}/reorder-threshold", productId("P0001"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reorderThreshold\": -1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importedStockIsEvaluatedPerRow() throws Exception {
+        importCsv("code,name,category,price,stock_qty,reorder_threshold\n"
+                + "LOW-1,Low one,Snacks,1000,5,\n"
+                + "LOW-2,Low two,Snacks,1000,30,50\n"
+                + "LOW-3,Low three,Snacks,1000,30,\n");
+        assertThat(lowStockCodes()).contains("LOW-1", "LOW-2").doesNotContain("LOW-3");
+
+        // không có cột reorder_threshold: giữ ngưỡng 50 của LOW-2
+        importCsv("code,name,category,price,stock_qty\n"
+                + "LOW-1,Low one,Snacks,1000,40\n"
+                + "LOW-2,Low two,Snacks,1000,45\n"
+                + "LOW-3,Low three,Snacks,1000,0\n");
+        assertThat(lowStockCodes()).contains("LOW-2", "LOW-3").doesNotContain("LOW-1");
+
+        // sản phẩm mới không phát event; chỉ các lần vượt ngưỡng sau đó
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(recorder.received)
+                .filteredOn(event -> event.code().startsWith("LOW-"))
+                .extracting(StockThresholdCrossed::code, StockThresholdCrossed::low)
+                .containsExactlyInAnyOrder(
+                        tuple("LOW-1", false),
+                        tuple("LOW-3", true)));
+    }
+
+    @Test
+    void changesWrittenOutsideThisInstanceArePickedUpBySync() throws Exception {
+        jdbcTemplate.update("UPDATE products SET stock_qty = 2, updated_at = NOW() WHERE code = 'P1002'");
+        lowStockMonitor.sync();
+        assertThat(lowStockCodes()).contains("P1002");
+
+        jdbcTemplate.update("UPDATE products SET stock_qty = 100, updated_at = NOW() WHERE code = 'P1002'");
+        lowStockMonitor.sync();
+        assertThat(lowStockCodes()).doesNotContain("P1002");
+    }
+
+    @Test
+    void lowStockListIsOrderedAndLimited() throws Exception {
+        importCsv("code,name,category,price,stock_qty\n"
+                + "ORD-1,Ordered one,Dairy,1000,3\n"
+                + "ORD-2,Ordered two,Dairy,1000,0\n");
+
+        LowStockResponse response = lowStock(1);
+        assertThat(response.storeId()).isEqualTo(1);
+        assertThat(response.total()).isGreaterThanOrEqualTo(2);
+        assertThat(response.items()).hasSize(1);
+        assertThat(response.items().get(0).stockQty()).isZero();
+    }
+
+    private StockLevelResponse putThreshold(long id, String body) throws Exception {
+        String json = mockMvc.perform(put("/api/inventory/products/{id}/reorder-threshold", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, StockLevelResponse.class);
+    }
+
+    private void importCsv(String csv) throws Exception {
+        mockMvc.perform(post("/api/products/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(0));
+    }
+
+    private LowStockResponse lowStock(int limit) throws Exception {
+        String json = mockMvc.perform(get("/api/inventory/low-stock").param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, LowStockResponse.class);
+    }
+
+    private List<String> lowStockCodes() throws Exception {
+        return lowStock(500).items().stream().map(StockLevelResponse::code).toList();
+    }
+
+    private long productId(String code) {
+        return jdbcTemplate.queryForObject("SELECT id FROM products WHERE code = ?", Long.class, code);
+    }
+}
@@ -0,0 +1,146 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.yourname.store.dto.request.CreateOrderRequest;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.dto.response.ProductResponse;
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.OrderStatus;
+import com.yourname.store.entity.PointTransactionType;
+import com.yourname.store.entity.User;
+import com.yourname.store.repository.PointTransactionRepository;
+import com.yourname.store.repository.UserRepository;
+import com.yourname.store.service.OrderService;
+import com.yourname.store.service.ProductService;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class LoyaltyPointConcurrencyIntegrationTest {
+
+    private static final String PARALLEL_PHONE = "0911222333";
+    private static final String CANCEL_PHONE = "0911222444";
+    private static final int PARALLEL_ORDERS = 16;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PointTransactionRepository pointTransactionRepository;
+
+    @Test
+    void parallelOrdersForOneCustomer_doNotLosePoints() throws Exception {
+        ProductResponse product = productService.searchProducts(null, null, PageRequest.of(0, 1, Sort.by("id")))
+                .content().get(0);
+        // Tạo khách hàng trước để các đơn song song chỉ cộng điểm
+        OrderResponse first = orderService.createOrder(orderRequest(product.id(), PARALLEL_PHONE));
+
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_ORDERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < PARALLEL_ORDERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return orderService.createOrder(orderRequest(product.id(), PARALLEL_PHONE));
+                }));
+            }
+            start.countDown();
+            for (Future<OrderResponse> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int pointsPerOrder = first.totalAmount().multiply(BigDecimal.valueOf(0.01))
+                .setScale(0, RoundingMode.FLOOR)
+                .intValue();
+        // điểm được cộng từ event OrderPaid sau commit
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertThat(
+                userRepository.findByStoreIdAndPhone(1L, PARALLEL_PHONE).orElseThrow().getPoint())
+                .isEqualTo(pointsPerOrder * (PARALLEL_ORDERS + 1)));
+        User user = userRepository.findByStoreIdAndPhone(1L, PARALLEL_PHONE).orElseThrow();
+        assertThat(pointTransactionRepository.findAll())
+                .filteredOn(tx -> tx.getType() == PointTransactionType.EARN)
+                .filteredOn(tx -> tx.getUser().getId().equals(user.getId()))
+                .hasSize(PARALLEL_ORDERS + 1);
+    }
+
+    @Test
+    void canceledOrder_reversesEarnedPoints() {
+        ProductResponse product = productService.searchProducts(null, null, PageRequest.of(0, 1, Sort.by("id")))
+                .content().get(0);
+        OrderResponse created = orderService.createOrder(orderRequest(product.id(), CANCEL_PHONE));
+        await().atMost(Duration.ofSeconds(30)).until(() -> pointTransactionRepository
+                .existsByOrderIdAndType(created.id(), PointTransactionType.EARN));
+        int before = userRepository.findByStoreIdAndPhone(1L, CANCEL_PHONE).orElseThrow().getPoint();
+
+        Order order = orderService.getOrderEntity(created.id());
+        order.setStatus(OrderStatus.CREATED);
+        orderService.handleOrderCanceled(order);
+        orderService.handleOrderCanceled(order);
+
+        int earned = created.totalAmount().multiply(BigDecimal.valueOf(0.01))
+                .setScale(0, RoundingMode.FLOOR)
+                .intValue();
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertThat(
+                userRepository.findByStoreIdAndPhone(1L, CANCEL_PHONE).orElseThrow().getPoint()).isEqualTo(before - earned));
+        assertThat(pointTransactionRepository.findByOrderIdAndType(created.id(), PointTransactionType.REVERSAL))
+                .isPresent();
+    }
+
+    private CreateOrderRequest orderRequest(Long productId, String phone) {
+        OrderItemRequest itemRequest = new OrderItemRequest();
+        itemRequest.setProductId(productId);
+        itemRequest.setQuantity(10);
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Loyal Customer");
+        request.setCustomerPhone(phone);
+        request.setCustomerAddress("Ha Noi");
+        request.setItems(List.of(itemRequest));
+        return request;
+    }
+}
@@ -0,0 +1,240 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Exports a million order lines over HTTP from a copy of the application started in its own JVM with a heap too
+ * small to hold them, and checks that gzip output is readable and that a client disconnect stops the query.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderExportIntegrationTest {
+
+    private static final int ORDERS = 100_000;
+    private static final int ITEMS_PER_ORDER = 10;
+    private static final String DIGITS = "(SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 "
+            + "UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 "
+            + "UNION ALL SELECT 9)";
+    // Đơn mẫu rải theo giây từ 2025-01-01, 100k giây ~ 28 giờ
+    private static final String EXPORT_RANGE = "from=2025-01-01&to=2025-01-02";
+    // Đủ cho ứng dụng, không đủ cho một triệu dòng: export gom kết quả vào bộ nhớ sẽ làm JVM con chết
+    private static final String EXPORT_HEAP = "-Xmx160m";
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+    private static final Pattern STARTED_ON_PORT = Pattern.compile("Tomcat started on port (\\d+)");
+
+    private static boolean seeded;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${spring.datasource.username}")
+    private String datasourceUsername;
+
+    @Value("${spring.datasource.password}")
+    private String datasourcePassword;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void seedMillionOrderLines() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO orders (code, order_date, status, total_amount, created_at) "
+                + "SELECT CONCAT('ORD-EXPORT-', n), TIMESTAMP('2025-01-01') + INTERVAL n SECOND, 'PAID', 80000, NOW() "
+                + "FROM (SELECT a.d + b.d * 10 + c.d * 100 + d.d * 1000 + e.d * 10000 AS n "
+                + "FROM " + DIGITS + " a, " + DIGITS + " b, " + DIGITS + " c, " + DIGITS + " d, " + DIGITS + " e) seq");
+        jdbcTemplate.update("INSERT INTO order_items (order_id, order_date, product_id, unit_price, quantity, line_total, created_at) "
+                + "SELECT o.id, o.order_date, (SELECT MIN(id) FROM products), 8000, 1, 8000, NOW() "
+                + "FROM orders o, " + DIGITS + " i WHERE o.code LIKE 'ORD-EXPORT-%'");
+        seeded = true;
+    }
+
+    @Test
+    void export_streamsMillionLinesInSmallHeap() throws Exception {
+        Path log = Files.createTempFile("order-export", ".log");
+        Process application = startApplication(log);
+        try {
+            String baseUrl = awaitReady(application, log);
+            long lines = 0;
+            try (BufferedReader reader = open(baseUrl + "/api/orders/export?" + EXPORT_RANGE)) {
+                assertThat(reader.readLine()).startsWith("order_code,order_date,status");
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    assertThat(line).isNotEmpty();
+                    lines++;
+                }
+            }
+
+            assertThat(lines).isEqualTo((long) ORDERS * ITEMS_PER_ORDER);
+            assertThat(application.isAlive()).as("application after export:%n%s", Files.readString(log)).isTrue();
+        } finally {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly();
+            }
+            Files.deleteIfExists(log);
+        }
+    }
+
+    @Test
+    void export_gzipIsReadable() throws Exception {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl()
+                + "/api/orders/export?from=2025-01-01T00:00:00&to=2025-01-01T00:00:09&gzip=true")).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+
+        assertThat(response.headers().firstValue("Content-Disposition")).hasValueSatisfying(
+                value -> assertThat(value).contains(".csv.gz"));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(response.body()), StandardCharsets.UTF_8))) {
+            assertThat(reader.lines().skip(1)).hasSize(10 * ITEMS_PER_ORDER)
+                    .allSatisfy(line -> assertThat(line).startsWith("ORD-EXPORT-").contains(",8000.00"));
+        }
+    }
+
+    @Test
+    void export_stopsQueryWhenClientDisconnects() throws Exception {
+        double cancelledBefore = exportRuns("cancelled");
+
+        try (BufferedReader reader = open(baseUrl() + "/api/orders/export?" + EXPORT_RANGE)) {
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(reader.readLine()).isNotNull();
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (exportRuns("cancelled") == cancelledBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(exportRuns("cancelled")).isEqualTo(cancelledBefore + 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.PROCESSLIST "
+                + "WHERE INFO LIKE '%JOIN order_items oi%' AND INFO NOT LIKE '%PROCESSLIST%'", Integer.class)).isZero();
+    }
+
+    private BufferedReader open(String url) throws Exception {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    // Cùng classpath trừ test-classes (không kéo @TestConfiguration của các test khác), cùng database đã seed
+    private Process startApplication(Path log) throws IOException {
+        String classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> !entry.endsWith("test-classes"))
+                .collect(Collectors.joining(File.pathSeparator));
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                EXPORT_HEAP,
+                "-XX:+ExitOnOutOfMemoryError",
+                "-Dserver.port=0",
+                "-Dspring.datasource.url=" + datasourceUrl,
+                "-Dspring.datasource.username=" + datasourceUsername,
+                "-Dspring.datasource.password=" + datasourcePassword,
+                "-Dspring.jpa.hibernate.ddl-auto=none",
+                "-Dspring.sql.init.mode=never",
+                "-Dseed-data.enabled=false",
+                "-Dwarmup.enabled=false",
+                "-cp", classpath,
+                ConvenienceStoreApplication.class.getName());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    // Cổng ngẫu nhiên: đọc từ log "Tomcat started on port ..." rồi chờ readiness
+    private String awaitReady(Process application, Path log) throws Exception {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        String baseUrl = null;
+        while (System.nanoTime() < deadline) {
+            assertThat(application.isAlive())
+                    .as("application exited during startup:%n%s", Files.readString(log))
+                    .isTrue();
+            if (baseUrl == null) {
+                Matcher matcher = STARTED_ON_PORT.matcher(Files.readString(log));
+                baseUrl = matcher.find() ? "http://localhost:" + matcher.group(1) : null;
+            } else {
+                try {
+                    HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/actuator/health/readiness")).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                        return baseUrl;
+                    }
+                } catch (IOException ex) {
+                    // chưa nhận kết nối
+                }
+            }
+            Thread.sleep(200);
+        }
+        throw new AssertionError("application not ready within " + READY_TIMEOUT + ":\n" + Files.readString(log));
+    }
+
+    private double exportRuns(String outcome) {
+        var counter = meterRegistry.find("store.export.runs").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+}
@@ -1,20 +1,34 @@
 package com.yourname.store;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.yourname.store.dto.request.CreateOrderRequest;
 import com.yourname.store.dto.request.OrderItemRequest;
 import com.yourname.store.dto.response.OrderResponse;
 import com.yourname.store.dto.response.PageResponse;
 import com.yourname.store.dto.response.ProductResponse;
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.OrderStatus;
+import com.yourname.store.exception.BadRequestException;
 import com.yourname.store.service.OrderService;
 import com.yourname.store.service.ProductService;
+import com.yourname.store.util.NodeIdLease;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MySQLContainer;
@@ -39,6 +53,9 @@ class OrderFlowIntegrationTest {
         registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
         registry.add("spring.flyway.enabled", () -> true);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        // schema và seed do Flyway tạo; data.sql hoãn sau JPA sẽ vòng phụ thuộc với Flyway
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
     }
 
     @Autowired
@@ -47,6 +64,12 @@ class OrderFlowIntegrationTest {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NodeIdLease nodeIdLease;
+
     @Test
     void createOrder_persistsAndRetrievesDetails() {
         PageResponse<ProductResponse> products = productService.searchProducts(null, null, PageRequest.of(0, 1, Sort.by("id")));
@@ -73,5 +96,88 @@ class OrderFlowIntegrationTest {
         assertThat(fetched.code()).isEqualTo(created.code());
         assertThat(fetched.items().get(0).quantity()).isEqualTo(2);
     }
-}
 
+    @Test
+    void orderCode_isUniqueAcrossMonthPartitions() {
+        OrderResponse created = orderService.createOrder(orderRequest());
+
+        // cùng mã ở tháng khác: UNIQUE (code, order_date) của orders không chặn được, order_codes thì có
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO order_codes (code, order_date) VALUES (?, ?)",
+                created.code(), LocalDateTime.now().minusMonths(2)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void secondInstance_leasesTheNextFreeNodeId() {
+        long held = nodeIdLease.nodeId();
+        NodeIdLease other = new NodeIdLease(jdbcTemplate, Duration.ofSeconds(30));
+        try {
+            assertThat(other.nodeId()).isNotEqualTo(held);
+        } finally {
+            other.destroy();
+        }
+
+        // instance đã dừng mà không trả lease: hết hạn thì node id được dùng lại
+        jdbcTemplate.update("UPDATE code_generator_nodes SET heartbeat_at = NOW(6) - INTERVAL 1 MINUTE "
+                + "WHERE node_id = ?", held);
+        NodeIdLease successor = new NodeIdLease(jdbcTemplate, Duration.ofSeconds(30));
+        try {
+            assertThat(successor.nodeId()).isEqualTo(held);
+        } finally {
+            successor.destroy();
+        }
+    }
+
+    @Test
+    void lastUnit_isSoldOnlyOnce() throws Exception {
+        long productId = jdbcTemplate.queryForObject("SELECT id FROM products WHERE code = 'P2001'", Long.class);
+        jdbcTemplate.update("UPDATE products SET stock_qty = 1, status = 'ACTIVE' WHERE id = ?", productId);
+        List<Order> orders = List.of(pendingOrder(productId), pendingOrder(productId));
+
+        CyclicBarrier start = new CyclicBarrier(orders.size());
+        ExecutorService payments = Executors.newFixedThreadPool(orders.size());
+        try {
+            List<Future<Boolean>> paid = new ArrayList<>();
+            for (Order order : orders) {
+                paid.add(payments.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.handleOrderPaid(order);
+                        return true;
+                    } catch (BadRequestException ex) {
+                        return false;
+                    }
+                }));
+            }
+            assertThat(List.of(paid.get(0).get(), paid.get(1).get())).containsExactlyInAnyOrder(true, false);
+        } finally {
+            payments.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForMap("SELECT stock_qty, status FROM products WHERE id = ?", productId))
+                .containsEntry("stock_qty", 0)
+                .containsEntry("status", "OUT_OF_STOCK");
+    }
+
+    private Order pendingOrder(long productId) {
+        OrderItemRequest itemRequest = new OrderItemRequest();
+        itemRequest.setProductId(productId);
+        itemRequest.setQuantity(1);
+        CreateOrderRequest orderRequest = new CreateOrderRequest();
+        orderRequest.setItems(List.of(itemRequest));
+        Order order = orderService.getOrderEntity(orderService.createOrder(orderRequest).id());
+        order.setStatus(OrderStatus.CREATED);
+        return order;
+    }
+
+    private CreateOrderRequest orderRequest() {
+        ProductResponse product = productService.searchProducts(null, null, PageRequest.of(0, 1, Sort.by("id")))
+                .content().get(0);
+        OrderItemRequest itemRequest = new OrderItemRequest();
+        itemRequest.setProductId(product.id());
+        itemRequest.setQuantity(1);
+        CreateOrderRequest orderRequest = new CreateOrderRequest();
+        orderRequest.setItems(List.of(itemRequest));
+        return orderRequest;
+    }
+}
@@ -0,0 +1,205 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.dto.request.CreateOrderRequest;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.metrics.SqlStatementCounter;
+import com.yourname.store.metrics.SqlStatementStats;
+import com.yourname.store.partition.OrderPartitionMaintenance;
+import com.yourname.store.partition.OrderPartitionMaintenance.MaintenanceResult;
+import com.yourname.store.repository.OrderItemRepository;
+import com.yourname.store.repository.OrderRepository;
+import com.yourname.store.service.OrderService;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs on the Flyway schema (V4 monthly partitions) and checks with {@code EXPLAIN} that the statistics
+ * queries and the order search by code only touch the partitions of the requested months.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class OrderPartitioningIntegrationTest {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> "false");
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("partitioning.retention-months", () -> "3");
+        registry.add("sql-monitor.enabled", () -> "true");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderPartitionMaintenance maintenance;
+
+    @Test
+    void dailyRevenue_readsOnlyTheRequestedMonth() throws Exception {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        String sql = nativeQuery(OrderRepository.class.getMethod(
+                "calculateDailyRevenue", Long.class, LocalDateTime.class, LocalDateTime.class));
+
+        List<Map<String, Object>> plan = explain(sql,
+                Map.of("storeId", 1L, "from", month.atStartOfDay(), "to", endOfMonth(month)));
+
+        assertThat(plan).singleElement()
+                .satisfies(row -> assertThat(row.get("partitions")).isEqualTo(partitionName(month)));
+    }
+
+    @Test
+    void topProducts_prunesOrdersAndItems() throws Exception {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        String sql = nativeQuery(OrderItemRepository.class.getMethod(
+                "findTopProducts", Long.class, LocalDateTime.class, LocalDateTime.class, int.class));
+
+        List<Map<String, Object>> plan = explain(sql,
+                Map.of("storeId", 1L, "from", month.atStartOfDay(), "to", endOfMonth(month), "limit", 10));
+
+        assertThat(plan)
+                .filteredOn(row -> List.of("o", "oi").contains(String.valueOf(row.get("table"))))
+                .hasSize(2)
+                .allSatisfy(row -> assertThat(row.get("partitions")).isEqualTo(partitionName(month)));
+    }
+
+    @Test
+    void searchByFullCode_prunesToTheCodeMonth() {
+        OrderResponse created = orderService.createOrder(orderRequest());
+        String month = partitionName(created.orderDate().toLocalDate());
+
+        SqlStatementStats stats = SqlStatementCounter.start();
+        try {
+            orderService.searchOrders(created.code(), null, null, PageRequest.of(0, 10));
+        } finally {
+            SqlStatementCounter.stop();
+        }
+        // trang đầu chưa đầy nên Spring Data bỏ qua câu count: chỉ còn câu select chính
+        String searchSql = stats.repeatedStatements(1).stream()
+                .map(SqlStatementStats.RepeatedStatement::sql)
+                .filter(sql -> sql.toLowerCase().contains("from orders"))
+                .findFirst()
+                .orElseThrow();
+        LocalDateTime codeTime = created.orderDate().withNano(0);
+
+        List<Map<String, Object>> plan = explain(searchSql,
+                "%" + created.code().toLowerCase() + "%", codeTime.minusMinutes(1), codeTime.plusMinutes(1), 1L);
+
+        // cửa sổ ±1 phút chỉ chạm tới tháng kế bên khi đơn tạo sát nửa đêm cuối tháng
+        assertThat(plan).filteredOn(row -> "o1_0".equals(row.get("table"))).singleElement().satisfies(row -> {
+            String partitions = String.valueOf(row.get("partitions"));
+            assertThat(partitions).contains(month).doesNotContain("p_history");
+            assertThat(partitions.split(",")).hasSizeLessThanOrEqualTo(2);
+        });
+    }
+
+    @Test
+    void maintenance_keepsFuturePartitionsAndArchivesExpiredMonths() {
+        // retention 3 tháng: tháng hiện tại - 2 còn sống, sau hai tháng nữa thì hết hạn
+        LocalDate today = LocalDate.now();
+        LocalDate later = today.plusMonths(2);
+        LocalDateTime oldDate = today.withDayOfMonth(1).minusMonths(2).atTime(10, 0);
+        long productId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+        jdbcTemplate.update("INSERT INTO orders (code, order_date, status, total_amount) "
+                + "VALUES ('ORD-ARCHIVE-TEST', ?, 'PAID', 8000)", oldDate);
+        long orderId = jdbcTemplate.queryForObject(
+                "SELECT id FROM orders WHERE code = 'ORD-ARCHIVE-TEST'", Long.class);
+        jdbcTemplate.update("INSERT INTO order_items (order_id, order_date, product_id, unit_price, quantity, line_total) "
+                + "VALUES (?, ?, ?, 8000, 1, 8000)", orderId, oldDate, productId);
+        jdbcTemplate.update("INSERT INTO payments (order_id, order_date, provider, txn_ref, amount, currency, status) "
+                + "VALUES (?, ?, 'VNPAY', 'PAY-ARCHIVE-TEST', 8000, 'VND', 'PAID')", orderId, oldDate);
+
+        MaintenanceResult result = maintenance.maintain(later);
+
+        assertThat(result.archived()).contains("orders." + partitionName(oldDate.toLocalDate()));
+        assertThat(count("orders", orderId)).isZero();
+        assertThat(count("orders_archive", orderId)).isOne();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items_archive WHERE order_id = ?", Integer.class, orderId)).isOne();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments_archive WHERE order_id = ?", Integer.class, orderId)).isOne();
+
+        for (String table : List.of("orders", "order_items", "payments")) {
+            assertThat(partitions(table))
+                    .contains(partitionName(today), partitionName(later.plusMonths(3)), "pmax")
+                    .doesNotContain(partitionName(oldDate.toLocalDate()), "p_history");
+        }
+        // lần chạy thứ hai không còn gì để làm
+        assertThat(maintenance.maintain(later).created()).isEmpty();
+    }
+
+    private List<Map<String, Object>> explain(String sql, Object... args) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+    }
+
+    private List<Map<String, Object>> explain(String sql, Map<String, Object> params) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate).queryForList("EXPLAIN " + sql, params);
+    }
+
+    private String nativeQuery(Method method) {
+        return method.getAnnotation(Query.class).value();
+    }
+
+    private List<String> partitions(String table) {
+        return jdbcTemplate.queryForList("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", String.class, table);
+    }
+
+    private int count(String table, long orderId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, orderId);
+    }
+
+    private static LocalDateTime endOfMonth(LocalDate month) {
+        return month.plusMonths(1).minusDays(1).atTime(LocalTime.of(23, 59, 59));
+    }
+
+    private static String partitionName(LocalDate date) {
+        return date.format(PARTITION_NAME);
+    }
+
+    private CreateOrderRequest orderRequest() {
+        long productId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(item));
+        request.setNote("partition test");
+        return request;
+    }
+}
@@ -0,0 +1,189 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.yourname.store.dto.request.CreateOrderRequest;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.entity.OutboxStatus;
+import com.yourname.store.event.DomainEventPublisher;
+import com.yourname.store.event.OrderCanceled;
+import com.yourname.store.event.OrderPaid;
+import com.yourname.store.repository.OutboxEventRepository;
+import com.yourname.store.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class OutboxIntegrationTest {
+
+    private static final long FLAKY_ORDER_ID = 900_001L;
+    private static final long POISON_ORDER_ID = 900_002L;
+    private static final long FLAKY_PAID_ORDER_ID = 900_004L;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    // Schema Flyway để kiểm tra luôn V7__outbox_events.sql
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("outbox.max-attempts", () -> 2);
+    }
+
+    @TestConfiguration
+    static class RecordingHandlers {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler {
+
+        final Queue<Object> received = new ConcurrentLinkedQueue<>();
+        final AtomicInteger flakyCalls = new AtomicInteger();
+        final AtomicInteger flakyPaidCalls = new AtomicInteger();
+
+        @EventListener
+        public void onOrderPaid(OrderPaid event) {
+            if (event.orderId() == FLAKY_PAID_ORDER_ID && flakyPaidCalls.incrementAndGet() == 1) {
+                throw new IllegalStateException("first delivery fails");
+            }
+            received.add(event);
+        }
+
+        @EventListener
+        public void onOrderCanceled(OrderCanceled event) {
+            if (event.orderId() == POISON_ORDER_ID) {
+                throw new IllegalStateException("handler always fails");
+            }
+            if (event.orderId() == FLAKY_ORDER_ID && flakyCalls.incrementAndGet() == 1) {
+                throw new IllegalStateException("first delivery fails");
+            }
+            received.add(event);
+        }
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void orderEvents_areDeliveredAfterCommitAndRemoved() {
+        OrderResponse order = orderService.createOrder(orderRequest());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(handler.received)
+                .anySatisfy(event -> assertThat(event).isInstanceOf(OrderPaid.class)
+                        .extracting("orderId").isEqualTo(order.id())));
+        await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ?", Integer.class, order.id()) == 0);
+    }
+
+    @Test
+    void rolledBackTransaction_publishesNothing() {
+        int before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventPublisher.publish(new OrderCanceled(900_003L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class))
+                .isEqualTo(before);
+    }
+
+    @Test
+    void failingHandler_isRetriedThenParkedAsDead() {
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventPublisher.publish(new OrderCanceled(FLAKY_ORDER_ID));
+            domainEventPublisher.publish(new OrderCanceled(POISON_ORDER_ID));
+        });
+
+        await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> assertThat(handler.received)
+                .contains(new OrderCanceled(FLAKY_ORDER_ID)));
+        assertThat(handler.flakyCalls).hasValue(2);
+
+        await().atMost(Duration.ofSeconds(15)).until(
+                () -> outboxEventRepository.countByStatus(OutboxStatus.DEAD) == 1);
+        List<String> errors = jdbcTemplate.queryForList(
+                "SELECT last_error FROM outbox_events WHERE status = 'DEAD' AND aggregate_id = ?", String.class,
+                POISON_ORDER_ID);
+        assertThat(errors).containsExactly("handler always fails");
+    }
+
+    @Test
+    void retriedEvent_isCountedOnce() {
+        await().atMost(Duration.ofSeconds(15)).until(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE status <> 'DEAD'", Integer.class) == 0);
+        double before = meterRegistry.counter("store.orders.paid").count();
+
+        transactionTemplate.executeWithoutResult(status -> domainEventPublisher.publish(
+                new OrderPaid(FLAKY_PAID_ORDER_ID, null, BigDecimal.TEN)));
+
+        await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> assertThat(handler.received)
+                .contains(new OrderPaid(FLAKY_PAID_ORDER_ID, null, BigDecimal.TEN)));
+        assertThat(handler.flakyPaidCalls).hasValue(2);
+        // lần gửi đầu bị rollback vì handler khác lỗi: chỉ lần commit được đếm
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(
+                meterRegistry.counter("store.orders.paid").count()).isEqualTo(before + 1));
+    }
+
+    private CreateOrderRequest orderRequest() {
+        Long productId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM products WHERE status = 'ACTIVE' AND stock_qty > 5", Long.class);
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+}
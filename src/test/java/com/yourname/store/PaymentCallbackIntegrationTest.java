@@ -0,0 +1,182 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.payment.VnpayProperties;
+import com.yourname.store.service.PaymentCallbackService;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PaymentCallbackIntegrationTest {
+
+    private static final Pattern ORDER_ID = Pattern.compile("^\\{\"id\":(\\d+)");
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    // Schema Flyway để kiểm tra luôn V8__payment_callbacks.sql
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VnpayProperties vnpayProperties;
+
+    @Autowired
+    private PaymentCallbackService paymentCallbackService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void everyCallback_isKeptCompressedOutsideThePaymentsTable() throws Exception {
+        Map<String, Object> payment = initiatePayment();
+        String txnRef = (String) payment.get("txn_ref");
+        Map<String, String> params = signed(txnRef, (String) payment.get("vnp_amount"), "00");
+
+        assertThat(get("/api/payments/vnpay/return?" + form(params)).statusCode()).isEqualTo(200);
+        // IPN đến sau return: trùng lặp nhưng vẫn được ghi lại
+        assertThat(postForm("/api/payments/vnpay/ipn", form(params)).body()).contains("\"RspCode\":\"00\"");
+        Map<String, String> forged = new TreeMap<>(params);
+        forged.put("vnp_SecureHash", "00");
+        assertThat(postForm("/api/payments/vnpay/ipn", form(forged)).body()).contains("\"RspCode\":\"99\"");
+
+        HttpResponse<String> history = get("/api/payments/" + payment.get("id") + "/callbacks");
+        assertThat(history.statusCode()).isEqualTo(200);
+        assertThat(history.body())
+                .contains("\"source\":\"return\"", "\"source\":\"ipn\"", "\"outcome\":\"PAID\"")
+                .contains("Invalid VNPAY signature")
+                .contains("vnp_TxnRef=" + txnRef);
+        // cửa hàng khác không đọc được callback của thanh toán này
+        assertThat(client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/payments/" + payment.get("id") + "/callbacks"))
+                .header("X-Store-Id", "2")
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(404);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT CONVERT(UNCOMPRESS(payload) USING utf8mb4) FROM payment_callbacks WHERE txn_ref = ? ORDER BY id",
+                String.class, txnRef))
+                .hasSize(3)
+                .allSatisfy(query -> assertThat(query).contains("vnp_ResponseCode=00&vnp_SecureHash="));
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name IN ('payments', 'payments_archive')
+                  AND column_name = 'raw_query'
+                """, Integer.class)).isZero();
+    }
+
+    @Test
+    void purge_removesCallbacksOlderThanRetention() {
+        jdbcTemplate.update("""
+                INSERT INTO payment_callbacks (txn_ref, source, outcome, payload, received_at)
+                VALUES ('OLD-CALLBACK', 'ipn', 'PAID', COMPRESS('vnp_TxnRef=OLD-CALLBACK'), NOW() - INTERVAL 400 DAY)
+                """);
+
+        assertThat(paymentCallbackService.purgeExpired()).isGreaterThanOrEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payment_callbacks WHERE txn_ref = 'OLD-CALLBACK'", Integer.class)).isZero();
+    }
+
+    private Map<String, Object> initiatePayment() throws Exception {
+        Long productId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM products WHERE status = 'ACTIVE' AND stock_qty > 10", Long.class);
+        HttpResponse<String> created = postJson("/api/orders",
+                "{\"items\":[{\"productId\":" + productId + ",\"quantity\":1}]}");
+        Matcher matcher = ORDER_ID.matcher(created.body());
+        assertThat(matcher.find()).as(created.body()).isTrue();
+        long orderId = Long.parseLong(matcher.group(1));
+        // Đơn tạo qua API đang được đặt PAID ngay; đưa về CREATED để khởi tạo thanh toán
+        jdbcTemplate.update("UPDATE orders SET status = 'CREATED' WHERE id = ?", orderId);
+
+        HttpResponse<String> initiated = postJson("/api/orders/" + orderId + "/payments/vnpay", "");
+        assertThat(initiated.statusCode()).as(initiated.body()).isEqualTo(200);
+        return jdbcTemplate.queryForMap(
+                "SELECT id, txn_ref, CAST(CAST(amount * 100 AS UNSIGNED) AS CHAR) AS vnp_amount FROM payments WHERE order_id = ?",
+                orderId);
+    }
+
+    private Map<String, String> signed(String txnRef, String amount, String responseCode) throws Exception {
+        Map<String, String> params = new TreeMap<>();
+        params.put("vnp_Amount", amount);
+        params.put("vnp_BankCode", "NCB");
+        params.put("vnp_PayDate", "20240105103000");
+        params.put("vnp_ResponseCode", responseCode);
+        params.put("vnp_TransactionStatus", responseCode);
+        params.put("vnp_TxnRef", txnRef);
+        String canonical = params.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&"));
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(vnpayProperties.getHashSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+        StringBuilder hash = new StringBuilder();
+        for (byte b : mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8))) {
+            hash.append(String.format("%02X", b));
+        }
+        params.put("vnp_SecureHash", hash.toString());
+        return params;
+    }
+
+    private String form(Map<String, String> params) {
+        return params.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> postJson(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> postForm(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,128 @@
+package com.yourname.store;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.yourname.store.facet.ProductFacetIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductFacetIntegrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    // Dữ liệu mẫu V1: Beverages 8000/12000, Snacks 18000/22000, Dairy 32000; sync được gọi tay trong test
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("warmup.enabled", () -> false);
+        registry.add("facets.sync-interval", () -> "PT1H");
+        registry.add("facets.price-bands", () -> "10000, 20000, 50000");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Test
+    void pageAndCountsFollowTheSelectedFacets() throws Exception {
+        long snacks = categoryId("Snacks");
+
+        mockMvc.perform(get("/api/products/faceted")
+                        .param("categoryId", String.valueOf(snacks))
+                        .param("priceBand", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.content[*].code", contains("P1001")))
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$.page.last").value(true))
+                // danh mục đếm trong khoảng giá đã chọn, khoảng giá đếm trong danh mục đã chọn
+                .andExpect(jsonPath("$.facets.categories[?(@.label == 'Beverages')].count", contains(1)))
+                .andExpect(jsonPath("$.facets.categories[?(@.label == 'Snacks')].count", contains(1)))
+                .andExpect(jsonPath("$.facets.categories[?(@.label == 'Snacks')].selected", contains(true)))
+                .andExpect(jsonPath("$.facets.categories[?(@.label == 'Dairy')].count", contains(0)))
+                .andExpect(jsonPath("$.facets.priceBands[*].label",
+                        contains("< 10000", "10000 - 20000", "20000 - 50000", ">= 50000")))
+                .andExpect(jsonPath("$.facets.priceBands[*].count", contains(0, 1, 1, 0)));
+
+        mockMvc.perform(get("/api/products/faceted").param("q", "water").param("size", "1").param("sort", "code"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.content[*].code", contains("P0001")))
+                .andExpect(jsonPath("$.page.totalElements").value(2))
+                .andExpect(jsonPath("$.page.totalPages").value(2))
+                .andExpect(jsonPath("$.page.last").value(false))
+                .andExpect(jsonPath("$.facets.priceBands[*].count", contains(1, 1, 0, 0)));
+    }
+
+    @Test
+    void importedAndRestockedProductsReachTheIndexOnSync() throws Exception {
+        mockMvc.perform(post("/api/products/import").contentType("text/csv")
+                        .content("code,name,category,price,stock_qty\nF0001,Facet Soap,Household,15000,0\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(0));
+        productFacetIndex.sync();
+        long household = categoryId("Household");
+
+        mockMvc.perform(get("/api/products/faceted").param("categoryId", String.valueOf(household)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$.facets.inStock[*].count", contains(0, 1)));
+        mockMvc.perform(get("/api/products/faceted")
+                        .param("categoryId", String.valueOf(household))
+                        .param("inStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.content").isEmpty())
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+
+        jdbcTemplate.update("UPDATE products SET stock_qty = 5, updated_at = NOW() WHERE code = 'F0001'");
+        productFacetIndex.sync();
+
+        mockMvc.perform(get("/api/products/faceted")
+                        .param("categoryId", String.valueOf(household))
+                        .param("inStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.content[*].code", contains("F0001")))
+                .andExpect(jsonPath("$.facets.inStock[*].count", contains(1, 0)));
+    }
+
+    @Test
+    void unknownFacetValuesAreRejected() throws Exception {
+        mockMvc.perform(get("/api/products/faceted").param("status", "SOLD"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/faceted").param("priceBand", "4"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long categoryId(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM categories WHERE name = ?", Long.class, name);
+    }
+}
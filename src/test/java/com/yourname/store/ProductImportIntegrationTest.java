@@ -0,0 +1,156 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.dto.response.ProductImportResponse;
+import com.yourname.store.dto.response.ProductImportResponse.ProductImportError;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProductImportIntegrationTest {
+
+    private static final int BULK_ROWS = 100_000;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void importCsv_upsertsHundredThousandRowsInSeconds() throws Exception {
+        Path csv = generatedCsv(BULK_ROWS);
+
+        long started = System.nanoTime();
+        ProductImportResponse response = post("text/csv", HttpRequest.BodyPublishers.ofFile(csv));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(response.totalRows()).isEqualTo(BULK_ROWS);
+        assertThat(response.imported()).isEqualTo(BULK_ROWS);
+        assertThat(response.failed()).isZero();
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(30));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE code LIKE 'BULK-%'", Integer.class)).isEqualTo(BULK_ROWS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM categories WHERE name LIKE 'Bulk %'", Integer.class)).isEqualTo(10);
+    }
+
+    @Test
+    void importCsv_reportsBadRowsAndKeepsTheRest() throws Exception {
+        post("text/csv", "code,name,category,price,stock_qty\n"
+                + "IMP-1,Tea,Imported,10000,5\n"
+                + "IMP-2,Coffee,Imported,20000,5\n");
+        LocalDateTime unchangedAt = updatedAt("IMP-1");
+        Thread.sleep(1_100);
+
+        ProductImportResponse response = post("text/csv", "code,name,category,price,stock_qty,status\n"
+                + "IMP-1,Tea,Imported,10000,5,ACTIVE\n"
+                + "IMP-2,\"Coffee, roasted\",Imported,25000,7,\n"
+                + "IMP-3,Juice,Imported,abc,1,\n"
+                + ",No code,Imported,1000,1,\n"
+                + "IMP-4,Water,Imported,1000,-2,\n"
+                + "IMP-5,Soda,Imported,1000,1,SOLD\n"
+                + "IMP-6,Cake,Bakery,15000.5,3,inactive\n");
+
+        assertThat(response.totalRows()).isEqualTo(7);
+        assertThat(response.imported()).isEqualTo(3);
+        assertThat(response.errors()).extracting(ProductImportError::line).containsExactly(4L, 5L, 6L, 7L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT name FROM products WHERE code = 'IMP-2'", String.class)).isEqualTo("Coffee, roasted");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM products WHERE code = 'IMP-6'", String.class)).isEqualTo("INACTIVE");
+        assertThat(updatedAt("IMP-1")).isEqualTo(unchangedAt);
+        assertThat(updatedAt("IMP-2")).isAfter(unchangedAt);
+    }
+
+    @Test
+    void importJson_streamsArrayOfProducts() throws Exception {
+        ProductImportResponse response = post("application/json", """
+                [
+                  {"code": "JSON-1", "name": "Bread", "category": "Bakery", "price": 12000, "stockQty": 10},
+                  {"code": "JSON-2", "name": "Bun", "category": "bakery", "price": "8000.00", "stockQty": 4,
+                   "status": "OUT_OF_STOCK"},
+                  {"code": "JSON-3", "name": "Pie", "category": "Bakery", "price": 9000}
+                ]
+                """);
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.errors()).singleElement()
+                .satisfies(error -> assertThat(error.code()).isEqualTo("JSON-3"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT category_id) FROM products WHERE code LIKE 'JSON-%'", Integer.class)).isOne();
+    }
+
+    private ProductImportResponse post(String contentType, String body) throws Exception {
+        return post(contentType, HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+    }
+
+    private ProductImportResponse post(String contentType, HttpRequest.BodyPublisher body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/import"))
+                .header("Content-Type", contentType)
+                .POST(body)
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+        return objectMapper.readValue(response.body(), ProductImportResponse.class);
+    }
+
+    private LocalDateTime updatedAt(String code) {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM products WHERE code = ?", LocalDateTime.class, code);
+    }
+
+    // File tạm ~6 MB, client gửi dạng stream từ đĩa
+    private static Path generatedCsv(int rows) throws IOException {
+        Path file = Files.createTempFile("products-import", ".csv");
+        file.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("code,name,category,price,stock_qty\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write("BULK-" + i + ",Bulk product " + i + ",Bulk " + (i % 10) + "," + (1000 + i % 500)
+                        + ".50," + (i % 100) + "\n");
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,256 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.yourname.store.datasource.ReplicaHealthMonitor;
+import com.yourname.store.datasource.ReplicaNode;
+import com.yourname.store.dto.request.CreateOrderRequest;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.dto.response.ProductResponse;
+import com.yourname.store.exception.NotFoundException;
+import com.yourname.store.service.OrderService;
+import com.yourname.store.service.ProductService;
+import com.yourname.store.service.StatisticsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Primary and replica as two MySQL containers with binlog replication between them.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICA = "replica-1";
+    private static final String STICKY_COOKIE = "STORE_PRIMARY_UNTIL";
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    static final MySQLContainer<?> PRIMARY = new MySQLContainer<>("mysql:8.3")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("--server-id=1", "--log-bin=mysql-bin");
+
+    @Container
+    static final MySQLContainer<?> REPLICA_DB = new MySQLContainer<>("mysql:8.3")
+            .withNetwork(NETWORK)
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("--server-id=2");
+
+    private static final ExecutorService FRESH_THREADS = Executors.newCachedThreadPool();
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) throws SQLException {
+        startReplication();
+        registry.add("spring.datasource.url", () -> PRIMARY.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("replica-routing.enabled", () -> "true");
+        registry.add("replica-routing.stickiness", () -> "3s");
+        registry.add("replica-routing.replicas[0].name", () -> REPLICA);
+        registry.add("replica-routing.replicas[0].url", () -> REPLICA_DB.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("replica-routing.replicas[0].username", () -> "root");
+        registry.add("replica-routing.replicas[0].password", REPLICA_DB::getPassword);
+    }
+
+    // Replica bắt đầu từ vị trí binlog hiện tại: database đã tồn tại ở cả hai bên
+    private static void startReplication() throws SQLException {
+        String file;
+        long position;
+        try (Connection connection = DriverManager.getConnection(PRIMARY.getJdbcUrl(), "root", PRIMARY.getPassword());
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SHOW BINARY LOG STATUS")) {
+            rs.next();
+            file = rs.getString("File");
+            position = rs.getLong("Position");
+        }
+        executeOnReplica("CHANGE REPLICATION SOURCE TO SOURCE_HOST='primary', SOURCE_PORT=3306, SOURCE_USER='root', "
+                + "SOURCE_PASSWORD='" + PRIMARY.getPassword() + "', SOURCE_LOG_FILE='" + file + "', "
+                + "SOURCE_LOG_POS=" + position + ", GET_SOURCE_PUBLIC_KEY=1");
+        executeOnReplica("START REPLICA");
+    }
+
+    private static void executeOnReplica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_DB.getJdbcUrl(), "root", REPLICA_DB.getPassword());
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @AfterAll
+    static void shutdownThreads() {
+        FRESH_THREADS.shutdownNow();
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void readOnlyTransactions_areServedByReplica() throws Exception {
+        awaitReplica(true);
+        double before = routed(REPLICA);
+
+        onFreshThread(() -> productService.searchProducts(null, null, PageRequest.of(0, 5, Sort.by("id"))));
+        onFreshThread(() -> statisticsService.getTopProducts(LocalDate.now().minusDays(7), LocalDate.now(), 5));
+
+        assertThat(routed(REPLICA) - before).isEqualTo(2);
+    }
+
+    @Test
+    void readAfterCheckout_staysOnPrimaryUntilWindowExpires() throws Exception {
+        awaitReplica(true);
+        OrderResponse created = orderService.createOrder(orderRequest(firstProductId()));
+
+        double sticky = routed("primary", "sticky");
+        assertThat(orderService.getOrder(created.id()).code()).isEqualTo(created.code());
+        assertThat(routed("primary", "sticky") - sticky).isEqualTo(1);
+
+        // Luồng khác không dính primary: đọc từ replica khi bản ghi đã được replicate
+        double replicaBefore = routed(REPLICA);
+        await(() -> {
+            try {
+                return onFreshThread(() -> orderService.getOrder(created.id())) != null;
+            } catch (Exception ex) {
+                assertThat(ex).hasRootCauseInstanceOf(NotFoundException.class);
+                return false;
+            }
+        });
+        assertThat(routed(REPLICA)).isGreaterThan(replicaBefore);
+    }
+
+    @Test
+    void checkoutResponse_setsStickyCookieHonouredByNextRequest() throws Exception {
+        awaitReplica(true);
+        String body = "{\"items\":[{\"productId\":" + firstProductId() + ",\"quantity\":1}]}";
+
+        MvcResult checkout = mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(cookie().exists(STICKY_COOKIE))
+                .andReturn();
+        Cookie stickyCookie = checkout.getResponse().getCookie(STICKY_COOKIE);
+        String id = checkout.getResponse().getContentAsString().replaceAll("^\\{\"id\":(\\d+).*$", "$1");
+
+        double sticky = routed("primary", "sticky");
+        mockMvc.perform(get("/api/orders/" + id).cookie(stickyCookie)).andExpect(status().isOk());
+        assertThat(routed("primary", "sticky") - sticky).isEqualTo(1);
+    }
+
+    @Test
+    void stoppedReplica_leavesRotationAndReadsFallBackToPrimary() throws Exception {
+        awaitReplica(true);
+        executeOnReplica("STOP REPLICA");
+        try {
+            awaitReplica(false);
+            double fallback = routed("primary", "no-replica");
+
+            onFreshThread(() -> productService.searchProducts(null, null, PageRequest.of(0, 5, Sort.by("id"))));
+
+            assertThat(routed("primary", "no-replica") - fallback).isEqualTo(1);
+        } finally {
+            executeOnReplica("START REPLICA");
+            awaitReplica(true);
+        }
+    }
+
+    private void awaitReplica(boolean healthy) throws InterruptedException {
+        ReplicaNode replica = replicaHealthMonitor.getReplicas().get(0);
+        await(() -> {
+            replicaHealthMonitor.checkReplicas();
+            return replica.isHealthy() == healthy;
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met within 30s").isLessThan(deadline);
+            Thread.sleep(200);
+        }
+    }
+
+    private static <T> T onFreshThread(Callable<T> action) throws Exception {
+        return FRESH_THREADS.submit(action).get();
+    }
+
+    private double routed(String target) {
+        return meterRegistry.find("store.datasource.route").tag("target", target).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.find("store.datasource.route").tags("target", target, "reason", reason).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private Long firstProductId() {
+        List<ProductResponse> products = productService.searchProducts(null, null, PageRequest.of(0, 1, Sort.by("id")))
+                .content();
+        return products.get(0).id();
+    }
+
+    private CreateOrderRequest orderRequest(Long productId) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+}
@@ -0,0 +1,194 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.store.dto.response.TopProductResponse;
+import com.yourname.store.service.StatisticsService;
+import com.yourname.store.shard.StoreContext;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ShardingIntegrationTest {
+
+    private static final String STORE_HEADER = "X-Store-Id";
+
+    // root: shard "south" là database thứ hai trên cùng server, được tạo khi pool mở kết nối đầu tiên
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("root")
+            .withPassword("test");
+
+    // Cửa hàng 1 trên datasource chính, cửa hàng 2 trên shard "south"; cả hai dùng schema Flyway
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("sharding.enabled", () -> true);
+        registry.add("sharding.shards.south.url", () -> shardUrl("convenience_store_south"));
+        registry.add("sharding.stores.1", () -> "main");
+        registry.add("sharding.stores.2", () -> "south");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    // Flyway seed sản phẩm cho cửa hàng 1 trên mọi database: trên shard south chúng thuộc cửa hàng 2
+    @BeforeEach
+    void assignSouthCatalogToStore2() {
+        inStore(2, () -> jdbcTemplate.update("UPDATE products SET store_id = 2 WHERE store_id = 1"));
+    }
+
+    @Test
+    void ordersAndCatalogOfAStoreLiveOnItsShard() throws Exception {
+        long product = productId(2, "P0001");
+
+        String code = createOrder(2, product, 1).get("code").asText();
+
+        assertThat(inStore(2, () -> jdbcTemplate.queryForObject(
+                "SELECT store_id FROM orders WHERE code = ?", Long.class, code))).isEqualTo(2L);
+        assertThat(inStore(1, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE code = ?", Integer.class, code))).isZero();
+        mockMvc.perform(get("/api/products").param("keyword", "P0001").header(STORE_HEADER, "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(product));
+        // outbox của shard south cũng được relay xử lý
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(inStore(2,
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class))).isZero());
+    }
+
+    @Test
+    void productsOfAnotherStoreCannotBeOrdered() throws Exception {
+        // cùng database chính nhưng thuộc cửa hàng 3
+        inStore(1, () -> jdbcTemplate.update("""
+                INSERT IGNORE INTO products (store_id, code, name, category_id, price, stock_qty, status, created_at)
+                SELECT 3, code, name, category_id, price, stock_qty, status, NOW() FROM products
+                WHERE store_id = 1 AND code = 'P0002'
+                """));
+        long otherStoreProduct = productId(3, "P0002");
+
+        mockMvc.perform(post("/api/orders").header(STORE_HEADER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson(otherStoreProduct, 1)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void chainTopProductsMergesEveryShard() throws Exception {
+        createOrder(1, productId(1, "P1001"), 2);
+        createOrder(2, productId(2, "P1001"), 3);
+        LocalDate today = LocalDate.now();
+
+        long main = soldQuantity(inStore(1, () -> statisticsService.getTopProducts(today, today, 100)));
+        long south = soldQuantity(inStore(2, () -> statisticsService.getTopProducts(today, today, 100)));
+        List<TopProductResponse> chain = statisticsService.getChainTopProducts(today, today, 100);
+
+        assertThat(main).isGreaterThanOrEqualTo(2);
+        assertThat(south).isGreaterThanOrEqualTo(3);
+        assertThat(soldQuantity(chain)).isEqualTo(main + south);
+        mockMvc.perform(get("/api/stats/top-products").param("from", today.toString())
+                        .param("to", today.toString()).param("scope", "chain"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.code == 'P1001')].soldQuantity").value((int) (main + south)));
+    }
+
+    @Test
+    void vnpayReferenceCarriesTheStore() throws Exception {
+        long orderId = createOrder(2, productId(2, "P0002"), 1).get("id").asLong();
+        inStore(2, () -> jdbcTemplate.update("UPDATE orders SET status = 'CREATED' WHERE id = ?", orderId));
+
+        mockMvc.perform(post("/api/orders/{id}/payments/vnpay", orderId).header(STORE_HEADER, "2"))
+                .andExpect(status().isOk());
+
+        String txnRef = inStore(2, () -> jdbcTemplate.queryForObject(
+                "SELECT txn_ref FROM payments WHERE order_id = ?", String.class, orderId));
+        assertThat(txnRef).startsWith("S2PAY");
+    }
+
+    @Test
+    void invalidOrUnknownStoreIsRejected() throws Exception {
+        mockMvc.perform(get("/api/products").header(STORE_HEADER, "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products").header(STORE_HEADER, "9"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown store: 9"));
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("Vary", hasItem(STORE_HEADER)));
+    }
+
+    private JsonNode createOrder(long storeId, long productId, int quantity) throws Exception {
+        String body = mockMvc.perform(post("/api/orders").header(STORE_HEADER, String.valueOf(storeId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderJson(productId, quantity)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private long productId(long storeId, String code) {
+        return inStore(storeId, () -> jdbcTemplate.queryForObject(
+                "SELECT id FROM products WHERE store_id = ? AND code = ?", Long.class, storeId, code));
+    }
+
+    private static long soldQuantity(List<TopProductResponse> products) {
+        return products.stream()
+                .filter(product -> "P1001".equals(product.code()))
+                .mapToLong(TopProductResponse::soldQuantity)
+                .sum();
+    }
+
+    private static <T> T inStore(long storeId, Supplier<T> action) {
+        return StoreContext.callInStore(storeId, action);
+    }
+
+    private static String orderJson(long productId, int quantity) {
+        return "{\"items\":[{\"productId\":" + productId + ",\"quantity\":" + quantity + "}]}";
+    }
+
+    private static String shardUrl(String database) {
+        return MYSQL.getJdbcUrl().replace("/" + MYSQL.getDatabaseName(), "/" + database)
+                + "?createDatabaseIfNotExist=true&useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC";
+    }
+}
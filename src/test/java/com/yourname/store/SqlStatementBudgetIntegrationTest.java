@@ -0,0 +1,178 @@
+package com.yourname.store;
+
+import static com.yourname.store.support.SqlStatementAssertions.assertNoRepeatedStatements;
+import static com.yourname.store.support.SqlStatementAssertions.assertSelects;
+import static com.yourname.store.support.SqlStatementAssertions.assertStatements;
+import static com.yourname.store.support.SqlStatementAssertions.reset;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.dto.request.CreateOrderRequest;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.dto.response.OrderSummaryResponse;
+import com.yourname.store.dto.response.PageResponse;
+import com.yourname.store.dto.response.ProductResponse;
+import com.yourname.store.paging.TotalMode;
+import com.yourname.store.service.OrderService;
+import com.yourname.store.service.ProductService;
+import com.yourname.store.service.StatisticsService;
+import com.yourname.store.support.SqlStatementAssertions;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class SqlStatementBudgetIntegrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("sql-monitor.enabled", () -> true);
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @AfterEach
+    void clearCounter() {
+        SqlStatementAssertions.clear();
+    }
+
+    @Test
+    void searchProducts_fetchesCategoriesWithPage() {
+        reset();
+        PageResponse<ProductResponse> page = productService.searchProducts(null, null, PageRequest.of(0, 5, Sort.by("id")));
+
+        assertThat(page.content()).allSatisfy(product -> assertThat(product.categoryName()).isNotNull());
+        // trang + count, category lấy bằng join
+        assertStatements(2);
+        assertNoRepeatedStatements();
+    }
+
+    @Test
+    void searchWithoutTotal_skipsCount() {
+        reset();
+        PageResponse<ProductResponse> page = productService.searchProducts(null, null,
+                PageRequest.of(0, 2, Sort.by("id")), TotalMode.NONE);
+
+        assertThat(page.content()).hasSize(2).allSatisfy(product -> assertThat(product.categoryName()).isNotNull());
+        assertThat(page.totalElements()).isNull();
+        assertThat(page.last()).isFalse();
+        // id của trang (size + 1 dòng) rồi sản phẩm kèm category, không có COUNT
+        assertStatements(2);
+        assertNoRepeatedStatements();
+
+        orderService.createOrder(orderRequest(firstProducts(2), true));
+        reset();
+        PageResponse<OrderSummaryResponse> orders = orderService.searchOrders(null, null, null,
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "orderDate")), TotalMode.NONE);
+
+        assertThat(orders.content()).isNotEmpty();
+        assertStatements(2);
+    }
+
+    @Test
+    void searchWithApproximateTotal_countsOnlyOnFirstRequest() {
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by("id"));
+        long exact = productService.searchProducts(null, null, pageable).totalElements();
+
+        reset();
+        PageResponse<ProductResponse> first = productService.searchProducts(null, null, pageable,
+                TotalMode.APPROXIMATE);
+        assertThat(first.totalElements()).isEqualTo(exact);
+        assertStatements(3);
+
+        reset();
+        PageResponse<ProductResponse> second = productService.searchProducts(null, null, pageable.next(),
+                TotalMode.APPROXIMATE);
+        assertThat(second.totalElements()).isEqualTo(exact);
+        assertThat(second.totalMode()).isEqualTo(TotalMode.APPROXIMATE);
+        // tổng lấy từ cache
+        assertStatements(2);
+    }
+
+    @Test
+    void getOrder_loadsItemsProductsPaymentsAndUserWithoutNPlusOne() {
+        OrderResponse created = orderService.createOrder(orderRequest(firstProducts(3), true));
+
+        reset();
+        OrderResponse order = orderService.getOrder(created.id());
+
+        assertThat(order.items()).hasSize(3);
+        // order, items+products, payments, user: không phụ thuộc số dòng
+        assertStatements(4);
+        assertNoRepeatedStatements();
+    }
+
+    @Test
+    void createOrder_loadsProductsInOneQuery() {
+        List<Long> productIds = firstProducts(3);
+
+        reset();
+        orderService.createOrder(orderRequest(productIds, false));
+
+        // một SELECT cho tất cả sản phẩm; insert order + order_codes + mỗi item một insert + một INSERT outbox
+        assertSelects(1);
+        assertStatements(1 + 1 + 1 + productIds.size() + 1);
+    }
+
+    @Test
+    void statistics_areSingleAggregateQueries() {
+        reset();
+        statisticsService.getTopProducts(LocalDate.now().minusDays(30), LocalDate.now(), 5);
+        assertStatements(1);
+
+        reset();
+        statisticsService.getDailyRevenueStats(LocalDate.now().minusDays(30), LocalDate.now());
+        assertStatements(1);
+    }
+
+    private List<Long> firstProducts(int count) {
+        return productService.searchProducts(null, null, PageRequest.of(0, count, Sort.by("id")))
+                .content().stream()
+                .map(ProductResponse::id)
+                .toList();
+    }
+
+    private CreateOrderRequest orderRequest(List<Long> productIds, boolean withCustomer) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        if (withCustomer) {
+            request.setCustomerName("Budget Customer");
+            request.setCustomerPhone("0933444555");
+            request.setCustomerAddress("Da Nang");
+        }
+        request.setItems(productIds.stream().map(id -> {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(id);
+            item.setQuantity(1);
+            return item;
+        }).toList());
+        return request;
+    }
+}
@@ -0,0 +1,258 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.yourname.store.dto.request.CreateOrderRequest;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.entity.Order;
+import com.yourname.store.entity.OrderStatus;
+import com.yourname.store.exception.BadRequestException;
+import com.yourname.store.inventory.StockLedger;
+import com.yourname.store.service.OrderService;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class StockLedgerIntegrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    // Schema Flyway (V11__stock_ledger.sql), chế độ ledger; compaction được gọi tay trong test
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("warmup.enabled", () -> false);
+        registry.add("inventory.ledger.stock-writes", () -> "ledger");
+        registry.add("inventory.ledger.compaction-interval", () -> "PT1H");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void restockIsPendingUntilCompacted() throws Exception {
+        long id = productId("P0001");
+        int before = storedStock(id);
+
+        mockMvc.perform(post("/api/inventory/products/{id}/movements", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\": \"RESTOCK\", \"delta\": 20, \"note\": \"supplier delivery\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockQty").value(before + 20));
+
+        // chỉ ghi thêm vào sổ kho, dòng sản phẩm không bị đụng tới
+        assertThat(storedStock(id)).isEqualTo(before);
+        assertThat(stockLedger.currentStock(id)).isEqualTo(before + 20);
+        mockMvc.perform(get("/api/inventory/products/{id}/stock", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockQty").value(before + 20));
+
+        stockLedger.compact();
+
+        assertThat(storedStock(id)).isEqualTo(before + 20);
+        assertThat(stockLedger.currentStock(id)).isEqualTo(before + 20);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_movements WHERE product_id = ? AND compacted = FALSE", Integer.class, id))
+                .isZero();
+    }
+
+    @Test
+    void invalidManualMovementsAreRejected() throws Exception {
+        long id = productId("P0002");
+        int before = stockLedger.currentStock(id);
+
+        movement(id, "{\"type\": \"SALE\", \"delta\": -1}");
+        movement(id, "{\"type\": \"RESTOCK\", \"delta\": -5}");
+        movement(id, "{\"type\": \"ADJUSTMENT\", \"delta\": 0}");
+        movement(id, "{\"type\": \"ADJUSTMENT\", \"delta\": " + (-before - 1) + "}");
+
+        assertThat(stockLedger.currentStock(id)).isEqualTo(before);
+    }
+
+    @Test
+    void paidAndCanceledOrdersAppendSaleAndCancelMovements() {
+        long id = productId("P1001");
+        int before = stockLedger.currentStock(id);
+        OrderResponse created = orderService.createOrder(orderRequest(id, 3));
+
+        // luồng VNPAY: đơn chờ thanh toán rồi được thanh toán
+        Order order = orderService.getOrderEntity(created.id());
+        order.setStatus(OrderStatus.CREATED);
+        orderService.handleOrderPaid(order);
+        assertThat(stockLedger.currentStock(id)).isEqualTo(before - 3);
+
+        Order paid = orderService.getOrderEntity(created.id());
+        orderService.handleOrderCanceled(paid);
+        paid.setStatus(OrderStatus.CREATED);
+        orderService.handleOrderCanceled(paid);
+
+        assertThat(stockLedger.currentStock(id)).isEqualTo(before);
+        assertThat(jdbcTemplate.queryForList("SELECT type, delta FROM stock_movements WHERE order_id = ? ORDER BY id",
+                created.id()))
+                .extracting(row -> row.get("type"), row -> ((Number) row.get("delta")).intValue())
+                .containsExactly(tuple("SALE", -3), tuple("CANCEL", 3));
+    }
+
+    @Test
+    void importedStockCountIsRecordedAsAdjustment() throws Exception {
+        long id = productId("P2001");
+        int before = stockLedger.currentStock(id);
+
+        mockMvc.perform(post("/api/products/import").contentType("text/csv")
+                        .content("code,name,category,price,stock_qty\nP2001,Fresh Milk 1L,Dairy,32000," + (before + 7)
+                                + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertThat(stockLedger.currentStock(id)).isEqualTo(before + 7);
+        assertThat(jdbcTemplate.queryForList("SELECT type, delta, note FROM stock_movements WHERE product_id = ?", id))
+                .extracting(row -> row.get("type"), row -> ((Number) row.get("delta")).intValue(),
+                        row -> row.get("note"))
+                .containsExactly(tuple("ADJUSTMENT", 7, "import"));
+    }
+
+    @Test
+    void stockAtTimeUsesNearestSnapshotAndMovementsAfterIt() throws Exception {
+        long id = productId("P1002");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("UPDATE products SET created_at = ?, updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(now.minusDays(1)), Timestamp.valueOf(now), id);
+        int current = stockLedger.currentStock(id);
+        // lịch sử đã nằm trong stock_qty
+        history(id, now.minusHours(3), -5);
+        history(id, now.minusHours(2), 10);
+
+        assertThat(stockLedger.stockAt(id, now.minusMinutes(150))).isEqualTo(current - 10);
+        assertThat(stockLedger.stockAt(id, now.minusHours(4))).isEqualTo(current - 5);
+        assertThat(stockLedger.stockAt(id, now.minusDays(2))).isZero();
+        mockMvc.perform(get("/api/inventory/products/{id}/stock", id)
+                        .param("at", now.minusMinutes(150).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockQty").value(current - 10));
+
+        // có snapshot thì chỉ cộng các dòng sau nó
+        jdbcTemplate.update("INSERT INTO stock_snapshots (store_id, product_id, stock_qty, taken_at) "
+                + "VALUES (1, ?, 999, ?)", id, Timestamp.valueOf(now.minusMinutes(150)));
+        assertThat(stockLedger.stockAt(id, now.minusMinutes(100))).isEqualTo(1009);
+
+        stockLedger.snapshot();
+        List<Integer> taken = jdbcTemplate.queryForList("SELECT stock_qty FROM stock_snapshots "
+                + "WHERE product_id = ? AND taken_at > ?", Integer.class, id, Timestamp.valueOf(now.minusHours(2)));
+        assertThat(taken).containsExactly(current);
+    }
+
+    @Test
+    void lastUnitIsSoldOnlyOnce() throws Exception {
+        long id = productId("P1002");
+        stockLedger.compact();
+        jdbcTemplate.update("UPDATE products SET stock_qty = 1, status = 'ACTIVE' WHERE id = ?", id);
+        Order first = pendingOrder(id);
+        Order second = pendingOrder(id);
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService payments = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> paid = new ArrayList<>();
+            for (Order order : List.of(first, second)) {
+                paid.add(payments.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.handleOrderPaid(order);
+                        return true;
+                    } catch (BadRequestException ex) {
+                        return false;
+                    }
+                }));
+            }
+            assertThat(List.of(paid.get(0).get(), paid.get(1).get())).containsExactlyInAnyOrder(true, false);
+        } finally {
+            payments.shutdownNow();
+        }
+
+        // sổ kho chưa gộp cũng được tính: không bán âm, trạng thái theo số còn lại thật
+        assertThat(stockLedger.currentStock(id)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM products WHERE id = ?", String.class, id))
+                .isEqualTo("OUT_OF_STOCK");
+    }
+
+    private Order pendingOrder(long productId) {
+        Order order = orderService.getOrderEntity(orderService.createOrder(orderRequest(productId, 1)).id());
+        order.setStatus(OrderStatus.CREATED);
+        return order;
+    }
+
+    private void movement(long id, String body) throws Exception {
+        mockMvc.perform(post("/api/inventory/products/{id}/movements", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void history(long id, LocalDateTime at, int delta) {
+        jdbcTemplate.update("INSERT INTO stock_movements (store_id, product_id, type, delta, compacted, created_at) "
+                + "VALUES (1, ?, 'ADJUSTMENT', ?, TRUE, ?)", id, delta, Timestamp.valueOf(at));
+    }
+
+    private static CreateOrderRequest orderRequest(long productId, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private int storedStock(long id) {
+        return jdbcTemplate.queryForObject("SELECT stock_qty FROM products WHERE id = ?", Integer.class, id);
+    }
+
+    private long productId(String code) {
+        return jdbcTemplate.queryForObject("SELECT id FROM products WHERE code = ?", Long.class, code);
+    }
+}
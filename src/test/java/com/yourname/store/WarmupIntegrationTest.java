@@ -0,0 +1,148 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.yourname.store.service.StatisticsService;
+import com.yourname.store.warmup.WarmupRunner;
+import com.yourname.store.warmup.WarmupStepReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+class WarmupIntegrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.defer-datasource-initialization", () -> false);
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("warmup.iterations", () -> 20);
+        registry.add("warmup.step-iterations.invoice-pdf", () -> 3);
+    }
+
+    @TestConfiguration
+    static class ReadinessRecorder {
+
+        @Bean
+        ReadinessListener readinessListener(WarmupRunner warmupRunner) {
+            return new ReadinessListener(warmupRunner);
+        }
+    }
+
+    // Ghi lại số bước warm-up đã xong tại thời điểm readiness chuyển sang ACCEPTING_TRAFFIC
+    static class ReadinessListener {
+
+        private final WarmupRunner warmupRunner;
+        volatile int stepsDoneWhenReady = -1;
+
+        ReadinessListener(WarmupRunner warmupRunner) {
+            this.warmupRunner = warmupRunner;
+        }
+
+        @EventListener
+        void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                stepsDoneWhenReady = warmupRunner.reports().size();
+            }
+        }
+    }
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private ReadinessListener readinessListener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Test
+    void everyHotPathIsWarmedBeforeReadiness() {
+        assertThat(warmupRunner.reports())
+                .extracting(WarmupStepReport::step)
+                .containsExactly("product-search", "order-mapping", "vnpay-signing", "invoice-pdf", "stats");
+        assertThat(warmupRunner.reports())
+                .extracting(WarmupStepReport::iterations)
+                .containsExactly(20, 20, 20, 3, 20);
+        assertThat(warmupRunner.reports()).allSatisfy(report -> {
+            assertThat(report.error()).isNull();
+            assertThat(report.lateMedianMillis()).isPositive();
+        });
+        assertThat(readinessListener.stepsDoneWhenReady).isEqualTo(5);
+    }
+
+    @Test
+    void warmUpWritesNothing() {
+        assertThat(count("SELECT COUNT(*) FROM orders")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM payments")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM outbox_events")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM products WHERE code LIKE 'WARMUP%'")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM users WHERE phone = '0900000000'")).isZero();
+    }
+
+    @Test
+    void warmUpStaysOutOfTheTimers() {
+        // bước invoice-pdf và stats đi qua các service có @Timed nhưng không được ghi vào histogram
+        assertThat(meterRegistry.find("store.report.invoice").timers()).isEmpty();
+        assertThat(meterRegistry.find("store.stats.query").timers()).isEmpty();
+
+        statisticsService.getDailyRevenueStats(LocalDate.now().minusDays(1), LocalDate.now());
+        assertThat(meterRegistry.get("store.stats.query").tag("query", "daily-revenue").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void readinessAndInfoExposeTheWarmUp() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/info"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.warmup.steps[3].step").value("invoice-pdf"))
+                .andExpect(jsonPath("$.warmup.steps[3].iterations").value(3));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
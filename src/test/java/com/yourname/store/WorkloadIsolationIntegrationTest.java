@@ -0,0 +1,111 @@
+package com.yourname.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WorkloadIsolationIntegrationTest {
+
+    private static final int REPORT_REQUESTS = 30;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("convenience_store_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?useUnicode=true&characterEncoding=UTF-8&serverTimezone=UTC");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("workload.enabled", () -> true);
+        registry.add("workload.reporting.max-concurrent", () -> 1);
+        registry.add("workload.reporting.pool-size", () -> 1);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void reportBurst_isRejectedWhileCheckoutKeepsWorking() throws Exception {
+        Long productId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM products WHERE status = 'ACTIVE' AND stock_qty > 10", Long.class);
+        CyclicBarrier start = new CyclicBarrier(REPORT_REQUESTS);
+        ExecutorService workers = Executors.newFixedThreadPool(REPORT_REQUESTS);
+        List<Future<Integer>> reports = new ArrayList<>();
+        try {
+            for (int i = 0; i < REPORT_REQUESTS; i++) {
+                reports.add(workers.submit(() -> {
+                    start.await();
+                    return get("/api/stats/revenue?granularity=day&from=2025-01-01&to=2025-12-31").statusCode();
+                }));
+            }
+            for (int i = 0; i < 3; i++) {
+                HttpResponse<String> checkout = post("/api/orders",
+                        "{\"items\":[{\"productId\":" + productId + ",\"quantity\":1}]}");
+                assertThat(checkout.statusCode()).as(checkout.body()).isEqualTo(200);
+            }
+
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> report : reports) {
+                statuses.add(report.get());
+            }
+            assertThat(statuses).containsOnly(200, 429).contains(429);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        // Báo cáo chạy trên pool riêng, không lấy kết nối của checkout
+        assertThat(meterRegistry.get("hikaricp.connections.usage").tag("pool", "workload-reporting").timer().count())
+                .isPositive();
+        assertThat(meterRegistry.get("store.workload.requests")
+                .tags("workload", "reporting", "outcome", "rejected").counter().count()).isPositive();
+        assertThat(meterRegistry.get("store.workload.requests")
+                .tags("workload", "checkout", "outcome", "admitted").counter().count()).isEqualTo(3);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,126 @@
+package com.yourname.store.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Load test for {@code POST /api/orders} against a running instance. Start the application once with the
+ * default profile and once with {@code virtual-threads}, then run:
+ *
+ * <pre>
+ * mvn test -Dtest=OrderCheckoutLoadBenchmark -Dbenchmark.baseUrl=http://localhost:8080 \
+ *     -Dbenchmark.concurrency=400 -Dbenchmark.requests=20000
+ * </pre>
+ *
+ * Throughput and latency percentiles are printed so the two modes can be compared side by side.
+ */
+@EnabledIfSystemProperty(named = "benchmark.baseUrl", matches = ".+")
+class OrderCheckoutLoadBenchmark {
+
+    private static final Pattern FIRST_PRODUCT_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    @Test
+    void createOrder_underHighConcurrency() throws Exception {
+        String baseUrl = System.getProperty("benchmark.baseUrl");
+        int concurrency = Integer.getInteger("benchmark.concurrency", 200);
+        int totalRequests = Integer.getInteger("benchmark.requests", 10_000);
+        int warmupRequests = Integer.getInteger("benchmark.warmup", 500);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        String body = orderBody(findProductId(client, baseUrl));
+
+        run(client, baseUrl, body, Math.min(concurrency, 50), warmupRequests);
+        Result result = run(client, baseUrl, body, concurrency, totalRequests);
+
+        System.out.printf("POST /api/orders concurrency=%d requests=%d errors=%d%n",
+                concurrency, totalRequests, result.errors());
+        System.out.printf("  throughput: %.1f req/s%n", result.throughput());
+        System.out.printf("  latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                result.percentile(50), result.percentile(90), result.percentile(99), result.percentile(100));
+        assertThat(result.errors()).isLessThan(totalRequests);
+    }
+
+    private Result run(HttpClient client, String baseUrl, String body, int concurrency, int requests)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int w = 0; w < concurrency; w++) {
+                futures.add(workers.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < requests) {
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - begin;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        Arrays.sort(latencies);
+        return new Result(latencies, errors.get(), requests / seconds);
+    }
+
+    private long findProductId(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products?size=1&sort=code,asc"))
+                .GET()
+                .build();
+        String json = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = FIRST_PRODUCT_ID.matcher(json);
+        assertThat(matcher.find()).as("no product available at %s", baseUrl).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private String orderBody(long productId) {
+        return "{\"note\":\"load test\",\"items\":[{\"productId\":" + productId + ",\"quantity\":1}]}";
+    }
+
+    private record Result(long[] sortedLatencies, int errors, double throughput) {
+
+        double percentile(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.yourname.store.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Time-to-ready of the packaged application per startup mode. Each run launches the jar on a free port and polls
+ * {@code /actuator/health/readiness} until it reports {@code UP}:
+ *
+ * <pre>
+ * mvn -Paot -DskipTests package
+ * java -Djarmode=tools -jar target/convenience-store-0.0.1-SNAPSHOT.jar extract --destination target/app
+ * # CDS archive: the Dockerfile training run, started inside target/app
+ * java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh ... -jar convenience-store-0.0.1-SNAPSHOT.jar
+ * mvn test -Dtest=StartupTimeBenchmark -Dbenchmark.jar=target/app/convenience-store-0.0.1-SNAPSHOT.jar \
+ *     -Dbenchmark.jdbcServer=jdbc:mysql://localhost:3306 -Dbenchmark.aot=true \
+ *     -Dbenchmark.cdsArchive=target/app/app.jsa -Dbenchmark.runs=5
+ * </pre>
+ *
+ * The default and {@code fast-start} modes always run; AOT and CDS are added when the jar was built with
+ * {@code -Paot} or an archive is given. Every mode gets its own database, since the default mode lets Hibernate
+ * create the schema and Flyway refuses to migrate a schema it did not create. Warm-up runs absorb the first
+ * migration, so the printed numbers are restarts against an existing schema.
+ */
+@EnabledIfSystemProperty(named = "benchmark.jar", matches = ".+")
+class StartupTimeBenchmark {
+
+    private static final Pattern READY_TIME = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    void timeToReady_perStartupMode() throws Exception {
+        Path jar = Path.of(System.getProperty("benchmark.jar")).toAbsolutePath();
+        int runs = Integer.getInteger("benchmark.runs", 3);
+        int warmup = Integer.getInteger("benchmark.warmup", 1);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of());
+        modes.put("fast-start", List.of("-Dspring.profiles.active=fast-start"));
+        if (Boolean.getBoolean("benchmark.aot")) {
+            modes.put("fast-start+aot", List.of("-Dspring.profiles.active=fast-start", "-Dspring.aot.enabled=true"));
+        }
+        String cdsArchive = System.getProperty("benchmark.cdsArchive");
+        if (cdsArchive != null && !cdsArchive.isBlank()) {
+            List<String> cds = new ArrayList<>(modes.getOrDefault("fast-start+aot", modes.get("fast-start")));
+            cds.add("-XX:SharedArchiveFile=" + Path.of(cdsArchive).toAbsolutePath());
+            modes.put(cds.contains("-Dspring.aot.enabled=true") ? "fast-start+aot+cds" : "fast-start+cds", cds);
+        }
+
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<String> jvmArgs = withDatabase(mode.getValue(), mode.getKey());
+            for (int i = 0; i < warmup; i++) {
+                start(jar, jvmArgs);
+            }
+            long[] wallMillis = new long[runs];
+            double[] readySeconds = new double[runs];
+            for (int i = 0; i < runs; i++) {
+                Startup startup = start(jar, jvmArgs);
+                wallMillis[i] = startup.wallMillis();
+                readySeconds[i] = startup.readySeconds();
+            }
+            Arrays.sort(wallMillis);
+            Arrays.sort(readySeconds);
+            System.out.printf("%-20s runs=%d time-to-ready ms: median=%d min=%d | application.ready.time s: median=%.2f%n",
+                    mode.getKey(), runs, wallMillis[runs / 2], wallMillis[0], readySeconds[runs / 2]);
+        }
+    }
+
+    private Startup start(Path jar, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-Dserver.port=" + port);
+        command.add("-jar");
+        command.add(jar.toString());
+        Path log = Files.createTempFile("startup-benchmark", ".log");
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(jar.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            String baseUrl = "http://localhost:" + port;
+            awaitReady(process, baseUrl, log);
+            long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            return new Startup(wallMillis, readyTime(baseUrl));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private void awaitReady(Process process, String baseUrl, Path log) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(process.isAlive())
+                    .as("application exited during startup:%n%s", Files.readString(log))
+                    .isTrue();
+            try {
+                HttpResponse<String> response = client.send(readiness, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // cổng chưa mở
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("application not ready within " + READY_TIMEOUT);
+    }
+
+    private double readyTime(String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/application.ready.time"))
+                .build();
+        Matcher matcher = READY_TIME.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+    // Mỗi mode một database riêng trên cùng server; không có jdbcServer thì dùng datasource cấu hình sẵn của jar
+    private static List<String> withDatabase(List<String> jvmArgs, String mode) {
+        String server = System.getProperty("benchmark.jdbcServer");
+        if (server == null || server.isBlank()) {
+            return jvmArgs;
+        }
+        String database = "startup_bench_" + mode.replaceAll("[^a-z0-9]", "_");
+        List<String> args = new ArrayList<>(jvmArgs);
+        args.add("-Dspring.datasource.url=" + server + "/" + database
+                + "?createDatabaseIfNotExist=true&serverTimezone=UTC");
+        args.add("-Dspring.datasource.username=" + System.getProperty("benchmark.dbUser", "root"));
+        args.add("-Dspring.datasource.password=" + System.getProperty("benchmark.dbPassword", ""));
+        return args;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Startup(long wallMillis, double readySeconds) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.yourname.store.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.entity.StockMovementType;
+import com.yourname.store.inventory.InventoryProperties;
+import com.yourname.store.inventory.StockLedger;
+import com.yourname.store.inventory.StockWriteMode;
+import com.yourname.store.shard.ShardRouter;
+import com.yourname.store.shard.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sales of one hot product from many threads, written through {@link StockLedger} in both modes:
+ * {@code in-place} (movement row + {@code stock_qty = stock_qty - 1} on the product row, so every sale waits for
+ * the previous one's row lock) and {@code ledger} (the product row is only locked for the stock check, the
+ * movement row is compacted on a background thread as in production). Runs against an empty database that it
+ * migrates with Flyway:
+ *
+ * <pre>
+ * mvn test -Dtest=StockContentionBenchmark \
+ *     -Dbenchmark.jdbcUrl="jdbc:mysql://localhost:3306/stock_bench?createDatabaseIfNotExist=true" \
+ *     -Dbenchmark.threads=32 -Dbenchmark.sales=20000
+ * </pre>
+ *
+ * Prints throughput, latency percentiles and InnoDB row lock waits per mode, and checks that both end with the
+ * same stock.
+ */
+@EnabledIfSystemProperty(named = "benchmark.jdbcUrl", matches = ".+")
+class StockContentionBenchmark {
+
+    private static final int INITIAL_STOCK = 10_000_000;
+
+    @Test
+    void hotProductSales_inPlaceVersusLedger() throws Exception {
+        String url = System.getProperty("benchmark.jdbcUrl");
+        String user = System.getProperty("benchmark.user", "root");
+        String password = System.getProperty("benchmark.password", "");
+        int threads = Integer.getInteger("benchmark.threads", 32);
+        int sales = Integer.getInteger("benchmark.sales", 20_000);
+        int warmup = Integer.getInteger("benchmark.warmup", 1_000);
+
+        Flyway.configure().dataSource(url, user, password).load().migrate();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, user, password);
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+
+        for (StockWriteMode mode : StockWriteMode.values()) {
+            long productId = createHotProduct(admin, mode);
+            Result warm = run(dataSource, mode, productId, Math.min(threads, 8), warmup);
+            long lockWaits = status(admin, "Innodb_row_lock_waits");
+            long lockTime = status(admin, "Innodb_row_lock_time");
+            Result result = run(dataSource, mode, productId, threads, sales);
+            lockWaits = status(admin, "Innodb_row_lock_waits") - lockWaits;
+            lockTime = status(admin, "Innodb_row_lock_time") - lockTime;
+
+            Integer stock = admin.queryForObject("SELECT stock_qty FROM products WHERE id = ?", Integer.class,
+                    productId);
+            System.out.printf("%s threads=%d sales=%d errors=%d%n", mode, threads, sales, result.errors());
+            System.out.printf("  throughput: %.1f sales/s%n", result.throughput());
+            System.out.printf("  latency ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n", result.percentile(50),
+                    result.percentile(90), result.percentile(99), result.percentile(100));
+            System.out.printf("  row lock waits: %d (%d ms total)%n", lockWaits, lockTime);
+            assertThat(result.errors()).isZero();
+            assertThat(stock).isEqualTo(INITIAL_STOCK - warmup - sales + warm.errors());
+        }
+    }
+
+    private static long createHotProduct(JdbcTemplate jdbcTemplate, StockWriteMode mode) {
+        jdbcTemplate.update("INSERT IGNORE INTO categories (name) VALUES ('Benchmark')");
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories WHERE name = 'Benchmark'",
+                Long.class);
+        String code = "HOT-" + mode + "-" + System.currentTimeMillis();
+        jdbcTemplate.update("INSERT INTO products (store_id, code, name, category_id, price, stock_qty, status, "
+                + "created_at, updated_at) VALUES (1, ?, 'Hot product', ?, 10000, ?, 'ACTIVE', NOW(), NOW())",
+                code, categoryId, INITIAL_STOCK);
+        return jdbcTemplate.queryForObject("SELECT id FROM products WHERE code = ?", Long.class, code);
+    }
+
+    private static Result run(DriverManagerDataSource dataSource, StockWriteMode mode, long productId, int threads,
+            int sales) throws Exception {
+        InventoryProperties properties = new InventoryProperties();
+        properties.getLedger().setStockWrites(mode);
+        ShardRouter shardRouter = new ShardRouter(new ShardingProperties(), new SimpleMeterRegistry());
+
+        long[] latencies = new long[sales];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService workers = Executors.newFixedThreadPool(threads + 1);
+        // ở ledger mỗi lần bán mượn thêm một kết nối để đọc movement đã commit, nên pool gấp đôi số luồng
+        HikariDataSource pool = pool(dataSource, 2 * threads + 1);
+        StockLedger ledger = new StockLedger(new JdbcTemplate(pool), shardRouter, properties,
+                new DataSourceTransactionManager(pool));
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(pool));
+        long started;
+        long elapsed;
+        try {
+            // compaction chạy song song như trong ứng dụng (ở in-place không có gì để gộp)
+            Future<?> compaction = workers.submit(() -> {
+                while (running.get()) {
+                    ledger.compact();
+                    sleep(properties.getLedger().getCompactionInterval().toMillis());
+                }
+            });
+
+            List<Runnable> tasks = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                List<StockLedger.Movement> sale = List.of(new StockLedger.Movement(1, productId,
+                        StockMovementType.SALE, -1, null, null));
+                tasks.add(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < sales) {
+                        long begin = System.nanoTime();
+                        try {
+                            transaction.executeWithoutResult(status -> ledger.sell(sale));
+                        } catch (RuntimeException ex) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - begin;
+                    }
+                });
+            }
+            List<Future<?>> futures = new ArrayList<>(threads);
+            started = System.nanoTime();
+            tasks.forEach(task -> futures.add(workers.submit(task)));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsed = System.nanoTime() - started;
+            running.set(false);
+            compaction.get();
+            // gộp nốt phần còn lại để so sánh stock_qty giữa hai chế độ
+            while (new JdbcTemplate(pool).queryForObject(
+                    "SELECT COUNT(*) FROM stock_movements WHERE compacted = FALSE", Integer.class) > 0) {
+                ledger.compact();
+            }
+        } finally {
+            running.set(false);
+            workers.shutdownNow();
+            pool.close();
+        }
+        return new Result(latencies, errors.get(), elapsed);
+    }
+
+    private static HikariDataSource pool(DriverManagerDataSource dataSource, int size) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(dataSource.getUrl());
+        pool.setUsername(dataSource.getUsername());
+        pool.setPassword(dataSource.getPassword());
+        pool.setMaximumPoolSize(size);
+        pool.setMinimumIdle(size);
+        return pool;
+    }
+
+    private static long status(JdbcTemplate jdbcTemplate, String name) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SHOW GLOBAL STATUS LIKE '" + name + "'");
+        return Long.parseLong(String.valueOf(row.get("Value")));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(long[] latencies, int errors, long elapsedNanos) {
+
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
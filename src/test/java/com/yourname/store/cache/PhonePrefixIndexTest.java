@@ -0,0 +1,51 @@
+package com.yourname.store.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PhonePrefixIndexTest {
+
+    @Test
+    void findByPrefix_shouldReturnMatchesInPhoneOrderUpToLimit() {
+        PhonePrefixIndex index = new PhonePrefixIndex();
+        index.put("0912000002", "B");
+        index.put("0912000001", "A");
+        index.put("0987000000", "C");
+        index.put("0912000003", "D");
+
+        assertThat(index.findByPrefix("0912", 2))
+                .extracting(PhonePrefixIndex.Entry::phone)
+                .containsExactly("0912000001", "0912000002");
+        assertThat(index.findByPrefix("098", 10))
+                .extracting(PhonePrefixIndex.Entry::name)
+                .containsExactly("C");
+        assertThat(index.findByPrefix("0999", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void put_shouldUpdateNameAndIgnoreNonDigits() {
+        PhonePrefixIndex index = new PhonePrefixIndex();
+        index.put("0912000001", "Old");
+        index.put("0912000001", "New");
+        index.put("09-12", "Invalid");
+
+        assertThat(index.findByPrefix("0912", 10))
+                .containsExactly(new PhonePrefixIndex.Entry("0912000001", "New"));
+        assertThat(index.findByPrefix("09a", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void replaceAll_shouldSwapContents() {
+        PhonePrefixIndex index = new PhonePrefixIndex();
+        index.put("0912000001", "A");
+        index.replaceAll(Map.of("0933000001", "X", "0933000002", "Y"));
+
+        assertThat(index.findByPrefix("0912", 10)).isEmpty();
+        assertThat(index.findByPrefix("0933", 10)).hasSize(2);
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
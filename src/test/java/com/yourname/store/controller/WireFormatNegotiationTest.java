@@ -0,0 +1,134 @@
+package com.yourname.store.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yourname.store.dto.request.CreateOrderRequest;
+import com.yourname.store.dto.request.OrderItemRequest;
+import com.yourname.store.dto.response.OrderResponse;
+import com.yourname.store.dto.response.PageResponse;
+import com.yourname.store.dto.response.ProductResponse;
+import com.yourname.store.entity.OrderStatus;
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.idempotency.IdempotentResponse;
+import com.yourname.store.service.IdempotencyService;
+import com.yourname.store.service.OrderExportService;
+import com.yourname.store.service.OrderService;
+import com.yourname.store.service.PaymentService;
+import com.yourname.store.service.ProductImportService;
+import com.yourname.store.service.ProductService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = { ProductController.class, OrderController.class })
+class WireFormatNegotiationTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    private final ObjectMapper cborMapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductService productService;
+
+    @MockBean
+    private ProductImportService productImportService;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void runWithoutIdempotencyKey() {
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new IdempotentResponse<>(invocation.<Supplier<?>>getArgument(4).get(), false));
+    }
+
+    @Test
+    void productPage_isCborWhenAskedAndJsonByDefault() throws Exception {
+        PageResponse<ProductResponse> page = new PageResponse<>(List.of(new ProductResponse(1L, "SP0001", "Sữa tươi",
+                2L, "Dairy", new BigDecimal("32000.00"), 80, ProductStatus.ACTIVE,
+                LocalDateTime.of(2025, 1, 1, 8, 0))), 0, 20, 1, 1, true);
+        when(productService.searchProducts(any(), any(), any(), any())).thenReturn(page);
+
+        byte[] body = mockMvc.perform(get("/api/products").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().stringValues("Vary", org.hamcrest.Matchers.hasItem("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+        PageResponse<ProductResponse> decoded = cborMapper.readValue(body, new TypeReference<>() {
+        });
+        assertThat(decoded).isEqualTo(page);
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void createOrder_acceptsCborBody() throws Exception {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(3L);
+        item.setQuantity(2);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setNote("ban tai quay");
+        request.setItems(List.of(item));
+        OrderResponse created = new OrderResponse(10L, "ORD-20250101120000-1", null, null, null,
+                LocalDateTime.of(2025, 1, 1, 12, 0), OrderStatus.PAID, new BigDecimal("64000.00"), "ban tai quay",
+                List.of(), List.of());
+        when(orderService.createOrder(eq(request))).thenReturn(created);
+
+        byte[] body = mockMvc.perform(post("/api/orders")
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readValue(body, OrderResponse.class)).isEqualTo(created);
+        verify(orderService).createOrder(eq(request));
+    }
+
+    @Test
+    void createOrder_validatesCborBody() throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of());
+
+        mockMvc.perform(post("/api/orders")
+                        .contentType(CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isBadRequest());
+    }
+}
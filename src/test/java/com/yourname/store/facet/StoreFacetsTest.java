@@ -0,0 +1,134 @@
+package com.yourname.store.facet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.entity.ProductStatus;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StoreFacetsTest {
+
+    private static final long DRINKS = 1;
+    private static final long SNACKS = 2;
+
+    private final PriceBands priceBands = new PriceBands(List.of(new BigDecimal("10000"), new BigDecimal("20000")));
+    private StoreFacets facets;
+
+    @BeforeEach
+    void setUp() {
+        facets = new StoreFacets(priceBands);
+        facets.put(row(1, "Trà Xanh", DRINKS, "Drinks", "8000", 10, ProductStatus.ACTIVE));
+        facets.put(row(2, "Cà phê sữa", DRINKS, "Drinks", "12000", 0, ProductStatus.OUT_OF_STOCK));
+        facets.put(row(3, "Nước cam", DRINKS, "Drinks", "25000", 5, ProductStatus.ACTIVE));
+        facets.put(row(4, "Bánh quy trà xanh", SNACKS, "Snacks", "15000", 7, ProductStatus.ACTIVE));
+        facets.put(row(5, "Đậu phộng", SNACKS, "Snacks", "9000", 3, ProductStatus.INACTIVE));
+    }
+
+    @Test
+    void priceBandsSplitOnBoundaries() {
+        assertThat(priceBands.bandOf(new BigDecimal("9999.99"))).isZero();
+        assertThat(priceBands.bandOf(new BigDecimal("10000"))).isEqualTo(1);
+        assertThat(priceBands.bandOf(new BigDecimal("20000"))).isEqualTo(2);
+        assertThat(priceBands.label(0)).isEqualTo("< 10000");
+        assertThat(priceBands.label(1)).isEqualTo("10000 - 20000");
+        assertThat(priceBands.label(2)).isEqualTo(">= 20000");
+    }
+
+    @Test
+    void withoutFilterEveryValueIsCounted() {
+        FacetCounts counts = facets.count(FacetFilter.NONE, null);
+
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.categories()).containsExactly(entry(DRINKS, 3L), entry(SNACKS, 2L));
+        assertThat(counts.statuses()).containsEntry(ProductStatus.ACTIVE, 3L)
+                .containsEntry(ProductStatus.INACTIVE, 1L)
+                .containsEntry(ProductStatus.OUT_OF_STOCK, 1L);
+        assertThat(counts.priceBands()).containsExactly(2L, 2L, 1L);
+        assertThat(counts.inStock()).isEqualTo(4);
+        assertThat(counts.outOfStock()).isEqualTo(1);
+    }
+
+    @Test
+    void facetIsCountedAgainstTheOtherFacetsSelections() {
+        FacetCounts counts = facets.count(new FacetFilter(Set.of(DRINKS), null, null, true), null);
+
+        // đồ uống còn hàng: sản phẩm 1 và 3
+        assertThat(counts.total()).isEqualTo(2);
+        // danh mục đếm theo "còn hàng" nhưng bỏ qua lựa chọn danh mục
+        assertThat(counts.categories()).containsExactly(entry(DRINKS, 2L), entry(SNACKS, 2L));
+        // còn hàng/hết hàng đếm trong đồ uống
+        assertThat(counts.inStock()).isEqualTo(2);
+        assertThat(counts.outOfStock()).isEqualTo(1);
+        assertThat(counts.priceBands()).containsExactly(1L, 0L, 1L);
+        assertThat(counts.statuses()).containsEntry(ProductStatus.ACTIVE, 2L)
+                .containsEntry(ProductStatus.OUT_OF_STOCK, 0L);
+    }
+
+    @Test
+    void valuesOfOneFacetAreOred() {
+        FacetCounts counts = facets.count(new FacetFilter(null, Set.of(ProductStatus.ACTIVE,
+                ProductStatus.INACTIVE), Set.of(0, 2), null), null);
+
+        // hoạt động/ngừng bán và giá < 10000 hoặc >= 20000: sản phẩm 1, 3, 5
+        assertThat(counts.total()).isEqualTo(3);
+    }
+
+    @Test
+    void keywordLimitsEveryCount() {
+        FacetCounts counts = facets.count(FacetFilter.NONE, " tra xanh ");
+
+        // không phân biệt hoa thường và dấu, như collation của trang tìm kiếm
+        assertThat(counts.total()).isEqualTo(2);
+        assertThat(counts.categories()).containsExactly(entry(DRINKS, 1L), entry(SNACKS, 1L));
+        assertThat(facets.count(FacetFilter.NONE, "dau").total()).isEqualTo(1);
+        assertThat(facets.count(FacetFilter.NONE, "p0003").total()).isEqualTo(1);
+    }
+
+    @Test
+    void changeIsCountedOnTheNextRead() {
+        assertThat(facets.count(FacetFilter.NONE, "sua").total()).isEqualTo(1);
+
+        facets.put(row(2, "Cà phê đen", DRINKS, "Drinks", "12000", 0, ProductStatus.OUT_OF_STOCK));
+
+        assertThat(facets.count(FacetFilter.NONE, "sua").total()).isZero();
+        assertThat(facets.count(FacetFilter.NONE, "ca phe den").total()).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedRowIsSkipped() {
+        // lượt đồng bộ đọc lại dòng cũ trong cửa sổ settle: không được đánh dấu phải chép lại snapshot
+        assertThat(facets.put(row(3, "Nước cam", DRINKS, "Drinks", "25000", 5, ProductStatus.ACTIVE))).isFalse();
+        assertThat(facets.put(row(3, "Nước cam", DRINKS, "Drinks", "25000", 4, ProductStatus.ACTIVE))).isTrue();
+
+        assertThat(facets.count(FacetFilter.NONE, "nuoc cam").total()).isEqualTo(1);
+        assertThat(facets.count(FacetFilter.NONE, null).inStock()).isEqualTo(4);
+    }
+
+    @Test
+    void changedProductMovesBetweenBitmaps() {
+        facets.put(row(2, "Cà phê sữa", SNACKS, "Snacks", "30000", 12, ProductStatus.ACTIVE));
+        facets.renameCategory(SNACKS, "Chips & Snacks");
+
+        FacetCounts counts = facets.count(FacetFilter.NONE, null);
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.categories()).containsExactly(entry(SNACKS, 3L), entry(DRINKS, 2L));
+        assertThat(counts.categoryNames()).containsEntry(SNACKS, "Chips & Snacks");
+        assertThat(counts.statuses()).containsEntry(ProductStatus.OUT_OF_STOCK, 0L);
+        assertThat(counts.priceBands()).containsExactly(2L, 1L, 2L);
+        assertThat(counts.inStock()).isEqualTo(5);
+    }
+
+    private static FacetRow row(long id, String name, long categoryId, String categoryName, String price,
+            int stockQty, ProductStatus status) {
+        return new FacetRow(id, 1, name, "P%04d".formatted(id), categoryId, categoryName, new BigDecimal(price),
+                stockQty, status);
+    }
+
+    private static Map.Entry<Long, Long> entry(long key, long value) {
+        return Map.entry(key, value);
+    }
+}
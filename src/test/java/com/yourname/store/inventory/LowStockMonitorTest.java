@@ -0,0 +1,103 @@
+package com.yourname.store.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.yourname.store.entity.ProductStatus;
+import com.yourname.store.event.DomainEvent;
+import com.yourname.store.event.DomainEventPublisher;
+import com.yourname.store.event.StockThresholdCrossed;
+import com.yourname.store.shard.ShardRouter;
+import com.yourname.store.shard.ShardingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockMonitorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    private LowStockMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        InventoryProperties properties = new InventoryProperties();
+        properties.setDefaultReorderThreshold(10);
+        monitor = new LowStockMonitor(jdbcTemplate, domainEventPublisher,
+                new ShardRouter(new ShardingProperties(), new SimpleMeterRegistry()), properties);
+    }
+
+    @Test
+    void crossingBelowThresholdPublishesEventAndAddsProduct() {
+        StockLevel before = level(1, "P1", 11, null);
+
+        monitor.stockChanged(before, before.withStockQty(10));
+
+        verify(domainEventPublisher).publish(new StockThresholdCrossed(1L, 1L, "P1", 10, 10, true));
+        assertThat(monitor.lowStock(1, 10)).extracting(StockLevel::code).containsExactly("P1");
+    }
+
+    @Test
+    void changeOnTheSameSideOfThresholdOnlyUpdatesTheSet() {
+        StockLevel before = level(1, "P1", 5, null);
+        // sản phẩm mới: vào danh sách nhưng không vượt ngưỡng nào
+        monitor.stockChanged(null, before);
+        monitor.stockChanged(before, before.withStockQty(3));
+        monitor.stockChanged(level(2, "P2", 50, null), level(2, "P2", 40, null));
+
+        verify(domainEventPublisher, never()).publish(any(DomainEvent.class));
+        assertThat(monitor.lowStock(1, 10)).extracting(StockLevel::stockQty).containsExactly(3);
+    }
+
+    @Test
+    void raisingThresholdOrRestockingMovesProductInAndOut() {
+        StockLevel level = level(1, "P1", 20, null);
+        monitor.stockChanged(level, level.withReorderThreshold(25));
+        assertThat(monitor.lowStockCount(1)).isEqualTo(1);
+
+        monitor.stockChanged(level.withReorderThreshold(25), level.withReorderThreshold(25).withStockQty(30));
+
+        verify(domainEventPublisher).publish(new StockThresholdCrossed(1L, 1L, "P1", 30, 25, false));
+        assertThat(monitor.lowStockCount(1)).isZero();
+    }
+
+    @Test
+    void mostUrgentFirstAndInactiveProductsIgnored() {
+        monitor.apply(level(1, "A", 7, null));
+        monitor.apply(level(2, "B", 0, null));
+        monitor.apply(level(3, "C", 7, 20));
+        monitor.apply(new StockLevel(4, 1, "D", "D", 0, null, ProductStatus.INACTIVE));
+        monitor.apply(new StockLevel(5, 2, "E", "E", 1, null, ProductStatus.ACTIVE));
+
+        assertThat(monitor.lowStock(1, 10)).extracting(StockLevel::code).containsExactly("B", "C", "A");
+        assertThat(monitor.lowStock(1, 2)).extracting(StockLevel::code).containsExactly("B", "C");
+        assertThat(monitor.lowStock(2, 10)).extracting(StockLevel::code).containsExactly("E");
+        assertThat(monitor.lowStock(3, 10)).isEmpty();
+    }
+
+    @Test
+    void deactivatingAtRiskProductRemovesItWithoutAlert() {
+        monitor.apply(level(1, "P1", 2, null));
+        StockLevel inactive = new StockLevel(1, 1, "P1", "P1", 2, null, ProductStatus.INACTIVE);
+
+        monitor.stockChanged(inactive, inactive);
+
+        verify(domainEventPublisher, never()).publish(any(DomainEvent.class));
+        assertThat(monitor.lowStockCount(1)).isZero();
+    }
+
+    private static StockLevel level(long id, String code, int stockQty, Integer threshold) {
+        return new StockLevel(id, 1, code, code, stockQty, threshold, ProductStatus.ACTIVE);
+    }
+}
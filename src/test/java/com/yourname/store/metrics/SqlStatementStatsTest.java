@@ -0,0 +1,46 @@
+package com.yourname.store.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatementStatsTest {
+
+    private static final String CATEGORY_BY_ID = "select c.id, c.name from categories c where c.id=?";
+
+    @Test
+    void countsStatementsByTypeRowsAndTime() {
+        SqlStatementStats stats = new SqlStatementStats();
+        execute(stats, "select p.id from products p", 0, 1_000_000);
+        stats.rowRead();
+        stats.rowRead();
+        execute(stats, "insert into orders (code) values (?)", 1, 2_000_000);
+        execute(stats, " update users set point=point+? where id=?", 1, 500_000);
+
+        assertThat(stats.getStatements()).isEqualTo(3);
+        assertThat(stats.getSelects()).isEqualTo(1);
+        assertThat(stats.getInserts()).isEqualTo(1);
+        assertThat(stats.getUpdates()).isEqualTo(1);
+        assertThat(stats.getRows()).isEqualTo(4);
+        assertThat(stats.getJdbcTime().toNanos()).isEqualTo(3_500_000);
+    }
+
+    @Test
+    void repeatedIdenticalSelects_areReportedAsNPlusOne() {
+        SqlStatementStats stats = new SqlStatementStats();
+        execute(stats, "select p.id, p.category_id from products p", 0, 1);
+        for (int i = 0; i < 4; i++) {
+            execute(stats, CATEGORY_BY_ID, 0, 1);
+            execute(stats, "insert into order_items (order_id) values (?)", 1, 1);
+        }
+
+        assertThat(stats.repeatedStatements(3))
+                .containsExactly(new SqlStatementStats.RepeatedStatement(CATEGORY_BY_ID, 4));
+        assertThat(stats.repeatedStatements(5)).isEmpty();
+    }
+
+    private void execute(SqlStatementStats stats, String sql, long rows, long nanos) {
+        stats.queryStarted(0);
+        stats.queryFinished(sql, nanos, rows);
+    }
+}
@@ -0,0 +1,44 @@
+package com.yourname.store.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.entity.PaymentStatus;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class StoreMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StoreMetrics storeMetrics = new StoreMetrics(registry);
+
+    @Test
+    void countersAreTaggedByOutcome() {
+        storeMetrics.orderPaid();
+        storeMetrics.orderPaid();
+        storeMetrics.stockOut();
+        storeMetrics.paymentFailed(PaymentStatus.FAILED);
+        storeMetrics.paymentFailed(PaymentStatus.CANCELED);
+        storeMetrics.paymentFailed(PaymentStatus.CANCELED);
+        storeMetrics.stockThresholdCrossed(true);
+
+        assertThat(registry.get("store.orders.paid").counter().count()).isEqualTo(2);
+        assertThat(registry.get("store.stock.outs").counter().count()).isEqualTo(1);
+        assertThat(registry.get("store.payments.failed").tag("status", "FAILED").counter().count()).isEqualTo(1);
+        assertThat(registry.get("store.payments.failed").tag("status", "CANCELED").counter().count()).isEqualTo(2);
+        assertThat(registry.get("store.stock.threshold.crossings").tag("direction", "below").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void vnpayCallbackTimer_recordsSourceAndOutcome() {
+        Timer.Sample sample = storeMetrics.startTimer();
+        storeMetrics.stopVnpayCallback(sample, "ipn", StoreMetrics.OUTCOME_ERROR);
+
+        Timer timer = registry.get("store.payment.vnpay.callback")
+                .tag("source", "ipn")
+                .tag("outcome", StoreMetrics.OUTCOME_ERROR)
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.yourname.store.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.shard.StoreContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ApproximateCountsTest {
+
+    private ApproximateCounts counts;
+
+    @AfterEach
+    void tearDown() {
+        counts.destroy();
+    }
+
+    @Test
+    void firstRequestCountsThenServesCachedTotal() {
+        counts = counts(Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(counts.count("orders", () -> 10 + calls.incrementAndGet())).isEqualTo(11);
+        assertThat(counts.count("orders", () -> 10 + calls.incrementAndGet())).isEqualTo(11);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void totalsAreKeptPerStoreAndFilter() {
+        counts = counts(Duration.ofMinutes(1));
+
+        assertThat(counts.count("orders", () -> 1)).isEqualTo(1);
+        assertThat(counts.count("products", () -> 2)).isEqualTo(2);
+        assertThat(StoreContext.callInStore(2, () -> counts.count("orders", () -> 3))).isEqualTo(3);
+        assertThat(counts.count("orders", () -> 4)).isEqualTo(1);
+    }
+
+    @Test
+    void staleTotalIsReturnedWhileRecountRunsInBackground() throws Exception {
+        counts = counts(Duration.ZERO);
+        AtomicLong rows = new AtomicLong(5);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch recounted = new CountDownLatch(1);
+        AtomicInteger recounts = new AtomicInteger();
+        AtomicLong recountStore = new AtomicLong();
+
+        StoreContext.callInStore(3, () -> counts.count("orders", rows::get));
+        rows.set(8);
+        // request không chờ lần đếm lại; các request trong lúc đang đếm không tạo thêm lần đếm
+        for (int i = 0; i < 3; i++) {
+            long total = StoreContext.callInStore(3, () -> counts.count("orders", () -> {
+                recounts.incrementAndGet();
+                recountStore.set(StoreContext.currentStoreId());
+                await(release);
+                recounted.countDown();
+                return rows.get();
+            }));
+            assertThat(total).isEqualTo(5);
+        }
+        release.countDown();
+        assertThat(recounted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(recounts).hasValue(1);
+        assertThat(recountStore).hasValue(3);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        long total;
+        do {
+            total = StoreContext.callInStore(3, () -> counts.count("orders", rows::get));
+        } while (total != 8 && System.nanoTime() < deadline);
+        assertThat(total).isEqualTo(8);
+    }
+
+    private static ApproximateCounts counts(Duration refresh) {
+        PagingProperties properties = new PagingProperties();
+        properties.setApproximateTotalRefresh(refresh);
+        return new ApproximateCounts(properties, new SimpleMeterRegistry());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
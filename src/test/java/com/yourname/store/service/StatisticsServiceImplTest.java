@@ -1,6 +1,9 @@
 package com.yourname.store.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import com.yourname.store.dto.response.RevenueStatsResponse;
@@ -10,14 +13,21 @@ import com.yourname.store.repository.OrderRepository;
 import com.yourname.store.repository.projection.RevenueStatsProjection;
 import com.yourname.store.repository.projection.TopProductProjection;
 import com.yourname.store.service.impl.StatisticsServiceImpl;
+import com.yourname.store.shard.ShardRouter;
+import com.yourname.store.shard.ShardingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class StatisticsServiceImplTest {
@@ -28,9 +38,28 @@ class StatisticsServiceImplTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ShardRouter shardRouter;
     private StatisticsServiceImpl statisticsService;
 
+    @BeforeEach
+    void setUp() {
+        // hai shard: "main" và "east"
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setShards(Map.of("east", new ShardingProperties.Shard()));
+        shardRouter = new ShardRouter(properties, new SimpleMeterRegistry());
+        statisticsService = new StatisticsServiceImpl(orderRepository, orderItemRepository, shardRouter,
+                transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.destroy();
+    }
+
     @Test
     void getDailyRevenueStats_shouldMapProjectionData() {
         LocalDate from = LocalDate.of(2025, 1, 1);
@@ -53,7 +82,7 @@ class StatisticsServiceImplTest {
             }
         };
 
-        when(orderRepository.calculateDailyRevenue(from.atStartOfDay(), to.atTime(23, 59, 59, 999_000_000)))
+        when(orderRepository.calculateDailyRevenue(1L, from.atStartOfDay(), to.atTime(23, 59, 59, 999_000_000)))
                 .thenReturn(List.of(projection));
 
         List<RevenueStatsResponse> responses = statisticsService.getDailyRevenueStats(from, to);
@@ -76,6 +105,11 @@ class StatisticsServiceImplTest {
                 return 1L;
             }
 
+            @Override
+            public String getCode() {
+                return "P0001";
+            }
+
             @Override
             public String getName() {
                 return "Bottled Water";
@@ -92,7 +126,7 @@ class StatisticsServiceImplTest {
             }
         };
 
-        when(orderItemRepository.findTopProducts(from.atStartOfDay(), to.atTime(23, 59, 59, 999_000_000), 5))
+        when(orderItemRepository.findTopProducts(1L, from.atStartOfDay(), to.atTime(23, 59, 59, 999_000_000), 5))
                 .thenReturn(List.of(projection));
 
         List<TopProductResponse> responses = statisticsService.getTopProducts(from, to, 5);
@@ -100,9 +134,93 @@ class StatisticsServiceImplTest {
         assertThat(responses).hasSize(1);
         TopProductResponse result = responses.get(0);
         assertThat(result.productId()).isEqualTo(1L);
+        assertThat(result.code()).isEqualTo("P0001");
         assertThat(result.name()).isEqualTo("Bottled Water");
         assertThat(result.soldQuantity()).isEqualTo(25);
         assertThat(result.revenue()).isEqualByComparingTo("250000");
     }
+
+    @Test
+    void getChainTopProducts_shouldMergeShardsByCodeBeforeLimiting() {
+        LocalDate from = LocalDate.of(2025, 2, 1);
+        LocalDate to = LocalDate.of(2025, 2, 28);
+
+        // P0002 không đứng đầu ở shard nào nhưng đứng đầu toàn chuỗi
+        when(orderItemRepository.findTopProducts(isNull(), any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(Integer.MAX_VALUE)))
+                .thenReturn(List.of(topProduct(1L, "P0001", 30, "300000"), topProduct(2L, "P0002", 20, "240000")))
+                .thenReturn(List.of(topProduct(7L, "P0003", 25, "500000"), topProduct(9L, "P0002", 20, "240000")));
+
+        List<TopProductResponse> responses = statisticsService.getChainTopProducts(from, to, 2);
+
+        assertThat(responses).extracting(TopProductResponse::code).containsExactly("P0002", "P0001");
+        assertThat(responses.get(0).soldQuantity()).isEqualTo(40);
+        assertThat(responses.get(0).revenue()).isEqualByComparingTo("480000");
+        assertThat(responses).extracting(TopProductResponse::productId).containsOnlyNulls();
+    }
+
+    @Test
+    void getChainDailyRevenueStats_shouldSumBucketsAcrossShards() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+
+        when(orderRepository.calculateDailyRevenue(isNull(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(revenue("2025-01-02", "100000", 2), revenue("2025-01-01", "50000", 1)))
+                .thenReturn(List.of(revenue("2025-01-02", "70000", 3)));
+
+        List<RevenueStatsResponse> responses = statisticsService.getChainDailyRevenueStats(from, to);
+
+        assertThat(responses).extracting(RevenueStatsResponse::bucket).containsExactly("2025-01-01", "2025-01-02");
+        assertThat(responses.get(1).revenue()).isEqualByComparingTo("170000");
+        assertThat(responses.get(1).orderCount()).isEqualTo(5);
+    }
+
+    private static TopProductProjection topProduct(Long id, String code, long sold, String revenue) {
+        return new TopProductProjection() {
+            @Override
+            public Long getProductId() {
+                return id;
+            }
+
+            @Override
+            public String getCode() {
+                return code;
+            }
+
+            @Override
+            public String getName() {
+                return code;
+            }
+
+            @Override
+            public long getSoldQuantity() {
+                return sold;
+            }
+
+            @Override
+            public BigDecimal getRevenue() {
+                return new BigDecimal(revenue);
+            }
+        };
+    }
+
+    private static RevenueStatsProjection revenue(String bucket, String amount, long orders) {
+        return new RevenueStatsProjection() {
+            @Override
+            public String getBucket() {
+                return bucket;
+            }
+
+            @Override
+            public BigDecimal getRevenue() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public long getOrderCount() {
+                return orders;
+            }
+        };
+    }
 }
 
@@ -0,0 +1,61 @@
+package com.yourname.store.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.workload.WorkloadProperties;
+import com.yourname.store.workload.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+// Pool Hikari chỉ kết nối khi lấy connection đầu tiên: không cần database
+class ShardPoolsTest {
+
+    @Test
+    void shardWithoutWorkloadIsolation_usesOnePool() throws SQLException {
+        ShardPools pools = new ShardPools(sharding(), dataSourceProperties(), new WorkloadProperties(), false,
+                new SimpleMeterRegistry());
+        try {
+            assertThat(pools.getPools()).containsOnlyKeys("eu");
+            assertThat(pools.getPools().get("eu")).isInstanceOf(HikariDataSource.class);
+        } finally {
+            pools.destroy();
+        }
+    }
+
+    @Test
+    void shardWithWorkloadIsolation_getsItsOwnWorkloadPools() throws SQLException {
+        WorkloadProperties workload = new WorkloadProperties();
+        workload.setEnabled(true);
+        ShardPools pools = new ShardPools(sharding(), dataSourceProperties(), workload, true,
+                new SimpleMeterRegistry());
+        try {
+            WorkloadRoutingDataSource eu = (WorkloadRoutingDataSource) pools.getPools().get("eu");
+            HikariDataSource primary = eu.unwrap(HikariDataSource.class);
+            assertThat(primary.getPoolName()).isEqualTo("shard-eu");
+            assertThat(primary.getJdbcUrl()).isEqualTo("jdbc:mysql://eu-db:3306/store");
+        } finally {
+            pools.destroy();
+        }
+    }
+
+    private static ShardingProperties sharding() {
+        ShardingProperties properties = new ShardingProperties();
+        ShardingProperties.Shard eu = new ShardingProperties.Shard();
+        eu.setUrl("jdbc:mysql://eu-db:3306/store");
+        properties.getShards().put(ShardRouter.MAIN_SHARD, new ShardingProperties.Shard());
+        properties.getShards().put("eu", eu);
+        return properties;
+    }
+
+    private static DataSourceProperties dataSourceProperties() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:mysql://main-db:3306/store");
+        properties.setUsername("store");
+        properties.setPassword("secret");
+        properties.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        return properties;
+    }
+}
@@ -0,0 +1,53 @@
+package com.yourname.store.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourname.store.metrics.SqlStatementCounter;
+import com.yourname.store.metrics.SqlStatementStats;
+
+/**
+ * Statement-count assertions for integration tests. Call {@link #reset()} right before the code under test,
+ * then assert on what it executed on the current thread:
+ *
+ * <pre>
+ * reset();
+ * orderService.getOrder(id);
+ * assertStatements(2);
+ * assertNoRepeatedStatements();
+ * </pre>
+ */
+public final class SqlStatementAssertions {
+
+    private static final int N_PLUS_ONE_THRESHOLD = 2;
+
+    private SqlStatementAssertions() {
+    }
+
+    public static void reset() {
+        SqlStatementCounter.start();
+    }
+
+    public static void clear() {
+        SqlStatementCounter.stop();
+    }
+
+    public static SqlStatementStats stats() {
+        SqlStatementStats stats = SqlStatementCounter.current();
+        assertThat(stats).as("SqlStatementAssertions.reset() was not called on this thread").isNotNull();
+        return stats;
+    }
+
+    public static void assertStatements(int expected) {
+        SqlStatementStats stats = stats();
+        assertThat(stats.getStatements()).as("JDBC statements: %s", stats).isEqualTo(expected);
+    }
+
+    public static void assertSelects(int expected) {
+        SqlStatementStats stats = stats();
+        assertThat(stats.getSelects()).as("SELECT statements: %s", stats).isEqualTo(expected);
+    }
+
+    public static void assertNoRepeatedStatements() {
+        assertThat(stats().repeatedStatements(N_PLUS_ONE_THRESHOLD)).as("repeated statements (N+1)").isEmpty();
+    }
+}
@@ -0,0 +1,171 @@
+package com.yourname.store.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+class CodeGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int CODES_PER_THREAD = 50_000;
+
+    @Test
+    void generateOrderCode_shouldKeepExistingFormat() {
+        // 2025-01-15T10:20:30.123Z
+        CodeGenerator generator = new CodeGenerator(5, ZoneOffset.UTC, () -> 1_736_936_430_123L);
+
+        assertThat(generator.generateOrderCode()).matches("ORD-20250115102030-[0-9A-Z]{7}");
+        assertThat(generator.generateTxnRef()).matches("PAY20250115102030[0-9A-Z]{7}");
+    }
+
+    @Test
+    void generateTxnRef_shouldEncodeNonDefaultStore() {
+        CodeGenerator generator = new CodeGenerator(5, ZoneOffset.UTC, () -> 1_736_936_430_123L);
+
+        String defaultStore = generator.generateTxnRef(1);
+        String otherStore = generator.generateTxnRef(42);
+
+        assertThat(defaultStore).matches("PAY20250115102030[0-9A-Z]{7}");
+        assertThat(otherStore).matches("S42PAY20250115102030[0-9A-Z]{7}");
+        assertThat(CodeGenerator.storeIdOfTxnRef(defaultStore)).isEqualTo(1);
+        assertThat(CodeGenerator.storeIdOfTxnRef(otherStore)).isEqualTo(42);
+        assertThat(CodeGenerator.storeIdOfTxnRef("SXPAY1")).isEqualTo(1);
+    }
+
+    @Test
+    void generate_shouldBeUniqueAndOrderedAcrossThreads() throws Exception {
+        CodeGenerator generator = new CodeGenerator(1, ZoneId.systemDefault(), System::currentTimeMillis);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                boolean txn = t % 2 == 0;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    String previous = null;
+                    boolean ordered = true;
+                    for (int i = 0; i < CODES_PER_THREAD; i++) {
+                        String code = txn ? generator.generateTxnRef() : generator.generateOrderCode();
+                        String normalized = code.replace("-", "");
+                        codes.add(normalized.substring(normalized.length() - 21));
+                        if (previous != null && previous.compareTo(code) >= 0) {
+                            ordered = false;
+                        }
+                        previous = code;
+                    }
+                    return ordered;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(codes).hasSize(THREADS * CODES_PER_THREAD);
+    }
+
+    @Test
+    void generate_shouldStayMonotonicWhenClockGoesBackwards() {
+        AtomicLong clock = new AtomicLong(1_736_936_430_123L);
+        CodeGenerator generator = new CodeGenerator(0, ZoneOffset.UTC, clock::get);
+
+        String first = generator.generateOrderCode();
+        clock.addAndGet(-5_000);
+        String second = generator.generateOrderCode();
+        // hết sequence trong cùng millisecond thì mượn millisecond kế tiếp
+        String last = second;
+        for (int i = 0; i < 10_000; i++) {
+            last = generator.generateOrderCode();
+        }
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(last).isGreaterThan(second);
+    }
+
+    @Test
+    void generate_shouldDifferAcrossNodesInSameMillisecond() {
+        CodeGenerator nodeA = new CodeGenerator(1, ZoneOffset.UTC, () -> 1_736_936_430_123L);
+        CodeGenerator nodeB = new CodeGenerator(2, ZoneOffset.UTC, () -> 1_736_936_430_123L);
+
+        assertThat(nodeA.generateOrderCode()).isNotEqualTo(nodeB.generateOrderCode());
+    }
+
+    @Test
+    void leasedGenerator_shouldStampCodesInUtc() {
+        NodeIdLease lease = mock(NodeIdLease.class);
+        when(lease.nodeId()).thenReturn(3L);
+        CodeGenerator generator = new CodeGenerator(lease);
+
+        // giờ địa phương lặp lại một giờ khi lùi DST, UTC thì không
+        LocalDateTime stamped = LocalDateTime.parse(generator.generateOrderCode().substring(4, 18),
+                DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        assertThat(Duration.between(stamped, LocalDateTime.now(ZoneOffset.UTC)).abs())
+                .isLessThan(Duration.ofMinutes(1));
+        verify(lease).nodeId();
+    }
+
+    @Test
+    void constructor_shouldRejectOutOfRangeNodeId() {
+        assertThatThrownBy(() -> new CodeGenerator(CodeGenerator.MAX_NODE_ID + 1, ZoneOffset.UTC, () -> 0L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Chạy bằng {@code mvn test -Dtest=CodeGeneratorTest -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_throughput() throws Exception {
+        CodeGenerator generator = new CodeGenerator(1, ZoneId.systemDefault(), System::currentTimeMillis);
+        int perThread = 2_000_000;
+        for (int i = 0; i < perThread; i++) {
+            generator.generateOrderCode();
+        }
+        for (int threads : new int[] { 1, THREADS }) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                long started = System.nanoTime();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            generator.generateOrderCode();
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                System.out.printf("CodeGenerator threads=%d: %.0f codes/s%n", threads, threads * perThread / seconds);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.yourname.store.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class CompressedTextTest {
+
+    @Test
+    void compress_roundTripsAndUsesTheMysqlCompressHeader() {
+        String query = "vnp_Amount=1500000&vnp_OrderInfo=Thanh toán đơn hàng&vnp_TxnRef=TXN-1".repeat(20);
+
+        byte[] compressed = CompressedText.compress(query);
+
+        int declaredLength = (compressed[0] & 0xFF) | (compressed[1] & 0xFF) << 8
+                | (compressed[2] & 0xFF) << 16 | (compressed[3] & 0xFF) << 24;
+        assertThat(declaredLength).isEqualTo(query.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(compressed.length).isLessThan(declaredLength);
+        assertThat(CompressedText.decompress(compressed)).isEqualTo(query);
+    }
+
+    @Test
+    void compress_emptyTextIsStoredAsEmptyValue() {
+        assertThat(CompressedText.compress("")).isEmpty();
+        assertThat(CompressedText.decompress(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void decompress_rejectsTruncatedValues() {
+        byte[] compressed = CompressedText.compress("vnp_TxnRef=TXN-1&vnp_ResponseCode=00");
+        byte[] truncated = Arrays.copyOf(compressed, 8);
+
+        assertThatThrownBy(() -> CompressedText.decompress(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,43 @@
+package com.yourname.store.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+    @Test
+    void readRow_handlesQuotesLineBreaksAndBom() throws Exception {
+        CsvReader csv = new CsvReader(new StringReader(
+                "\uFEFFcode,name\r\nP1,\"Sữa, 1L\"\n\"P2\",\"say \"\"hi\"\"\nline 2\"\nP3,\n"));
+
+        assertThat(csv.readRow()).containsExactly("code", "name");
+        assertThat(csv.readRow()).containsExactly("P1", "Sữa, 1L");
+        assertThat(csv.getRowLine()).isEqualTo(2);
+        assertThat(csv.readRow()).containsExactly("P2", "say \"hi\"\nline 2");
+        assertThat(csv.readRow()).containsExactly("P3", "");
+        assertThat(csv.getRowLine()).isEqualTo(5);
+        assertThat(csv.readRow()).isNull();
+    }
+
+    @Test
+    void readRow_rejectsUnterminatedQuote() {
+        CsvReader csv = new CsvReader(new StringReader("P1,\"open"));
+
+        assertThatThrownBy(csv::readRow)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    @Test
+    void readRow_roundTripsCsvWriterOutput() throws Exception {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).writeRow("a,b", "\"q\"", "", "x\ny");
+
+        assertThat(new CsvReader(new StringReader(out.toString())).readRow())
+                .containsExactly("a,b", "\"q\"", "", "x\ny");
+    }
+}
@@ -0,0 +1,22 @@
+package com.yourname.store.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class CsvWriterTest {
+
+    @Test
+    void writeRow_quotesOnlyFieldsThatNeedIt() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+
+        csv.writeRow("ORD-1", "Nguyễn Văn A", "Sữa, 1L", "say \"hi\"", "line\nbreak");
+        csv.writeRow("ORD-2", null, "", "8000.00", "x");
+
+        assertThat(out.toString()).isEqualTo(
+                "ORD-1,Nguyễn Văn A,\"Sữa, 1L\",\"say \"\"hi\"\"\",\"line\nbreak\"\r\n"
+                        + "ORD-2,,,8000.00,x\r\n");
+    }
+}
@@ -0,0 +1,37 @@
+package com.yourname.store.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class WireFormatsTest {
+
+    @Test
+    void negotiate_defaultsToJson() {
+        assertThat(WireFormats.negotiate(request(null))).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(WireFormats.negotiate(request("*/*"))).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(WireFormats.negotiate(request("text/csv"))).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(WireFormats.negotiate(request("not a media type"))).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void negotiate_picksCborWhenPreferred() {
+        assertThat(WireFormats.negotiate(request("application/cbor"))).isEqualTo(WireFormats.CBOR);
+        assertThat(WireFormats.negotiate(request("application/json;q=0.5, application/cbor")))
+                .isEqualTo(WireFormats.CBOR);
+        assertThat(WireFormats.negotiate(request("application/cbor;q=0.5, application/json")))
+                .isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(WireFormats.negotiate(request("application/cbor, */*;q=0.1"))).isEqualTo(WireFormats.CBOR);
+    }
+
+    private static ServletWebRequest request(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        return new ServletWebRequest(request);
+    }
+}
@@ -0,0 +1,44 @@
+package com.yourname.store.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class WarmupStepReportTest {
+
+    @Test
+    void comparesFirstAndLastTenthOfIterations() {
+        long[] nanos = new long[20];
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = i < 2 ? 40_000_000L - i * 10_000_000L : 1_000_000L;
+        }
+        nanos[0] = 90_000_000L;
+
+        WarmupStepReport report = WarmupStepReport.of("order-mapping", nanos, null);
+
+        assertThat(report.iterations()).isEqualTo(20);
+        assertThat(report.firstMillis()).isEqualTo(90.0);
+        // median of {90 ms, 30 ms}
+        assertThat(report.earlyMedianMillis()).isEqualTo(60.0);
+        assertThat(report.lateMedianMillis()).isEqualTo(1.0);
+        assertThat(report.speedup()).isEqualTo(60.0);
+    }
+
+    @Test
+    void shortRunsUseOneIterationPerWindow() {
+        WarmupStepReport report = WarmupStepReport.of("invoice-pdf", new long[] { 5_000_000L, 3_000_000L, 2_000_000L },
+                null);
+
+        assertThat(report.earlyMedianMillis()).isEqualTo(5.0);
+        assertThat(report.lateMedianMillis()).isEqualTo(2.0);
+    }
+
+    @Test
+    void stepThatFailedBeforeAnyIterationKeepsTheError() {
+        WarmupStepReport report = WarmupStepReport.of("stats", new long[0], "boom");
+
+        assertThat(report.iterations()).isZero();
+        assertThat(report.firstMillis()).isNaN();
+        assertThat(report.error()).isEqualTo("boom");
+    }
+}
@@ -0,0 +1,62 @@
+package com.yourname.store.workload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = Duration.ofMillis(250).toNanos();
+    private static final long SLOW = Duration.ofMillis(800).toNanos();
+    private static final long FAST = Duration.ofMillis(20).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(1, 10, 0.5, TARGET, Duration.ofSeconds(5).toNanos(), clock::get);
+
+    @Test
+    void tryAcquire_shouldAdmitUpToLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void slowCheckout_shouldShrinkLimitAndFastCheckoutGrowItBack() {
+        limiter.onProtectedLatency(SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        limiter.onProtectedLatency(SLOW);
+        limiter.onProtectedLatency(SLOW);
+        limiter.onProtectedLatency(SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onProtectedLatency(FAST);
+        limiter.onProtectedLatency(FAST);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        for (int i = 0; i < 20; i++) {
+            limiter.onProtectedLatency(FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void noCheckoutTraffic_shouldResetLimitToMaximum() {
+        limiter.onProtectedLatency(SLOW);
+        limiter.onProtectedLatency(SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+}
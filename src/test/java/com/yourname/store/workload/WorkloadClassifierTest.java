@@ -0,0 +1,28 @@
+package com.yourname.store.workload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class WorkloadClassifierTest {
+
+    private final WorkloadClassifier classifier = new WorkloadClassifier();
+
+    @Test
+    void classify_shouldSeparateCheckoutBackOfficeAndReporting() {
+        assertThat(classifier.classify("POST", "/api/orders")).isEqualTo(WorkloadClass.CHECKOUT);
+        assertThat(classifier.classify("POST", "/api/orders/12/payments/vnpay")).isEqualTo(WorkloadClass.CHECKOUT);
+        assertThat(classifier.classify("GET", "/api/orders/12")).isEqualTo(WorkloadClass.CHECKOUT);
+        assertThat(classifier.classify("POST", "/api/payments/vnpay/ipn")).isEqualTo(WorkloadClass.CHECKOUT);
+
+        assertThat(classifier.classify("GET", "/api/stats/revenue")).isEqualTo(WorkloadClass.REPORTING);
+        assertThat(classifier.classify("GET", "/api/reports/invoices/12.pdf")).isEqualTo(WorkloadClass.REPORTING);
+        assertThat(classifier.classify("GET", "/api/orders/export")).isEqualTo(WorkloadClass.REPORTING);
+        assertThat(classifier.classify("POST", "/api/products/import")).isEqualTo(WorkloadClass.REPORTING);
+
+        assertThat(classifier.classify("GET", "/api/orders")).isEqualTo(WorkloadClass.BACK_OFFICE);
+        assertThat(classifier.classify("GET", "/api/products")).isEqualTo(WorkloadClass.BACK_OFFICE);
+        assertThat(classifier.classify("GET", "/api/catalog/sync")).isEqualTo(WorkloadClass.BACK_OFFICE);
+        assertThat(classifier.classify("GET", "/api/payments/7/callbacks")).isEqualTo(WorkloadClass.BACK_OFFICE);
+    }
+}
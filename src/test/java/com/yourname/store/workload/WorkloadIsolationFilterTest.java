@@ -0,0 +1,145 @@
+package com.yourname.store.workload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class WorkloadIsolationFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WorkloadProperties properties = new WorkloadProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void fullReportingBulkhead_shouldRejectReportsButAdmitCheckout() throws Exception {
+        properties.getReporting().setMaxConcurrent(1);
+        WorkloadIsolationFilter filter = filter();
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<MockHttpServletResponse> running = CompletableFuture.supplyAsync(() ->
+                execute(filter, "GET", "/api/stats/revenue", (request, response) -> {
+                    inside.countDown();
+                    await(release);
+                }));
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = execute(filter, "GET", "/api/reports/products/all.pdf", (req, res) -> {
+        });
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+
+        MockHttpServletResponse checkout = execute(filter, "POST", "/api/orders", (req, res) -> {
+        });
+        assertThat(checkout.getStatus()).isEqualTo(200);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("store.workload.requests")
+                .tags("workload", "reporting", "outcome", "rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("store.workload.in.flight").tags("workload", "reporting").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void slowCheckout_shouldShedBackOfficeRequests() {
+        properties.getAdaptive().setCheckoutLatencyTarget(Duration.ofMillis(1));
+        properties.getAdaptive().setBackoffRatio(0.1);
+        WorkloadIsolationFilter filter = filter();
+
+        execute(filter, "POST", "/api/orders", (req, res) -> sleep(20));
+        assertThat(filter.limiter(WorkloadClass.BACK_OFFICE).getLimit()).isEqualTo(2);
+        assertThat(filter.limiter(WorkloadClass.CHECKOUT)).isNull();
+
+        // Giới hạn còn 2: request back-office thứ ba đồng thời bị loại bỏ
+        filter.limiter(WorkloadClass.BACK_OFFICE).tryAcquire();
+        filter.limiter(WorkloadClass.BACK_OFFICE).tryAcquire();
+        MockHttpServletResponse shed = execute(filter, "GET", "/api/products", (req, res) -> {
+        });
+        assertThat(shed.getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.get("store.workload.requests")
+                .tags("workload", "back-office", "outcome", "shed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void routingDataSource_shouldUseThePoolOfTheRequestClass() throws Exception {
+        DataSource mainPool = mock(DataSource.class);
+        DataSource reportingPool = mock(DataSource.class);
+        Connection mainConnection = mock(Connection.class);
+        Connection reportingConnection = mock(Connection.class);
+        when(mainPool.getConnection()).thenReturn(mainConnection);
+        when(reportingPool.getConnection()).thenReturn(reportingConnection);
+        WorkloadPools pools = mock(WorkloadPools.class);
+        when(pools.getPools()).thenReturn(Map.of(WorkloadClass.REPORTING, reportingPool));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<WorkloadPools> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(pools);
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(mainPool, provider);
+        WorkloadIsolationFilter filter = filter();
+        Connection[] used = new Connection[2];
+
+        execute(filter, "GET", "/api/stats/revenue", (req, res) -> used[0] = getConnection(dataSource));
+        execute(filter, "POST", "/api/orders", (req, res) -> used[1] = getConnection(dataSource));
+
+        assertThat(used[0]).isSameAs(reportingConnection);
+        assertThat(used[1]).isSameAs(mainConnection);
+        assertThat(dataSource.getConnection()).isSameAs(mainConnection);
+    }
+
+    private WorkloadIsolationFilter filter() {
+        return new WorkloadIsolationFilter(properties, new WorkloadClassifier(), meterRegistry, objectMapper);
+    }
+
+    private static MockHttpServletResponse execute(WorkloadIsolationFilter filter, String method, String uri,
+            FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return response;
+    }
+
+    private static Connection getConnection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}